@@ -0,0 +1,106 @@
+package com.example.blockchain.bench;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.blockchain.Application;
+
+/**
+ * 1 000 opérations de billetterie par HTTP : 1 000 POST /api/blocks successifs contre un seul
+ * POST /api/blocks/batch (tableau JSON ou NDJSON). Le service tourne dans la JVM du benchmark,
+ * sur un port éphémère, sans consensus ; le client réutilise une connexion HTTP/1.1.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-Djava.awt.headless=true"})
+@State(Scope.Benchmark)
+public class BatchAppendBenchmark {
+
+    @Param({"1000"})
+    public int tickets;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI single;
+    private URI batch;
+    private List<String> singleBodies;
+    private String arrayBody;
+    private String ndjsonBody;
+
+    @Setup
+    public void setUp() {
+        SpringApplication application = new SpringApplication(Application.class);
+        context = application.run("--server.port=0", "--logging.level.root=WARN");
+        String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        single = URI.create(base + "/api/blocks");
+        batch = URI.create(base + "/api/blocks/batch");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        singleBodies = new ArrayList<>(tickets);
+        for (int i = 0; i < tickets; i++) {
+            singleBodies.add("{\"data\":\"Achat ticket " + i + "\",\"eventId\":\"EVT-" + i
+                    + "\",\"artist\":\"Stromae\",\"status\":\"ACHETE\",\"owner\":\"Alice\"}");
+        }
+        arrayBody = "[" + String.join(",", singleBodies) + "]";
+        ndjsonBody = String.join("\n", singleBodies) + "\n";
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int individualPosts() throws IOException, InterruptedException {
+        int created = 0;
+        for (String body : singleBodies) {
+            created += post(single, "application/json", body);
+        }
+        return created;
+    }
+
+    @Benchmark
+    public int batchJsonArray() throws IOException, InterruptedException {
+        return post(batch, "application/json", arrayBody);
+    }
+
+    @Benchmark
+    public int batchNdjson() throws IOException, InterruptedException {
+        return post(batch, "application/x-ndjson", ndjsonBody);
+    }
+
+    private int post(URI uri, String contentType, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("Réponse inattendue : " + response.statusCode());
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.blockchain.bench;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.BlockStore;
+import com.example.blockchain.Blockchain;
+
+/**
+ * Stockage sur le tas contre stockage en colonnes hors du tas : vérification complète,
+ * décompte par statut (balayages sans objets {@link Block} côté colonnes) et lecture unitaire.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class BlockStoreBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"HEAP", "COLUMNAR"})
+    public BlockStore.Type store;
+
+    private Blockchain blockchain;
+
+    @Setup
+    public void setUp() {
+        blockchain = ChainFixtures.ticketChain(size, store);
+    }
+
+    @Benchmark
+    public boolean fullVerification() {
+        return blockchain.verifyRange(0, size).valid();
+    }
+
+    @Benchmark
+    public Map<String, Long> countByStatus() {
+        return blockchain.countByStatus();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Block readBlock() {
+        return blockchain.getBlockByIndex(size / 2);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.blockchain.bench;
+
+import com.example.blockchain.BlockStore;
+import com.example.blockchain.Blockchain;
+
+/**
+ * Construction de chaînes de test réalistes (opérations de billetterie sans consensus).
+ */
+final class ChainFixtures {
+
+    private static final String[] STATUSES = {"CREE", "ACHETE", "REVENDU", "UTILISE", "INVALIDE"};
+    private static final String[] ARTISTS = {"Stromae", "Daft Punk", "PNL", "Angèle", "Orelsan"};
+    private static final String[] OWNERS = {"Alice", "Bob", "Charlie", "Diane", "Emile"};
+
+    private ChainFixtures() {
+    }
+
+    static Blockchain ticketChain(int size) {
+        return ticketChain(size, BlockStore.Type.HEAP);
+    }
+
+    static Blockchain ticketChain(int size, BlockStore.Type storeType) {
+        Blockchain blockchain = new Blockchain(storeType);
+        for (int i = 1; i < size; i++) {
+            blockchain.addBlock("Opération ticket " + i,
+                    "EVT-" + (i / STATUSES.length),
+                    ARTISTS[(i / STATUSES.length) % ARTISTS.length],
+                    STATUSES[i % STATUSES.length],
+                    OWNERS[i % OWNERS.length]);
+        }
+        return blockchain;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.blockchain.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.blockchain.Blockchain;
+
+/**
+ * Vérification d'intégrité sur 10k, 100k et 1M blocs : complète ({@link Blockchain#verifyRange})
+ * et incrémentale ({@link Blockchain#isChainValid}, filigrane déjà au sommet de la chaîne).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ChainValidationBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int size;
+
+    private Blockchain blockchain;
+
+    @Setup
+    public void setUp() {
+        blockchain = ChainFixtures.ticketChain(size);
+    }
+
+    @Benchmark
+    public boolean fullVerification() {
+        return blockchain.verifyRange(0, size).valid();
+    }
+
+    @Benchmark
+    public boolean isChainValid() {
+        return blockchain.isChainValid();
+    }
+}
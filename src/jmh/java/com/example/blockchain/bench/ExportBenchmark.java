@@ -0,0 +1,51 @@
+package com.example.blockchain.bench;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.blockchain.Blockchain;
+
+/**
+ * Export JSON de la chaîne : chaîne complète en mémoire ({@link Blockchain#exportAsJson})
+ * contre écriture en flux ({@link Blockchain#exportTo}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ExportBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private Blockchain blockchain;
+
+    @Setup
+    public void setUp() {
+        blockchain = ChainFixtures.ticketChain(size);
+    }
+
+    @Benchmark
+    public String exportAsJson() {
+        return blockchain.exportAsJson();
+    }
+
+    @Benchmark
+    public void exportToStream() {
+        blockchain.exportTo(OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.blockchain.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.crypto.BlockHasher;
+
+/**
+ * Coût du hachage d'un bloc : chemin complet (encodage + hex), hash brut,
+ * et tentative de minage seule (midstate, nonce variable).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HashingBenchmark {
+
+    private Block block;
+    private BlockHasher hasher;
+    private byte[] digest;
+    private int nonce;
+
+    @Setup
+    public void setUp() {
+        block = new Block(42, "Ticket acheté", "ab".repeat(32), "EVT-001", "Stromae", "ACHETE", "Alice");
+        hasher = new BlockHasher().reset(block);
+        digest = new byte[BlockHasher.HASH_LENGTH];
+    }
+
+    @Benchmark
+    public String calculateHash() {
+        return block.calculateHash();
+    }
+
+    @Benchmark
+    public byte[] calculateHashBytes() {
+        return block.calculateHashBytes();
+    }
+
+    @Benchmark
+    public byte[] midstateAttempt() {
+        hasher.hash(nonce++, digest);
+        return digest;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.blockchain.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.dto.BlockResponse;
+import com.example.blockchain.mapper.BlockMapper;
+
+/**
+ * Conversion de la chaîne en DTOs ({@link BlockMapper#toResponseList}). La liste retournée
+ * est une vue paresseuse : chaque élément est parcouru pour mesurer la conversion elle-même.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<Block> chain;
+    private final BlockMapper mapper = new BlockMapper();
+
+    @Setup
+    public void setUp() {
+        chain = ChainFixtures.ticketChain(size).getChain();
+    }
+
+    @Benchmark
+    public void toResponseList(Blackhole blackhole) {
+        for (BlockResponse response : mapper.toResponseList(chain)) {
+            blackhole.consume(response);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.blockchain.bench;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.blockchain.Application;
+import com.example.blockchain.Blockchain;
+import com.example.blockchain.consensus.ProofOfWork;
+
+/**
+ * Test de charge mixte : latence (percentiles, mode échantillonné) d'un GET /api/blocks/{index}
+ * pendant que des clients minent en continu (POST /api/blocks avec PoW) et que des centaines
+ * d'autres lisent en parallèle.
+ *
+ * <p>Modes du service : {@code platform} (pool Tomcat de threads plateforme),
+ * {@code virtual} (threads virtuels, PoW sur le thread de la requête, donc sur un porteur)
+ * et {@code virtual-offload} (threads virtuels, PoW relayé vers le pool de consensus).
+ * Les percentiles p50/p90/p99/p99.9 sont ceux du rapport JMH.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g", "-Djava.awt.headless=true"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class MixedLoadBenchmark {
+
+    private static final int SEEDED_BLOCKS = 1_000;
+
+    @Param({"platform", "virtual", "virtual-offload"})
+    public String mode;
+
+    @Param({"4"})
+    public int miners;
+
+    @Param({"256"})
+    public int readers;
+
+    @Param({"5"})
+    public int difficulty;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String base;
+    private ExecutorService load;
+    private volatile boolean running;
+
+    @Setup
+    public void setUp() {
+        boolean virtual = !mode.equals("platform");
+        boolean offload = mode.equals("virtual-offload");
+        context = new SpringApplication(Application.class).run("--server.port=0",
+                "--logging.level.root=WARN",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--blockchain.consensus.offload=" + offload);
+        base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/blocks";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        Blockchain blockchain = context.getBean(Blockchain.class);
+        for (int i = 1; i < SEEDED_BLOCKS; i++) {
+            blockchain.addBlock("Achat ticket " + i, "EVT-" + i, "Stromae", "ACHETE", "owner-" + i);
+        }
+        blockchain.setConsensusMechanism(new ProofOfWork(difficulty));
+
+        running = true;
+        load = Executors.newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < miners; i++) {
+            int miner = i;
+            load.submit(() -> {
+                for (int n = 0; running; n++) {
+                    post("{\"data\":\"Minage " + miner + "-" + n + "\",\"eventId\":\"EVT-M" + miner
+                            + "\",\"status\":\"REVENDU\",\"owner\":\"miner-" + miner + "\"}");
+                }
+                return null;
+            });
+        }
+        for (int i = 0; i < readers; i++) {
+            load.submit(() -> {
+                while (running) {
+                    read();
+                }
+                return null;
+            });
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        running = false;
+        load.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public int readUnderMiningLoad() throws IOException, InterruptedException {
+        return read();
+    }
+
+    private int read() throws IOException, InterruptedException {
+        int index = ThreadLocalRandom.current().nextInt(SEEDED_BLOCKS);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/" + index)).GET().build();
+        return check(client.send(request, HttpResponse.BodyHandlers.discarding()), 200);
+    }
+
+    private int post(String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return check(client.send(request, HttpResponse.BodyHandlers.discarding()), 201);
+    }
+
+    private static int check(HttpResponse<Void> response, int expected) {
+        if (response.statusCode() != expected) {
+            throw new IllegalStateException("Réponse inattendue : " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
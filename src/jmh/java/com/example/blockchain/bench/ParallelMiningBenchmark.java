@@ -0,0 +1,70 @@
+package com.example.blockchain.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.consensus.DifficultyTarget;
+import com.example.blockchain.consensus.MiningResult;
+import com.example.blockchain.consensus.ParallelMiner;
+
+/**
+ * Passage à l'échelle du {@link ParallelMiner} : le compteur auxiliaire {@code hashes}
+ * donne le débit de hachage (H/s) pour chaque nombre de threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelMiningBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"20"})
+    public int difficultyBits;
+
+    private ParallelMiner miner;
+    private DifficultyTarget target;
+    private int counter;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class HashCounter {
+        public long hashes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            hashes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        miner = new ParallelMiner(threads);
+        target = DifficultyTarget.ofLeadingZeroBits(difficultyBits);
+    }
+
+    @Benchmark
+    public MiningResult mine(HashCounter counter) {
+        this.counter++;
+        MiningResult result = miner.mine(new Block(this.counter, "Bench " + this.counter, "prev"), target);
+        counter.hashes += result.attempts();
+        return result;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.blockchain.bench;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.blockchain.consensus.pbft.CommitResult;
+import com.example.blockchain.consensus.pbft.NetworkConditions;
+import com.example.blockchain.consensus.pbft.PbftCluster;
+import com.example.blockchain.consensus.pbft.Pipeline;
+
+/**
+ * Débit d'une grappe PBFT de quatre répliques (1 ms de latence réseau) selon la fenêtre de
+ * séquences en vol et la taille maximale des lots. Fenêtre 1 et lot 1 correspondent à
+ * l'ancien fonctionnement : une requête par séquence, une séquence à la fois.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PbftPipelineBenchmark {
+
+    private static final int REQUESTS = 256;
+
+    @Param({"1", "8", "32"})
+    public int window;
+
+    @Param({"1", "16", "64"})
+    public int maxBatch;
+
+    private PbftCluster cluster;
+    private long round;
+
+    @Setup
+    public void setUp() {
+        NetworkConditions network = new NetworkConditions(Duration.ofMillis(1), Duration.ZERO, 0);
+        cluster = PbftCluster.start(4, network, Duration.ofSeconds(5), new Pipeline(window, maxBatch, 16));
+    }
+
+    @TearDown
+    public void tearDown() {
+        cluster.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public long commit() throws Exception {
+        round++;
+        List<CompletableFuture<CommitResult>> futures = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            futures.add(cluster.submit("bloc-" + round + "-" + i, i));
+        }
+        long sequence = 0;
+        for (CompletableFuture<CommitResult> future : futures) {
+            sequence = Math.max(sequence, future.get(30, TimeUnit.SECONDS).sequence());
+        }
+        return sequence;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.blockchain.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.consensus.ProofOfWork;
+
+/**
+ * Temps de minage séquentiel d'un bloc ({@link ProofOfWork#validate}) selon la difficulté.
+ * Un bloc différent est miné à chaque invocation pour moyenner la chance.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ProofOfWorkBenchmark {
+
+    @Param({"2", "3", "4", "5"})
+    public int difficulty;
+
+    private ProofOfWork pow;
+    private Block block;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        pow = new ProofOfWork(difficulty);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpBlock() {
+        counter++;
+        block = new Block(counter, "Bloc à miner " + counter, "ab".repeat(32));
+    }
+
+    @Benchmark
+    public Block validate() {
+        pow.validate(block);
+        return block;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.blockchain.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.Blockchain;
+import com.example.blockchain.storage.BlockLog;
+import com.example.blockchain.storage.ChainSnapshot;
+import com.example.blockchain.storage.FsyncPolicy;
+import com.example.blockchain.storage.LogPosition;
+
+/**
+ * Démarrage à froid : chargement parallèle d'un snapshot comparé au rejeu complet du journal.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class RecoveryBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private Path directory;
+    private Path snapshotFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("recovery-bench");
+        Blockchain blockchain = ChainFixtures.ticketChain(size);
+        try (BlockLog log = BlockLog.open(directory, 64 << 20, FsyncPolicy.NEVER, Duration.ZERO)) {
+            blockchain.attachLog(log);
+            snapshotFile = new ChainSnapshot(blockchain.getChain(), log.position()).write(directory);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int loadSnapshot() {
+        return ChainSnapshot.read(snapshotFile).height();
+    }
+
+    @Benchmark
+    public int replayFullLog() {
+        try (BlockLog log = BlockLog.open(directory, 64 << 20, FsyncPolicy.NEVER, Duration.ZERO)) {
+            List<Block> blocks = new ArrayList<>();
+            log.replay(new LogPosition(0, 0), blocks::add);
+            return blocks.size();
+        }
+    }
+}
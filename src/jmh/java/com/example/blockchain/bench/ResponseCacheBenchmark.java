@@ -0,0 +1,65 @@
+package com.example.blockchain.bench;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.blockchain.Blockchain;
+import com.example.blockchain.cache.BlockResponseCache;
+import com.example.blockchain.mapper.BlockMapper;
+
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Corps de réponse d'un GET /api/blocks/{index} : mapping et sérialisation à chaque requête
+ * contre les octets pré-sérialisés du {@link BlockResponseCache} (blocs chauds).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseCacheBenchmark {
+
+    private static final ObjectWriter WRITER = JsonMapper.shared().writer();
+
+    @Param({"1000"})
+    public int hotBlocks;
+
+    private Blockchain blockchain;
+    private final BlockMapper mapper = new BlockMapper();
+    private BlockResponseCache cache;
+
+    @Setup
+    public void setUp() {
+        blockchain = ChainFixtures.ticketChain(100_000);
+        cache = new BlockResponseCache(blockchain, mapper, 16_384, 6);
+        for (int i = 0; i < hotBlocks; i++) {
+            cache.get(i);
+        }
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() {
+        int index = ThreadLocalRandom.current().nextInt(hotBlocks);
+        return WRITER.writeValueAsBytes(mapper.toResponse(blockchain.getBlockByIndex(index)));
+    }
+
+    @Benchmark
+    public byte[] cachedBytes() {
+        return cache.get(ThreadLocalRandom.current().nextInt(hotBlocks)).body();
+    }
+}
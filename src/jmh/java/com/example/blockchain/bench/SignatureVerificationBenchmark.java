@@ -0,0 +1,93 @@
+package com.example.blockchain.bench;
+
+import java.security.KeyPair;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.BlockStore;
+import com.example.blockchain.crypto.AuthorityKeys;
+import com.example.blockchain.verification.BlockCheck;
+import com.example.blockchain.verification.ChainVerifier;
+import com.example.blockchain.verification.VerificationResult.Failure;
+
+/**
+ * Vérification des signatures Ed25519 d'une chaîne Proof of Authority (quatre autorités) :
+ * séquentielle, puis par segments parallèles ({@link ChainVerifier}) avec les clés publiques
+ * en cache, et enfin en parallèle mais en décodant la clé X.509 de l'autorité à chaque bloc.
+ * Une passe sur 1M blocs dure plusieurs secondes : chaque mesure est une passe unique.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class SignatureVerificationBenchmark {
+
+    private static final String[] AUTHORITIES = {"Autorité-1", "Autorité-2", "Autorité-3", "Autorité-4"};
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private final ChainVerifier verifier = new ChainVerifier();
+    private final Map<String, byte[]> encodedKeys = new HashMap<>();
+    private BlockStore store;
+    private BlockCheck cached;
+
+    @Setup
+    public void setUp() {
+        AuthorityKeys keys = new AuthorityKeys();
+        KeyPair[] pairs = new KeyPair[AUTHORITIES.length];
+        for (int i = 0; i < AUTHORITIES.length; i++) {
+            pairs[i] = AuthorityKeys.generate();
+            keys.register(AUTHORITIES[i], pairs[i].getPublic());
+            encodedKeys.put(AUTHORITIES[i], pairs[i].getPublic().getEncoded());
+        }
+        store = BlockStore.Type.HEAP.create();
+        Block previous = new Block(0, "Bloc de genèse", "0");
+        store.add(previous);
+        for (int i = 1; i < size; i++) {
+            Block block = new Block(i, "Opération ticket " + i, previous.getHash());
+            int authority = i % AUTHORITIES.length;
+            block.sign(AUTHORITIES[authority], AuthorityKeys.sign(pairs[authority].getPrivate(), block));
+            store.add(block);
+            previous = block;
+        }
+        cached = store.signatureCheck(keys);
+    }
+
+    @Benchmark
+    public boolean sequential() {
+        return verifier.verifySequential(cached, 1, size).valid();
+    }
+
+    @Benchmark
+    public boolean parallel() {
+        return verifier.verifyParallel(cached, 1, size).valid();
+    }
+
+    @Benchmark
+    public boolean parallelDecodingKeys() {
+        BlockCheck decoding = index -> {
+            Block block = store.get(index);
+            AuthorityKeys keys = new AuthorityKeys();
+            keys.register(block.getSigner(), encodedKeys.get(block.getSigner()));
+            return keys.verify(block) ? null : Failure.INVALID_SIGNATURE;
+        };
+        return verifier.verifyParallel(decoding, 1, size).valid();
+    }
+}
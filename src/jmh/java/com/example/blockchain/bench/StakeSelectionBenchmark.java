@@ -0,0 +1,76 @@
+package com.example.blockchain.bench;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.blockchain.consensus.StakeTable;
+
+/**
+ * Tirage d'un validateur PoS : arbre de Fenwick de la {@link StakeTable} contre l'ancien
+ * parcours linéaire (somme des mises en flux d'Integer puis marche dans la LinkedHashMap).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StakeSelectionBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int validators;
+
+    private final StakeTable table = new StakeTable();
+    private final Map<String, Integer> legacy = new LinkedHashMap<>();
+    private final SplittableRandom random = new SplittableRandom(42);
+    private int updates;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < validators; i++) {
+            int stake = 1 + random.nextInt(1_000);
+            table.put("validator-" + i, stake);
+            legacy.put("validator-" + i, stake);
+        }
+    }
+
+    @Benchmark
+    public String fenwickDraw() {
+        return table.draw(random);
+    }
+
+    @Benchmark
+    public long fenwickUpdate() {
+        String name = "validator-" + (updates++ % validators);
+        table.put(name, 1 + random.nextInt(1_000));
+        return table.totalStake();
+    }
+
+    @Benchmark
+    public String linearDraw() {
+        int totalStake = legacy.values().stream().mapToInt(Integer::intValue).sum();
+        int pick = random.nextInt(totalStake);
+        int cumulative = 0;
+        for (Map.Entry<String, Integer> entry : legacy.entrySet()) {
+            cumulative += entry.getValue();
+            if (pick < cumulative) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+}
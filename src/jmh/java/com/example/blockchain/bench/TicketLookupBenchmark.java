@@ -0,0 +1,58 @@
+package com.example.blockchain.bench;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.blockchain.Blockchain;
+import com.example.blockchain.index.TicketHistoryIndex;
+import com.example.blockchain.index.TicketState;
+import com.example.blockchain.index.TicketStateView;
+
+/**
+ * Lectures concurrentes des vues tickets (état courant et historique) sur une chaîne de 100 000 blocs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class TicketLookupBenchmark {
+
+    private static final int SIZE = 100_000;
+
+    private TicketStateView stateView;
+    private TicketHistoryIndex historyIndex;
+    private int events;
+
+    @Setup
+    public void setUp() {
+        Blockchain blockchain = ChainFixtures.ticketChain(SIZE);
+        stateView = new TicketStateView(blockchain);
+        historyIndex = new TicketHistoryIndex(blockchain);
+        events = stateView.size();
+    }
+
+    @Benchmark
+    public TicketState currentState() {
+        return stateView.get("EVT-" + ThreadLocalRandom.current().nextInt(events)).orElseThrow();
+    }
+
+    @Benchmark
+    public int[] history() {
+        return historyIndex.heights("EVT-" + ThreadLocalRandom.current().nextInt(events));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.blockchain;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métriques de contention du chemin d'ajout optimiste.
+ * Un conflit correspond à un bloc miné contre un sommet devenu obsolète,
+ * qu'il a fallu re-miner contre le nouveau sommet.
+ */
+public class AppendMetrics {
+
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder lockWaitNanos = new LongAdder();
+    private final AtomicLong maxRetries = new AtomicLong();
+
+    void recordAppend(int retries, long lockWait) {
+        appended.increment();
+        lockWaitNanos.add(lockWait);
+        maxRetries.accumulateAndGet(retries, Math::max);
+    }
+
+    /**
+     * Lot de blocs publié en une seule section critique.
+     */
+    void recordAppend(int blocks, int retries, long lockWait) {
+        appended.add(blocks);
+        lockWaitNanos.add(lockWait);
+        maxRetries.accumulateAndGet(retries, Math::max);
+    }
+
+    void recordConflict(long lockWait) {
+        conflicts.increment();
+        lockWaitNanos.add(lockWait);
+    }
+
+    public long getAppended() {
+        return appended.sum();
+    }
+
+    public long getConflicts() {
+        return conflicts.sum();
+    }
+
+    public long getMaxRetries() {
+        return maxRetries.get();
+    }
+
+    /**
+     * Proportion de tentatives d'ajout perdues face à un autre mineur.
+     */
+    public double getConflictRate() {
+        long won = appended.sum();
+        long lost = conflicts.sum();
+        return won + lost == 0 ? 0 : (double) lost / (won + lost);
+    }
+
+    /**
+     * Attente moyenne du verrou de publication par tentative, en microsecondes.
+     */
+    public double getAverageLockWaitMicros() {
+        long attempts = appended.sum() + conflicts.sum();
+        return attempts == 0 ? 0 : lockWaitNanos.sum() / 1_000.0 / attempts;
+    }
+}
@@ -92,9 +92,23 @@ public class Application {
         // --- Lancement API REST Spring Boot ---
         logger.info("--- Démarrage API REST Spring Boot ---");
         logger.info("Endpoints disponibles:");
-        logger.info("  GET    /api/blocks        - Récupérer tous les blocs");
+        logger.info("  GET    /api/blocks        - Récupérer tous les blocs (Accept: application/x-ndjson pour un flux)");
+        logger.info("  GET    /api/blocks?limit=&from=&order= - Page de blocs (cursor=, latest=N)");
         logger.info("  GET    /api/blocks/{id}   - Récupérer un bloc par index");
+        logger.info("  GET    /api/blocks/by-hash/{hash} - Récupérer un bloc par hash");
         logger.info("  POST   /api/blocks        - Créer un nouveau bloc");
+        logger.info("  POST   /api/blocks/batch  - Créer un bloc par opération d'un lot (JSON ou NDJSON)");
+        logger.info("  POST   /api/blocks/tickets - Créer un bloc multi-tickets (racine de Merkle)");
+        logger.info("  GET    /api/blocks/{id}/tickets/{pos}/proof - Preuve d'inclusion d'un ticket");
+        logger.info("  GET    /api/blocks/verify - Vérifier une plage de blocs (from, to)");
+        logger.info("  GET    /api/blocks/validate - Intégrité incrémentale de la chaîne");
+        logger.info("  POST   /api/submissions   - Soumettre une opération en file (202, minage asynchrone)");
+        logger.info("  GET    /api/submissions/{id}?wait=ms - État d'une soumission");
+        logger.info("  GET    /api/tickets/{eventId} - État courant d'un ticket");
+        logger.info("  GET    /api/tickets/{eventId}/history - Historique d'un ticket");
+        logger.info("  GET    /api/metrics/append - Contention des ajouts concurrents");
+        logger.info("  GET    /api/metrics/statuses - Opérations de billetterie par statut");
+        logger.info("  GET    /api/metrics/mempool - File des soumissions (profondeur, attente, minage)");
 
         SpringApplication app = new SpringApplication(Application.class);
         app.setHeadless(false);
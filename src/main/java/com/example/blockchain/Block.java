@@ -1,103 +1,449 @@
 package com.example.blockchain;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import com.example.blockchain.crypto.BlockHasher;
+import com.example.blockchain.crypto.BlockHeaderEncoder;
+import com.example.blockchain.crypto.MerkleTree;
 
 /**
  * Représente un bloc individuel dans la blockchain.
  * Enrichi avec les données métier de billetterie : eventId, artiste, statut, propriétaire.
+ * Un bloc multi-tickets porte à la place une liste de transactions engagées
+ * par une racine de Merkle incluse dans l'en-tête hashé.
+ *
+ * <p>Représentation compacte en mémoire : les hashs canoniques sont stockés en quatre
+ * {@code long} (un hash non canonique, comme le "0" de la genèse ou une valeur falsifiée,
+ * est gardé tel quel), l'horodatage en secondes epoch + nanosecondes, les données en
+ * UTF-8. Les champs de faible cardinalité (artiste, statut, autorité) sont partagés par des
+ * {@link FieldDictionary} communs ; le ticket et le propriétaire, de forte cardinalité, le
+ * sont par le stockage de la chaîne qui reçoit le bloc ({@link #shareFields}).
+ * Les formes {@link String} exposées par les getters (mapper, JSON) sont produites à la demande.
  */
 public class Block {
+    private static final int MAX_DICTIONARY_ENTRIES = 1 << 12;
+    private static final FieldDictionary ARTISTS = new FieldDictionary(MAX_DICTIONARY_ENTRIES);
+    private static final FieldDictionary STATUSES = new FieldDictionary(MAX_DICTIONARY_ENTRIES);
+    private static final FieldDictionary SIGNERS = new FieldDictionary(MAX_DICTIONARY_ENTRIES);
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.ISO_8859_1);
+    private static final byte HASH_AS_TEXT = 1;
+    private static final byte PREVIOUS_HASH_AS_TEXT = 2;
+
     private final int index;
-    private final String timestamp;
-    private String data;
-    private String previousHash;
-    private String hash;
+    private final long epochSecond;
+    private final int nanoAdjustment;
+    private byte[] data;
 
-    // Données métier enrichies (billetterie)
+    // Hashs canoniques en 4 longs big-endian ; sinon (drapeau dans textHashes) valeur brute en texte
+    private long hash0, hash1, hash2, hash3;
+    private long previous0, previous1, previous2, previous3;
+    private String hashText;
+    private String previousHashText;
+    private byte textHashes;
+
+    // Données métier enrichies (billetterie), instances partagées entre blocs
     private String eventId;
     private String artist;
     private String status;
     private String owner;
 
+    // Bloc multi-tickets (liste vide et racine null pour un bloc simple)
+    private final List<TicketTransaction> transactions;
+    private final byte[] merkleRoot;
+
     // Proof of Work
     private int nonce;
 
+    // Proof of Authority : autorité signataire et signature Ed25519 du hash (hors en-tête hashé),
+    // regroupées derrière une seule référence pour ne pas alourdir les blocs non signés
+    private Seal seal;
+
+    // Chaîne propriétaire, prévenue de toute falsification après l'ajout
+    private BlockMutationListener mutationListener;
+
     public Block(int index, String data, String previousHash) {
-        this.index = index;
-        this.timestamp = Instant.now().toString();
-        this.data = data;
-        this.previousHash = previousHash;
-        this.nonce = 0;
-        this.hash = calculateHash();
+        this(index, Instant.now(), data, previousHash, null, null, null, null, List.of());
+        storeHash(calculateHashBytes());
     }
 
     public Block(int index, String data, String previousHash,
                  String eventId, String artist, String status, String owner) {
+        this(index, Instant.now(), data, previousHash, eventId, artist, status, owner, List.of());
+        storeHash(calculateHashBytes());
+    }
+
+    /**
+     * Bloc multi-tickets : un seul en-tête (et un seul consensus) pour tout le lot.
+     */
+    public Block(int index, String data, String previousHash, List<TicketTransaction> transactions) {
+        this(index, Instant.now(), data, previousHash, null, null, null, null, requireTransactions(transactions));
+        storeHash(calculateHashBytes());
+    }
+
+    private Block(int index, Instant timestamp, String data, String previousHash,
+                  String eventId, String artist, String status, String owner,
+                  List<TicketTransaction> transactions) {
         this.index = index;
-        this.timestamp = Instant.now().toString();
-        this.data = data;
-        this.previousHash = previousHash;
+        this.epochSecond = timestamp.getEpochSecond();
+        this.nanoAdjustment = timestamp.getNano();
+        this.data = encodeData(data);
         this.eventId = eventId;
-        this.artist = artist;
-        this.status = status;
+        this.artist = ARTISTS.canonical(artist);
+        this.status = STATUSES.canonical(status);
         this.owner = owner;
+        this.transactions = List.copyOf(transactions);
+        this.merkleRoot = transactions.isEmpty() ? null : MerkleTree.root(transactionHashes());
         this.nonce = 0;
-        this.hash = calculateHash();
+        storePreviousHash(previousHash);
+    }
+
+    private static List<TicketTransaction> requireTransactions(List<TicketTransaction> transactions) {
+        if (transactions.isEmpty()) {
+            throw new IllegalArgumentException("Un bloc multi-tickets contient au moins une transaction");
+        }
+        return transactions;
+    }
+
+    /**
+     * Brouillon de bloc pour un ajout par lot : charge utile encodée, chaînage encore
+     * indéterminé. {@link #linkTo(Block)} fixe ensuite le hash précédent et calcule le hash.
+     */
+    static Block draft(int index, String data, String eventId, String artist, String status, String owner) {
+        return new Block(index, Instant.now(), data, null, eventId, artist, status, owner, List.of());
+    }
+
+    /**
+     * Chaîne ce bloc au bloc donné (copie directe de son hash stocké) puis recalcule le hash.
+     */
+    void linkTo(Block previous) {
+        if ((previous.textHashes & HASH_AS_TEXT) != 0) {
+            storePreviousHash(previous.hashText);
+        } else {
+            previous0 = previous.hash0;
+            previous1 = previous.hash1;
+            previous2 = previous.hash2;
+            previous3 = previous.hash3;
+            previousHashText = null;
+            textHashes &= ~PREVIOUS_HASH_AS_TEXT;
+        }
+        storeHash(calculateHashBytes());
+    }
+
+    /**
+     * Reconstruit un bloc persisté tel quel : horodatage, nonce et hash stockés
+     * sont repris sans recalcul, pour que la vérification d'intégrité juge le bloc relu.
+     */
+    public static Block restore(int index, String timestamp, String data, String previousHash, String hash,
+                                int nonce, String eventId, String artist, String status, String owner,
+                                List<TicketTransaction> transactions) {
+        return restore(index, Instant.parse(timestamp), data, previousHash, hash, nonce,
+                eventId, artist, status, owner, transactions);
     }
 
+    /**
+     * Comme {@link #restore(int, String, String, String, String, int, String, String, String, String, List)},
+     * à partir d'un horodatage déjà décodé.
+     */
+    public static Block restore(int index, Instant timestamp, String data, String previousHash, String hash,
+                                int nonce, String eventId, String artist, String status, String owner,
+                                List<TicketTransaction> transactions) {
+        Block block = new Block(index, timestamp, data, previousHash,
+                eventId, artist, status, owner, transactions);
+        block.nonce = nonce;
+        block.storeHash(hash);
+        return block;
+    }
+
+    /**
+     * Hash SHA-256 de l'en-tête binaire canonique du bloc, en hexadécimal.
+     * Le digest est réutilisé par thread (voir {@link BlockHasher}).
+     */
     public final String calculateHash() {
-        try {
-            String input = index + timestamp + data + previousHash
-                    + (eventId != null ? eventId : "")
-                    + (artist != null ? artist : "")
-                    + (status != null ? status : "")
-                    + (owner != null ? owner : "")
-                    + nonce;
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = digest.digest(input.getBytes());
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hashBytes) {
-                hexString.append(String.format("%02x", b));
+        return BlockHasher.current().reset(this).hashHex(nonce);
+    }
+
+    /**
+     * Hash SHA-256 brut (32 octets), sans conversion hexadécimale.
+     */
+    public final byte[] calculateHashBytes() {
+        return BlockHasher.current().reset(this).hash(nonce);
+    }
+
+    /**
+     * Hashs des feuilles de Merkle, dans l'ordre des transactions.
+     */
+    public List<byte[]> transactionHashes() {
+        BlockHeaderEncoder encoder = new BlockHeaderEncoder();
+        List<byte[]> hashes = new ArrayList<>(transactions.size());
+        for (TicketTransaction transaction : transactions) {
+            hashes.add(MerkleTree.leafHash(encoder.encodeTransaction(transaction)));
+        }
+        return hashes;
+    }
+
+    /**
+     * Preuve d'inclusion (taille logarithmique) de la transaction à la position donnée.
+     */
+    public List<MerkleTree.ProofStep> inclusionProof(int position) {
+        return MerkleTree.proof(transactionHashes(), position);
+    }
+
+    /**
+     * Applique l'action à chaque ticket du bloc : ses propres champs métier, puis chacune
+     * de ses transactions. Un eventId vide ou absent ne désigne aucun ticket et est ignoré.
+     */
+    public void forEachTicket(Consumer<TicketTransaction> action) {
+        if (eventId != null && !eventId.isEmpty()) {
+            action.accept(new TicketTransaction(getData(), eventId, artist, status, owner));
+        }
+        for (TicketTransaction transaction : transactions) {
+            if (!transaction.eventId().isEmpty()) {
+                action.accept(transaction);
             }
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("SHA-256 non disponible", e);
         }
     }
 
+    /**
+     * Racine de Merkle brute (tableau interne, à ne pas modifier), null pour un bloc simple.
+     */
+    public byte[] merkleRootBytes() {
+        return merkleRoot;
+    }
+
+    /**
+     * Données en UTF-8 (tableau interne, à ne pas modifier), null si absentes.
+     */
+    public byte[] dataBytes() {
+        return data;
+    }
+
+    /**
+     * Horodatage : secondes depuis l'epoch.
+     */
+    public long epochSecond() {
+        return epochSecond;
+    }
+
+    /**
+     * Horodatage : nanosecondes dans la seconde.
+     */
+    public int nanoAdjustment() {
+        return nanoAdjustment;
+    }
+
+    /**
+     * Hash stocké en 32 octets bruts, null s'il n'est pas canonique.
+     */
+    public byte[] hashBytes() {
+        return (textHashes & HASH_AS_TEXT) != 0 ? null : toBytes(hash0, hash1, hash2, hash3);
+    }
+
+    /**
+     * Hash précédent en 32 octets bruts, null s'il n'est pas canonique (genèse, falsification).
+     */
+    public byte[] previousHashBytes() {
+        return (textHashes & PREVIOUS_HASH_AS_TEXT) != 0 ? null : toBytes(previous0, previous1, previous2, previous3);
+    }
+
+    /**
+     * Indique si le hash stocké est égal au digest donné, sans passer par l'hexadécimal.
+     */
+    public boolean hashMatches(byte[] digest) {
+        if ((textHashes & HASH_AS_TEXT) != 0) {
+            return hashText != null && hashText.equals(BlockHasher.toHex(digest));
+        }
+        return hash0 == (long) LONGS.get(digest, 0) && hash1 == (long) LONGS.get(digest, 8)
+                && hash2 == (long) LONGS.get(digest, 16) && hash3 == (long) LONGS.get(digest, 24);
+    }
+
+    /**
+     * Indique si le hash précédent de ce bloc est le hash stocké du bloc donné.
+     */
+    public boolean isLinkedTo(Block previous) {
+        if (((textHashes & PREVIOUS_HASH_AS_TEXT) | (previous.textHashes & HASH_AS_TEXT)) != 0) {
+            return Objects.equals(getPreviousHash(), previous.getHash());
+        }
+        return previous0 == previous.hash0 && previous1 == previous.hash1
+                && previous2 == previous.hash2 && previous3 == previous.hash3;
+    }
+
     // Getters
     public int getIndex() { return index; }
-    public String getTimestamp() { return timestamp; }
-    public String getData() { return data; }
-    public String getPreviousHash() { return previousHash; }
-    public String getHash() { return hash; }
+    public String getTimestamp() { return Instant.ofEpochSecond(epochSecond, nanoAdjustment).toString(); }
+    public String getData() { return data != null ? new String(data, StandardCharsets.UTF_8) : null; }
+    public String getPreviousHash() {
+        return (textHashes & PREVIOUS_HASH_AS_TEXT) != 0 ? previousHashText
+                : toHex(previous0, previous1, previous2, previous3);
+    }
+    public String getHash() {
+        return (textHashes & HASH_AS_TEXT) != 0 ? hashText : toHex(hash0, hash1, hash2, hash3);
+    }
     public String getEventId() { return eventId; }
     public String getArtist() { return artist; }
     public String getStatus() { return status; }
     public String getOwner() { return owner; }
     public int getNonce() { return nonce; }
+    public String getSigner() { return seal != null ? seal.signer() : null; }
+    public String getSignature() { return seal != null && seal.signature() != null ? BlockHasher.toHex(seal.signature()) : null; }
+    public List<TicketTransaction> getTransactions() { return transactions; }
+    public String getMerkleRoot() { return merkleRoot != null ? BlockHasher.toHex(merkleRoot) : null; }
 
     // Setters nécessaires pour le minage et la falsification (tests)
-    public void setData(String data) { this.data = data; }
-    public void setHash(String hash) { this.hash = hash; }
-    public void setPreviousHash(String previousHash) { this.previousHash = previousHash; }
-    public void setNonce(int nonce) { this.nonce = nonce; }
+    public void setData(String data) { this.data = encodeData(data); notifyMutation(); }
+    public void setHash(String hash) { storeHash(hash); notifyMutation(); }
+    public void setHashBytes(byte[] hash) { storeHash(hash); notifyMutation(); }
+    public void setPreviousHash(String previousHash) { storePreviousHash(previousHash); notifyMutation(); }
+    public void setPreviousHashBytes(byte[] previousHash) { storePreviousHash(previousHash); notifyMutation(); }
+    public void setNonce(int nonce) { this.nonce = nonce; notifyMutation(); }
+
+    /**
+     * Attache la signature de l'autorité qui a validé le bloc (null, null pour l'en retirer).
+     * La signature porte sur le hash : elle n'entre pas dans l'en-tête hashé.
+     */
+    public void sign(String signer, byte[] signature) {
+        this.seal = signer != null || signature != null
+                ? new Seal(SIGNERS.canonical(signer), signature != null ? signature.clone() : null)
+                : null;
+        notifyMutation();
+    }
+
+    /**
+     * Signature brute (tableau interne, à ne pas modifier), null si le bloc n'est pas signé.
+     */
+    public byte[] signatureBytes() {
+        return seal != null ? seal.signature() : null;
+    }
+
+    private record Seal(String signer, byte[] signature) {}
+
+    private void storeHash(String hash) {
+        if (BlockHeaderEncoder.isCanonicalHash(hash)) {
+            hash0 = hexToLong(hash, 0);
+            hash1 = hexToLong(hash, 1);
+            hash2 = hexToLong(hash, 2);
+            hash3 = hexToLong(hash, 3);
+            hashText = null;
+            textHashes &= ~HASH_AS_TEXT;
+        } else {
+            hashText = hash;
+            textHashes |= HASH_AS_TEXT;
+        }
+    }
+
+    private void storeHash(byte[] hash) {
+        hash0 = (long) LONGS.get(hash, 0);
+        hash1 = (long) LONGS.get(hash, 8);
+        hash2 = (long) LONGS.get(hash, 16);
+        hash3 = (long) LONGS.get(hash, 24);
+        hashText = null;
+        textHashes &= ~HASH_AS_TEXT;
+    }
+
+    private void storePreviousHash(String previousHash) {
+        if (BlockHeaderEncoder.isCanonicalHash(previousHash)) {
+            previous0 = hexToLong(previousHash, 0);
+            previous1 = hexToLong(previousHash, 1);
+            previous2 = hexToLong(previousHash, 2);
+            previous3 = hexToLong(previousHash, 3);
+            previousHashText = null;
+            textHashes &= ~PREVIOUS_HASH_AS_TEXT;
+        } else {
+            previousHashText = previousHash;
+            textHashes |= PREVIOUS_HASH_AS_TEXT;
+        }
+    }
+
+    private void storePreviousHash(byte[] previousHash) {
+        previous0 = (long) LONGS.get(previousHash, 0);
+        previous1 = (long) LONGS.get(previousHash, 8);
+        previous2 = (long) LONGS.get(previousHash, 16);
+        previous3 = (long) LONGS.get(previousHash, 24);
+        previousHashText = null;
+        textHashes &= ~PREVIOUS_HASH_AS_TEXT;
+    }
+
+    private static byte[] encodeData(String data) {
+        return data != null ? data.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static long hexToLong(String hex, int word) {
+        return HexFormat.fromHexDigitsToLong(hex, word * 16, word * 16 + 16);
+    }
+
+    private static byte[] toBytes(long w0, long w1, long w2, long w3) {
+        byte[] bytes = new byte[32];
+        LONGS.set(bytes, 0, w0);
+        LONGS.set(bytes, 8, w1);
+        LONGS.set(bytes, 16, w2);
+        LONGS.set(bytes, 24, w3);
+        return bytes;
+    }
+
+    private static String toHex(long w0, long w1, long w2, long w3) {
+        byte[] digits = new byte[64];
+        writeHex(digits, 0, w0);
+        writeHex(digits, 16, w1);
+        writeHex(digits, 32, w2);
+        writeHex(digits, 48, w3);
+        return new String(digits, StandardCharsets.ISO_8859_1);
+    }
+
+    private static void writeHex(byte[] digits, int offset, long word) {
+        for (int i = 15; i >= 0; i--) {
+            digits[offset + i] = HEX_DIGITS[(int) (word & 0xF)];
+            word >>>= 4;
+        }
+    }
+
+    void setMutationListener(BlockMutationListener listener) {
+        this.mutationListener = listener;
+    }
+
+    /**
+     * Remplace le ticket et le propriétaire par les instances partagées des dictionnaires du
+     * stockage (valeurs égales : ce n'est pas une modification du bloc).
+     */
+    void shareFields(FieldDictionary eventIds, FieldDictionary owners) {
+        this.eventId = eventIds.canonical(eventId);
+        this.owner = owners.canonical(owner);
+    }
+
+    private void notifyMutation() {
+        BlockMutationListener listener = mutationListener;
+        if (listener != null) {
+            listener.blockMutated(this);
+        }
+    }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append("Index       : ").append(index).append("\n");
-        sb.append("Horodatage  : ").append(timestamp).append("\n");
-        sb.append("Données     : ").append(data).append("\n");
+        sb.append("Horodatage  : ").append(getTimestamp()).append("\n");
+        sb.append("Données     : ").append(getData()).append("\n");
         if (eventId != null) sb.append("Événement   : ").append(eventId).append("\n");
         if (artist != null) sb.append("Artiste     : ").append(artist).append("\n");
         if (status != null) sb.append("Statut      : ").append(status).append("\n");
         if (owner != null) sb.append("Propriétaire: ").append(owner).append("\n");
+        if (merkleRoot != null) {
+            sb.append("Transactions: ").append(transactions.size()).append("\n");
+            sb.append("Racine Merkle: ").append(getMerkleRoot()).append("\n");
+        }
         sb.append("Nonce       : ").append(nonce).append("\n");
-        sb.append("Hash préc.  : ").append(previousHash).append("\n");
-        sb.append("Hash        : ").append(hash).append("\n");
+        if (getSigner() != null) sb.append("Autorité    : ").append(getSigner()).append("\n");
+        sb.append("Hash préc.  : ").append(getPreviousHash()).append("\n");
+        sb.append("Hash        : ").append(getHash()).append("\n");
         sb.append("----------------------------------------");
         return sb.toString();
     }
@@ -0,0 +1,28 @@
+package com.example.blockchain;
+
+import java.util.List;
+
+/**
+ * Vue dérivée maintenue au fil des ajouts (index, état matérialisé...).
+ * Les deux méthodes sont appelées sous le verrou d'ajout de la chaîne, dans l'ordre des blocs :
+ * elles doivent rester courtes et ne jamais rappeler la chaîne en écriture.
+ */
+public interface BlockAppendListener {
+
+    /**
+     * Un bloc vient d'être ajouté en fin de chaîne.
+     */
+    void blockAppended(Block block);
+
+    /**
+     * La chaîne entière est (re)chargée : à l'enregistrement du listener ou après une restauration.
+     */
+    void chainRestored(List<Block> chain);
+
+    /**
+     * Un bloc déjà chaîné vient d'être modifié via ses setters. Appelée hors du verrou d'ajout,
+     * sur le thread qui a modifié le bloc.
+     */
+    default void blockMutated(Block block) {
+    }
+}
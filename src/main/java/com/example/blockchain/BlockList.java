@@ -0,0 +1,116 @@
+package com.example.blockchain;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+
+import com.example.blockchain.verification.BlockCheck;
+import com.example.blockchain.verification.ChainVerifier;
+
+/**
+ * Stockage append-only de la chaîne sur le tas, lisible sans verrou.
+ *
+ * <p>Les blocs sont rangés dans des tronçons de taille fixe : un ajout ne recopie
+ * jamais les blocs existants. Un seul écrivain à la fois (garanti par l'appelant)
+ * écrit le bloc puis publie la nouvelle taille par une écriture volatile ; un lecteur
+ * qui lit la taille voit donc tous les blocs qui la précèdent.
+ *
+ * <p>Le ticket et le propriétaire des blocs ajoutés sont partagés par des dictionnaires propres
+ * à ce stockage : leurs valeurs, de forte cardinalité, ne sont pas retenues au-delà de la chaîne.
+ */
+final class BlockList implements BlockStore {
+
+    private static final int CHUNK_BITS = 14;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int MAX_DICTIONARY_ENTRIES = 1 << 16;
+
+    private final FieldDictionary eventIds = new FieldDictionary(MAX_DICTIONARY_ENTRIES);
+    private final FieldDictionary owners = new FieldDictionary(MAX_DICTIONARY_ENTRIES);
+
+    private volatile Block[][] chunks = new Block[1][];
+    private volatile int size;
+
+    @Override
+    public void add(Block block) {
+        block.shareFields(eventIds, owners);
+        int index = size;
+        int chunk = index >>> CHUNK_BITS;
+        Block[][] current = chunks;
+        if (chunk == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        if (current[chunk] == null) {
+            current[chunk] = new Block[CHUNK_SIZE];
+        }
+        current[chunk][index & CHUNK_MASK] = block;
+        chunks = current;
+        size = index + 1;
+    }
+
+    @Override
+    public Block get(int index) {
+        return chunks[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    @Override
+    public Block last() {
+        int current = size;
+        return get(current - 1);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Snapshot snapshot() {
+        return new Snapshot(size);
+    }
+
+    @Override
+    public BlockCheck integrityCheck() {
+        return ChainVerifier.blockCheck(snapshot());
+    }
+
+    @Override
+    public Map<String, Long> countByStatus(int to) {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Block block : snapshot().subList(0, to)) {
+            if (block.getStatus() != null) {
+                counts.merge(block.getStatus(), 1L, Long::sum);
+            }
+            for (TicketTransaction transaction : block.getTransactions()) {
+                if (!transaction.status().isEmpty()) {
+                    counts.merge(transaction.status(), 1L, Long::sum);
+                }
+            }
+        }
+        return counts;
+    }
+
+    final class Snapshot extends AbstractList<Block> implements RandomAccess {
+
+        private final int length;
+
+        private Snapshot(int length) {
+            this.length = length;
+        }
+
+        @Override
+        public Block get(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return BlockList.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.blockchain;
+
+/**
+ * Notifié lorsqu'un bloc déjà chaîné est modifié via ses setters.
+ */
+@FunctionalInterface
+interface BlockMutationListener {
+    void blockMutated(Block block);
+}
@@ -0,0 +1,68 @@
+package com.example.blockchain;
+
+import java.util.List;
+import java.util.Map;
+
+import com.example.blockchain.crypto.AuthorityKeys;
+import com.example.blockchain.verification.BlockCheck;
+import com.example.blockchain.verification.VerificationResult.Failure;
+
+/**
+ * Stockage append-only des blocs de la chaîne, lisible sans verrou.
+ *
+ * <p>Un seul écrivain à la fois (la chaîne, sous son verrou d'ajout) ; un lecteur qui
+ * lit la taille voit tous les blocs qui la précèdent. Les balayages (intégrité,
+ * statistiques) passent par le stockage lui-même, qui peut les exécuter sans
+ * matérialiser de {@link Block}.
+ */
+public interface BlockStore {
+
+    /**
+     * Représentation des blocs en mémoire.
+     */
+    enum Type {
+        /** Un objet {@link Block} par bloc, sur le tas. */
+        HEAP,
+        /** Colonnes hors du tas ; les blocs sont reconstruits à la lecture. */
+        COLUMNAR;
+
+        public BlockStore create() {
+            return this == HEAP ? new BlockList() : new ColumnarBlockStore();
+        }
+    }
+
+    /**
+     * Ajoute un bloc en fin de stockage. Doit être appelé par un seul thread à la fois.
+     */
+    void add(Block block);
+
+    Block get(int index);
+
+    Block last();
+
+    int size();
+
+    /**
+     * Vue en lecture seule figée sur la taille courante : les blocs ajoutés
+     * ensuite n'y apparaissent pas, et aucune lecture ne bloque un ajout.
+     */
+    List<Block> snapshot();
+
+    /**
+     * Contrôle d'intégrité bloc par bloc (hash recalculé, chaînage) sur le contenu stocké.
+     */
+    BlockCheck integrityCheck();
+
+    /**
+     * Contrôle des signatures d'autorité (Proof of Authority) : voir {@link AuthorityKeys#isAuthentic}.
+     */
+    default BlockCheck signatureCheck(AuthorityKeys keys) {
+        return index -> keys.isAuthentic(get(index)) ? null : Failure.INVALID_SIGNATURE;
+    }
+
+    /**
+     * Nombre d'opérations de billetterie par statut (blocs simples et transactions des
+     * blocs multi-tickets) sur les blocs [0, to).
+     */
+    Map<String, Long> countByStatus(int to);
+}
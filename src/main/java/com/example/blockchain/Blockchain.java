@@ -1,113 +1,569 @@
 package com.example.blockchain;
 
-import java.io.File;
-import java.util.ArrayList;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.example.blockchain.consensus.ConsensusExecutor;
 import com.example.blockchain.consensus.ConsensusMechanism;
+import com.example.blockchain.consensus.ProofOfAuthority;
+import com.example.blockchain.crypto.AuthorityKeys;
 import com.example.blockchain.exception.BlockNotFoundException;
+import com.example.blockchain.exception.InvalidBlockRangeException;
+import com.example.blockchain.storage.BlockLog;
+import com.example.blockchain.storage.ChainSnapshot;
+import com.example.blockchain.storage.LogPosition;
+import com.example.blockchain.verification.BlockCheck;
+import com.example.blockchain.verification.ChainVerifier;
+import com.example.blockchain.verification.VerificationResult;
 
-import tools.jackson.databind.ObjectMapper;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SequenceWriter;
 import tools.jackson.databind.SerializationFeature;
 import tools.jackson.databind.json.JsonMapper;
 
 /**
  * Service métier : chaîne de blocs avec vérification d'intégrité, export JSON et consensus.
+ *
+ * <p>Ajouts concurrents : chaque bloc est miné hors de tout verrou contre un instantané
+ * du sommet, puis publié par un compare-and-set sur le sommet attendu (section critique
+ * de quelques instructions). Le perdant re-mine contre le nouveau sommet. Les lectures
+ * ne prennent jamais de verrou.
  */
 @Service
 public class Blockchain {
 
     private static final Logger logger = LoggerFactory.getLogger(Blockchain.class);
 
-    private final List<Block> chain;
-    private ConsensusMechanism consensusMechanism;
+    // Tentatives hors verrou d'un lot avant de le préparer sous le verrou d'ajout
+    static final int MAX_OPTIMISTIC_BATCH_ATTEMPTS = 3;
+
+    // Partagé et immuable : pas de reconstruction de la configuration Jackson à chaque export
+    private static final ObjectWriter EXPORT_WRITER = JsonMapper.builder()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build()
+            .writer();
+
+    private final BlockStore.Type storeType;
+    private volatile BlockStore chain;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final AppendMetrics appendMetrics = new AppendMetrics();
+    private final ChainVerifier verifier = new ChainVerifier();
+    private final AuthorityKeys authorityKeys = new AuthorityKeys();
+    private volatile ConsensusMechanism consensusMechanism;
+    private volatile ConsensusExecutor consensusExecutor;
+    private BlockLog log;
+    private final List<BlockAppendListener> appendListeners = new CopyOnWriteArrayList<>();
+
+    // Filigrane : les blocs [0, verifiedHeight) ont déjà été vérifiés
+    private final AtomicInteger verifiedHeight = new AtomicInteger(1);
+    private final Object watermarkLock = new Object();
+    private long mutationCount;
 
     public Blockchain() {
-        chain = new ArrayList<>();
-        chain.add(new Block(0, "Bloc de genèse - Billetterie Spectacle", "0"));
+        this(BlockStore.Type.HEAP);
     }
 
+    /**
+     * Chaîne dont les blocs sont rangés selon le type de stockage donné
+     * (propriété {@code blockchain.store}, sur le tas par défaut).
+     */
+    @Autowired
+    public Blockchain(@Value("${blockchain.store:heap}") BlockStore.Type storeType) {
+        this.storeType = storeType;
+        this.chain = storeType.create();
+        append(new Block(0, "Bloc de genèse - Billetterie Spectacle", "0"));
+    }
+
+    /**
+     * Change le consensus des prochains blocs. Sous Proof of Authority, chaque bloc à partir
+     * du sommet actuel devra porter la signature de l'autorité désignée.
+     *
+     * <p>Le changement se fait sous le verrou d'ajout, et un bloc préparé avec l'ancien
+     * mécanisme n'est plus publié : aucun bloc non signé ne peut occuper un index dont
+     * le calendrier exige une signature.
+     */
     public void setConsensusMechanism(ConsensusMechanism mechanism) {
-        this.consensusMechanism = mechanism;
+        appendLock.lock();
+        try {
+            ConsensusMechanism previous = consensusMechanism;
+            this.consensusMechanism = mechanism;
+            if (previous == mechanism) {
+                return;
+            }
+            int height = chain.size();
+            if (previous instanceof ProofOfAuthority retired) {
+                retired.withdrawFrom(authorityKeys, height);
+            }
+            if (mechanism instanceof ProofOfAuthority poa) {
+                poa.publishTo(authorityKeys, height);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Clés publiques des autorités dont les signatures sont vérifiées avec la chaîne.
+     */
+    public AuthorityKeys getAuthorityKeys() {
+        return authorityKeys;
+    }
+
+    /**
+     * Pool sur lequel le consensus est exécuté ; null pour l'exécuter sur le thread appelant.
+     */
+    public void setConsensusExecutor(ConsensusExecutor executor) {
+        this.consensusExecutor = executor;
+    }
+
+    public Block addBlock(String data) {
+        return appendOptimistically(tip -> new Block(tip.getIndex() + 1, data, tip.getHash()));
+    }
+
+    public Block addBlock(String data, String eventId, String artist, String status, String owner) {
+        return appendOptimistically(tip -> new Block(tip.getIndex() + 1, data, tip.getHash(),
+                eventId, artist, status, owner));
+    }
+
+    /**
+     * Ajoute un bloc multi-tickets : un seul passage de consensus pour tout le lot.
+     */
+    /**
+     * Ajoute un bloc pour une opération : un bloc ticket si elle renseigne un champ métier,
+     * sinon un bloc simple (même règle que {@link #addBlocks(List)}).
+     */
+    public Block addBlock(TicketTransaction operation) {
+        return operation.hasTicketData()
+                ? addBlock(operation.data(), operation.eventId(), operation.artist(),
+                        operation.status(), operation.owner())
+                : addBlock(operation.data());
+    }
+
+    public Block addBlock(String data, List<TicketTransaction> transactions) {
+        return appendOptimistically(tip -> new Block(tip.getIndex() + 1, data, tip.getHash(), transactions));
+    }
+
+    /**
+     * Ajoute un lot d'opérations, un bloc chacune (sans champ métier renseigné, un bloc simple).
+     *
+     * <p>Les charges utiles sont préparées en parallèle (encodage, horodatage, champs partagés),
+     * puis les blocs sont chaînés et passent le consensus dans l'ordre du lot, hors verrou,
+     * contre le sommet courant. Le lot entier est publié en une seule section critique ;
+     * si le sommet a changé entre-temps, il est repréparé contre le nouveau sommet. Après
+     * {@value #MAX_OPTIMISTIC_BATCH_ATTEMPTS} tentatives, le lot est préparé sous le verrou
+     * d'ajout : un flux continu d'ajouts unitaires ne peut pas l'affamer indéfiniment.
+     */
+    public List<Block> addBlocks(List<TicketTransaction> operations) {
+        int retries = 0;
+        while (retries < MAX_OPTIMISTIC_BATCH_ATTEMPTS) {
+            Block tip = chain.last();
+            ConsensusMechanism mechanism = consensusMechanism;
+            List<Block> batch = prepareBatch(operations, tip, mechanism);
+
+            long waitStart = System.nanoTime();
+            appendLock.lock();
+            long lockWait = System.nanoTime() - waitStart;
+            try {
+                Block current = chain.last();
+                if (current.getIndex() == tip.getIndex() && consensusMechanism == mechanism
+                        && (batch.isEmpty() || batch.getFirst().isLinkedTo(current))) {
+                    for (Block block : batch) {
+                        append(block);
+                    }
+                    appendMetrics.recordAppend(batch.size(), retries, lockWait);
+                    return batch;
+                }
+            } finally {
+                appendLock.unlock();
+            }
+            appendMetrics.recordConflict(lockWait);
+            retries++;
+            logger.debug("Sommet modifié pendant la préparation d'un lot de {} blocs, nouvelle tentative ({})",
+                    batch.size(), retries);
+        }
+
+        // Trop de conflits : chaînage et consensus sous le verrou, les ajouts concurrents attendent
+        long waitStart = System.nanoTime();
+        appendLock.lock();
+        long lockWait = System.nanoTime() - waitStart;
+        try {
+            List<Block> batch = prepareBatch(operations, chain.last(), consensusMechanism);
+            for (Block block : batch) {
+                append(block);
+            }
+            appendMetrics.recordAppend(batch.size(), retries, lockWait);
+            logger.debug("Lot de {} blocs préparé sous le verrou après {} conflits", batch.size(), retries);
+            return batch;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Prépare les brouillons du lot en parallèle, puis les chaîne au sommet donné
+     * et leur applique le consensus, dans l'ordre.
+     */
+    private List<Block> prepareBatch(List<TicketTransaction> operations, Block tip, ConsensusMechanism mechanism) {
+        int firstIndex = tip.getIndex() + 1;
+        List<Block> batch = IntStream.range(0, operations.size()).parallel()
+                .mapToObj(i -> draft(firstIndex + i, operations.get(i)))
+                .toList();
+        Block previous = tip;
+        if (mechanism != null && mechanism.supportsBatchValidation()) {
+            // Hash inchangés par le consensus : tout le lot est chaîné puis validé en une fois
+            for (Block block : batch) {
+                block.linkTo(previous);
+                previous = block;
+            }
+            applyConsensus(mechanism, batch);
+        } else {
+            for (Block block : batch) {
+                block.linkTo(previous);
+                applyConsensus(mechanism, block);
+                previous = block;
+            }
+        }
+        return batch;
+    }
+
+    private static Block draft(int index, TicketTransaction operation) {
+        return operation.hasTicketData()
+                ? Block.draft(index, operation.data(), operation.eventId(), operation.artist(),
+                        operation.status(), operation.owner())
+                : Block.draft(index, operation.data(), null, null, null, null);
+    }
+
+    /**
+     * Construit et mine un bloc contre le sommet courant sans verrou, puis le publie
+     * seulement si ni le sommet ni le consensus n'ont changé entre-temps ; sinon recommence.
+     */
+    private Block appendOptimistically(Function<Block, Block> blockFactory) {
+        int retries = 0;
+        while (true) {
+            Block tip = chain.last();
+            ConsensusMechanism mechanism = consensusMechanism;
+            Block candidate = blockFactory.apply(tip);
+            applyConsensus(mechanism, candidate);
+
+            long waitStart = System.nanoTime();
+            appendLock.lock();
+            long lockWait = System.nanoTime() - waitStart;
+            try {
+                Block current = chain.last();
+                if (current.getIndex() == tip.getIndex() && consensusMechanism == mechanism
+                        && candidate.isLinkedTo(current)) {
+                    append(candidate);
+                    appendMetrics.recordAppend(retries, lockWait);
+                    return candidate;
+                }
+            } finally {
+                appendLock.unlock();
+            }
+            appendMetrics.recordConflict(lockWait);
+            retries++;
+            logger.debug("Sommet modifié pendant le minage du bloc #{}, nouvelle tentative ({})",
+                    candidate.getIndex(), retries);
+        }
+    }
+
+    private void append(Block block) {
+        if (log != null) {
+            log.append(block);
+        }
+        block.setMutationListener(this::onBlockMutated);
+        chain.add(block);
+        for (BlockAppendListener listener : appendListeners) {
+            listener.blockAppended(block);
+        }
+    }
+
+    /**
+     * Enregistre une vue dérivée : elle reçoit d'abord la chaîne courante puis chaque ajout,
+     * sans qu'aucun bloc ne puisse être manqué entre les deux.
+     */
+    public void addAppendListener(BlockAppendListener listener) {
+        appendLock.lock();
+        try {
+            listener.chainRestored(chain.snapshot());
+            appendListeners.add(listener);
+        } finally {
+            appendLock.unlock();
+        }
     }
 
-    public void addBlock(String data) {
-        Block lastBlock = chain.getLast();
-        Block newBlock = new Block(chain.size(), data, lastBlock.getHash());
-        applyConsensus(newBlock);
-        chain.add(newBlock);
+    /**
+     * Branche le journal de persistance. Un journal vide reçoit la chaîne courante ;
+     * sinon la chaîne est remplacée par les blocs relus, qui seront re-vérifiés
+     * au prochain contrôle d'intégrité.
+     */
+    public void attachLog(BlockLog blockLog) {
+        attachLog(blockLog, null);
     }
 
-    public void addBlock(String data, String eventId, String artist, String status, String owner) {
-        Block lastBlock = chain.getLast();
-        Block newBlock = new Block(chain.size(), data, lastBlock.getHash(), eventId, artist, status, owner);
-        applyConsensus(newBlock);
-        chain.add(newBlock);
+    /**
+     * Restaure la chaîne à partir d'un snapshot (peut être null) puis rejoue uniquement
+     * les enregistrements du journal postérieurs au snapshot. Retourne le nombre de blocs
+     * rejoués depuis le journal.
+     */
+    public int attachLog(BlockLog blockLog, ChainSnapshot snapshot) {
+        appendLock.lock();
+        try {
+            BlockStore restored = storeType.create();
+            LogPosition tailStart = blockLog.start();
+            if (snapshot != null) {
+                for (Block block : snapshot.blocks()) {
+                    block.setMutationListener(this::onBlockMutated);
+                    restored.add(block);
+                }
+                tailStart = snapshot.position();
+            }
+            int replayed = blockLog.replay(tailStart, block -> {
+                block.setMutationListener(this::onBlockMutated);
+                restored.add(block);
+            });
+            if (restored.size() == 0) {
+                for (Block block : chain.snapshot()) {
+                    blockLog.append(block);
+                }
+            } else {
+                chain = restored;
+                synchronized (watermarkLock) {
+                    mutationCount++;
+                    verifiedHeight.set(1);
+                }
+                for (BlockAppendListener listener : appendListeners) {
+                    listener.chainRestored(restored.snapshot());
+                }
+                logger.info("Chaîne restaurée depuis le journal : {} blocs", restored.size());
+            }
+            log = blockLog;
+            return replayed;
+        } finally {
+            appendLock.unlock();
+        }
     }
 
-    private void applyConsensus(Block block) {
-        if (consensusMechanism != null) {
-            consensusMechanism.validate(block);
+    /**
+     * Point de reprise cohérent : les blocs actuels et la position du journal qui les suit,
+     * synchronisée sur le disque. La sérialisation du snapshot se fait hors du verrou.
+     */
+    public ChainSnapshot checkpoint() {
+        appendLock.lock();
+        try {
+            if (log == null) {
+                throw new IllegalStateException("Aucun journal attaché à la chaîne");
+            }
+            log.sync();
+            return new ChainSnapshot(chain.snapshot(), log.position());
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Un bloc modifié invalide son propre hash et le chaînage du suivant :
+     * le filigrane redescend à son index.
+     */
+    private void onBlockMutated(Block block) {
+        synchronized (watermarkLock) {
+            mutationCount++;
+            verifiedHeight.accumulateAndGet(block.getIndex(), Math::min);
+        }
+        for (BlockAppendListener listener : appendListeners) {
+            listener.blockMutated(block);
+        }
+    }
+
+    private void applyConsensus(ConsensusMechanism mechanism, Block block) {
+        if (mechanism == null) {
+            return;
+        }
+        ConsensusExecutor executor = consensusExecutor;
+        if (executor != null) {
+            executor.validate(mechanism, block);
+        } else {
+            mechanism.validate(block);
+        }
+    }
+
+    private void applyConsensus(ConsensusMechanism mechanism, List<Block> blocks) {
+        if (mechanism == null) {
+            return;
+        }
+        ConsensusExecutor executor = consensusExecutor;
+        if (executor != null) {
+            executor.validateAll(mechanism, blocks);
+        } else {
+            mechanism.validateAll(blocks);
         }
     }
 
     /**
      * Vérification d'intégrité de la blockchain.
-     * Parcourt la chaîne et vérifie que chaque hash est correct
-     * et que le chaînage est respecté.
+     * Vérifie que chaque hash est correct et que le chaînage est respecté.
+     * Seuls les blocs au-delà du filigrane (ajoutés ou modifiés depuis la
+     * dernière vérification) sont recontrôlés.
      */
     public boolean isChainValid() {
-        for (int i = 1; i < chain.size(); i++) {
-            Block current = chain.get(i);
-            Block previous = chain.get(i - 1);
+        return validateIncrementally().valid();
+    }
+
+    /**
+     * Vérifie les blocs [verifiedHeight, size) puis avance le filigrane jusqu'au
+     * premier bloc invalide (ou jusqu'au bout de la chaîne). Le coût est
+     * proportionnel au nombre de nouveaux blocs, pas à la longueur de la chaîne.
+     */
+    public VerificationResult validateIncrementally() {
+        long epoch;
+        int from;
+        synchronized (watermarkLock) {
+            epoch = mutationCount;
+            from = verifiedHeight.get();
+        }
+        BlockStore store = chain;
+        int to = store.size();
+        VerificationResult result = verifier.verify(check(store), from, to);
+        logFailure(result);
 
-            if (!current.getHash().equals(current.calculateHash())) {
-                logger.warn("Hash invalide au bloc #{}", i);
-                return false;
+        int reached = result.valid() ? to : result.firstInvalidIndex();
+        synchronized (watermarkLock) {
+            // Une falsification pendant la vérification rend le résultat caduc
+            if (mutationCount == epoch) {
+                verifiedHeight.accumulateAndGet(reached, Math::max);
             }
+        }
+        return result;
+    }
 
-            if (!current.getPreviousHash().equals(previous.getHash())) {
-                logger.warn("Chaînage rompu au bloc #{}", i);
-                return false;
+    /**
+     * Nombre de modifications de blocs chaînés (et de restaurations) depuis la création :
+     * deux lectures égales encadrent une chaîne dont les blocs existants n'ont pas changé.
+     */
+    public long getMutationCount() {
+        synchronized (watermarkLock) {
+            return mutationCount;
+        }
+    }
+
+    public int getVerifiedHeight() {
+        return verifiedHeight.get();
+    }
+
+    /**
+     * Vérifie uniquement les blocs d'index [from, to) sans toucher au reste de la chaîne.
+     */
+    public VerificationResult verifyRange(int from, int to) {
+        BlockStore store = chain;
+        int size = store.size();
+        if (from < 0 || to > size || from > to) {
+            throw new InvalidBlockRangeException(from, to, size);
+        }
+        VerificationResult result = verifier.verify(check(store), from, to);
+        logFailure(result);
+        return result;
+    }
+
+    /**
+     * Intégrité (hash, chaînage) puis signature d'autorité : la signature d'un bloc altéré
+     * n'est pas vérifiée, l'altération étant déjà signalée.
+     */
+    private BlockCheck check(BlockStore store) {
+        return store.integrityCheck().andThen(store.signatureCheck(authorityKeys));
+    }
+
+    private static void logFailure(VerificationResult result) {
+        if (!result.valid()) {
+            switch (result.failure()) {
+                case HASH_MISMATCH -> logger.warn("Hash invalide au bloc #{}", result.firstInvalidIndex());
+                case BROKEN_LINK -> logger.warn("Chaînage rompu au bloc #{}", result.firstInvalidIndex());
+                case INVALID_SIGNATURE -> logger.warn("Signature d'autorité invalide au bloc #{}", result.firstInvalidIndex());
             }
         }
-        return true;
     }
 
     /**
      * Export de la blockchain en JSON.
      */
     public String exportAsJson() {
-        ObjectMapper mapper = JsonMapper.builder()
-                .enable(SerializationFeature.INDENT_OUTPUT)
-                .build();
-        return mapper.writeValueAsString(chain);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Écrit la chaîne en JSON indenté bloc par bloc dans le flux, sans construire
+     * de représentation intermédiaire : la mémoire consommée ne dépend pas de la
+     * longueur de la chaîne. Le flux n'est pas fermé.
+     */
+    public void exportTo(OutputStream out) {
+        try (SequenceWriter writer = EXPORT_WRITER.writeValuesAsArray(out)) {
+            for (Block block : chain.snapshot()) {
+                writer.write(block);
+            }
+        }
     }
 
     public void saveToFile(String filename) {
-        ObjectMapper mapper = JsonMapper.builder()
-                .enable(SerializationFeature.INDENT_OUTPUT)
-                .build();
-        mapper.writeValue(new File(filename), chain);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(Path.of(filename)))) {
+            exportTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible d'exporter la blockchain dans " + filename, e);
+        }
         logger.info("Blockchain exportée dans {}", filename);
     }
 
     public void displayChain() {
-        for (Block block : chain) {
+        for (Block block : chain.snapshot()) {
             logger.info("{}", block);
         }
     }
 
+    /**
+     * Vue en lecture seule de la chaîne, figée à sa taille au moment de l'appel.
+     */
     public List<Block> getChain() {
-        return chain;
+        return chain.snapshot();
     }
 
     public Block getLastBlock() {
-        return chain.getLast();
+        return chain.last();
+    }
+
+    /**
+     * Nombre d'opérations de billetterie par statut, calculé par un balayage du stockage.
+     */
+    public Map<String, Long> countByStatus() {
+        BlockStore store = chain;
+        return store.countByStatus(store.size());
+    }
+
+    public BlockStore.Type getStoreType() {
+        return storeType;
+    }
+
+    public AppendMetrics getAppendMetrics() {
+        return appendMetrics;
     }
 
     public int size() {
@@ -1,35 +1,82 @@
 package com.example.blockchain;
 
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.blockchain.cache.BlockResponseCache;
+import com.example.blockchain.dto.BlockPageResponse;
 import com.example.blockchain.dto.BlockResponse;
+import com.example.blockchain.dto.ChainVerificationResponse;
+import com.example.blockchain.dto.MerkleProofResponse;
+import com.example.blockchain.dto.PageCursor;
+import com.example.blockchain.dto.TicketBatchRequest;
 import com.example.blockchain.dto.TicketRequest;
+import com.example.blockchain.dto.ValidationResponse;
+import com.example.blockchain.exception.EmptyTicketBatchException;
+import com.example.blockchain.exception.InvalidPageRequestException;
+import com.example.blockchain.exception.InvalidTicketBatchException;
+import com.example.blockchain.exception.BlockNotFoundException;
+import com.example.blockchain.exception.TransactionNotFoundException;
+import com.example.blockchain.index.OffHeapHashIndex;
 import com.example.blockchain.mapper.BlockMapper;
 
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
 /**
  * API REST pour manipuler la blockchain.
- * Endpoints : GET all, GET by id, POST.
- * La blockchain étant immuable, PUT et DELETE ne sont pas supportés.
+ * Endpoints : GET all (JSON ou NDJSON), GET page (limit, cursor, latest), GET by id, GET by hash,
+ * POST, POST batch (JSON ou NDJSON), POST tickets, GET proof, GET verify, GET validate.
+ * La blockchain étant immuable, PUT et DELETE ne sont pas supportés ; les réponses portent
+ * des ETags (hash du bloc, ou sommet de la chaîne pour les listes) pour la revalidation HTTP.
  */
 @RestController
 @RequestMapping("/api/blocks")
 public class BlockchainController {
 
+    public static final String NDJSON = "application/x-ndjson";
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_BATCH_SIZE = 10_000;
+    private static final String DEFAULT_PAGE_SIZE = "50";
+    private static final Duration IMMUTABLE_MAX_AGE = Duration.ofDays(365);
+
     private final Blockchain blockchain;
     private final BlockMapper blockMapper;
+    private final OffHeapHashIndex hashIndex;
+    private final BlockResponseCache responseCache;
+    // Issus du mapper de l'application : NDJSON et JSON sont (dé)sérialisés de la même façon
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectReader ndjsonReader;
 
-    public BlockchainController(Blockchain blockchain, BlockMapper blockMapper) {
+    public BlockchainController(Blockchain blockchain, BlockMapper blockMapper, OffHeapHashIndex hashIndex,
+                                BlockResponseCache responseCache, JsonMapper jsonMapper) {
         this.blockchain = blockchain;
         this.blockMapper = blockMapper;
+        this.hashIndex = hashIndex;
+        this.responseCache = responseCache;
+        this.ndjsonWriter = jsonMapper.writerFor(BlockResponse.class).without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+        this.ndjsonReader = jsonMapper.readerFor(TicketRequest.class);
     }
 
     /**
@@ -40,12 +87,144 @@ public class BlockchainController {
         return blockMapper.toResponseList(blockchain.getChain());
     }
 
+    /**
+     * GET /api/blocks?limit=&from=&order= - Page de blocs à partir de l'index {@code from}
+     * (par défaut le début, ou le sommet si {@code order=desc}).
+     */
+    @GetMapping(params = {"limit", "!cursor", "!latest"})
+    public BlockPageResponse getPage(@RequestParam int limit,
+                                     @RequestParam(required = false) Integer from,
+                                     @RequestParam(defaultValue = "asc") String order) {
+        boolean descending = isDescending(order);
+        List<Block> chain = blockchain.getChain();
+        int start = from != null ? from : descending ? chain.size() - 1 : 0;
+        return page(chain, start, limit, descending);
+    }
+
+    /**
+     * GET /api/blocks?cursor=&limit= - Page suivante, dans le sens de lecture porté par le curseur.
+     */
+    @GetMapping(params = "cursor")
+    public BlockPageResponse getPageAfter(@RequestParam String cursor,
+                                          @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        PageCursor position = PageCursor.decode(cursor);
+        return page(blockchain.getChain(), position.position(), limit, position.descending());
+    }
+
+    /**
+     * GET /api/blocks?latest=N&order= - Les N derniers blocs, du plus récent au plus ancien par défaut.
+     */
+    @GetMapping(params = {"latest", "!cursor"})
+    public BlockPageResponse getLatest(@RequestParam int latest,
+                                       @RequestParam(defaultValue = "desc") String order) {
+        List<Block> chain = blockchain.getChain();
+        if (isDescending(order)) {
+            return page(chain, chain.size() - 1, latest, true);
+        }
+        return page(chain, Math.max(0, chain.size() - latest), latest, false);
+    }
+
+    /**
+     * Page lue directement sur une plage d'index de l'instantané : le coût dépend
+     * de la taille de la page, pas de la hauteur de la chaîne.
+     */
+    private BlockPageResponse page(List<Block> chain, int start, int limit, boolean descending) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException(
+                    "Taille de page invalide : " + limit + " (attendu entre 1 et " + MAX_PAGE_SIZE + ")");
+        }
+        int height = chain.size();
+        if (start < 0 || start >= height) {
+            throw new InvalidPageRequestException(
+                    "Position invalide : " + start + " pour une chaîne de " + height + " blocs");
+        }
+        if (descending) {
+            int end = Math.max(0, start - limit + 1);
+            PageCursor next = end > 0 ? new PageCursor(end - 1, true) : null;
+            return blockMapper.toPageResponse(chain.subList(end, start + 1).reversed(), next, height);
+        }
+        int end = Math.min(height, start + limit);
+        PageCursor next = end < height ? new PageCursor(end, false) : null;
+        return blockMapper.toPageResponse(chain.subList(start, end), next, height);
+    }
+
+    private static boolean isDescending(String order) {
+        return switch (order) {
+            case "asc" -> false;
+            case "desc" -> true;
+            default -> throw new InvalidPageRequestException("Ordre invalide : " + order + " (asc ou desc)");
+        };
+    }
+
+    /**
+     * GET /api/blocks (Accept: application/x-ndjson) - Tous les blocs, un objet JSON par ligne.
+     * Les blocs sont écrits au fil de l'eau : la mémoire par requête est constante.
+     */
+    @GetMapping(produces = NDJSON)
+    public StreamingResponseBody streamAll() {
+        List<Block> snapshot = blockchain.getChain();
+        return out -> {
+            for (Block block : snapshot) {
+                ndjsonWriter.writeValue(out, blockMapper.toResponse(block));
+                out.write('\n');
+            }
+        };
+    }
+
+    /**
+     * GET /api/blocks/verify?from=&to= - Vérifier l'intégrité des blocs [from, to).
+     * Sans paramètre, toute la chaîne est vérifiée.
+     */
+    @GetMapping("/verify")
+    public ChainVerificationResponse verify(@RequestParam(required = false) Integer from,
+                                            @RequestParam(required = false) Integer to) {
+        int start = from != null ? from : 0;
+        int end = to != null ? to : blockchain.size();
+        return blockMapper.toVerificationResponse(blockchain.verifyRange(start, end));
+    }
+
+    /**
+     * GET /api/blocks/validate - Intégrité de toute la chaîne, en ne revérifiant
+     * que les blocs ajoutés ou modifiés depuis le dernier appel.
+     */
+    @GetMapping("/validate")
+    public ValidationResponse validate() {
+        boolean valid = blockchain.isChainValid();
+        return blockMapper.toValidationResponse(valid, blockchain.size());
+    }
+
     /**
      * GET /api/blocks/{index} - Récupérer un bloc par son index.
+     * Les octets de la réponse sont servis depuis le cache, avec le hash du bloc pour ETag
+     * (304 si {@code If-None-Match} correspond) ; un bloc final est déclaré immuable.
      */
     @GetMapping("/{index}")
-    public BlockResponse getById(@PathVariable int index) {
-        return blockMapper.toResponse(blockchain.getBlockByIndex(index));
+    public ResponseEntity<byte[]> getById(@PathVariable int index) {
+        BlockResponseCache.CachedBlock cached = responseCache.get(index);
+        CacheControl cacheControl = responseCache.isFinal(index)
+                ? CacheControl.maxAge(IMMUTABLE_MAX_AGE).cachePublic().immutable()
+                : CacheControl.noCache();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(cached.etag())
+                .cacheControl(cacheControl)
+                .body(cached.body());
+    }
+
+    /**
+     * GET /api/blocks/by-hash/{hash} - Récupérer un bloc par son hash, sans parcourir la chaîne.
+     */
+    @GetMapping("/by-hash/{hash}")
+    public BlockResponse getByHash(@PathVariable String hash) {
+        String normalized = hash.toLowerCase(Locale.ROOT);
+        // Le bloc indexé peut avoir été falsifié depuis : son hash courant fait foi
+        Block block = hashIndex.find(normalized)
+                .stream()
+                .mapToObj(blockchain::getBlockByIndex)
+                .filter(candidate -> candidate.getHash().equals(normalized))
+                .findFirst()
+                .orElseThrow(() -> new BlockNotFoundException(hash));
+        return blockMapper.toResponse(block);
     }
 
     /**
@@ -54,18 +233,78 @@ public class BlockchainController {
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public BlockResponse create(@RequestBody TicketRequest request) {
-        boolean hasTicketData = !request.eventId().isEmpty()
-                || !request.artist().isEmpty()
-                || !request.status().isEmpty()
-                || !request.owner().isEmpty();
-
-        if (hasTicketData) {
-            blockchain.addBlock(request.data(), request.eventId(), request.artist(),
-                    request.status(), request.owner());
-        } else {
-            blockchain.addBlock(request.data());
+        Block block = blockchain.addBlock(blockMapper.toTransaction(request));
+        return blockMapper.toResponse(block);
+    }
+
+    /**
+     * POST /api/blocks/batch - Créer un bloc par opération d'un tableau JSON, publiés d'un seul tenant.
+     */
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<BlockResponse> createBatch(@RequestBody List<TicketRequest> requests) {
+        return appendBatch(requests);
+    }
+
+    /**
+     * POST /api/blocks/batch (Content-Type: application/x-ndjson) - Même lot, une opération par ligne.
+     */
+    @PostMapping(path = "/batch", consumes = NDJSON)
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<BlockResponse> createBatchFromStream(InputStream body) {
+        List<TicketRequest> requests = new ArrayList<>();
+        try (MappingIterator<TicketRequest> lines = ndjsonReader.readValues(body)) {
+            while (lines.hasNextValue()) {
+                if (requests.size() == MAX_BATCH_SIZE) {
+                    throw tooLarge();
+                }
+                requests.add(lines.nextValue());
+            }
+        } catch (JacksonException e) {
+            throw new InvalidTicketBatchException("Ligne NDJSON illisible (opération "
+                    + (requests.size() + 1) + ") : " + e.getOriginalMessage(), e);
         }
+        return appendBatch(requests);
+    }
+
+    private List<BlockResponse> appendBatch(List<TicketRequest> requests) {
+        if (requests.isEmpty()) {
+            throw new EmptyTicketBatchException();
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw tooLarge();
+        }
+        List<Block> blocks = blockchain.addBlocks(requests.stream().map(blockMapper::toTransaction).toList());
+        return blockMapper.toResponseList(blocks);
+    }
+
+    private static InvalidTicketBatchException tooLarge() {
+        return new InvalidTicketBatchException("Un lot contient au plus " + MAX_BATCH_SIZE + " opérations.");
+    }
+
+    /**
+     * POST /api/blocks/tickets - Créer un bloc multi-tickets engagé par une racine de Merkle.
+     */
+    @PostMapping("/tickets")
+    @ResponseStatus(HttpStatus.CREATED)
+    public BlockResponse createTicketBatch(@RequestBody TicketBatchRequest request) {
+        if (request.tickets().isEmpty()) {
+            throw new EmptyTicketBatchException();
+        }
+        Block block = blockchain.addBlock(request.data(),
+                request.tickets().stream().map(blockMapper::toTransaction).toList());
+        return blockMapper.toResponse(block);
+    }
 
-        return blockMapper.toResponse(blockchain.getLastBlock());
+    /**
+     * GET /api/blocks/{index}/tickets/{position}/proof - Preuve d'inclusion d'une transaction.
+     */
+    @GetMapping("/{index}/tickets/{position}/proof")
+    public MerkleProofResponse getInclusionProof(@PathVariable int index, @PathVariable int position) {
+        Block block = blockchain.getBlockByIndex(index);
+        if (position < 0 || position >= block.getTransactions().size()) {
+            throw new TransactionNotFoundException(index, position);
+        }
+        return blockMapper.toProofResponse(block, position);
     }
 }
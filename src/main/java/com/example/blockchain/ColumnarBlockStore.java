@@ -0,0 +1,560 @@
+package com.example.blockchain;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+
+import com.example.blockchain.crypto.AuthorityKeys;
+import com.example.blockchain.crypto.BlockHasher;
+import com.example.blockchain.crypto.BlockHeaderEncoder;
+import com.example.blockchain.verification.BlockCheck;
+import com.example.blockchain.verification.VerificationResult.Failure;
+
+/**
+ * Stockage de la chaîne en colonnes, hors du tas Java.
+ *
+ * <p>Les blocs sont rangés par tronçons de 16 384 lignes ; chaque tronçon alloue une
+ * colonne native de largeur fixe par champ : index, nonce, horodatage (secondes +
+ * nanosecondes), hash (32 octets), drapeaux, emplacement et longueur de l'en-tête,
+ * positions des chaînes. Les octets variables vivent dans des pages natives : l'en-tête
+ * canonique du bloc ({@link BlockHeaderEncoder}, qui contient déjà data, eventId, artiste,
+ * statut, propriétaire, racine de Merkle et hash précédent) et, si besoin, un complément
+ * (hash non canonique, transactions, signature d'autorité). Les colonnes de positions
+ * pointent dans l'en-tête : chaque chaîne n'est stockée qu'une fois.
+ *
+ * <p>Le ramasse-miettes ne voit que quelques segments par tronçon, quelle que soit la
+ * longueur de la chaîne. La vérification d'intégrité hashe directement l'en-tête stocké
+ * et les statistiques lisent les colonnes : aucun {@link Block} n'est construit. Les
+ * lectures unitaires ({@link #get(int)}, mapper, JSON) reconstruisent un bloc à la demande.
+ *
+ * <p>Le stockage est immuable : un bloc lu est une copie, le modifier n'altère pas la chaîne.
+ * Un seul écrivain ; les lectures sont sans verrou (colonnes et pages écrites avant la
+ * publication volatile de la taille).
+ */
+public final class ColumnarBlockStore implements BlockStore {
+
+    private static final int CHUNK_BITS = 14;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int PAGE_SIZE = 1 << 22;
+
+    private static final int HASH_LENGTH = 32;
+    private static final int FIELDS = 5;
+    private static final int EVENT_ID = 0;
+    private static final int ARTIST = 1;
+    private static final int STATUS = 2;
+    private static final int OWNER = 3;
+    // Queue de l'en-tête : index puis hash précédent
+    private static final int TAIL = 4;
+
+    private static final byte HASH_AS_TEXT = 1;
+    private static final byte SIGNED = 2;
+    private static final long NO_EXTRA = -1;
+
+    private static final ValueLayout.OfInt BIG_ENDIAN_INT =
+            ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Colonnes d'un tronçon de {@link #CHUNK_SIZE} lignes.
+     */
+    private static final class Chunk {
+        final MemorySegment indexes;
+        final MemorySegment nonces;
+        final MemorySegment seconds;
+        final MemorySegment nanos;
+        final MemorySegment hashes;
+        final MemorySegment flags;
+        final MemorySegment headerAt;
+        final MemorySegment headerLength;
+        final MemorySegment fieldAt;
+        final MemorySegment extraAt;
+
+        Chunk() {
+            Arena arena = Arena.ofAuto();
+            indexes = column(arena, ValueLayout.JAVA_INT, CHUNK_SIZE);
+            nonces = column(arena, ValueLayout.JAVA_INT, CHUNK_SIZE);
+            seconds = column(arena, ValueLayout.JAVA_LONG, CHUNK_SIZE);
+            nanos = column(arena, ValueLayout.JAVA_INT, CHUNK_SIZE);
+            hashes = arena.allocate((long) HASH_LENGTH * CHUNK_SIZE, 8);
+            flags = column(arena, ValueLayout.JAVA_BYTE, CHUNK_SIZE);
+            headerAt = column(arena, ValueLayout.JAVA_LONG, CHUNK_SIZE);
+            headerLength = column(arena, ValueLayout.JAVA_INT, CHUNK_SIZE);
+            fieldAt = column(arena, ValueLayout.JAVA_INT, (long) FIELDS * CHUNK_SIZE);
+            extraAt = column(arena, ValueLayout.JAVA_LONG, CHUNK_SIZE);
+        }
+
+        private static MemorySegment column(Arena arena, ValueLayout layout, long rows) {
+            return arena.allocate(layout.byteSize() * rows, layout.byteAlignment());
+        }
+    }
+
+    /**
+     * Digest et tampons réutilisés par thread pendant les balayages.
+     */
+    private static final class Scratch {
+        final MessageDigest sha256;
+        final byte[] nonce = new byte[4];
+        final byte[] digest = new byte[HASH_LENGTH];
+        final MemorySegment digestSegment = MemorySegment.ofArray(digest);
+
+        Scratch() {
+            try {
+                sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 indisponible", e);
+            }
+        }
+    }
+
+    private final BlockHeaderEncoder encoder = new BlockHeaderEncoder();
+
+    private volatile Chunk[] chunks = new Chunk[1];
+    private volatile MemorySegment[] pages = new MemorySegment[0];
+    private volatile int size;
+    private long pageUsed;
+
+    @Override
+    public void add(Block block) {
+        int row = size;
+        int chunkIndex = row >>> CHUNK_BITS;
+        Chunk[] current = chunks;
+        if (chunkIndex == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        if (current[chunkIndex] == null) {
+            current[chunkIndex] = new Chunk();
+        }
+        Chunk chunk = current[chunkIndex];
+        int r = row & CHUNK_MASK;
+
+        byte[] header = encoder.encodePrefix(block);
+        int length = encoder.length();
+        chunk.headerAt.setAtIndex(ValueLayout.JAVA_LONG, r, writeBytes(header, length));
+        chunk.headerLength.setAtIndex(ValueLayout.JAVA_INT, r, length);
+        int position = BlockHeaderEncoder.DATA_OFFSET;
+        for (int field = EVENT_ID; field <= OWNER; field++) {
+            position = skipString(header, position);
+            chunk.fieldAt.setAtIndex(ValueLayout.JAVA_INT, (long) r * FIELDS + field, position);
+        }
+        position = skipString(header, position);
+        if (block.merkleRootBytes() != null) {
+            position += HASH_LENGTH;
+        }
+        chunk.fieldAt.setAtIndex(ValueLayout.JAVA_INT, (long) r * FIELDS + TAIL, position);
+
+        chunk.indexes.setAtIndex(ValueLayout.JAVA_INT, r, block.getIndex());
+        chunk.nonces.setAtIndex(ValueLayout.JAVA_INT, r, block.getNonce());
+        chunk.seconds.setAtIndex(ValueLayout.JAVA_LONG, r, block.epochSecond());
+        chunk.nanos.setAtIndex(ValueLayout.JAVA_INT, r, block.nanoAdjustment());
+        byte[] hash = block.hashBytes();
+        boolean signed = block.getSigner() != null;
+        if (hash != null) {
+            MemorySegment.copy(hash, 0, chunk.hashes, ValueLayout.JAVA_BYTE, (long) r * HASH_LENGTH, HASH_LENGTH);
+        }
+        chunk.flags.set(ValueLayout.JAVA_BYTE, r, (byte) ((hash == null ? HASH_AS_TEXT : 0) | (signed ? SIGNED : 0)));
+        if (hash == null || signed || !block.getTransactions().isEmpty()) {
+            byte[] extra = encodeExtra(hash == null ? block.getHash() : null, block.getTransactions(),
+                    block.getSigner(), block.signatureBytes());
+            chunk.extraAt.setAtIndex(ValueLayout.JAVA_LONG, r, writeBytes(extra, extra.length));
+        } else {
+            chunk.extraAt.setAtIndex(ValueLayout.JAVA_LONG, r, NO_EXTRA);
+        }
+
+        chunks = current;
+        size = row + 1;
+    }
+
+    @Override
+    public Block get(int index) {
+        Chunk chunk = chunks[index >>> CHUNK_BITS];
+        int r = index & CHUNK_MASK;
+        MemorySegment header = header(chunk, r);
+        int tail = fieldAt(chunk, r, TAIL);
+
+        String hash;
+        List<TicketTransaction> transactions = List.of();
+        String signer = null;
+        byte[] signature = null;
+        long extraAt = chunk.extraAt.getAtIndex(ValueLayout.JAVA_LONG, r);
+        if (extraAt != NO_EXTRA) {
+            MemorySegment extra = bytesAt(extraAt);
+            hash = readString(extra, 0);
+            long position = skipString(extra, 0);
+            transactions = readTransactions(extra, position);
+            if ((chunk.flags.get(ValueLayout.JAVA_BYTE, r) & SIGNED) != 0) {
+                position = skipTransactions(extra, position);
+                signer = readString(extra, position);
+                position = skipString(extra, position);
+                signature = readBytes(extra, position);
+            }
+        } else {
+            hash = null;
+        }
+        if (hash == null) {
+            hash = BlockHasher.toHex(chunk.hashes.asSlice((long) r * HASH_LENGTH, HASH_LENGTH)
+                    .toArray(ValueLayout.JAVA_BYTE));
+        }
+
+        Block block = Block.restore(
+                chunk.indexes.getAtIndex(ValueLayout.JAVA_INT, r),
+                Instant.ofEpochSecond(chunk.seconds.getAtIndex(ValueLayout.JAVA_LONG, r),
+                        chunk.nanos.getAtIndex(ValueLayout.JAVA_INT, r)),
+                readString(header, BlockHeaderEncoder.DATA_OFFSET),
+                previousHash(header, tail),
+                hash,
+                chunk.nonces.getAtIndex(ValueLayout.JAVA_INT, r),
+                readString(header, fieldAt(chunk, r, EVENT_ID)),
+                readString(header, fieldAt(chunk, r, ARTIST)),
+                readString(header, fieldAt(chunk, r, STATUS)),
+                readString(header, fieldAt(chunk, r, OWNER)),
+                transactions);
+        if (signer != null) {
+            block.sign(signer, signature);
+        }
+        return block;
+    }
+
+    @Override
+    public Block last() {
+        return get(size - 1);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<Block> snapshot() {
+        return new Snapshot(size);
+    }
+
+    /**
+     * Mémoire native occupée par les colonnes et les pages, en octets.
+     */
+    public long offHeapBytes() {
+        long total = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk != null) {
+                total += chunk.indexes.byteSize() + chunk.nonces.byteSize() + chunk.seconds.byteSize()
+                        + chunk.nanos.byteSize() + chunk.hashes.byteSize() + chunk.flags.byteSize()
+                        + chunk.headerAt.byteSize() + chunk.headerLength.byteSize()
+                        + chunk.fieldAt.byteSize() + chunk.extraAt.byteSize();
+            }
+        }
+        for (MemorySegment page : pages) {
+            total += page.byteSize();
+        }
+        return total;
+    }
+
+    @Override
+    public BlockCheck integrityCheck() {
+        return this::check;
+    }
+
+    /**
+     * Seules les lignes marquées signées sont reconstruites pour vérifier leur signature ;
+     * une ligne non signée n'est refusée que si le calendrier des autorités l'exige.
+     */
+    @Override
+    public BlockCheck signatureCheck(AuthorityKeys keys) {
+        BlockCheck signed = BlockStore.super.signatureCheck(keys);
+        return row -> {
+            if ((chunks[row >>> CHUNK_BITS].flags.get(ValueLayout.JAVA_BYTE, row & CHUNK_MASK) & SIGNED) != 0) {
+                return signed.check(row);
+            }
+            return keys.requiresSignature(row) ? Failure.INVALID_SIGNATURE : null;
+        };
+    }
+
+    /**
+     * Hash SHA-256 de l'en-tête stocké suivi du nonce, comparé à la colonne des hashs,
+     * puis hash précédent (queue de l'en-tête) comparé au hash de la ligne précédente.
+     */
+    private Failure check(int row) {
+        Chunk chunk = chunks[row >>> CHUNK_BITS];
+        int r = row & CHUNK_MASK;
+        MemorySegment header = header(chunk, r);
+        Scratch scratch = SCRATCH.get();
+        MessageDigest sha256 = scratch.sha256;
+        sha256.reset();
+        sha256.update(header.asByteBuffer());
+        int nonce = chunk.nonces.getAtIndex(ValueLayout.JAVA_INT, r);
+        scratch.nonce[0] = (byte) (nonce >>> 24);
+        scratch.nonce[1] = (byte) (nonce >>> 16);
+        scratch.nonce[2] = (byte) (nonce >>> 8);
+        scratch.nonce[3] = (byte) nonce;
+        sha256.update(scratch.nonce);
+        try {
+            sha256.digest(scratch.digest, 0, HASH_LENGTH);
+        } catch (DigestException e) {
+            throw new IllegalStateException("Digest SHA-256 inattendu", e);
+        }
+        boolean hashMatches = (chunk.flags.get(ValueLayout.JAVA_BYTE, r) & HASH_AS_TEXT) != 0
+                ? BlockHasher.toHex(scratch.digest).equals(hashText(chunk, r))
+                : MemorySegment.mismatch(chunk.hashes, (long) r * HASH_LENGTH, (long) (r + 1) * HASH_LENGTH,
+                        scratch.digestSegment, 0, HASH_LENGTH) == -1;
+        if (!hashMatches) {
+            return Failure.HASH_MISMATCH;
+        }
+
+        int previousRow = row - 1;
+        Chunk previousChunk = chunks[previousRow >>> CHUNK_BITS];
+        int pr = previousRow & CHUNK_MASK;
+        int tail = fieldAt(chunk, r, TAIL);
+        boolean linked;
+        if (header.get(ValueLayout.JAVA_BYTE, tail + 4) == BlockHeaderEncoder.HASH_RAW
+                && (previousChunk.flags.get(ValueLayout.JAVA_BYTE, pr) & HASH_AS_TEXT) == 0) {
+            linked = MemorySegment.mismatch(header, tail + 5, tail + 5 + HASH_LENGTH, previousChunk.hashes,
+                    (long) pr * HASH_LENGTH, (long) (pr + 1) * HASH_LENGTH) == -1;
+        } else {
+            linked = previousHash(header, tail).equals(hashString(previousChunk, pr));
+        }
+        return linked ? null : Failure.BROKEN_LINK;
+    }
+
+    @Override
+    public Map<String, Long> countByStatus(int to) {
+        List<MemorySegment> statuses = new ArrayList<>();
+        long[] counts = new long[8];
+        MemorySegment[] pages = this.pages;
+        for (int row = 0; row < to; row++) {
+            Chunk chunk = chunks[row >>> CHUNK_BITS];
+            int r = row & CHUNK_MASK;
+            // Lecture directe dans la page, sans tranche intermédiaire par ligne
+            long headerAt = chunk.headerAt.getAtIndex(ValueLayout.JAVA_LONG, r);
+            counts = count(pages[(int) (headerAt >>> 32)], (headerAt & 0xFFFFFFFFL) + fieldAt(chunk, r, STATUS),
+                    statuses, counts);
+            long extraAt = chunk.extraAt.getAtIndex(ValueLayout.JAVA_LONG, r);
+            if (extraAt != NO_EXTRA) {
+                MemorySegment page = pages[(int) (extraAt >>> 32)];
+                long position = skipString(page, extraAt & 0xFFFFFFFFL);
+                int transactions = page.get(BIG_ENDIAN_INT, position);
+                position += 4;
+                for (int i = 0; i < transactions; i++) {
+                    position = skipString(page, skipString(page, skipString(page, position)));
+                    counts = count(page, position, statuses, counts);
+                    position = skipString(page, skipString(page, position));
+                }
+            }
+        }
+        Map<String, Long> result = new TreeMap<>();
+        for (int i = 0; i < statuses.size(); i++) {
+            result.put(new String(statuses.get(i).toArray(ValueLayout.JAVA_BYTE), StandardCharsets.UTF_8), counts[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Compte la chaîne encodée à cette position, comparée octet à octet aux statuts déjà vus
+     * (quelques valeurs distinctes) : aucune chaîne n'est décodée pendant le balayage.
+     */
+    private static long[] count(MemorySegment source, long position, List<MemorySegment> statuses, long[] counts) {
+        int length = source.get(BIG_ENDIAN_INT, position);
+        if (length <= 0) {
+            return counts;
+        }
+        long start = position + 4;
+        for (int i = 0; i < statuses.size(); i++) {
+            MemorySegment known = statuses.get(i);
+            if (known.byteSize() == length
+                    && MemorySegment.mismatch(known, 0, length, source, start, start + length) == -1) {
+                counts[i]++;
+                return counts;
+            }
+        }
+        statuses.add(MemorySegment.ofArray(source.asSlice(start, length).toArray(ValueLayout.JAVA_BYTE)));
+        long[] grown = statuses.size() > counts.length ? Arrays.copyOf(counts, counts.length * 2) : counts;
+        grown[statuses.size() - 1] = 1;
+        return grown;
+    }
+
+    private MemorySegment header(Chunk chunk, int r) {
+        MemorySegment bytes = bytesAt(chunk.headerAt.getAtIndex(ValueLayout.JAVA_LONG, r));
+        return bytes.asSlice(0, chunk.headerLength.getAtIndex(ValueLayout.JAVA_INT, r));
+    }
+
+    private static int fieldAt(Chunk chunk, int r, int field) {
+        return chunk.fieldAt.getAtIndex(ValueLayout.JAVA_INT, (long) r * FIELDS + field);
+    }
+
+    private String hashString(Chunk chunk, int r) {
+        if ((chunk.flags.get(ValueLayout.JAVA_BYTE, r) & HASH_AS_TEXT) != 0) {
+            return hashText(chunk, r);
+        }
+        return BlockHasher.toHex(chunk.hashes.asSlice((long) r * HASH_LENGTH, HASH_LENGTH)
+                .toArray(ValueLayout.JAVA_BYTE));
+    }
+
+    private String hashText(Chunk chunk, int r) {
+        return readString(bytesAt(chunk.extraAt.getAtIndex(ValueLayout.JAVA_LONG, r)), 0);
+    }
+
+    private static String previousHash(MemorySegment header, int tail) {
+        int position = tail + 4;
+        if (header.get(ValueLayout.JAVA_BYTE, position) == BlockHeaderEncoder.HASH_RAW) {
+            return BlockHasher.toHex(header.asSlice(position + 1, HASH_LENGTH).toArray(ValueLayout.JAVA_BYTE));
+        }
+        return readString(header, position + 1);
+    }
+
+    /**
+     * Page et position d'un emplacement : page dans les 32 bits de poids fort.
+     */
+    private MemorySegment bytesAt(long location) {
+        MemorySegment page = pages[(int) (location >>> 32)];
+        return page.asSlice(location & 0xFFFFFFFFL);
+    }
+
+    private long writeBytes(byte[] bytes, int length) {
+        MemorySegment[] current = pages;
+        if (current.length == 0 || pageUsed + length > current[current.length - 1].byteSize()) {
+            current = Arrays.copyOf(current, current.length + 1);
+            current[current.length - 1] = Arena.ofAuto().allocate(Math.max(PAGE_SIZE, length), 8);
+            pages = current;
+            pageUsed = 0;
+        }
+        int page = current.length - 1;
+        MemorySegment.copy(bytes, 0, current[page], ValueLayout.JAVA_BYTE, pageUsed, length);
+        long location = ((long) page << 32) | pageUsed;
+        pageUsed += length;
+        return location;
+    }
+
+    /**
+     * Complément d'une ligne : hash non canonique, transactions puis, pour un bloc signé,
+     * autorité et signature.
+     */
+    private static byte[] encodeExtra(String hashText, List<TicketTransaction> transactions,
+                                      String signer, byte[] signature) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeString(out, hashText);
+        writeInt(out, transactions.size());
+        for (TicketTransaction transaction : transactions) {
+            writeString(out, transaction.data());
+            writeString(out, transaction.eventId());
+            writeString(out, transaction.artist());
+            writeString(out, transaction.status());
+            writeString(out, transaction.owner());
+        }
+        if (signer != null) {
+            writeString(out, signer);
+            writeInt(out, signature != null ? signature.length : -1);
+            if (signature != null) {
+                out.writeBytes(signature);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static long skipTransactions(MemorySegment extra, long position) {
+        int count = extra.get(BIG_ENDIAN_INT, position);
+        position += 4;
+        for (int i = 0; i < count * 5; i++) {
+            position = skipString(extra, position);
+        }
+        return position;
+    }
+
+    private static byte[] readBytes(MemorySegment source, long position) {
+        int length = source.get(BIG_ENDIAN_INT, position);
+        return length < 0 ? null : source.asSlice(position + 4, length).toArray(ValueLayout.JAVA_BYTE);
+    }
+
+    private static List<TicketTransaction> readTransactions(MemorySegment extra, long position) {
+        int count = extra.get(BIG_ENDIAN_INT, position);
+        position += 4;
+        List<TicketTransaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String data = readString(extra, position);
+            position = skipString(extra, position);
+            String eventId = readString(extra, position);
+            position = skipString(extra, position);
+            String artist = readString(extra, position);
+            position = skipString(extra, position);
+            String status = readString(extra, position);
+            position = skipString(extra, position);
+            String owner = readString(extra, position);
+            position = skipString(extra, position);
+            transactions.add(new TicketTransaction(data, eventId, artist, status, owner));
+        }
+        return transactions;
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        if (value == null) {
+            writeInt(out, -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    /**
+     * Chaîne encodée {@code [longueur big-endian][UTF-8]} (longueur -1 pour null).
+     */
+    private static String readString(MemorySegment source, long position) {
+        int length = source.get(BIG_ENDIAN_INT, position);
+        if (length < 0) {
+            return null;
+        }
+        return new String(source.asSlice(position + 4, length).toArray(ValueLayout.JAVA_BYTE), StandardCharsets.UTF_8);
+    }
+
+    private static long skipString(MemorySegment source, long position) {
+        return position + 4 + Math.max(0, source.get(BIG_ENDIAN_INT, position));
+    }
+
+    private static int skipString(byte[] source, int position) {
+        int length = (source[position] << 24) | ((source[position + 1] & 0xFF) << 16)
+                | ((source[position + 2] & 0xFF) << 8) | (source[position + 3] & 0xFF);
+        return position + 4 + Math.max(0, length);
+    }
+
+    private final class Snapshot extends AbstractList<Block> implements RandomAccess {
+
+        private final int length;
+
+        private Snapshot(int length) {
+            this.length = length;
+        }
+
+        @Override
+        public Block get(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return ColumnarBlockStore.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return length;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.blockchain;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionnaire borné de valeurs métier répétées (statut, artiste, ticket, propriétaire).
+ *
+ * <p>Tous les blocs portant la même valeur partagent une seule instance de {@link String}.
+ * Une fois la borne atteinte, le dictionnaire est vidé et se remplit à nouveau : les
+ * instances déjà partagées le restent, et les valeurs récentes (les blocs d'un même
+ * ticket sont rapprochés dans la chaîne) recommencent à être partagées. La mémoire du
+ * dictionnaire reste plafonnée même pour un champ de forte cardinalité.
+ */
+final class FieldDictionary {
+
+    private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    FieldDictionary(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Instance partagée égale à la valeur donnée.
+     */
+    String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = values.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (values.size() >= maxEntries) {
+            values.clear();
+        }
+        existing = values.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.blockchain;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.blockchain.dto.AppendMetricsResponse;
+import com.example.blockchain.dto.MempoolMetricsResponse;
+import com.example.blockchain.dto.StatusCountsResponse;
+import com.example.blockchain.mempool.Mempool;
+import com.example.blockchain.mempool.MempoolMetrics;
+
+/**
+ * API REST d'observation du service blockchain.
+ */
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private final Blockchain blockchain;
+    private final Mempool mempool;
+
+    public MetricsController(Blockchain blockchain, Mempool mempool) {
+        this.blockchain = blockchain;
+        this.mempool = mempool;
+    }
+
+    /**
+     * GET /api/metrics/append - Contention des ajouts concurrents (conflits, re-minages, attente du verrou).
+     */
+    @GetMapping("/append")
+    public AppendMetricsResponse append() {
+        AppendMetrics metrics = blockchain.getAppendMetrics();
+        return new AppendMetricsResponse(metrics.getAppended(), metrics.getConflicts(),
+                metrics.getMaxRetries(), metrics.getConflictRate(),
+                metrics.getAverageLockWaitMicros(), blockchain.size());
+    }
+
+    /**
+     * GET /api/metrics/statuses - Opérations de billetterie par statut (balayage du stockage).
+     */
+    @GetMapping("/statuses")
+    public StatusCountsResponse statuses() {
+        int height = blockchain.size();
+        return new StatusCountsResponse(blockchain.countByStatus(), height,
+                blockchain.getStoreType().name().toLowerCase());
+    }
+
+    /**
+     * GET /api/metrics/mempool - Profondeur de la file des soumissions, attente en file et temps de minage.
+     */
+    @GetMapping("/mempool")
+    public MempoolMetricsResponse mempool() {
+        MempoolMetrics metrics = mempool.getMetrics();
+        return new MempoolMetricsResponse(mempool.depth(), mempool.capacity(), metrics.getAccepted(),
+                metrics.getDuplicates(), metrics.getRejected(), metrics.getMined(), metrics.getFailed(),
+                metrics.getBatches(), metrics.getAverageWaitMillis(), metrics.getMaxWaitMillis(),
+                metrics.getAverageMiningMillis(), metrics.getMaxMiningMillis());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.blockchain;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.blockchain.dto.SubmissionResponse;
+import com.example.blockchain.dto.TicketRequest;
+import com.example.blockchain.exception.SubmissionNotFoundException;
+import com.example.blockchain.mapper.BlockMapper;
+import com.example.blockchain.mempool.Mempool;
+import com.example.blockchain.mempool.Submission;
+
+/**
+ * API REST de soumission asynchrone : l'opération est mise en file et minée en arrière-plan,
+ * sans occuper de thread de requête pendant le minage.
+ */
+@RestController
+@RequestMapping("/api/submissions")
+public class SubmissionController {
+
+    private final Mempool mempool;
+    private final BlockMapper blockMapper;
+
+    public SubmissionController(Mempool mempool, BlockMapper blockMapper) {
+        this.mempool = mempool;
+        this.blockMapper = blockMapper;
+    }
+
+    /**
+     * POST /api/submissions - Mettre une opération en file (202 Accepted, 503 si la file est pleine).
+     * Une opération identique encore en attente renvoie la soumission existante.
+     */
+    @PostMapping
+    public ResponseEntity<SubmissionResponse> submit(@RequestBody TicketRequest request) {
+        Submission submission = mempool.submit(blockMapper.toTransaction(request));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/submissions/" + submission.getId()))
+                .body(blockMapper.toSubmissionResponse(submission));
+    }
+
+    /**
+     * GET /api/submissions/{id}?wait=ms - État de la soumission ; avec {@code wait}, la réponse
+     * est différée jusqu'au minage ou à l'expiration du délai, sans bloquer de thread de requête.
+     */
+    @GetMapping("/{id}")
+    public CompletableFuture<SubmissionResponse> get(@PathVariable String id,
+                                                     @RequestParam(defaultValue = "0") long wait) {
+        Submission submission = mempool.find(id).orElseThrow(() -> new SubmissionNotFoundException(id));
+        long timeout = Math.min(Math.max(wait, 0), mempool.getProperties().maxWait().toMillis());
+        if (timeout == 0 || submission.getResult().isDone()) {
+            return CompletableFuture.completedFuture(blockMapper.toSubmissionResponse(submission));
+        }
+        return submission.getResult()
+                .handle((block, failure) -> submission)
+                .completeOnTimeout(submission, timeout, TimeUnit.MILLISECONDS)
+                .thenApply(blockMapper::toSubmissionResponse);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.blockchain;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.blockchain.dto.TicketHistoryResponse;
+import com.example.blockchain.dto.TicketStateResponse;
+import com.example.blockchain.exception.TicketNotFoundException;
+import com.example.blockchain.index.TicketHistoryIndex;
+import com.example.blockchain.index.TicketStateView;
+import com.example.blockchain.mapper.BlockMapper;
+
+/**
+ * API REST de suivi des tickets, servie par les index maintenus à l'ajout des blocs.
+ */
+@RestController
+@RequestMapping("/api/tickets")
+public class TicketController {
+
+    private final Blockchain blockchain;
+    private final TicketHistoryIndex historyIndex;
+    private final TicketStateView stateView;
+    private final BlockMapper blockMapper;
+
+    public TicketController(Blockchain blockchain, TicketHistoryIndex historyIndex, TicketStateView stateView,
+                            BlockMapper blockMapper) {
+        this.blockchain = blockchain;
+        this.historyIndex = historyIndex;
+        this.stateView = stateView;
+        this.blockMapper = blockMapper;
+    }
+
+    /**
+     * GET /api/tickets/{eventId} - État courant du ticket (propriétaire, statut), sans parcourir la chaîne.
+     */
+    @GetMapping("/{eventId}")
+    public TicketStateResponse getState(@PathVariable String eventId) {
+        return stateView.get(eventId)
+                .map(blockMapper::toStateResponse)
+                .orElseThrow(() -> new TicketNotFoundException(eventId));
+    }
+
+    /**
+     * GET /api/tickets/{eventId}/history - Cycle de vie du ticket (CREE → ACHETE → REVENDU → UTILISE).
+     */
+    @GetMapping("/{eventId}/history")
+    public TicketHistoryResponse getHistory(@PathVariable String eventId) {
+        int[] heights = historyIndex.heights(eventId);
+        if (heights.length == 0) {
+            throw new TicketNotFoundException(eventId);
+        }
+        return blockMapper.toHistoryResponse(eventId, heights, blockchain::getBlockByIndex);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.blockchain;
+
+/**
+ * Opération de billetterie regroupée avec d'autres dans un bloc multi-tickets.
+ * Les champs null sont normalisés en chaîne vide.
+ */
+public record TicketTransaction(String data, String eventId, String artist, String status, String owner) {
+
+    public TicketTransaction {
+        if (data == null) data = "";
+        if (eventId == null) eventId = "";
+        if (artist == null) artist = "";
+        if (status == null) status = "";
+        if (owner == null) owner = "";
+    }
+
+    /**
+     * Vrai si l'opération renseigne au moins un champ métier ; sinon elle donne un bloc simple.
+     */
+    public boolean hasTicketData() {
+        return !eventId.isEmpty() || !artist.isEmpty() || !status.isEmpty() || !owner.isEmpty();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.blockchain.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.BlockAppendListener;
+import com.example.blockchain.Blockchain;
+import com.example.blockchain.mapper.BlockMapper;
+
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Réponses JSON pré-sérialisées des blocs, servies sans mapping ni sérialisation.
+ *
+ * <p>Cache à correspondance directe : la case {@code index & mask} d'un tableau de taille fixe
+ * garde les octets du dernier bloc servi qui y tombe. Une entrée est identifiée par l'index du
+ * bloc, la génération de la chaîne et la révision du bloc avec lesquelles elle a été produite :
+ * une restauration de la chaîne (génération incrémentée) ou une modification du bloc (révision
+ * incrémentée) la périment sans verrou ni purge. Un succès ne lit pas le bloc, ce qui évite
+ * aussi son décodage avec un stockage qui reconstruit les blocs à chaque lecture (colonnes).
+ *
+ * <p>L'ETag fort est le hash du bloc, suffixé de sa révision si le bloc a été modifié
+ * depuis son ajout (une falsification des données ne change pas le hash stocké).
+ */
+@Component
+public class BlockResponseCache implements BlockAppendListener {
+
+    private static final ObjectWriter WRITER = JsonMapper.shared().writer();
+
+    /**
+     * Octets de la réponse et ETag, avec l'index, la génération et la révision du bloc source.
+     */
+    public record CachedBlock(int index, long generation, int revision, byte[] body, String etag) {
+    }
+
+    private final Blockchain blockchain;
+    private final BlockMapper blockMapper;
+    private final AtomicReferenceArray<CachedBlock> slots;
+    private final int mask;
+    private final int finalityDepth;
+    private final Map<Integer, Integer> revisions = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param entries       taille du cache, arrondie à la puissance de 2 supérieure
+     * @param finalityDepth confirmations (blocs au-dessus) au-delà desquelles un bloc est final
+     */
+    public BlockResponseCache(Blockchain blockchain, BlockMapper blockMapper,
+                              @Value("${blockchain.cache.entries:16384}") int entries,
+                              @Value("${blockchain.cache.finality-depth:6}") int finalityDepth) {
+        this.blockchain = blockchain;
+        this.blockMapper = blockMapper;
+        int capacity = Integer.highestOneBit(Math.max(1, entries - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.finalityDepth = finalityDepth;
+        blockchain.addAppendListener(this);
+    }
+
+    /**
+     * Réponse du bloc d'index donné, sérialisée au premier accès puis copiée telle quelle.
+     *
+     * @throws com.example.blockchain.exception.BlockNotFoundException si l'index est hors de la chaîne
+     */
+    public CachedBlock get(int index) {
+        // Génération et révision sont lues avant le bloc : une restauration ou une modification
+        // concurrente périme l'entrée produite
+        long currentGeneration = generation.get();
+        int revision = revisions.getOrDefault(index, 0);
+        CachedBlock cached = slots.get(index & mask);
+        if (cached != null && cached.index() == index && cached.generation() == currentGeneration
+                && cached.revision() == revision && index < blockchain.size()) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        Block block = blockchain.getBlockByIndex(index);
+        byte[] body = WRITER.writeValueAsBytes(blockMapper.toResponse(block));
+        String etag = revision == 0 ? block.getHash() : block.getHash() + "-r" + revision;
+        CachedBlock fresh = new CachedBlock(index, currentGeneration, revision, body, "\"" + etag + "\"");
+        slots.set(index & mask, fresh);
+        return fresh;
+    }
+
+    /**
+     * Un bloc est final lorsqu'au moins {@code finalityDepth} blocs ont été chaînés au-dessus.
+     */
+    public boolean isFinal(int index) {
+        return blockchain.size() - 1 - index >= finalityDepth;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public void blockAppended(Block block) {
+        // Sérialisé à la première lecture seulement
+    }
+
+    @Override
+    public void chainRestored(List<Block> chain) {
+        generation.incrementAndGet();
+        revisions.clear();
+    }
+
+    @Override
+    public void blockMutated(Block block) {
+        revisions.merge(block.getIndex(), 1, Integer::sum);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.blockchain.cache;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.blockchain.Blockchain;
+
+/**
+ * Revalidation HTTP des listes de blocs par l'ETag du sommet de la chaîne.
+ */
+@Configuration
+public class CacheConfiguration implements WebMvcConfigurer {
+
+    private final Blockchain blockchain;
+
+    public CacheConfiguration(Blockchain blockchain) {
+        this.blockchain = blockchain;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ChainEtagInterceptor(blockchain)).addPathPatterns("/api/blocks");
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.blockchain.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.Blockchain;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * ETag des listes de blocs (GET /api/blocks, pages, NDJSON), dérivé du sommet de la chaîne.
+ *
+ * <p>Tant qu'aucun bloc n'est ajouté ni modifié, toute liste reste identique : hauteur, hash
+ * du sommet et compteur de modifications suffisent à la caractériser. La requête dont
+ * l'{@code If-None-Match} correspond reçoit un 304 sans que le contrôleur soit appelé.
+ * L'ETag est faible : JSON et NDJSON sont deux représentations d'une même liste.
+ */
+public class ChainEtagInterceptor implements HandlerInterceptor {
+
+    private final Blockchain blockchain;
+
+    public ChainEtagInterceptor(Blockchain blockchain) {
+        this.blockchain = blockchain;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return !new ServletWebRequest(request, response).checkNotModified(chainEtag());
+    }
+
+    String chainEtag() {
+        long mutations = blockchain.getMutationCount();
+        Block tip = blockchain.getLastBlock();
+        return "W/\"" + tip.getIndex() + "-" + tip.getHash() + "-m" + mutations + "\"";
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.blockchain.consensus;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.blockchain.Blockchain;
+
+/**
+ * Relais du consensus vers un pool de threads plateforme lorsque
+ * {@code blockchain.consensus.offload=true} (par défaut, dès que les threads virtuels sont activés).
+ */
+@Configuration
+@EnableConfigurationProperties(ConsensusProperties.class)
+public class ConsensusConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConsensusConfiguration.class);
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "blockchain.consensus", name = "offload", havingValue = "true")
+    public ConsensusExecutor consensusExecutor(Blockchain blockchain, ConsensusProperties properties) {
+        ConsensusExecutor executor = properties.threads() > 0
+                ? new ConsensusExecutor(properties.threads())
+                : ConsensusExecutor.sizedToCores();
+        blockchain.setConsensusExecutor(executor);
+        logger.info("Consensus exécuté sur un pool de {} threads plateforme", executor.getThreads());
+        return executor;
+    }
+}
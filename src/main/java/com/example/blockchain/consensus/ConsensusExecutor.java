@@ -0,0 +1,88 @@
+package com.example.blockchain.consensus;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import com.example.blockchain.Block;
+
+/**
+ * Pool borné de threads plateforme qui exécute le consensus (boucle PoW, tours de vote PBFT)
+ * pour le compte des threads d'ajout.
+ *
+ * <p>L'appelant attend le résultat : un thread virtuel se démonte alors de son thread porteur,
+ * qui reste disponible pour servir les lectures. Sans ce relais, chaque minage occuperait
+ * un porteur (autant que de cœurs) pendant toute sa durée. Le nombre de consensus simultanés
+ * est borné par la taille du pool ; les suivants attendent en file.
+ */
+public final class ConsensusExecutor implements Closeable {
+
+    private final ThreadPoolExecutor pool;
+
+    public ConsensusExecutor(int threads) {
+        this.pool = (ThreadPoolExecutor) Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().daemon().name("consensus-", 0).factory());
+    }
+
+    /**
+     * Pool d'autant de threads que de cœurs disponibles.
+     */
+    public static ConsensusExecutor sizedToCores() {
+        return new ConsensusExecutor(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Exécute {@code mechanism.validate(block)} sur le pool et attend sa fin ;
+     * une exception du consensus est relancée telle quelle.
+     */
+    public void validate(ConsensusMechanism mechanism, Block block) {
+        run(() -> mechanism.validate(block), "le bloc #" + block.getIndex());
+    }
+
+    /**
+     * Exécute {@code mechanism.validateAll(blocks)} sur le pool et attend sa fin.
+     */
+    public void validateAll(ConsensusMechanism mechanism, List<Block> blocks) {
+        if (blocks.isEmpty()) {
+            return;
+        }
+        run(() -> mechanism.validateAll(blocks),
+                "les blocs #" + blocks.getFirst().getIndex() + " à #" + blocks.getLast().getIndex());
+    }
+
+    private void run(Runnable consensus, String target) {
+        Future<?> task = pool.submit(consensus);
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consensus interrompu pour " + target, e);
+        } catch (ExecutionException e) {
+            switch (e.getCause()) {
+                case RuntimeException runtime -> throw runtime;
+                case Error error -> throw error;
+                default -> throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    public int getThreads() {
+        return pool.getMaximumPoolSize();
+    }
+
+    /**
+     * Consensus en attente d'un thread du pool.
+     */
+    public int getQueued() {
+        return pool.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.blockchain.consensus;
 
+import java.util.List;
+
 import com.example.blockchain.Block;
 
 /**
@@ -8,4 +10,19 @@ import com.example.blockchain.Block;
 public interface ConsensusMechanism {
     void validate(Block block);
     String getName();
+
+    /**
+     * Vrai si le mécanisme laisse les hash intacts et peut valider plusieurs blocs déjà chaînés
+     * en une fois ({@link #validateAll}). Faux pour un mécanisme qui modifie le bloc (minage).
+     */
+    default boolean supportsBatchValidation() {
+        return false;
+    }
+
+    /**
+     * Valide des blocs consécutifs, déjà chaînés ; par défaut un par un, dans l'ordre.
+     */
+    default void validateAll(List<Block> blocks) {
+        blocks.forEach(this::validate);
+    }
 }
@@ -0,0 +1,17 @@
+package com.example.blockchain.consensus;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Exécution du consensus ({@code blockchain.consensus.*}).
+ *
+ * @param offload exécuter le consensus sur un pool borné de threads plateforme plutôt que
+ *                sur le thread de la requête (à activer avec les threads virtuels)
+ * @param threads taille du pool ; 0 pour le nombre de cœurs disponibles
+ */
+@ConfigurationProperties("blockchain.consensus")
+public record ConsensusProperties(
+        @DefaultValue("false") boolean offload,
+        @DefaultValue("0") int threads) {
+}
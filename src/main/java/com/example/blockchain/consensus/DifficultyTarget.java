@@ -0,0 +1,141 @@
+package com.example.blockchain.consensus;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+import java.util.HexFormat;
+
+/**
+ * Cible de difficulté sur 256 bits : un hash est valide s'il est, lu comme un
+ * entier non signé big-endian, inférieur ou égal à la cible.
+ *
+ * <p>La comparaison se fait directement sur le digest brut, quatre mots de 64 bits
+ * au plus (un seul dans l'immense majorité des tentatives). Une difficulté de
+ * {@code n} zéros hexadécimaux correspond exactement à {@code 4n} bits nuls de tête,
+ * ce qui garde valides les chaînes minées avec l'ancien critère
+ * {@code hash.startsWith("0".repeat(n))}, tout en permettant des pas de 2x.
+ */
+public final class DifficultyTarget {
+
+    public static final int HASH_BITS = 256;
+
+    private static final VarHandle LONG_BE =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final BigInteger MAX_TARGET = BigInteger.ONE.shiftLeft(HASH_BITS).subtract(BigInteger.ONE);
+
+    private final long t0;
+    private final long t1;
+    private final long t2;
+    private final long t3;
+    private final int leadingZeroBits;
+
+    private DifficultyTarget(long t0, long t1, long t2, long t3, int leadingZeroBits) {
+        this.t0 = t0;
+        this.t1 = t1;
+        this.t2 = t2;
+        this.t3 = t3;
+        this.leadingZeroBits = leadingZeroBits;
+    }
+
+    /**
+     * Cible exigeant {@code bits} bits nuls de tête (0 à 256).
+     */
+    public static DifficultyTarget ofLeadingZeroBits(int bits) {
+        if (bits < 0 || bits > HASH_BITS) {
+            throw new IllegalArgumentException("Nombre de bits hors limites : " + bits);
+        }
+        long[] words = new long[4];
+        for (int i = 0; i < 4; i++) {
+            int zeroBitsInWord = Math.clamp(bits - 64L * i, 0, 64);
+            words[i] = zeroBitsInWord == 64 ? 0L : -1L >>> zeroBitsInWord;
+        }
+        return new DifficultyTarget(words[0], words[1], words[2], words[3], bits);
+    }
+
+    /**
+     * Conversion de l'ancienne difficulté (nombre de zéros hexadécimaux de tête).
+     */
+    public static DifficultyTarget ofHexDigits(int digits) {
+        return ofLeadingZeroBits(4 * digits);
+    }
+
+    /**
+     * Cible arbitraire sur 256 bits (comprise entre 0 et 2^256 - 1).
+     */
+    public static DifficultyTarget of(BigInteger target) {
+        if (target.signum() < 0 || target.compareTo(MAX_TARGET) > 0) {
+            throw new IllegalArgumentException("Cible hors de l'intervalle [0, 2^256 - 1]");
+        }
+        long[] words = new long[4];
+        for (int i = 0; i < 4; i++) {
+            words[i] = target.shiftRight(64 * (3 - i)).longValue();
+        }
+        int zeros = HASH_BITS - target.bitLength();
+        boolean aligned = target.equals(BigInteger.ONE.shiftLeft(HASH_BITS - zeros).subtract(BigInteger.ONE));
+        return new DifficultyTarget(words[0], words[1], words[2], words[3], aligned ? zeros : -1);
+    }
+
+    /**
+     * Vérifie un hash brut de 32 octets contre la cible.
+     */
+    public boolean isMetBy(byte[] hash) {
+        long h = (long) LONG_BE.get(hash, 0);
+        if (h != t0) {
+            return Long.compareUnsigned(h, t0) < 0;
+        }
+        h = (long) LONG_BE.get(hash, 8);
+        if (h != t1) {
+            return Long.compareUnsigned(h, t1) < 0;
+        }
+        h = (long) LONG_BE.get(hash, 16);
+        if (h != t2) {
+            return Long.compareUnsigned(h, t2) < 0;
+        }
+        return Long.compareUnsigned((long) LONG_BE.get(hash, 24), t3) <= 0;
+    }
+
+    /**
+     * Vérifie un hash hexadécimal déjà stocké (blocs existants).
+     */
+    public boolean isMetBy(String hexHash) {
+        if (hexHash == null || hexHash.length() != 2 * HASH_BITS / 8) {
+            return false;
+        }
+        try {
+            return isMetBy(HexFormat.of().parseHex(hexHash));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Nombre de bits nuls de tête exigés, ou -1 si la cible n'est pas de la forme 2^k - 1.
+     */
+    public int getLeadingZeroBits() {
+        return leadingZeroBits;
+    }
+
+    /**
+     * Nombre moyen de tentatives pour trouver un hash valide.
+     */
+    public double expectedAttempts() {
+        return Math.pow(2, HASH_BITS) / (toBigInteger().doubleValue() + 1);
+    }
+
+    public BigInteger toBigInteger() {
+        BigInteger value = BigInteger.ZERO;
+        for (long word : new long[]{t0, t1, t2, t3}) {
+            value = value.shiftLeft(64).or(new BigInteger(Long.toUnsignedString(word)));
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        if (leadingZeroBits < 0) {
+            return "cible=0x" + toBigInteger().toString(16);
+        }
+        return leadingZeroBits % 4 == 0 ? String.valueOf(leadingZeroBits / 4) : leadingZeroBits + " bits";
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.blockchain.consensus;
+
+/**
+ * Résultat d'une recherche de nonce : nonce gagnant, hash brut et statistiques.
+ */
+public record MiningResult(int nonce, byte[] hash, long attempts, long elapsedNanos) {
+
+    /**
+     * Débit de hachage en hashs par seconde.
+     */
+    public double hashRate() {
+        return elapsedNanos == 0 ? 0 : attempts * 1_000_000_000.0 / elapsedNanos;
+    }
+}
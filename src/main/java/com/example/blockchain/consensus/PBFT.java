@@ -1,61 +1,176 @@
 package com.example.blockchain.consensus;
 
 import com.example.blockchain.Block;
+import com.example.blockchain.consensus.pbft.CommitResult;
+import com.example.blockchain.consensus.pbft.Fault;
+import com.example.blockchain.consensus.pbft.NetworkConditions;
+import com.example.blockchain.consensus.pbft.PbftCluster;
+import com.example.blockchain.consensus.pbft.Pipeline;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.security.SecureRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Practical Byzantine Fault Tolerance (PBFT).
- * Accord par vote entre nœuds connus. Le bloc est validé si au moins
- * 2/3 des nœuds votent en sa faveur (tolérance aux pannes byzantines).
+ * Accord entre nœuds connus par échange de messages (pré-préparation, préparation, validation) :
+ * chaque nœud est une réplique de {@link PbftCluster}, et le bloc est validé quand un quorum
+ * de répliques s'est engagé sur son hash. Jusqu'à f = (n-1)/3 nœuds défaillants sont tolérés,
+ * un primaire défaillant étant remplacé par changement de vue.
+ *
+ * <p>Les hash n'étant pas modifiés, un lot de blocs chaînés est soumis d'un coup
+ * ({@link #validateAll}) : le primaire en garde plusieurs séquences en vol et en regroupe
+ * plusieurs blocs par séquence (voir {@link Pipeline}).
  */
-public class PBFT implements ConsensusMechanism {
+public class PBFT implements ConsensusMechanism, AutoCloseable {
 
     private static final Logger logger = LoggerFactory.getLogger(PBFT.class);
 
+    private static final Duration VIEW_CHANGE_TIMEOUT = Duration.ofMillis(200);
+    private static final Duration COMMIT_TIMEOUT = Duration.ofSeconds(10);
+
     private final List<String> nodes;
-    private final SecureRandom random = new SecureRandom();
+    private final NetworkConditions network;
+    private final Pipeline pipeline;
+    private PbftCluster cluster;
+    private volatile CommitResult lastCommit;
 
     public PBFT() {
+        this(NetworkConditions.LOCAL);
+    }
+
+    /**
+     * @param network conditions simulées entre les nœuds (latence, gigue, perte)
+     */
+    public PBFT(NetworkConditions network) {
+        this(network, Pipeline.DEFAULT);
+    }
+
+    /**
+     * @param network  conditions simulées entre les nœuds (latence, gigue, perte)
+     * @param pipeline séquences en vol, taille des lots et intervalle des points de contrôle
+     */
+    public PBFT(NetworkConditions network, Pipeline pipeline) {
         this.nodes = new ArrayList<>();
+        this.network = network;
+        this.pipeline = pipeline;
     }
 
-    public void addNode(String nodeName) {
+    /**
+     * Ajoute un nœud ; la grappe sera redémarrée avec la nouvelle composition à la prochaine validation.
+     */
+    public synchronized void addNode(String nodeName) {
         nodes.add(nodeName);
+        stopCluster();
+    }
+
+    /**
+     * Rend le nœud défaillant (ou le rétablit avec {@link Fault#NONE}) jusqu'au prochain changement de composition.
+     */
+    public synchronized void injectFault(String nodeName, Fault fault) {
+        int replica = nodes.indexOf(nodeName);
+        if (replica < 0) {
+            throw new IllegalArgumentException("Nœud inconnu : " + nodeName);
+        }
+        cluster().inject(replica, fault);
     }
 
     @Override
     public void validate(Block block) {
-        if (nodes.isEmpty()) {
-            logger.warn("[PBFT] Aucun nœud configuré !");
-            return;
-        }
+        validateAll(List.of(block));
+    }
 
-        int requiredVotes = (2 * nodes.size() / 3) + 1;
-        int votes = 0;
-        List<String> voters = new ArrayList<>();
+    @Override
+    public boolean supportsBatchValidation() {
+        return true;
+    }
 
-        for (String node : nodes) {
-            if (random.nextDouble() < 0.85) {
-                votes++;
-                voters.add(node);
+    /**
+     * Soumet tous les blocs avant d'attendre le premier : la grappe les valide en pipeline.
+     * Le délai de validation est commun à tout le lot.
+     */
+    @Override
+    public void validateAll(List<Block> blocks) {
+        PbftCluster current;
+        List<String> members;
+        synchronized (this) {
+            if (nodes.isEmpty()) {
+                logger.warn("[PBFT] Aucun nœud configuré !");
+                return;
             }
+            current = cluster();
+            members = List.copyOf(nodes);
         }
 
-        boolean accepted = votes >= requiredVotes;
-        logger.info("[PBFT] Bloc #{} | Votes: {}/{} (requis: {}) | {} | Votants: {}",
-                block.getIndex(), votes, nodes.size(), requiredVotes,
-                accepted ? "ACCEPTÉ" : "REJETÉ", voters);
+        List<CompletableFuture<CommitResult>> submitted = new ArrayList<>(blocks.size());
+        for (Block block : blocks) {
+            submitted.add(current.submit(block.getHash(), block.getIndex()));
+        }
+        long deadline = System.nanoTime() + COMMIT_TIMEOUT.toNanos();
+        for (int i = 0; i < blocks.size(); i++) {
+            await(blocks.get(i), submitted.get(i), deadline, current, members);
+        }
+    }
+
+    private void await(Block block, CompletableFuture<CommitResult> future, long deadline,
+                       PbftCluster current, List<String> members) {
+        try {
+            CommitResult result = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            lastCommit = result;
+            List<String> voters = result.certificate().replicas().stream().sorted().map(members::get).toList();
+            logger.info("[PBFT] Bloc #{} | Votes: {}/{} (requis: {}) | ACCEPTÉ | Votants: {} | vue {}, séquence {}, {} ms",
+                    block.getIndex(), voters.size(), members.size(), current.quorum(), voters,
+                    result.view(), result.sequence(), result.latency().toMillis());
+        } catch (TimeoutException e) {
+            rejected(block, members.size(), current.quorum(), "aucun quorum après " + COMMIT_TIMEOUT.toMillis() + " ms");
+        } catch (ExecutionException e) {
+            rejected(block, members.size(), current.quorum(), e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected(block, members.size(), current.quorum(), "validation interrompue");
+        }
+    }
+
+    private void rejected(Block block, int size, int quorum, String reason) {
+        logger.info("[PBFT] Bloc #{} | Votes: 0/{} (requis: {}) | REJETÉ | {}", block.getIndex(), size, quorum, reason);
+        logger.warn("[PBFT] ATTENTION: Le bloc n'a pas atteint le consensus !");
+    }
+
+    /**
+     * Dernier bloc validé : vue, séquence, latence de validation et certificat de quorum.
+     */
+    public CommitResult getLastCommit() {
+        return lastCommit;
+    }
+
+    private PbftCluster cluster() {
+        if (cluster == null) {
+            cluster = PbftCluster.start(nodes.size(), network, VIEW_CHANGE_TIMEOUT, pipeline);
+        }
+        return cluster;
+    }
 
-        if (!accepted) {
-            logger.warn("[PBFT] ATTENTION: Le bloc n'a pas atteint le consensus !");
+    private void stopCluster() {
+        if (cluster != null) {
+            cluster.close();
+            cluster = null;
         }
     }
 
+    /**
+     * Arrête les répliques.
+     */
+    @Override
+    public synchronized void close() {
+        stopCluster();
+    }
+
     @Override
     public String getName() {
         return "PBFT (Practical Byzantine Fault Tolerance)";
@@ -0,0 +1,117 @@
+package com.example.blockchain.consensus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.crypto.BlockHasher;
+
+/**
+ * Mineur multi-cœurs : l'espace des nonces est entrelacé entre {@code parallelism}
+ * workers (le worker {@code i} teste {@code start + i}, {@code start + i + p}, ...).
+ * Le premier worker qui trouve un hash valide lève un drapeau partagé et
+ * tous les autres s'arrêtent au plus tard {@value #CANCELLATION_CHECK_INTERVAL} tentatives après.
+ *
+ * <p>Les workers de tous les mineurs tournent dans un même {@link ForkJoinPool}, dimensionné
+ * au nombre de cœurs, dont les threads (démons) sont libérés après une période d'inactivité :
+ * créer ou remplacer un {@link ProofOfWork} ne laisse aucun thread derrière lui. Au-delà du
+ * nombre de cœurs, les workers en trop attendent leur tour ; chacun garde sa part de
+ * l'espace des nonces, le résultat reste donc correct.
+ */
+public class ParallelMiner {
+
+    static final int CANCELLATION_CHECK_INTERVAL = 256;
+
+    private static final long NONCE_SPACE = 1L << Integer.SIZE;
+    private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    private final int parallelism;
+
+    public ParallelMiner(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Le parallélisme doit être >= 1 : " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Cherche un nonce dont le hash satisfait la cible, en partant du nonce courant
+     * du bloc. Le bloc n'est pas modifié.
+     */
+    public MiningResult mine(Block block, DifficultyTarget target) {
+        long start = System.nanoTime();
+        int startNonce = block.getNonce();
+
+        byte[] first = BlockHasher.current().reset(block).hash(startNonce);
+        if (target.isMetBy(first)) {
+            return new MiningResult(startNonce, first, 1, System.nanoTime() - start);
+        }
+
+        AtomicBoolean found = new AtomicBoolean();
+        AtomicReference<MiningResult> winner = new AtomicReference<>();
+        LongAdder attempts = new LongAdder();
+
+        List<Future<?>> workers = new ArrayList<>(parallelism);
+        for (int worker = 0; worker < parallelism; worker++) {
+            int offset = worker + 1;
+            workers.add(POOL.submit(() -> search(block, target, startNonce + offset,
+                    found, winner, attempts, start)));
+        }
+        for (Future<?> future : workers) {
+            await(future, found);
+        }
+
+        MiningResult result = winner.get();
+        if (result == null) {
+            throw new IllegalStateException("Aucun nonce valide pour le bloc #" + block.getIndex());
+        }
+        return new MiningResult(result.nonce(), result.hash(), attempts.sum() + 1, System.nanoTime() - start);
+    }
+
+    private void search(Block block, DifficultyTarget target, int firstNonce, AtomicBoolean found,
+                        AtomicReference<MiningResult> winner, LongAdder attempts, long start) {
+        BlockHasher hasher = BlockHasher.current().reset(block);
+        byte[] digest = new byte[BlockHasher.HASH_LENGTH];
+        int nonce = firstNonce;
+        long tried = 0;
+        long budget = NONCE_SPACE / parallelism + 1;
+
+        while (tried < budget) {
+            if ((tried & (CANCELLATION_CHECK_INTERVAL - 1)) == 0 && found.get()) {
+                break;
+            }
+            hasher.hash(nonce, digest);
+            tried++;
+            if (target.isMetBy(digest)) {
+                if (found.compareAndSet(false, true)) {
+                    winner.set(new MiningResult(nonce, digest, 0, System.nanoTime() - start));
+                }
+                break;
+            }
+            nonce += parallelism;
+        }
+        attempts.add(tried);
+    }
+
+    private static void await(Future<?> future, AtomicBoolean found) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            found.set(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Minage interrompu", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Échec d'un worker de minage", e.getCause());
+        }
+    }
+}
@@ -1,45 +1,158 @@
 package com.example.blockchain.consensus;
 
 import com.example.blockchain.Block;
+import com.example.blockchain.crypto.AuthorityKeys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.security.KeyPair;
+import java.security.PublicKey;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Proof of Authority (PoA) : validation par un nombre restreint
  * d'acteurs de confiance (autorités). Chaque autorité valide à tour de rôle.
+ *
+ * <p>Le tour est fixé par l'index du bloc (autorité {@code index mod n} de la liste en vigueur),
+ * sans compteur partagé entre les validations concurrentes. Une autorité ajoutée entre dans la
+ * liste à partir du bloc qui suit le dernier bloc validé. L'autorité désignée signe le hash du
+ * bloc avec sa clé Ed25519 ; ses clés publiques et le calendrier des listes sont publiés dans un
+ * {@link AuthorityKeys} pour que la vérification de la chaîne confirme l'auteur de chaque bloc.
+ *
+ * <p>Les clés ne sont pas persistées : {@link #addAuthority(String)} en génère de nouvelles.
+ * Pour revérifier une chaîne relue depuis le journal, les autorités doivent être réinscrites
+ * avec leurs paires de clés d'origine ({@link #addAuthority(String, KeyPair)}) et publiées
+ * depuis l'index d'activation d'origine ({@link #publishTo(AuthorityKeys, int)}) ; sinon leurs
+ * blocs sont signalés comme mal signés.
  */
 public class ProofOfAuthority implements ConsensusMechanism {
 
     private static final Logger logger = LoggerFactory.getLogger(ProofOfAuthority.class);
 
-    private final List<String> authorities;
-    private int currentIndex = 0;
+    private record Authority(String name, KeyPair keys) {}
+
+    private record Publication(AuthorityKeys registry, int fromIndex) {}
+
+    // Listes d'autorités successives, indexées par le premier bloc où elles s'appliquent
+    private final TreeMap<Integer, List<Authority>> rosters = new TreeMap<>();
+    private final List<Publication> publications = new CopyOnWriteArrayList<>();
+    private int lastValidated = -1;
 
     public ProofOfAuthority() {
-        this.authorities = new ArrayList<>();
     }
 
+    /**
+     * Ajoute une autorité avec une nouvelle paire de clés Ed25519.
+     */
     public void addAuthority(String authority) {
-        authorities.add(authority);
+        addAuthority(authority, AuthorityKeys.generate());
+    }
+
+    /**
+     * Ajoute une autorité avec une paire de clés existante, à partir du bloc qui suit
+     * le dernier bloc validé.
+     */
+    public synchronized void addAuthority(String authority, KeyPair keys) {
+        List<Authority> roster = new ArrayList<>(currentRoster());
+        roster.add(new Authority(authority, keys));
+        int fromIndex = lastValidated + 1;
+        rosters.put(fromIndex, List.copyOf(roster));
+        for (Publication publication : publications) {
+            publication.registry().register(authority, keys.getPublic());
+            publication.registry().schedule(Math.max(fromIndex, publication.fromIndex()), names(roster));
+        }
+    }
+
+    /**
+     * Publie les autorités, actuelles et à venir, dans le registre donné, en exigeant leur
+     * signature à partir du premier bloc.
+     */
+    public void publishTo(AuthorityKeys registry) {
+        publishTo(registry, 0);
+    }
+
+    /**
+     * Publie les clés publiques et le calendrier des autorités dans le registre donné : tout bloc
+     * d'index au moins {@code fromIndex} devra porter la signature de l'autorité désignée.
+     */
+    public synchronized void publishTo(AuthorityKeys registry, int fromIndex) {
+        for (List<Authority> roster : rosters.values()) {
+            for (Authority authority : roster) {
+                registry.register(authority.name(), authority.keys().getPublic());
+            }
+        }
+        registry.schedule(fromIndex, names(rosterAt(fromIndex)));
+        for (Map.Entry<Integer, List<Authority>> later : rosters.tailMap(fromIndex, false).entrySet()) {
+            registry.schedule(later.getKey(), names(later.getValue()));
+        }
+        publications.add(new Publication(registry, fromIndex));
+    }
+
+    /**
+     * Cesse de publier dans le registre : les blocs d'index au moins {@code fromIndex}
+     * n'ont plus à être signés.
+     */
+    public synchronized void withdrawFrom(AuthorityKeys registry, int fromIndex) {
+        publications.removeIf(publication -> publication.registry() == registry);
+        registry.schedule(fromIndex, List.of());
+    }
+
+    /**
+     * Clé publique courante de l'autorité, ou null si elle est inconnue.
+     */
+    public synchronized PublicKey getPublicKey(String authority) {
+        for (List<Authority> roster : rosters.descendingMap().values()) {
+            for (Authority candidate : roster) {
+                if (candidate.name().equals(authority)) {
+                    return candidate.keys().getPublic();
+                }
+            }
+        }
+        return null;
     }
 
     @Override
     public void validate(Block block) {
-        if (authorities.isEmpty()) {
-            logger.warn("[PoA] Aucune autorité configurée !");
-            return;
+        Authority authority;
+        synchronized (this) {
+            List<Authority> roster = rosterAt(block.getIndex());
+            if (roster.isEmpty()) {
+                logger.warn("[PoA] Aucune autorité configurée !");
+                return;
+            }
+            authority = roster.get(Math.floorMod(block.getIndex(), roster.size()));
+            lastValidated = Math.max(lastValidated, block.getIndex());
         }
 
-        String authority = authorities.get(currentIndex % authorities.size());
-        currentIndex++;
-        logger.info("[PoA] Bloc #{} validé par l'autorité: {}", block.getIndex(), authority);
+        block.sign(authority.name(), AuthorityKeys.sign(authority.keys().getPrivate(), block));
+        logger.info("[PoA] Bloc #{} validé par l'autorité: {}", block.getIndex(), authority.name());
     }
 
     @Override
     public String getName() {
         return "Proof of Authority";
     }
+
+    private List<Authority> currentRoster() {
+        return rosters.isEmpty() ? List.of() : rosters.lastEntry().getValue();
+    }
+
+    /**
+     * Liste en vigueur pour ce bloc ; un bloc antérieur à la première liste relève de celle-ci.
+     */
+    private List<Authority> rosterAt(int index) {
+        Map.Entry<Integer, List<Authority>> entry = rosters.floorEntry(index);
+        if (entry == null) {
+            entry = rosters.firstEntry();
+        }
+        return entry != null ? entry.getValue() : List.of();
+    }
+
+    private static List<String> names(List<Authority> roster) {
+        return roster.stream().map(Authority::name).toList();
+    }
 }
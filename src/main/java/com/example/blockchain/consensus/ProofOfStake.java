@@ -4,53 +4,66 @@ import com.example.blockchain.Block;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
 import java.security.SecureRandom;
 
 /**
  * Proof of Stake (PoS) : les validateurs sont choisis proportionnellement
  * à leur mise (stake). Plus un validateur a de jetons, plus il a de chances
- * d'être sélectionné.
+ * d'être sélectionné. Le tirage passe par une {@link StakeTable} : O(log n)
+ * quel que soit le nombre de validateurs, et sûr face aux mises à jour concurrentes.
  */
 public class ProofOfStake implements ConsensusMechanism {
 
     private static final Logger logger = LoggerFactory.getLogger(ProofOfStake.class);
 
-    private final Map<String, Integer> stakes;
+    private final StakeTable stakes = new StakeTable();
     private final SecureRandom random = new SecureRandom();
 
-    public ProofOfStake() {
-        this.stakes = new LinkedHashMap<>();
+    /**
+     * Ajoute un validateur, ou remplace sa mise s'il est déjà inscrit.
+     */
+    public void addValidator(String name, long stake) {
+        stakes.put(name, stake);
     }
 
-    public void addValidator(String name, int stake) {
-        stakes.put(name, stake);
+    public boolean removeValidator(String name) {
+        return stakes.remove(name);
     }
 
     /**
-     * Sélectionne un validateur proportionnellement à sa mise.
+     * Pénalise un validateur fautif de {@code percent} % de sa mise.
+     *
+     * @return la mise restante, ou -1 si le validateur est inconnu
      */
-    private String selectValidator() {
-        int totalStake = stakes.values().stream().mapToInt(Integer::intValue).sum();
-        if (totalStake == 0) return "Aucun validateur";
-
-        int pick = random.nextInt(totalStake);
-        int cumulative = 0;
-        for (Map.Entry<String, Integer> entry : stakes.entrySet()) {
-            cumulative += entry.getValue();
-            if (pick < cumulative) {
-                return entry.getKey();
-            }
+    public long slash(String name, int percent) {
+        long remaining = stakes.slash(name, percent);
+        if (remaining >= 0) {
+            logger.warn("[PoS] Validateur {} pénalisé de {} % (stake restant={})", name, percent, remaining);
         }
-        return stakes.keySet().iterator().next();
+        return remaining;
+    }
+
+    public long getStake(String name) {
+        return stakes.stakeOf(name);
+    }
+
+    public long getTotalStake() {
+        return stakes.totalStake();
+    }
+
+    /**
+     * Sélectionne un validateur proportionnellement à sa mise.
+     */
+    String selectValidator() {
+        String validator = stakes.draw(random);
+        return validator != null ? validator : "Aucun validateur";
     }
 
     @Override
     public void validate(Block block) {
         String validator = selectValidator();
         logger.info("[PoS] Bloc #{} validé par {} (stake={})",
-                block.getIndex(), validator, stakes.getOrDefault(validator, 0));
+                block.getIndex(), validator, stakes.stakeOf(validator));
     }
 
     @Override
@@ -1,36 +1,94 @@
 package com.example.blockchain.consensus;
 
 import com.example.blockchain.Block;
+import com.example.blockchain.crypto.BlockHasher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Proof of Work (PoW) : le mineur doit trouver un nonce tel que
  * le hash du bloc commence par un certain nombre de zéros (difficulté).
+ * La difficulté est une {@link DifficultyTarget} vérifiée sur le digest brut ;
+ * le constructeur historique l'exprime en zéros hexadécimaux.
+ * Avec un parallélisme supérieur à 1, la recherche est répartie sur
+ * plusieurs cœurs par un {@link ParallelMiner}.
  */
 public class ProofOfWork implements ConsensusMechanism {
 
     private static final Logger logger = LoggerFactory.getLogger(ProofOfWork.class);
 
-    private final int difficulty;
+    private final DifficultyTarget target;
+    private final ParallelMiner miner;
 
+    /**
+     * @param difficulty nombre de zéros hexadécimaux de tête exigés
+     */
     public ProofOfWork(int difficulty) {
-        this.difficulty = difficulty;
+        this(difficulty, 1);
+    }
+
+    public ProofOfWork(int difficulty, int parallelism) {
+        this(DifficultyTarget.ofHexDigits(difficulty), parallelism);
+    }
+
+    public ProofOfWork(DifficultyTarget target, int parallelism) {
+        this.target = target;
+        this.miner = parallelism > 1 ? new ParallelMiner(parallelism) : null;
+    }
+
+    /**
+     * PoW utilisant tous les cœurs disponibles.
+     */
+    public static ProofOfWork parallel(int difficulty) {
+        return new ProofOfWork(difficulty, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * PoW exigeant {@code bits} bits nuls de tête : chaque bit double le travail attendu.
+     */
+    public static ProofOfWork withLeadingZeroBits(int bits) {
+        return new ProofOfWork(DifficultyTarget.ofLeadingZeroBits(bits), 1);
+    }
+
+    public DifficultyTarget getTarget() {
+        return target;
+    }
+
+    public int getParallelism() {
+        return miner != null ? miner.getParallelism() : 1;
     }
 
     @Override
     public void validate(Block block) {
-        String target = "0".repeat(difficulty);
-        while (!block.getHash().startsWith(target)) {
-            block.setNonce(block.getNonce() + 1);
-            block.setHash(block.calculateHash());
+        MiningResult result = miner != null ? miner.mine(block, target) : mine(block);
+        block.setNonce(result.nonce());
+        block.setHashBytes(result.hash());
+        logger.info("[PoW] Bloc #{} miné avec nonce={} (difficulté={}, threads={}, {} H/s)",
+                block.getIndex(), block.getNonce(), target, getParallelism(), Math.round(result.hashRate()));
+    }
+
+    /**
+     * Recherche séquentielle sur le thread appelant. La boucle travaille sur le midstate
+     * du bloc et sur un tampon de 32 octets réutilisé : aucune allocation par tentative,
+     * le hash hexadécimal n'est produit qu'une fois le nonce trouvé.
+     */
+    private MiningResult mine(Block block) {
+        long start = System.nanoTime();
+        BlockHasher hasher = BlockHasher.current().reset(block);
+        byte[] digest = new byte[BlockHasher.HASH_LENGTH];
+        int nonce = block.getNonce();
+        long attempts = 1;
+        hasher.hash(nonce, digest);
+        while (!target.isMetBy(digest)) {
+            nonce++;
+            attempts++;
+            hasher.hash(nonce, digest);
         }
-        logger.info("[PoW] Bloc #{} miné avec nonce={} (difficulté={})",
-                block.getIndex(), block.getNonce(), difficulty);
+        return new MiningResult(nonce, digest, attempts, System.nanoTime() - start);
     }
 
     @Override
     public String getName() {
-        return "Proof of Work (difficulté=" + difficulty + ")";
+        return "Proof of Work (difficulté=" + target + ")";
     }
 }
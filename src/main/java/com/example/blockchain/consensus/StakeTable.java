@@ -0,0 +1,258 @@
+package com.example.blockchain.consensus;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import java.util.random.RandomGenerator;
+
+/**
+ * Table des mises des validateurs pour un tirage proportionnel en O(log n).
+ *
+ * <p>Chaque validateur occupe une case d'un tableau primitif de mises, indexé par un arbre de
+ * Fenwick (sommes préfixes) : un tirage descend l'arbre en O(log n) sans parcourir les
+ * validateurs, et une mise à jour, un retrait ou une pénalité coûtent O(log n). Les cases
+ * libérées par un retrait sont réutilisées ; la capacité double quand elle est atteinte.
+ *
+ * <p>Écritures exclusives sous un {@link StampedLock} ; les tirages sont des lectures
+ * optimistes, sans verrou tant qu'aucune écriture ne les croise. Les tableaux d'une même
+ * capacité sont regroupés dans un {@link Table} lu d'un seul coup, si bien qu'une lecture
+ * optimiste invalidée ne peut pas sortir de leurs bornes.
+ */
+public final class StakeTable {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Tableaux de même capacité : nom et mise par case, arbre de Fenwick (1-indexé).
+     */
+    private static final class Table {
+
+        final String[] names;
+        final long[] stakes;
+        final long[] tree;
+
+        Table(int capacity) {
+            names = new String[capacity];
+            stakes = new long[capacity];
+            tree = new long[capacity + 1];
+        }
+
+        void add(int slot, long delta) {
+            for (int i = slot + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        /**
+         * Plus petite case dont la somme préfixe (incluse) dépasse {@code point}.
+         */
+        int find(long point) {
+            int position = 0;
+            long remaining = point;
+            for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+                int next = position + step;
+                if (next < tree.length && tree[next] <= remaining) {
+                    position = next;
+                    remaining -= tree[next];
+                }
+            }
+            return Math.min(position, names.length - 1);
+        }
+    }
+
+    private final StampedLock lock = new StampedLock();
+    private final Map<String, Integer> slots = new HashMap<>();
+    private Table table = new Table(INITIAL_CAPACITY);
+    private int[] freeSlots = new int[0];
+    private int freeCount;
+    private int used;
+    private long total;
+
+    /**
+     * Ajoute le validateur, ou remplace sa mise s'il est déjà présent. Les sommes de l'arbre
+     * étant bornées par la mise totale, celle-ci ne doit pas dépasser {@link Long#MAX_VALUE}.
+     *
+     * @throws IllegalArgumentException si la mise est négative ou ferait déborder la mise totale
+     */
+    public void put(String name, long stake) {
+        if (stake < 0) {
+            throw new IllegalArgumentException("Mise négative pour " + name + " : " + stake);
+        }
+        long stamp = lock.writeLock();
+        try {
+            Integer slot = slots.get(name);
+            long current = slot != null ? table.stakes[slot] : 0;
+            try {
+                Math.addExact(total, stake - current);
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Mise totale hors limites avec " + name + " : " + stake, e);
+            }
+            if (slot == null) {
+                slot = allocate();
+                table.names[slot] = name;
+                slots.put(name, slot);
+            }
+            set(slot, stake);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Retire le validateur ; sa case sera réutilisée.
+     *
+     * @return false si le validateur est inconnu
+     */
+    public boolean remove(String name) {
+        long stamp = lock.writeLock();
+        try {
+            Integer slot = slots.remove(name);
+            if (slot == null) {
+                return false;
+            }
+            set(slot, 0);
+            table.names[slot] = null;
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, Math.max(4, freeCount * 2));
+            }
+            freeSlots[freeCount++] = slot;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Pénalise le validateur de {@code percent} % de sa mise (arrondi à l'unité inférieure).
+     *
+     * @return la mise restante, ou -1 si le validateur est inconnu
+     */
+    public long slash(String name, int percent) {
+        if (percent < 0 || percent > 100) {
+            throw new IllegalArgumentException("Pénalité hors de [0, 100] : " + percent);
+        }
+        long stamp = lock.writeLock();
+        try {
+            Integer slot = slots.get(name);
+            if (slot == null) {
+                return -1;
+            }
+            long current = table.stakes[slot];
+            // Sans débordement pour les mises proches de Long.MAX_VALUE
+            long penalty = current / 100 * percent + current % 100 * percent / 100;
+            long remaining = current - penalty;
+            set(slot, remaining);
+            return remaining;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Tire un validateur avec une probabilité proportionnelle à sa mise ; null si la mise totale est nulle.
+     */
+    public String draw(RandomGenerator random) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Table current = table;
+            long sum = total;
+            String drawn = sum > 0 ? current.names[current.find(random.nextLong(sum))] : null;
+            if (lock.validate(stamp)) {
+                return drawn;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return total > 0 ? table.names[table.find(random.nextLong(total))] : null;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Validateur couvrant le point {@code point} de [0, totalStake()) : les validateurs se
+     * partagent cet intervalle en tranches contiguës de la longueur de leur mise.
+     */
+    public String select(long point) {
+        long stamp = lock.readLock();
+        try {
+            if (point < 0 || point >= total) {
+                throw new IllegalArgumentException("Point hors de [0, " + total + ") : " + point);
+            }
+            return table.names[table.find(point)];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Mise du validateur, 0 s'il est inconnu.
+     */
+    public long stakeOf(String name) {
+        long stamp = lock.readLock();
+        try {
+            Integer slot = slots.get(name);
+            return slot != null ? table.stakes[slot] : 0;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public long totalStake() {
+        long stamp = lock.tryOptimisticRead();
+        long sum = total;
+        if (lock.validate(stamp)) {
+            return sum;
+        }
+        stamp = lock.readLock();
+        try {
+            return total;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return slots.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void set(int slot, long stake) {
+        long delta = stake - table.stakes[slot];
+        table.stakes[slot] = stake;
+        table.add(slot, delta);
+        total += delta;
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (used == table.names.length) {
+            grow();
+        }
+        return used++;
+    }
+
+    /**
+     * Double la capacité ; l'arbre est reconstruit en O(n) à partir des mises.
+     */
+    private void grow() {
+        Table grown = new Table(table.names.length * 2);
+        System.arraycopy(table.names, 0, grown.names, 0, used);
+        System.arraycopy(table.stakes, 0, grown.stakes, 0, used);
+        for (int i = 1; i < grown.tree.length; i++) {
+            grown.tree[i] += grown.stakes[i - 1];
+            int parent = i + (i & -i);
+            if (parent < grown.tree.length) {
+                grown.tree[parent] += grown.tree[i];
+            }
+        }
+        table = grown;
+    }
+}
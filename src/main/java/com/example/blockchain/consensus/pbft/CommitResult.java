@@ -0,0 +1,15 @@
+package com.example.blockchain.consensus.pbft;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Résultat côté client d'une requête validée : le client a reçu f+1 réponses concordantes.
+ *
+ * @param latency     délai entre la soumission et la f+1-ième réponse
+ * @param repliedBy   répliques ayant répondu au moment de la validation
+ * @param certificate certificat de validation transmis par une réplique honnête
+ */
+public record CommitResult(String digest, int blockIndex, long sequence, int view, Duration latency,
+                           Set<Integer> repliedBy, QuorumCertificate certificate) {
+}
@@ -0,0 +1,16 @@
+package com.example.blockchain.consensus.pbft;
+
+/**
+ * Comportement injecté dans une réplique pour éprouver la tolérance aux pannes.
+ */
+public enum Fault {
+    /** Réplique honnête. */
+    NONE,
+    /** Panne franche : la réplique ignore tout message et n'émet plus rien. */
+    CRASHED,
+    /**
+     * Réplique byzantine : primaire, elle envoie un digest différent à chaque réplique ;
+     * secondaire, elle vote pour des digests falsifiés. Elle ne participe pas aux changements de vue.
+     */
+    BYZANTINE
+}
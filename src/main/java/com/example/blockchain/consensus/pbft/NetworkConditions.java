@@ -0,0 +1,24 @@
+package com.example.blockchain.consensus.pbft;
+
+import java.time.Duration;
+
+/**
+ * Conditions simulées du réseau entre répliques : latence de base, gigue uniforme ajoutée
+ * à chaque message et probabilité de perte.
+ */
+public record NetworkConditions(Duration latency, Duration jitter, double lossRate) {
+
+    /**
+     * Réseau local idéal : livraison immédiate, sans perte.
+     */
+    public static final NetworkConditions LOCAL = new NetworkConditions(Duration.ZERO, Duration.ZERO, 0);
+
+    public NetworkConditions {
+        if (latency.isNegative() || jitter.isNegative()) {
+            throw new IllegalArgumentException("Latence et gigue doivent être positives");
+        }
+        if (lossRate < 0 || lossRate >= 1) {
+            throw new IllegalArgumentException("Taux de perte hors de [0, 1) : " + lossRate);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.blockchain.consensus.pbft;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.blockchain.consensus.pbft.PbftMessage.Reply;
+import com.example.blockchain.consensus.pbft.PbftMessage.Request;
+
+/**
+ * Grappe PBFT en mémoire : {@code n} répliques, chacune sur son thread virtuel, reliées par un
+ * {@link Transport} simulé, et un client qui soumet les requêtes.
+ *
+ * <p>Une requête est validée côté client dès que f+1 répliques ont renvoyé la même réponse
+ * (même séquence, même digest) : au moins l'une d'elles est honnête. Tant qu'elle ne l'est
+ * pas, le client la retransmet à intervalle régulier, ce qui relance les votes perdus et
+ * déclenche le changement de vue si le primaire est défaillant.
+ */
+public final class PbftCluster implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PbftCluster.class);
+
+    /**
+     * Requête en cours côté client, confinée au thread du client sauf pour son futur.
+     */
+    private static final class Outstanding {
+
+        final Request request;
+        final long submittedAt = System.nanoTime();
+        final CompletableFuture<CommitResult> result = new CompletableFuture<>();
+        final Map<Integer, Reply> replies = new HashMap<>();
+        long sentAt = submittedAt;
+
+        Outstanding(Request request) {
+            this.request = request;
+        }
+    }
+
+    private final Transport transport;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private final Map<String, Outstanding> outstanding = new ConcurrentHashMap<>();
+    private final long retransmitNanos;
+    private final int faultTolerance;
+    private volatile boolean running = true;
+
+    private final Pipeline pipeline;
+
+    private PbftCluster(int size, NetworkConditions network, Duration viewChangeTimeout, Pipeline pipeline) {
+        this.transport = new Transport(size, network);
+        this.pipeline = pipeline;
+        this.faultTolerance = (size - 1) / 3;
+        this.retransmitNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), viewChangeTimeout.toNanos() / 4);
+        for (int id = 0; id < size; id++) {
+            replicas.add(new Replica(id, size, transport, pipeline, viewChangeTimeout.toNanos()));
+        }
+    }
+
+    /**
+     * Démarre {@code size} répliques et le client avec le pipeline {@link Pipeline#DEFAULT}.
+     *
+     * @param viewChangeTimeout délai sans exécution au-delà duquel une réplique demande la vue suivante
+     */
+    public static PbftCluster start(int size, NetworkConditions network, Duration viewChangeTimeout) {
+        return start(size, network, viewChangeTimeout, Pipeline.DEFAULT);
+    }
+
+    /**
+     * Démarre {@code size} répliques et le client.
+     *
+     * @param viewChangeTimeout délai sans exécution au-delà duquel une réplique demande la vue suivante
+     * @param pipeline          fenêtre de séquences en vol, taille des lots et intervalle des points de contrôle
+     */
+    public static PbftCluster start(int size, NetworkConditions network, Duration viewChangeTimeout,
+                                    Pipeline pipeline) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Au moins une réplique est nécessaire : " + size);
+        }
+        PbftCluster cluster = new PbftCluster(size, network, viewChangeTimeout, pipeline);
+        for (int id = 0; id < size; id++) {
+            cluster.threads.add(Thread.ofVirtual().name("pbft-replica-" + id).start(cluster.replicas.get(id)));
+        }
+        cluster.threads.add(Thread.ofVirtual().name("pbft-client").start(cluster::listen));
+        logger.info("[PBFT] Grappe démarrée : {} répliques, f = {}, quorum = {}, {}",
+                size, cluster.faultTolerance, cluster.quorum(), pipeline);
+        return cluster;
+    }
+
+    /**
+     * Diffuse la requête aux répliques ; le futur est complété à la validation.
+     * Une requête identique encore en cours partage le même futur.
+     */
+    public CompletableFuture<CommitResult> submit(String digest, int blockIndex) {
+        if (digest == null || digest.isEmpty()) {
+            throw new IllegalArgumentException("Digest de requête vide");
+        }
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Grappe PBFT arrêtée"));
+        }
+        Outstanding created = new Outstanding(new Request(Transport.CLIENT, digest, blockIndex));
+        Outstanding existing = outstanding.putIfAbsent(digest, created);
+        if (existing != null) {
+            return existing.result;
+        }
+        transport.broadcast(created.request);
+        return created.result;
+    }
+
+    /**
+     * Injecte un comportement défaillant dans la réplique (ou la rétablit avec {@link Fault#NONE}).
+     */
+    public void inject(int replica, Fault fault) {
+        replicas.get(replica).inject(fault);
+        logger.info("[PBFT] Réplique {} : {}", replica, fault);
+    }
+
+    public Fault getFault(int replica) {
+        return replicas.get(replica).getFault();
+    }
+
+    /**
+     * Vue la plus avancée parmi les répliques.
+     */
+    public int currentView() {
+        return replicas.stream().mapToInt(Replica::getView).max().orElse(0);
+    }
+
+    /**
+     * Point de contrôle stable le plus avancé parmi les répliques (marque basse).
+     */
+    public long stableCheckpoint() {
+        return replicas.stream().mapToLong(Replica::getStableCheckpoint).max().orElse(0);
+    }
+
+    /**
+     * Plus grand nombre de séquences encore journalisées par une réplique.
+     */
+    public int maxLogSize() {
+        return replicas.stream().mapToInt(Replica::getLogSize).max().orElse(0);
+    }
+
+    public Pipeline getPipeline() {
+        return pipeline;
+    }
+
+    public int size() {
+        return replicas.size();
+    }
+
+    public int faultTolerance() {
+        return faultTolerance;
+    }
+
+    public int quorum() {
+        return Replica.quorum(replicas.size());
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    private void listen() {
+        while (running) {
+            PbftMessage message;
+            try {
+                message = transport.receive(Transport.CLIENT, retransmitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (message instanceof Reply reply) {
+                onReply(reply);
+            }
+            retransmitStale();
+        }
+    }
+
+    private void onReply(Reply reply) {
+        Outstanding pending = outstanding.get(reply.digest());
+        if (pending == null) {
+            return;
+        }
+        pending.replies.put(reply.sender(), reply);
+        Set<Integer> matching = new HashSet<>();
+        for (Reply other : pending.replies.values()) {
+            if (other.sequence() == reply.sequence()) {
+                matching.add(other.sender());
+            }
+        }
+        if (matching.size() < faultTolerance + 1) {
+            return;
+        }
+        outstanding.remove(reply.digest());
+        Duration latency = Duration.ofNanos(System.nanoTime() - pending.submittedAt);
+        QuorumCertificate certificate = new QuorumCertificate(reply.view(), reply.sequence(), reply.digest(),
+                reply.committedBy());
+        pending.result.complete(new CommitResult(reply.digest(), pending.request.blockIndex(), reply.sequence(),
+                reply.view(), latency, Set.copyOf(matching), certificate));
+    }
+
+    private void retransmitStale() {
+        long now = System.nanoTime();
+        for (Outstanding pending : outstanding.values()) {
+            if (now - pending.sentAt >= retransmitNanos) {
+                pending.sentAt = now;
+                transport.broadcast(pending.request);
+            }
+        }
+    }
+
+    /**
+     * Arrête les répliques et le client ; les requêtes en cours échouent.
+     */
+    @Override
+    public void close() {
+        running = false;
+        replicas.forEach(Replica::stop);
+        threads.forEach(Thread::interrupt);
+        for (Thread thread : threads) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        IllegalStateException stopped = new IllegalStateException("Grappe PBFT arrêtée avant la validation");
+        outstanding.values().forEach(pending -> pending.result.completeExceptionally(stopped));
+        outstanding.clear();
+    }
+}
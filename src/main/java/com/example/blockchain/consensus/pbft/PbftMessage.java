@@ -0,0 +1,112 @@
+package com.example.blockchain.consensus.pbft;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Messages échangés entre le client et les répliques PBFT.
+ *
+ * <p>Chaque numéro de séquence porte un lot de requêtes, désigné par son digest (voir
+ * {@link #batchDigest}). Le lot vide, de digest vide, est la requête nulle qu'un nouveau
+ * primaire utilise pour combler une séquence sans lot préparé.
+ */
+public sealed interface PbftMessage {
+
+    /**
+     * Émetteur du message : index de réplique, ou {@link Transport#CLIENT}.
+     */
+    int sender();
+
+    /**
+     * Requête du client, diffusée à toutes les répliques (et retransmise tant qu'elle n'est pas validée).
+     */
+    record Request(int sender, String digest, int blockIndex) implements PbftMessage {
+    }
+
+    /**
+     * Le primaire de la vue assigne un numéro de séquence à un lot de requêtes.
+     */
+    record PrePrepare(int sender, int view, long sequence, String digest, List<String> batch)
+            implements PbftMessage {
+    }
+
+    record Prepare(int sender, int view, long sequence, String digest) implements PbftMessage {
+    }
+
+    record Commit(int sender, int view, long sequence, String digest) implements PbftMessage {
+    }
+
+    /**
+     * Réponse au client après exécution, accompagnée du certificat de validation de la réplique.
+     */
+    record Reply(int sender, int view, long sequence, String digest, Set<Integer> committedBy)
+            implements PbftMessage {
+    }
+
+    /**
+     * Une réplique sans progrès demande les certificats des séquences exécutées après {@code lastExecuted}.
+     */
+    record CatchUp(int sender, long lastExecuted) implements PbftMessage {
+    }
+
+    /**
+     * Certificat d'une séquence exécutée et son lot, renvoyés en réponse à {@link CatchUp}.
+     */
+    record Executed(int sender, QuorumCertificate certificate, List<String> batch) implements PbftMessage {
+    }
+
+    /**
+     * Point de contrôle : état de la réplique (digest chaîné des lots exécutés) après {@code sequence}.
+     * Stable quand un quorum concorde ; les journaux antérieurs sont alors effacés.
+     */
+    record Checkpoint(int sender, long sequence, String state) implements PbftMessage {
+    }
+
+    /**
+     * Demande de passage à la vue {@code newView}, avec le dernier point de contrôle stable de
+     * l'émetteur et les lots qu'il a préparés au-delà (séquence → lot et vue de préparation).
+     */
+    record ViewChange(int sender, int newView, long stableCheckpoint, Map<Long, Prepared> prepared)
+            implements PbftMessage {
+    }
+
+    /**
+     * Lot préparé dans une vue : seul un lot préparé peut avoir été validé ailleurs.
+     */
+    record Prepared(String digest, int view, List<String> batch) {
+    }
+
+    /**
+     * Annonce de la nouvelle vue par son primaire : le point de contrôle d'où elle repart, les
+     * répliques dont il a reçu la demande de changement et les pré-préparations qui reprennent
+     * les séquences en suspens.
+     */
+    record NewView(int sender, int view, long stableCheckpoint, Set<Integer> viewChanges,
+                   List<PrePrepare> prePrepares) implements PbftMessage {
+    }
+
+    /**
+     * Digest d'un lot : la requête elle-même pour un lot d'une seule, vide pour la requête
+     * nulle, sinon le SHA-256 des digests concaténés.
+     */
+    static String batchDigest(List<String> batch) {
+        if (batch.size() <= 1) {
+            return batch.isEmpty() ? "" : batch.getFirst();
+        }
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            for (String digest : batch) {
+                sha256.update(digest.getBytes(StandardCharsets.UTF_8));
+                sha256.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(sha256.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 non disponible", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.blockchain.consensus.pbft;
+
+/**
+ * Réglages du pipeline PBFT.
+ *
+ * <p>Le primaire garde au plus {@code window} séquences en vol (pré-préparées, pas encore
+ * exécutées chez lui) et regroupe dans chacune jusqu'à {@code maxBatch} requêtes en attente.
+ * Toutes les {@code checkpointInterval} séquences, les répliques échangent un point de
+ * contrôle ; une fois stable, il devient la marque basse et les journaux antérieurs sont effacés.
+ *
+ * @param window             séquences en vol au plus chez le primaire
+ * @param maxBatch           requêtes au plus par séquence
+ * @param checkpointInterval séquences entre deux points de contrôle
+ */
+public record Pipeline(int window, int maxBatch, int checkpointInterval) {
+
+    /**
+     * Une séquence et une requête à la fois.
+     */
+    public static final Pipeline SERIAL = new Pipeline(1, 1, 16);
+
+    public static final Pipeline DEFAULT = new Pipeline(16, 64, 16);
+
+    public Pipeline {
+        if (window < 1 || maxBatch < 1 || checkpointInterval < 1) {
+            throw new IllegalArgumentException("Réglages de pipeline invalides : fenêtre " + window
+                    + ", lot " + maxBatch + ", point de contrôle " + checkpointInterval);
+        }
+    }
+
+    /**
+     * Écart entre marques basse et haute : une séquence n'est acceptée que dans
+     * (point de contrôle stable, point de contrôle stable + logSize]. Il dépasse la fenêtre
+     * d'un intervalle de points de contrôle, si bien qu'un point de contrôle est toujours atteignable.
+     */
+    public int logSize() {
+        return window + checkpointInterval;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.blockchain.consensus.pbft;
+
+import java.util.Set;
+
+/**
+ * Certificat de validation : répliques dont un quorum de messages COMMIT concordants
+ * (même vue, même séquence, même digest) a été observé.
+ */
+public record QuorumCertificate(int view, long sequence, String digest, Set<Integer> replicas) {
+}
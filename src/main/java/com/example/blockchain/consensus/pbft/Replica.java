@@ -0,0 +1,843 @@
+package com.example.blockchain.consensus.pbft;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.blockchain.consensus.pbft.PbftMessage.CatchUp;
+import com.example.blockchain.consensus.pbft.PbftMessage.Checkpoint;
+import com.example.blockchain.consensus.pbft.PbftMessage.Commit;
+import com.example.blockchain.consensus.pbft.PbftMessage.Executed;
+import com.example.blockchain.consensus.pbft.PbftMessage.NewView;
+import com.example.blockchain.consensus.pbft.PbftMessage.PrePrepare;
+import com.example.blockchain.consensus.pbft.PbftMessage.Prepare;
+import com.example.blockchain.consensus.pbft.PbftMessage.Prepared;
+import com.example.blockchain.consensus.pbft.PbftMessage.Reply;
+import com.example.blockchain.consensus.pbft.PbftMessage.Request;
+import com.example.blockchain.consensus.pbft.PbftMessage.ViewChange;
+
+/**
+ * Réplique PBFT : une boucle sur son propre thread virtuel, qui traite un message à la fois.
+ * Tout l'état est confiné à ce thread ; seuls la vue courante, le point de contrôle stable,
+ * la taille du journal et la panne injectée sont publiés (volatiles) pour l'observation et les tests.
+ *
+ * <p>Trois phases par séquence : PRE-PREPARE du primaire, PREPARE des secondaires (préparée
+ * avec un quorum de votes concordants, la pré-préparation comptant pour le primaire), puis
+ * COMMIT (validée avec un quorum). Les séquences validées sont exécutées dans l'ordre et
+ * une réponse part vers le client pour chaque requête du lot.
+ *
+ * <p>Pipeline : le primaire pré-prépare de nouvelles séquences sans attendre l'exécution des
+ * précédentes, dans la limite de {@link Pipeline#window()} ; les requêtes arrivées entre-temps
+ * forment le lot suivant. Une séquence n'est acceptée qu'entre la marque basse (dernier point
+ * de contrôle stable) et la marque haute ; chaque point de contrôle stable efface les journaux
+ * qui le précèdent.
+ *
+ * <p>Si une requête connue n'est pas exécutée avant l'expiration du délai, la réplique demande
+ * la vue suivante ; le délai double à chaque échec consécutif. À mi-délai, elle relaie d'abord
+ * ses requêtes en attente et réclame les certificats des séquences validées sans elle
+ * (messages perdus, vue manquée) : f+1 certificats concordants lui suffisent pour les exécuter
+ * à son tour, f+1 points de contrôle concordants pour adopter un état déjà effacé ailleurs ;
+ * elle réannonce aussi son dernier point de contrôle non stable, dont les messages ont pu se perdre.
+ */
+final class Replica implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(Replica.class);
+
+    private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final int MAX_FUTURE_MESSAGES = 4096;
+
+    private static final int MAX_CATCH_UP = 256;
+
+    /**
+     * Requête connue mais pas encore exécutée, et l'instant où elle est arrivée.
+     */
+    private record Waiting(Request request, long since) {
+    }
+
+    /**
+     * Vote reçu pour une séquence hors de la vue courante.
+     */
+    private record LateVote(int view, String digest) {
+    }
+
+    /**
+     * Séquence validée : son certificat et le lot de requêtes correspondant.
+     */
+    private record Decision(QuorumCertificate certificate, List<String> batch) {
+    }
+
+    /**
+     * Votes d'une séquence dans la vue courante.
+     */
+    private static final class Slot {
+
+        int view;
+        String digest;
+        List<String> batch;
+        boolean prePrepared;
+        boolean prepared;
+        boolean committed;
+        final Map<String, Set<Integer>> prepares = new HashMap<>();
+        final Map<String, Set<Integer>> commits = new HashMap<>();
+
+        Slot(int view) {
+            this.view = view;
+        }
+
+        void reset(int newView) {
+            view = newView;
+            digest = null;
+            batch = null;
+            prePrepared = prepared = committed = false;
+            prepares.clear();
+            commits.clear();
+        }
+    }
+
+    private final int id;
+    private final int replicas;
+    private final int faultTolerance;
+    private final int quorum;
+    private final Transport transport;
+    private final Pipeline pipeline;
+    private final long baseTimeoutNanos;
+    private final long resendNanos;
+    private final MessageDigest sha256;
+
+    private volatile Fault fault = Fault.NONE;
+    private volatile int publishedView;
+    private volatile long publishedCheckpoint;
+    private volatile int publishedLogSize;
+    private volatile boolean running = true;
+
+    private int view;
+    private boolean viewChanging;
+    private int pendingView;
+    private long viewChangeStarted;
+    private long timeoutNanos;
+    private long progressAt = System.nanoTime();
+    private boolean forwarded;
+    private ViewChange lastViewChange;
+    private long viewChangeSentAt;
+    private NewView lastNewView;
+    private long checkpointAnnouncedAt;
+
+    private final TreeMap<Long, Slot> slots = new TreeMap<>();
+    private final TreeMap<Long, Map<String, List<String>>> proposals = new TreeMap<>();
+    private final Map<String, Long> assigned = new HashMap<>();
+    private final LinkedHashMap<String, Waiting> pending = new LinkedHashMap<>();
+    private final LinkedHashSet<String> unassigned = new LinkedHashSet<>();
+    private final Map<String, QuorumCertificate> executed = new HashMap<>();
+    private final TreeMap<Long, Decision> certificates = new TreeMap<>();
+    private final TreeMap<Long, Decision> decided = new TreeMap<>();
+    private final TreeMap<Long, Map<LateVote, Set<Integer>>> lateCommits = new TreeMap<>();
+    private final TreeMap<Long, Map<LateVote, Set<Integer>>> transfers = new TreeMap<>();
+    private final TreeMap<Long, Map<String, Set<Integer>>> checkpoints = new TreeMap<>();
+    private final TreeMap<Long, String> states = new TreeMap<>();
+    private final Map<Integer, Map<Integer, ViewChange>> viewChanges = new HashMap<>();
+    private final List<PbftMessage> futureMessages = new ArrayList<>();
+    private long lastExecuted;
+    private long nextSequence;
+    private long stableCheckpoint;
+    private String state = "";
+    private int announcedView;
+
+    Replica(int id, int replicas, Transport transport, Pipeline pipeline, long viewChangeTimeoutNanos) {
+        this.id = id;
+        this.replicas = replicas;
+        this.faultTolerance = (replicas - 1) / 3;
+        this.quorum = quorum(replicas);
+        this.transport = transport;
+        this.pipeline = pipeline;
+        this.baseTimeoutNanos = viewChangeTimeoutNanos;
+        this.timeoutNanos = viewChangeTimeoutNanos;
+        this.resendNanos = Math.max(1, viewChangeTimeoutNanos / 4);
+        try {
+            this.sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    /**
+     * Quorum de {@code n} répliques tolérant f = (n-1)/3 fautes : deux quorums se recoupent
+     * toujours en au moins f+1 répliques, donc en au moins une réplique honnête (2f+1 si n = 3f+1).
+     */
+    static int quorum(int replicas) {
+        return (replicas + (replicas - 1) / 3 + 2) / 2;
+    }
+
+    void inject(Fault injected) {
+        this.fault = injected;
+    }
+
+    Fault getFault() {
+        return fault;
+    }
+
+    int getView() {
+        return publishedView;
+    }
+
+    long getStableCheckpoint() {
+        return publishedCheckpoint;
+    }
+
+    /**
+     * Nombre de séquences dont les votes sont encore conservés.
+     */
+    int getLogSize() {
+        return publishedLogSize;
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            PbftMessage message;
+            try {
+                message = transport.receive(id, nanosUntilTimer());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (fault == Fault.CRASHED) {
+                continue;
+            }
+            try {
+                if (message != null) {
+                    handle(message);
+                }
+                checkTimers();
+                publishedLogSize = slots.size();
+            } catch (RuntimeException e) {
+                logger.error("[PBFT] Réplique {} : erreur sur {}", id, message, e);
+            }
+        }
+    }
+
+    private void handle(PbftMessage message) {
+        switch (message) {
+            case Request request -> onRequest(request);
+            case PrePrepare prePrepare -> onPrePrepare(prePrepare);
+            case Prepare prepare -> onPrepare(prepare);
+            case Commit commit -> onCommit(commit);
+            case Checkpoint checkpoint -> onCheckpoint(checkpoint);
+            case ViewChange viewChange -> onViewChange(viewChange);
+            case NewView newView -> onNewView(newView);
+            case CatchUp catchUp -> onCatchUp(catchUp);
+            case Executed transfer -> onExecuted(transfer);
+            case Reply reply -> { }
+        }
+    }
+
+    private int primary(int ofView) {
+        return ofView % replicas;
+    }
+
+    private boolean byzantine() {
+        return fault == Fault.BYZANTINE;
+    }
+
+    /**
+     * Entre la marque basse (exclue) et la marque haute (incluse).
+     */
+    private boolean inWatermarks(long sequence) {
+        return sequence > stableCheckpoint && sequence <= stableCheckpoint + pipeline.logSize();
+    }
+
+    // --- Phase normale ---
+
+    private void onRequest(Request request) {
+        QuorumCertificate done = executed.get(request.digest());
+        if (done != null) {
+            if (request.sender() == Transport.CLIENT) {
+                reply(request.digest(), done);
+            }
+            return;
+        }
+        pending.putIfAbsent(request.digest(), new Waiting(request, System.nanoTime()));
+        if (viewChanging) {
+            return;
+        }
+        Long sequence = assigned.get(request.digest());
+        if (sequence != null) {
+            retransmit(sequence, slots.get(sequence));
+        } else if (primary(view) == id) {
+            unassigned.add(request.digest());
+            proposeBatches();
+        }
+    }
+
+    /**
+     * Le primaire pré-prépare les requêtes en attente, par lots d'au plus {@link Pipeline#maxBatch()},
+     * tant que la fenêtre et la marque haute le permettent.
+     */
+    private void proposeBatches() {
+        while (!unassigned.isEmpty() && !viewChanging && primary(view) == id
+                && nextSequence - lastExecuted < pipeline.window()
+                && inWatermarks(nextSequence + 1)) {
+            List<String> batch = new ArrayList<>(Math.min(unassigned.size(), pipeline.maxBatch()));
+            for (Iterator<String> it = unassigned.iterator(); it.hasNext() && batch.size() < pipeline.maxBatch(); ) {
+                String digest = it.next();
+                it.remove();
+                if (!assigned.containsKey(digest) && !executed.containsKey(digest)) {
+                    batch.add(digest);
+                }
+            }
+            if (!batch.isEmpty()) {
+                prePrepare(++nextSequence, List.copyOf(batch));
+            }
+        }
+    }
+
+    /**
+     * Diffusion de la pré-préparation ; un primaire byzantin adresse un digest différent à chacun.
+     */
+    private void prePrepare(long sequence, List<String> batch) {
+        String digest = PbftMessage.batchDigest(batch);
+        for (int replica = 0; replica < replicas; replica++) {
+            String sent = byzantine() && replica != id ? digest + "#falsifié-" + replica : digest;
+            transport.send(replica, new PrePrepare(id, view, sequence, sent, batch));
+        }
+    }
+
+    private void onPrePrepare(PrePrepare prePrepare) {
+        if (deferred(prePrepare, prePrepare.view()) || viewChanging || prePrepare.sender() != primary(view)) {
+            return;
+        }
+        long sequence = prePrepare.sequence();
+        if (!inWatermarks(sequence) || !PbftMessage.batchDigest(prePrepare.batch()).equals(prePrepare.digest())) {
+            return;
+        }
+        Slot slot = slot(sequence);
+        if (slot.prePrepared) {
+            // Doublon (retransmission) ou équivoque du primaire : la première pré-préparation fait foi
+            return;
+        }
+        slot.prePrepared = true;
+        slot.digest = prePrepare.digest();
+        slot.batch = prePrepare.batch();
+        proposals.computeIfAbsent(sequence, key -> new HashMap<>()).put(slot.digest, slot.batch);
+        for (String digest : slot.batch) {
+            assigned.put(digest, sequence);
+        }
+        nextSequence = Math.max(nextSequence, sequence);
+        votes(slot.prepares, slot.digest).add(prePrepare.sender());
+        if (prePrepare.sender() != id) {
+            transport.broadcast(new Prepare(id, view, sequence, vote(slot.digest)));
+        }
+        checkPrepared(sequence, slot);
+        // Les COMMIT ont pu devancer le lot
+        checkCommitted(sequence, slot);
+    }
+
+    private void onPrepare(Prepare prepare) {
+        if (deferred(prepare, prepare.view()) || !inWatermarks(prepare.sequence())) {
+            return;
+        }
+        Slot slot = slot(prepare.sequence());
+        votes(slot.prepares, prepare.digest()).add(prepare.sender());
+        checkPrepared(prepare.sequence(), slot);
+    }
+
+    private void checkPrepared(long sequence, Slot slot) {
+        if (slot.prepared || !slot.prePrepared || votes(slot.prepares, slot.digest).size() < quorum) {
+            return;
+        }
+        slot.prepared = true;
+        transport.broadcast(new Commit(id, view, sequence, vote(slot.digest)));
+        checkCommitted(sequence, slot);
+    }
+
+    private void onCommit(Commit commit) {
+        if (commit.sequence() > lastExecuted && (commit.view() < view || (commit.view() == view && viewChanging))) {
+            onLateCommit(commit);
+            return;
+        }
+        if (deferred(commit, commit.view()) || !inWatermarks(commit.sequence())) {
+            return;
+        }
+        Slot slot = slot(commit.sequence());
+        votes(slot.commits, commit.digest()).add(commit.sender());
+        checkCommitted(commit.sequence(), slot);
+    }
+
+    /**
+     * Validée dès qu'un quorum de COMMIT concordants est réuni : au moins f+1 répliques honnêtes
+     * l'ont préparée, même si cette réplique a manqué la pré-préparation ou les préparations.
+     * Le lot doit toutefois être connu ; à défaut, il arrivera avec la pré-préparation ou par rattrapage.
+     */
+    private void checkCommitted(long sequence, Slot slot) {
+        if (slot.committed) {
+            return;
+        }
+        for (Map.Entry<String, Set<Integer>> entry : slot.commits.entrySet()) {
+            List<String> batch = batchOf(sequence, entry.getKey());
+            if (entry.getValue().size() >= quorum && batch != null) {
+                slot.committed = true;
+                commit(new Decision(new QuorumCertificate(slot.view, sequence, entry.getKey(),
+                        Set.copyOf(entry.getValue())), batch));
+                return;
+            }
+        }
+    }
+
+    /**
+     * COMMIT d'une vue révolue : la séquence a pu être validée pendant que cette réplique changeait de vue.
+     */
+    private void onLateCommit(Commit commit) {
+        Set<Integer> voters = lateVotes(lateCommits, commit.sequence(), commit.view(), commit.digest(), commit.sender());
+        List<String> batch = batchOf(commit.sequence(), commit.digest());
+        if (voters.size() >= quorum && batch != null) {
+            commit(new Decision(new QuorumCertificate(commit.view(), commit.sequence(), commit.digest(),
+                    Set.copyOf(voters)), batch));
+        }
+    }
+
+    /**
+     * Certificat transmis à une réplique en retard : f+1 certificats concordants en garantissent un honnête.
+     */
+    private void onExecuted(Executed transfer) {
+        QuorumCertificate certificate = transfer.certificate();
+        if (certificate.sequence() <= lastExecuted
+                || !PbftMessage.batchDigest(transfer.batch()).equals(certificate.digest())) {
+            return;
+        }
+        Set<Integer> senders = lateVotes(transfers, certificate.sequence(), certificate.view(),
+                certificate.digest(), transfer.sender());
+        if (senders.size() >= faultTolerance + 1) {
+            commit(new Decision(certificate, transfer.batch()));
+        }
+    }
+
+    private static Set<Integer> lateVotes(Map<Long, Map<LateVote, Set<Integer>>> bySequence, long sequence,
+                                          int view, String digest, int sender) {
+        Set<Integer> voters = bySequence.computeIfAbsent(sequence, key -> new HashMap<>())
+                .computeIfAbsent(new LateVote(view, digest), key -> new HashSet<>());
+        voters.add(sender);
+        return voters;
+    }
+
+    private List<String> batchOf(long sequence, String digest) {
+        Map<String, List<String>> known = proposals.get(sequence);
+        return known != null ? known.get(digest) : null;
+    }
+
+    private void commit(Decision decision) {
+        if (decision.certificate().sequence() > lastExecuted) {
+            decided.putIfAbsent(decision.certificate().sequence(), decision);
+            executeReady();
+        }
+    }
+
+    /**
+     * Renvoie au retardataire le point de contrôle stable (pour qu'il l'adopte, ou le stabilise
+     * s'il a manqué des messages de point de contrôle), puis les certificats des séquences
+     * exécutées au-delà.
+     */
+    private void onCatchUp(CatchUp catchUp) {
+        if (catchUp.sender() == id || byzantine()) {
+            return;
+        }
+        String stableState = states.get(stableCheckpoint);
+        if (stableState != null) {
+            transport.send(catchUp.sender(), new Checkpoint(id, stableCheckpoint, stableState));
+        }
+        long from = Math.max(catchUp.lastExecuted(), stableCheckpoint);
+        for (Decision decision : certificates.tailMap(from, false).headMap(from + MAX_CATCH_UP, true).values()) {
+            transport.send(catchUp.sender(), new Executed(id, decision.certificate(), decision.batch()));
+        }
+    }
+
+    /**
+     * Exécute dans l'ordre les séquences validées qui suivent la dernière exécutée, puis rouvre
+     * la fenêtre du primaire. Une requête déjà exécutée sous une autre séquence n'est pas rejouée.
+     */
+    private void executeReady() {
+        Decision next;
+        while ((next = decided.remove(lastExecuted + 1)) != null) {
+            lastExecuted++;
+            QuorumCertificate certificate = next.certificate();
+            certificates.put(lastExecuted, next);
+            lateCommits.remove(lastExecuted);
+            transfers.remove(lastExecuted);
+            progressAt = System.nanoTime();
+            forwarded = false;
+            timeoutNanos = baseTimeoutNanos;
+            state = chain(state, certificate.digest());
+            for (String digest : next.batch()) {
+                if (!executed.containsKey(digest)) {
+                    executed.put(digest, certificate);
+                    pending.remove(digest);
+                    unassigned.remove(digest);
+                    reply(digest, certificate);
+                }
+            }
+            if (lastExecuted % pipeline.checkpointInterval() == 0) {
+                states.put(lastExecuted, state);
+                checkpointAnnouncedAt = System.nanoTime();
+                transport.broadcast(new Checkpoint(id, lastExecuted, byzantine() ? state + "#falsifié" : state));
+            }
+        }
+        proposeBatches();
+    }
+
+    /**
+     * État après exécution : hash chaîné des digests de lots exécutés.
+     */
+    private String chain(String previous, String digest) {
+        sha256.update(previous.getBytes(StandardCharsets.UTF_8));
+        sha256.update((byte) '\n');
+        return HexFormat.of().formatHex(sha256.digest(digest.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void reply(String digest, QuorumCertificate certificate) {
+        if (!byzantine()) {
+            transport.send(Transport.CLIENT, new Reply(id, certificate.view(), certificate.sequence(),
+                    digest, certificate.replicas()));
+        }
+    }
+
+    /**
+     * Renvoie les votes déjà émis pour une séquence (après une retransmission de la requête).
+     */
+    private void retransmit(long sequence, Slot slot) {
+        if (slot == null || !slot.prePrepared) {
+            return;
+        }
+        if (primary(view) == id) {
+            prePrepare(sequence, slot.batch);
+        } else {
+            transport.broadcast(new Prepare(id, view, sequence, vote(slot.digest)));
+        }
+        if (slot.prepared) {
+            transport.broadcast(new Commit(id, view, sequence, vote(slot.digest)));
+        }
+    }
+
+    private String vote(String digest) {
+        return byzantine() ? digest + "#falsifié-" + id : digest;
+    }
+
+    private Slot slot(long sequence) {
+        Slot slot = slots.computeIfAbsent(sequence, key -> new Slot(view));
+        if (slot.view != view) {
+            slot.reset(view);
+        }
+        return slot;
+    }
+
+    private static Set<Integer> votes(Map<String, Set<Integer>> byDigest, String digest) {
+        return byDigest.computeIfAbsent(digest, key -> new HashSet<>());
+    }
+
+    /**
+     * Un message d'une vue passée est ignoré ; d'une vue future, il est gardé pour être rejoué à l'entrée dans celle-ci.
+     */
+    private boolean deferred(PbftMessage message, int messageView) {
+        if (messageView > view || (messageView == view && viewChanging)) {
+            if (futureMessages.size() < MAX_FUTURE_MESSAGES) {
+                futureMessages.add(message);
+            }
+            return true;
+        }
+        return messageView < view;
+    }
+
+    // --- Points de contrôle ---
+
+    /**
+     * Stable avec un quorum d'états concordants, le sien compris. Une réplique bloquée en deçà
+     * adopte l'état attesté par f+1 répliques : les séquences correspondantes ont pu être
+     * effacées des journaux et ne lui seraient plus retransmises.
+     */
+    private void onCheckpoint(Checkpoint checkpoint) {
+        long sequence = checkpoint.sequence();
+        if (sequence <= stableCheckpoint) {
+            return;
+        }
+        Set<Integer> voters = votes(checkpoints.computeIfAbsent(sequence, key -> new HashMap<>()), checkpoint.state());
+        voters.add(checkpoint.sender());
+        if (sequence > lastExecuted && voters.size() >= faultTolerance + 1 && (forwarded || viewChanging)) {
+            adopt(sequence, checkpoint.state());
+        }
+        if (voters.size() >= quorum && checkpoint.state().equals(states.get(sequence))) {
+            stabilize(sequence);
+        }
+    }
+
+    /**
+     * Transfert d'état : les séquences jusqu'au point de contrôle ne sont pas rejouées. Les requêtes
+     * en attente sont oubliées ; celles qui restent à valider seront retransmises par le client.
+     */
+    private void adopt(long sequence, String transferred) {
+        logger.info("[PBFT] Réplique {} adopte le point de contrôle {} (séquences {} à {} non rejouées)",
+                id, sequence, lastExecuted + 1, sequence);
+        lastExecuted = sequence;
+        state = transferred;
+        states.put(sequence, transferred);
+        nextSequence = Math.max(nextSequence, sequence);
+        decided.headMap(sequence, true).clear();
+        pending.clear();
+        unassigned.clear();
+        progressAt = System.nanoTime();
+        forwarded = false;
+        checkpointAnnouncedAt = System.nanoTime();
+        transport.broadcast(new Checkpoint(id, sequence, transferred));
+        executeReady();
+    }
+
+    /**
+     * Avance la marque basse et efface les journaux qui la précèdent. Les requêtes exécutées
+     * restent reconnues un journal de plus, pour répondre aux retransmissions tardives du client.
+     */
+    private void stabilize(long sequence) {
+        stableCheckpoint = sequence;
+        publishedCheckpoint = sequence;
+        slots.headMap(sequence, true).clear();
+        proposals.headMap(sequence, true).clear();
+        certificates.headMap(sequence, true).clear();
+        lateCommits.headMap(sequence, true).clear();
+        transfers.headMap(sequence, true).clear();
+        checkpoints.headMap(sequence, true).clear();
+        states.headMap(sequence, false).clear();
+        assigned.values().removeIf(assignedSequence -> assignedSequence <= sequence);
+        long forgotten = sequence - pipeline.logSize();
+        executed.values().removeIf(certificate -> certificate.sequence() <= forgotten);
+        proposeBatches();
+    }
+
+    // --- Changement de vue ---
+
+    /**
+     * Délai jusqu'à la prochaine échéance : à mi-délai sans progrès, la réplique relaie ses
+     * requêtes en attente et réclame les certificats des séquences qui lui ont échappé ;
+     * au délai complet, elle demande la vue suivante. Sans requête en attente, elle réannonce
+     * périodiquement son dernier point de contrôle tant qu'il n'est pas stable.
+     */
+    private long nanosUntilTimer() {
+        if (byzantine()) {
+            return IDLE_POLL_NANOS;
+        }
+        if (viewChanging) {
+            long deadline = Math.min(viewChangeStarted + timeoutNanos, viewChangeSentAt + resendNanos);
+            return Math.max(0, deadline - System.nanoTime());
+        }
+        if (pending.isEmpty()) {
+            return hasUnstableCheckpoint()
+                    ? Math.max(0, checkpointAnnouncedAt + resendNanos - System.nanoTime())
+                    : IDLE_POLL_NANOS;
+        }
+        long start = Math.max(pending.firstEntry().getValue().since(), progressAt);
+        long delay = forwarded ? timeoutNanos : timeoutNanos / 2;
+        return Math.max(0, start + delay - System.nanoTime());
+    }
+
+    private void checkTimers() {
+        if (byzantine() || nanosUntilTimer() > 0) {
+            return;
+        }
+        if (viewChanging && System.nanoTime() - viewChangeStarted < timeoutNanos) {
+            // Les demandes ne sont pas retransmises par le client : la réplique renvoie la sienne
+            viewChangeSentAt = System.nanoTime();
+            transport.broadcast(lastViewChange);
+        } else if (viewChanging) {
+            timeoutNanos *= 2;
+            startViewChange(pendingView + 1);
+        } else if (pending.isEmpty()) {
+            // Les répliques déjà stables répondent à la demande de rattrapage par leur point de contrôle
+            transport.broadcast(new CatchUp(id, lastExecuted));
+            announceCheckpoint();
+        } else if (!forwarded) {
+            forwarded = true;
+            transport.broadcast(new CatchUp(id, lastExecuted));
+            announceCheckpoint();
+            for (Waiting waiting : pending.values()) {
+                Request request = waiting.request();
+                transport.broadcast(new Request(id, request.digest(), request.blockIndex()));
+            }
+        } else {
+            startViewChange(view + 1);
+        }
+    }
+
+    private boolean hasUnstableCheckpoint() {
+        return !states.isEmpty() && states.lastKey() > stableCheckpoint;
+    }
+
+    /**
+     * Réannonce le dernier point de contrôle non stable : un message perdu bloquerait sinon la
+     * marque basse, donc la fenêtre du primaire et la troncature des journaux, jusqu'au trafic suivant.
+     */
+    private void announceCheckpoint() {
+        if (hasUnstableCheckpoint()) {
+            Map.Entry<Long, String> latest = states.lastEntry();
+            checkpointAnnouncedAt = System.nanoTime();
+            transport.broadcast(new Checkpoint(id, latest.getKey(), latest.getValue()));
+        }
+    }
+
+    /**
+     * Demande la vue {@code newView} avec les lots préparés au-delà du point de contrôle stable ;
+     * une séquence déjà validée compte comme préparée dans la vue de sa validation.
+     */
+    private void startViewChange(int newView) {
+        viewChanging = true;
+        pendingView = newView;
+        viewChangeStarted = System.nanoTime();
+        Map<Long, Prepared> prepared = new HashMap<>();
+        slots.forEach((sequence, slot) -> {
+            if (slot.prepared) {
+                prepared.put(sequence, new Prepared(slot.digest, slot.view, slot.batch));
+            }
+        });
+        for (Map<Long, Decision> known : List.of(certificates, decided)) {
+            known.forEach((sequence, decision) -> prepared.put(sequence, new Prepared(
+                    decision.certificate().digest(), decision.certificate().view(), decision.batch())));
+        }
+        logger.info("[PBFT] Réplique {} demande la vue {} ({} requête(s) en attente)", id, newView, pending.size());
+        lastViewChange = new ViewChange(id, newView, stableCheckpoint, prepared);
+        viewChangeSentAt = viewChangeStarted;
+        transport.broadcast(lastViewChange);
+    }
+
+    private void onViewChange(ViewChange viewChange) {
+        if (viewChange.newView() <= view) {
+            // Retardataire : l'annonce de la vue courante lui a échappé
+            if (lastNewView != null && viewChange.sender() != id) {
+                transport.send(viewChange.sender(), lastNewView);
+            }
+            return;
+        }
+        viewChanges.computeIfAbsent(viewChange.newView(), key -> new HashMap<>())
+                .put(viewChange.sender(), viewChange);
+
+        // f+1 demandes pour des vues plus récentes : au moins une réplique honnête a expiré, on suit
+        int current = viewChanging ? pendingView : view;
+        Set<Integer> ahead = new HashSet<>();
+        int smallest = Integer.MAX_VALUE;
+        for (Map.Entry<Integer, Map<Integer, ViewChange>> entry : viewChanges.entrySet()) {
+            if (entry.getKey() > current) {
+                ahead.addAll(entry.getValue().keySet());
+                smallest = Math.min(smallest, entry.getKey());
+            }
+        }
+        ahead.remove(id);
+        if (!byzantine() && ahead.size() >= faultTolerance + 1) {
+            startViewChange(smallest);
+        }
+
+        int target = viewChange.newView();
+        Map<Integer, ViewChange> votes = viewChanges.get(target);
+        if (primary(target) == id && !byzantine() && target > announcedView
+                && votes.size() >= quorum && votes.containsKey(id)) {
+            announcedView = target;
+            announceNewView(target, votes);
+        }
+    }
+
+    /**
+     * Le nouveau primaire repart du point de contrôle stable le plus récent parmi les demandes
+     * et reprend chaque séquence au-delà : le lot préparé dans la vue la plus récente si une
+     * demande en signale un, sinon la requête nulle (lot vide).
+     */
+    private void announceNewView(int newView, Map<Integer, ViewChange> votes) {
+        long from = 0;
+        for (ViewChange vote : votes.values()) {
+            from = Math.max(from, vote.stableCheckpoint());
+        }
+        long to = from;
+        for (ViewChange vote : votes.values()) {
+            for (long sequence : vote.prepared().keySet()) {
+                to = Math.max(to, sequence);
+            }
+        }
+        List<PrePrepare> prePrepares = new ArrayList<>();
+        for (long sequence = from + 1; sequence <= to; sequence++) {
+            Prepared chosen = null;
+            for (ViewChange vote : votes.values()) {
+                Prepared candidate = vote.prepared().get(sequence);
+                if (candidate != null && (chosen == null || candidate.view() > chosen.view())) {
+                    chosen = candidate;
+                }
+            }
+            prePrepares.add(chosen != null
+                    ? new PrePrepare(id, newView, sequence, chosen.digest(), chosen.batch())
+                    : new PrePrepare(id, newView, sequence, "", List.of()));
+        }
+        transport.broadcast(new NewView(id, newView, from, Set.copyOf(votes.keySet()), prePrepares));
+    }
+
+    private void onNewView(NewView newView) {
+        if (newView.view() <= view || newView.sender() != primary(newView.view())
+                || newView.viewChanges().size() < quorum) {
+            return;
+        }
+        view = newView.view();
+        publishedView = view;
+        lastNewView = newView;
+        viewChanging = false;
+        assigned.clear();
+        unassigned.clear();
+        progressAt = System.nanoTime();
+        forwarded = false;
+        viewChanges.keySet().removeIf(candidate -> candidate <= view);
+        logger.info("[PBFT] Réplique {} entre dans la vue {} (primaire : réplique {})", id, view, primary(view));
+
+        long highest = Math.max(lastExecuted, newView.stableCheckpoint());
+        for (PrePrepare prePrepare : newView.prePrepares()) {
+            onPrePrepare(prePrepare);
+            highest = Math.max(highest, prePrepare.sequence());
+        }
+        nextSequence = highest;
+        if (primary(view) == id) {
+            for (String digest : pending.keySet()) {
+                if (!assigned.containsKey(digest)) {
+                    unassigned.add(digest);
+                }
+            }
+            proposeBatches();
+        }
+        replayFutureMessages();
+    }
+
+    private void replayFutureMessages() {
+        List<PbftMessage> ready = new ArrayList<>();
+        for (Iterator<PbftMessage> it = futureMessages.iterator(); it.hasNext(); ) {
+            PbftMessage message = it.next();
+            int messageView = switch (message) {
+                case PrePrepare prePrepare -> prePrepare.view();
+                case Prepare prepare -> prepare.view();
+                case Commit commit -> commit.view();
+                default -> view;
+            };
+            if (messageView <= view) {
+                it.remove();
+                if (messageView == view) {
+                    ready.add(message);
+                }
+            }
+        }
+        ready.forEach(this::handle);
+    }
+}
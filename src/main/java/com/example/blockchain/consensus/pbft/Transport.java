@@ -0,0 +1,100 @@
+package com.example.blockchain.consensus.pbft;
+
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Réseau en mémoire entre les répliques et le client.
+ *
+ * <p>Chaque point d'arrivée a une {@link DelayQueue} : un message envoyé y est déposé avec
+ * son instant de livraison (latence + gigue) et n'en sort qu'une fois cet instant atteint.
+ * Aucun thread d'acheminement : le destinataire attend simplement sur sa file. Un message
+ * est perdu avec la probabilité configurée, sauf s'il est adressé à son propre émetteur.
+ */
+public final class Transport {
+
+    /**
+     * Point d'arrivée du client, après les répliques {@code 0..replicas-1}.
+     */
+    public static final int CLIENT = -1;
+
+    private final NetworkConditions conditions;
+    private final DelayQueue<Envelope>[] inboxes;
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private record Envelope(long deliverAt, PbftMessage message) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deliverAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deliverAt, ((Envelope) other).deliverAt);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    Transport(int replicas, NetworkConditions conditions) {
+        this.conditions = conditions;
+        this.inboxes = new DelayQueue[replicas + 1];
+        for (int i = 0; i < inboxes.length; i++) {
+            inboxes[i] = new DelayQueue<>();
+        }
+    }
+
+    /**
+     * Envoie le message à {@code to} ; il sera livré après la latence simulée, ou jamais s'il est perdu.
+     */
+    void send(int to, PbftMessage message) {
+        sent.increment();
+        long delay = 0;
+        if (to != message.sender()) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (conditions.lossRate() > 0 && random.nextDouble() < conditions.lossRate()) {
+                dropped.increment();
+                return;
+            }
+            delay = conditions.latency().toNanos();
+            long jitter = conditions.jitter().toNanos();
+            if (jitter > 0) {
+                delay += random.nextLong(jitter);
+            }
+        }
+        inboxes[slot(to)].put(new Envelope(System.nanoTime() + delay, message));
+    }
+
+    /**
+     * Envoie le message à toutes les répliques, l'émetteur compris.
+     */
+    void broadcast(PbftMessage message) {
+        for (int replica = 0; replica < inboxes.length - 1; replica++) {
+            send(replica, message);
+        }
+    }
+
+    /**
+     * Prochain message livré à {@code endpoint}, ou null après {@code timeoutNanos} sans livraison.
+     */
+    PbftMessage receive(int endpoint, long timeoutNanos) throws InterruptedException {
+        Envelope envelope = inboxes[slot(endpoint)].poll(timeoutNanos, TimeUnit.NANOSECONDS);
+        return envelope != null ? envelope.message() : null;
+    }
+
+    public long getSent() {
+        return sent.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    private int slot(int endpoint) {
+        return endpoint == CLIENT ? inboxes.length - 1 : endpoint;
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.blockchain.crypto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.example.blockchain.Block;
+
+/**
+ * Clés publiques Ed25519 des autorités (Proof of Authority) et signature des blocs.
+ *
+ * <p>Une autorité signe le hash de ses blocs ; la vérification retrouve sa clé par nom dans
+ * un cache concurrent, où elle est rangée déjà décodée : aucun décodage X.509 ni recherche de
+ * fournisseur par bloc. Une autorité peut avoir plusieurs clés (rotation) ; un bloc est valide
+ * s'il est signé par l'une d'elles. Les instances de {@link Signature}, coûteuses à obtenir
+ * et non thread-safe, sont réutilisées par thread.
+ *
+ * <p>Le registre tient aussi le calendrier des autorités : la liste en vigueur à partir d'un
+ * index de bloc, dont l'autorité {@code index mod n} doit signer chaque bloc. Hors calendrier
+ * (avant l'activation de Proof of Authority, ou après une liste vide), un bloc peut ne pas
+ * être signé. Clés et calendrier ne sont pas persistés avec la chaîne.
+ */
+public final class AuthorityKeys {
+
+    public static final String ALGORITHM = "Ed25519";
+
+    public static final int SIGNATURE_LENGTH = 64;
+
+    private static final ThreadLocal<Signature> ENGINE = ThreadLocal.withInitial(AuthorityKeys::newEngine);
+
+    private final Map<String, CopyOnWriteArrayList<PublicKey>> keys = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, List<String>> schedule = new ConcurrentSkipListMap<>();
+
+    /**
+     * Nouvelle paire de clés Ed25519.
+     */
+    public static KeyPair generate() {
+        try {
+            return KeyPairGenerator.getInstance(ALGORITHM).generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " indisponible", e);
+        }
+    }
+
+    /**
+     * Décode une clé publique encodée en X.509 (forme de {@link PublicKey#getEncoded()}).
+     */
+    public static PublicKey decode(byte[] encoded) {
+        try {
+            return KeyFactory.getInstance(ALGORITHM).generatePublic(new X509EncodedKeySpec(encoded));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Clé publique " + ALGORITHM + " invalide", e);
+        }
+    }
+
+    /**
+     * Octets signés pour un bloc : son hash brut, ou sa forme texte s'il n'est pas canonique.
+     */
+    public static byte[] payload(Block block) {
+        byte[] hash = block.hashBytes();
+        return hash != null ? hash : block.getHash().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Signature Ed25519 (64 octets) du bloc par la clé privée donnée.
+     */
+    public static byte[] sign(PrivateKey key, Block block) {
+        Signature engine = ENGINE.get();
+        try {
+            engine.initSign(key);
+            engine.update(payload(block));
+            return engine.sign();
+        } catch (InvalidKeyException e) {
+            throw new IllegalArgumentException("Clé privée " + ALGORITHM + " invalide", e);
+        } catch (SignatureException e) {
+            throw new IllegalStateException("Signature du bloc #" + block.getIndex() + " impossible", e);
+        }
+    }
+
+    public void register(String authority, PublicKey key) {
+        keys.computeIfAbsent(authority, name -> new CopyOnWriteArrayList<>()).addIfAbsent(key);
+    }
+
+    public void register(String authority, byte[] encodedKey) {
+        register(authority, decode(encodedKey));
+    }
+
+    public boolean isKnown(String authority) {
+        return keys.containsKey(authority);
+    }
+
+    /**
+     * Liste des autorités, dans l'ordre du tour, en vigueur à partir du bloc {@code fromIndex}
+     * (liste vide : plus aucune signature exigée).
+     */
+    public void schedule(int fromIndex, List<String> authorities) {
+        schedule.put(fromIndex, List.copyOf(authorities));
+    }
+
+    /**
+     * Autorité qui doit signer le bloc de cet index, ou null si aucune signature n'est exigée.
+     */
+    public String scheduledAuthority(int index) {
+        Map.Entry<Integer, List<String>> entry = schedule.floorEntry(index);
+        if (entry == null || entry.getValue().isEmpty()) {
+            return null;
+        }
+        List<String> authorities = entry.getValue();
+        return authorities.get(Math.floorMod(index, authorities.size()));
+    }
+
+    public boolean requiresSignature(int index) {
+        return scheduledAuthority(index) != null;
+    }
+
+    /**
+     * Vrai si le bloc est signé par l'autorité que le calendrier désigne pour son index ;
+     * hors calendrier, un bloc non signé est accepté et un bloc signé doit l'être valablement.
+     */
+    public boolean isAuthentic(Block block) {
+        String expected = scheduledAuthority(block.getIndex());
+        if (expected == null) {
+            return block.getSigner() == null || verify(block);
+        }
+        return expected.equals(block.getSigner()) && verify(block);
+    }
+
+    /**
+     * Vrai si le bloc porte une signature de son autorité par l'une de ses clés enregistrées.
+     * Un signataire inconnu ou une signature absente rendent le bloc invalide.
+     */
+    public boolean verify(Block block) {
+        String signer = block.getSigner();
+        byte[] signature = block.signatureBytes();
+        List<PublicKey> candidates = signer != null ? keys.get(signer) : null;
+        if (candidates == null || signature == null || signature.length != SIGNATURE_LENGTH) {
+            return false;
+        }
+        byte[] payload = payload(block);
+        Signature engine = ENGINE.get();
+        for (PublicKey key : candidates) {
+            try {
+                engine.initVerify(key);
+                engine.update(payload);
+                if (engine.verify(signature)) {
+                    return true;
+                }
+            } catch (InvalidKeyException | SignatureException e) {
+                // Clé ou signature mal formée : on essaie la clé suivante
+            }
+        }
+        return false;
+    }
+
+    private static Signature newEngine() {
+        try {
+            return Signature.getInstance(ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " indisponible", e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.blockchain.crypto;
+
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import com.example.blockchain.Block;
+
+/**
+ * Moteur de hachage des blocs avec cache du midstate SHA-256.
+ *
+ * <p>{@link #reset(Block)} encode le préfixe de l'en-tête (tout sauf le nonce) et
+ * compresse une fois pour toutes ses blocs SHA-256 complets. Chaque appel à
+ * {@link #hash(int, byte[])} ne recompresse ensuite que la queue dépendante du nonce
+ * (1 ou 2 blocs de 64 octets), sans aucune allocation. Le hash brut de 32 octets
+ * n'est converti en hexadécimal que si une chaîne est explicitement demandée.
+ *
+ * <p>Une instance n'est pas thread-safe : utiliser {@link #current()} pour obtenir
+ * l'instance réutilisable du thread courant.
+ */
+public final class BlockHasher {
+
+    public static final int HASH_LENGTH = 32;
+
+    private static final ThreadLocal<BlockHasher> CURRENT = ThreadLocal.withInitial(BlockHasher::new);
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Sha256 sha256 = new Sha256();
+    private final BlockHeaderEncoder encoder = new BlockHeaderEncoder();
+    private final int[] midstate = new int[Sha256.STATE_WORDS];
+    private final int[] state = new int[Sha256.STATE_WORDS];
+    private final byte[] tail = new byte[2 * Sha256.BLOCK_SIZE];
+    private final byte[] scratch = new byte[HASH_LENGTH];
+    private int tailLength;
+    private int nonceOffset;
+
+    /**
+     * Instance propre au thread courant (les digests sont réutilisés d'un bloc à l'autre).
+     */
+    public static BlockHasher current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Prépare le hachage d'un bloc : encode son préfixe et calcule le midstate.
+     * À rappeler dès qu'un champ autre que le nonce change.
+     */
+    public BlockHasher reset(Block block) {
+        byte[] prefix = encoder.encodePrefix(block);
+        int prefixLength = encoder.length();
+        int fullBlocks = prefixLength & -Sha256.BLOCK_SIZE;
+
+        Sha256.initialize(midstate);
+        for (int offset = 0; offset < fullBlocks; offset += Sha256.BLOCK_SIZE) {
+            sha256.compress(midstate, prefix, offset);
+        }
+
+        // Queue : reste du préfixe, nonce, bit de fin puis longueur totale en bits (padding SHA-256)
+        int remaining = prefixLength - fullBlocks;
+        Arrays.fill(tail, (byte) 0);
+        System.arraycopy(prefix, fullBlocks, tail, 0, remaining);
+        nonceOffset = remaining;
+        int end = remaining + BlockHeaderEncoder.NONCE_LENGTH;
+        tail[end] = (byte) 0x80;
+        tailLength = end + 1 + Long.BYTES <= Sha256.BLOCK_SIZE ? Sha256.BLOCK_SIZE : 2 * Sha256.BLOCK_SIZE;
+        long bitLength = (prefixLength + (long) BlockHeaderEncoder.NONCE_LENGTH) * 8;
+        for (int i = 0; i < Long.BYTES; i++) {
+            tail[tailLength - 1 - i] = (byte) (bitLength >>> (8 * i));
+        }
+        return this;
+    }
+
+    /**
+     * Calcule le hash de l'en-tête préparé pour un nonce donné et l'écrit dans {@code out}.
+     */
+    public void hash(int nonce, byte[] out) {
+        hash(nonce, out, 0);
+    }
+
+    public void hash(int nonce, byte[] out, int offset) {
+        tail[nonceOffset] = (byte) (nonce >>> 24);
+        tail[nonceOffset + 1] = (byte) (nonce >>> 16);
+        tail[nonceOffset + 2] = (byte) (nonce >>> 8);
+        tail[nonceOffset + 3] = (byte) nonce;
+
+        System.arraycopy(midstate, 0, state, 0, Sha256.STATE_WORDS);
+        sha256.compress(state, tail, 0);
+        if (tailLength > Sha256.BLOCK_SIZE) {
+            sha256.compress(state, tail, Sha256.BLOCK_SIZE);
+        }
+        Sha256.writeDigest(state, out, offset);
+    }
+
+    public byte[] hash(int nonce) {
+        byte[] out = new byte[HASH_LENGTH];
+        hash(nonce, out, 0);
+        return out;
+    }
+
+    public String hashHex(int nonce) {
+        hash(nonce, scratch, 0);
+        return HEX.formatHex(scratch);
+    }
+
+    /**
+     * Conversion hexadécimale d'un hash brut, à n'utiliser que lorsqu'une chaîne est requise.
+     */
+    public static String toHex(byte[] hash) {
+        return HEX.formatHex(hash);
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.blockchain.crypto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.TicketTransaction;
+
+/**
+ * Encodage binaire canonique de l'en-tête d'un bloc, entrée unique du hash SHA-256.
+ *
+ * <p>Disposition (entiers big-endian) :
+ * <pre>
+ *   version      : 1 octet (1 = bloc simple, 2 = bloc multi-tickets)
+ *   horodatage   : 8 octets (secondes epoch) + 4 octets (nanosecondes)
+ *   data, eventId, artist, status, owner : longueur sur 4 octets (-1 si null) + UTF-8
+ *   merkleRoot   : 32 octets (version 2 uniquement)
+ *   index        : 4 octets
+ *   previousHash : 1 octet de type (0 = 32 octets bruts, 1 = chaîne) + valeur
+ *   nonce        : 4 octets (toujours en dernier)
+ * </pre>
+ * Les champs métier viennent d'abord, le chaînage ensuite et le nonce en queue :
+ * tout ce qui précède le nonce est fixe pendant le minage et peut être pré-hashé.
+ */
+public final class BlockHeaderEncoder {
+
+    public static final byte VERSION = 1;
+    public static final byte VERSION_MERKLE = 2;
+    public static final int NONCE_LENGTH = 4;
+
+    public static final byte HASH_RAW = 0;
+    public static final byte HASH_STRING = 1;
+    /** Position du champ data dans l'en-tête (après version et horodatage). */
+    public static final int DATA_OFFSET = 13;
+
+    private static final int RAW_HASH_LENGTH = 32;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private byte[] buffer = new byte[256];
+    private int length;
+
+    /**
+     * Encode le préfixe de l'en-tête (tout sauf le nonce) dans le tampon interne.
+     * Le tableau retourné est réutilisé à l'appel suivant ; seuls les {@link #length()}
+     * premiers octets sont significatifs.
+     */
+    public byte[] encodePrefix(Block block) {
+        length = 0;
+        byte[] merkleRoot = block.merkleRootBytes();
+        writeByte(merkleRoot == null ? VERSION : VERSION_MERKLE);
+        writeLong(block.epochSecond());
+        writeInt(block.nanoAdjustment());
+        writeUtf8(block.dataBytes());
+        writeString(block.getEventId());
+        writeString(block.getArtist());
+        writeString(block.getStatus());
+        writeString(block.getOwner());
+        if (merkleRoot != null) {
+            writeBytes(merkleRoot);
+        }
+        writeInt(block.getIndex());
+        byte[] previousHash = block.previousHashBytes();
+        if (previousHash != null) {
+            writeByte(HASH_RAW);
+            writeBytes(previousHash);
+        } else {
+            writeHash(block.getPreviousHash());
+        }
+        return buffer;
+    }
+
+    /**
+     * Encode l'en-tête complet (préfixe + nonce) dans un nouveau tableau.
+     */
+    public byte[] encode(Block block) {
+        encodePrefix(block);
+        writeInt(block.getNonce());
+        return Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * Encodage canonique d'une transaction, entrée des feuilles de l'arbre de Merkle.
+     */
+    public byte[] encodeTransaction(TicketTransaction transaction) {
+        length = 0;
+        writeString(transaction.data());
+        writeString(transaction.eventId());
+        writeString(transaction.artist());
+        writeString(transaction.status());
+        writeString(transaction.owner());
+        return Arrays.copyOf(buffer, length);
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Indique si une chaîne est un hash SHA-256 hexadécimal canonique (64 caractères minuscules).
+     */
+    public static boolean isCanonicalHash(String hash) {
+        if (hash == null || hash.length() != RAW_HASH_LENGTH * 2) {
+            return false;
+        }
+        for (int i = 0; i < hash.length(); i++) {
+            char c = hash.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeHash(String hash) {
+        if (isCanonicalHash(hash)) {
+            writeByte(HASH_RAW);
+            ensureCapacity(RAW_HASH_LENGTH);
+            for (int i = 0; i < RAW_HASH_LENGTH; i++) {
+                buffer[length++] = (byte) ((HEX.fromHexDigit(hash.charAt(2 * i)) << 4)
+                        | HEX.fromHexDigit(hash.charAt(2 * i + 1)));
+            }
+        } else {
+            writeByte(HASH_STRING);
+            writeString(hash);
+        }
+    }
+
+    private void writeString(String value) {
+        writeUtf8(value != null ? value.getBytes(StandardCharsets.UTF_8) : null);
+    }
+
+    private void writeUtf8(byte[] bytes) {
+        if (bytes == null) {
+            writeInt(-1);
+            return;
+        }
+        writeInt(bytes.length);
+        writeBytes(bytes);
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void writeByte(byte value) {
+        ensureCapacity(1);
+        buffer[length++] = value;
+    }
+
+    private void writeInt(int value) {
+        ensureCapacity(4);
+        buffer[length++] = (byte) (value >>> 24);
+        buffer[length++] = (byte) (value >>> 16);
+        buffer[length++] = (byte) (value >>> 8);
+        buffer[length++] = (byte) value;
+    }
+
+    private void writeLong(long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.blockchain.crypto;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Arbre de Merkle SHA-256 sur les transactions d'un bloc.
+ *
+ * <p>Les feuilles sont préfixées par {@code 0x00} et les nœuds internes par {@code 0x01}
+ * (séparation de domaine : une feuille ne peut pas se faire passer pour un nœud).
+ * Un nœud sans frère est promu tel quel au niveau supérieur plutôt que dupliqué,
+ * ce qui évite que deux listes de transactions différentes partagent une même racine.
+ */
+public final class MerkleTree {
+
+    private static final byte LEAF_PREFIX = 0x00;
+    private static final byte NODE_PREFIX = 0x01;
+
+    private MerkleTree() {
+    }
+
+    /**
+     * Étape d'une preuve d'inclusion : hash du frère et son côté.
+     */
+    public record ProofStep(byte[] sibling, boolean siblingOnLeft) {
+    }
+
+    public static byte[] leafHash(byte[] encodedTransaction) {
+        MessageDigest digest = sha256();
+        digest.update(LEAF_PREFIX);
+        return digest.digest(encodedTransaction);
+    }
+
+    /**
+     * Racine de Merkle d'une liste non vide de hashs de feuilles.
+     */
+    public static byte[] root(List<byte[]> leaves) {
+        if (leaves.isEmpty()) {
+            throw new IllegalArgumentException("Un arbre de Merkle nécessite au moins une feuille");
+        }
+        MessageDigest digest = sha256();
+        List<byte[]> level = leaves;
+        while (level.size() > 1) {
+            level = nextLevel(level, digest);
+        }
+        return level.getFirst().clone();
+    }
+
+    /**
+     * Preuve d'inclusion de la feuille {@code position} : au plus log2(n) étapes.
+     */
+    public static List<ProofStep> proof(List<byte[]> leaves, int position) {
+        if (position < 0 || position >= leaves.size()) {
+            throw new IndexOutOfBoundsException(position);
+        }
+        MessageDigest digest = sha256();
+        List<ProofStep> steps = new ArrayList<>();
+        List<byte[]> level = leaves;
+        int index = position;
+        while (level.size() > 1) {
+            int sibling = index ^ 1;
+            if (sibling < level.size()) {
+                steps.add(new ProofStep(level.get(sibling), sibling < index));
+            }
+            level = nextLevel(level, digest);
+            index >>= 1;
+        }
+        return steps;
+    }
+
+    /**
+     * Recalcule la racine à partir d'une feuille et de sa preuve, puis la compare.
+     */
+    public static boolean verify(byte[] leafHash, List<ProofStep> proof, byte[] expectedRoot) {
+        MessageDigest digest = sha256();
+        byte[] current = leafHash;
+        for (ProofStep step : proof) {
+            current = step.siblingOnLeft()
+                    ? node(digest, step.sibling(), current)
+                    : node(digest, current, step.sibling());
+        }
+        return Arrays.equals(current, expectedRoot);
+    }
+
+    private static List<byte[]> nextLevel(List<byte[]> level, MessageDigest digest) {
+        List<byte[]> next = new ArrayList<>((level.size() + 1) / 2);
+        for (int i = 0; i < level.size(); i += 2) {
+            next.add(i + 1 < level.size() ? node(digest, level.get(i), level.get(i + 1)) : level.get(i));
+        }
+        return next;
+    }
+
+    private static byte[] node(MessageDigest digest, byte[] left, byte[] right) {
+        digest.update(NODE_PREFIX);
+        digest.update(left);
+        return digest.digest(right);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 non disponible", e);
+        }
+    }
+}
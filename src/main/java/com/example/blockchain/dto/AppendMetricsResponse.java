@@ -0,0 +1,5 @@
+package com.example.blockchain.dto;
+
+public record AppendMetricsResponse(long appended, long conflicts, long maxRetries,
+                                    double conflictRate, double averageLockWaitMicros, int height) {
+}
@@ -0,0 +1,14 @@
+package com.example.blockchain.dto;
+
+import java.util.List;
+
+/**
+ * Page de blocs. {@code nextCursor} est null lorsque la page atteint le bout de la chaîne
+ * dans le sens de lecture ; {@code height} est la taille de la chaîne au moment de la lecture.
+ */
+public record BlockPageResponse(
+        List<BlockResponse> blocks,
+        String nextCursor,
+        int height
+) {
+}
@@ -1,5 +1,7 @@
 package com.example.blockchain.dto;
 
+import java.util.List;
+
 public record BlockResponse(
         int index,
         String timestamp,
@@ -10,6 +12,10 @@ public record BlockResponse(
         String artist,
         String status,
         String owner,
-        int nonce
+        int nonce,
+        String merkleRoot,
+        List<TicketTransactionResponse> transactions,
+        String signer,
+        String signature
 ) {
 }
@@ -0,0 +1,11 @@
+package com.example.blockchain.dto;
+
+public record ChainVerificationResponse(
+        boolean valid,
+        int from,
+        int to,
+        Integer firstInvalidIndex,
+        String failure,
+        String message
+) {
+}
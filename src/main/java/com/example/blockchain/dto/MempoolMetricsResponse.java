@@ -0,0 +1,7 @@
+package com.example.blockchain.dto;
+
+public record MempoolMetricsResponse(int depth, int capacity, long accepted, long duplicates, long rejected,
+                                     long mined, long failed, long batches,
+                                     double averageWaitMillis, double maxWaitMillis,
+                                     double averageMiningMillis, double maxMiningMillis) {
+}
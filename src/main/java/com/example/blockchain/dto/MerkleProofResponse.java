@@ -0,0 +1,17 @@
+package com.example.blockchain.dto;
+
+import java.util.List;
+
+public record MerkleProofResponse(
+        int blockIndex,
+        int position,
+        String transactionHash,
+        String merkleRoot,
+        List<Step> steps
+) {
+    /**
+     * Hash frère à combiner et son côté ("LEFT" ou "RIGHT").
+     */
+    public record Step(String hash, String side) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.blockchain.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.example.blockchain.exception.InvalidPageRequestException;
+
+/**
+ * Curseur de pagination : index du prochain bloc à lire et sens de lecture.
+ * Exposé aux clients sous forme opaque (base64url), pour pouvoir évoluer sans casser l'API.
+ */
+public record PageCursor(int position, boolean descending) {
+
+    private static final String VERSION = "v1";
+
+    public String encode() {
+        String raw = VERSION + ":" + position + ":" + (descending ? "desc" : "asc");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            String[] parts = raw.split(":");
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new InvalidPageRequestException("Curseur invalide : " + cursor);
+            }
+            return switch (parts[2]) {
+                case "asc" -> new PageCursor(Integer.parseInt(parts[1]), false);
+                case "desc" -> new PageCursor(Integer.parseInt(parts[1]), true);
+                default -> throw new InvalidPageRequestException("Curseur invalide : " + cursor);
+            };
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageRequestException("Curseur invalide : " + cursor);
+        }
+    }
+}
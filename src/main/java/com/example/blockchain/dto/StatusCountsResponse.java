@@ -0,0 +1,6 @@
+package com.example.blockchain.dto;
+
+import java.util.Map;
+
+public record StatusCountsResponse(Map<String, Long> statuses, int height, String store) {
+}
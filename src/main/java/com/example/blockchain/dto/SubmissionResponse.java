@@ -0,0 +1,10 @@
+package com.example.blockchain.dto;
+
+public record SubmissionResponse(
+        String id,
+        String status,
+        String submittedAt,
+        BlockResponse block,
+        String error
+) {
+}
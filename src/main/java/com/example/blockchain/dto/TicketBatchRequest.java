@@ -0,0 +1,11 @@
+package com.example.blockchain.dto;
+
+import java.util.List;
+
+public record TicketBatchRequest(String data, List<TicketRequest> tickets) {
+
+    public TicketBatchRequest {
+        if (data == null || data.isBlank()) data = "Lot de tickets";
+        tickets = tickets == null ? List.of() : List.copyOf(tickets);
+    }
+}
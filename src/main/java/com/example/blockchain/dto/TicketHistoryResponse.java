@@ -0,0 +1,24 @@
+package com.example.blockchain.dto;
+
+import java.util.List;
+
+public record TicketHistoryResponse(
+        String eventId,
+        List<Entry> entries
+) {
+    /**
+     * Une étape du cycle de vie du ticket. {@code position} est la position de la transaction
+     * dans un bloc multi-tickets, null pour un bloc simple.
+     */
+    public record Entry(
+            int blockIndex,
+            Integer position,
+            String timestamp,
+            String status,
+            String owner,
+            String artist,
+            String data,
+            String blockHash
+    ) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.blockchain.dto;
+
+public record TicketStateResponse(
+        String eventId,
+        String owner,
+        String status,
+        String artist,
+        int lastBlockHeight,
+        String updatedAt
+) {
+}
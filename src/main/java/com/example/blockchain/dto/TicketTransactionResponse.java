@@ -0,0 +1,10 @@
+package com.example.blockchain.dto;
+
+public record TicketTransactionResponse(
+        String data,
+        String eventId,
+        String artist,
+        String status,
+        String owner
+) {
+}
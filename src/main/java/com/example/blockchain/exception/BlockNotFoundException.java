@@ -1,11 +1,15 @@
 package com.example.blockchain.exception;
 
 /**
- * Exception levée lorsqu'un bloc n'est pas trouvé à l'index demandé.
+ * Exception levée lorsqu'un bloc n'est pas trouvé à l'index ou au hash demandé.
  */
 public class BlockNotFoundException extends RuntimeException {
 
     public BlockNotFoundException(int index) {
         super("Bloc introuvable à l'index : " + index);
     }
+
+    public BlockNotFoundException(String hash) {
+        super("Bloc introuvable pour le hash : " + hash);
+    }
 }
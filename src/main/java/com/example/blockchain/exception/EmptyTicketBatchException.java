@@ -0,0 +1,11 @@
+package com.example.blockchain.exception;
+
+/**
+ * Exception levée lorsqu'un lot de tickets ne contient aucune opération.
+ */
+public class EmptyTicketBatchException extends RuntimeException {
+
+    public EmptyTicketBatchException() {
+        super("Le lot de tickets doit contenir au moins une opération.");
+    }
+}
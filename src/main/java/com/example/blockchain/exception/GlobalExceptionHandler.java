@@ -5,6 +5,7 @@ import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -19,8 +20,9 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
-    @ExceptionHandler(BlockNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleBlockNotFound(BlockNotFoundException ex) {
+    @ExceptionHandler({BlockNotFoundException.class, TransactionNotFoundException.class,
+            TicketNotFoundException.class, SubmissionNotFoundException.class})
+    public ResponseEntity<Map<String, Object>> handleBlockNotFound(RuntimeException ex) {
         logger.warn(ex.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
                 "status", 404,
@@ -40,4 +42,29 @@ public class GlobalExceptionHandler {
                 "timestamp", Instant.now().toString()
         ));
     }
+
+    @ExceptionHandler({InvalidBlockRangeException.class, EmptyTicketBatchException.class,
+            InvalidPageRequestException.class, InvalidTicketBatchException.class})
+    public ResponseEntity<Map<String, Object>> handleBadRequest(RuntimeException ex) {
+        logger.warn(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                "status", 400,
+                "error", "Bad Request",
+                "message", ex.getMessage(),
+                "timestamp", Instant.now().toString()
+        ));
+    }
+
+    @ExceptionHandler(MempoolFullException.class)
+    public ResponseEntity<Map<String, Object>> handleMempoolFull(MempoolFullException ex) {
+        logger.warn(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of(
+                        "status", 503,
+                        "error", "Service Unavailable",
+                        "message", ex.getMessage(),
+                        "timestamp", Instant.now().toString()
+                ));
+    }
 }
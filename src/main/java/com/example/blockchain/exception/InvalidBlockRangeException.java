@@ -0,0 +1,11 @@
+package com.example.blockchain.exception;
+
+/**
+ * Exception levée lorsqu'une plage de blocs [from, to) sort de la chaîne.
+ */
+public class InvalidBlockRangeException extends RuntimeException {
+
+    public InvalidBlockRangeException(int from, int to, int size) {
+        super("Plage de blocs invalide : [" + from + ", " + to + ") pour une chaîne de " + size + " blocs");
+    }
+}
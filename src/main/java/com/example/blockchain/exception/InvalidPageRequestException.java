@@ -0,0 +1,11 @@
+package com.example.blockchain.exception;
+
+/**
+ * Exception levée pour une demande de page incohérente (taille, position, curseur ou sens de lecture).
+ */
+public class InvalidPageRequestException extends RuntimeException {
+
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.blockchain.exception;
+
+/**
+ * Exception levée pour un lot d'opérations illisible ou trop volumineux.
+ */
+public class InvalidTicketBatchException extends RuntimeException {
+
+    public InvalidTicketBatchException(String message) {
+        super(message);
+    }
+
+    public InvalidTicketBatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
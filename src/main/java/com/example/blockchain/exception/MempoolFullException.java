@@ -0,0 +1,11 @@
+package com.example.blockchain.exception;
+
+/**
+ * Exception levée lorsque la file des soumissions asynchrones est pleine.
+ */
+public class MempoolFullException extends RuntimeException {
+
+    public MempoolFullException(int capacity) {
+        super("File des soumissions pleine (" + capacity + " opérations en attente), réessayez plus tard.");
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.blockchain.exception;
+
+/**
+ * Exception levée lorsque le journal de persistance est illisible ou ne peut pas être écrit.
+ */
+public class StorageException extends RuntimeException {
+
+    public StorageException(String message) {
+        super(message);
+    }
+
+    public StorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.blockchain.exception;
+
+/**
+ * Exception levée lorsqu'une soumission est inconnue ou n'est plus conservée.
+ */
+public class SubmissionNotFoundException extends RuntimeException {
+
+    public SubmissionNotFoundException(String id) {
+        super("Soumission introuvable : " + id);
+    }
+}
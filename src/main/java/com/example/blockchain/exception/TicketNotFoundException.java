@@ -0,0 +1,11 @@
+package com.example.blockchain.exception;
+
+/**
+ * Exception levée lorsqu'aucun bloc ne concerne le ticket demandé.
+ */
+public class TicketNotFoundException extends RuntimeException {
+
+    public TicketNotFoundException(String eventId) {
+        super("Ticket introuvable : " + eventId);
+    }
+}
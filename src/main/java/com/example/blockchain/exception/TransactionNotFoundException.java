@@ -0,0 +1,11 @@
+package com.example.blockchain.exception;
+
+/**
+ * Exception levée lorsqu'une transaction n'existe pas dans le bloc demandé.
+ */
+public class TransactionNotFoundException extends RuntimeException {
+
+    public TransactionNotFoundException(int blockIndex, int position) {
+        super("Transaction introuvable : bloc " + blockIndex + ", position " + position);
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.blockchain.index;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.VarHandle;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.OptionalInt;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.BlockAppendListener;
+import com.example.blockchain.Blockchain;
+import com.example.blockchain.crypto.BlockHeaderEncoder;
+
+/**
+ * Index hash de bloc (32 octets bruts) → hauteur, hors du tas Java.
+ *
+ * <p>Table à adressage ouvert (sondage linéaire) dans un segment mémoire natif : chaque
+ * case fait 40 octets, {@code [hash : 32][hauteur + 1 : 4][bourrage : 4]}, une hauteur
+ * stockée à 0 marquant une case libre. Le hash SHA-256 étant uniformément distribué, ses
+ * 8 premiers octets servent directement de clé de dispersion. Aucun objet par bloc :
+ * le ramasse-miettes ne voit qu'un segment, quelle que soit la taille de la chaîne.
+ *
+ * <p>Un seul écrivain (sous le verrou d'ajout de la chaîne) ; les lectures sont sans verrou.
+ * La hauteur est publiée après le hash (barrière release/acquire), et un agrandissement
+ * construit une nouvelle table complète avant de la publier.
+ */
+@Component
+public class OffHeapHashIndex implements BlockAppendListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffHeapHashIndex.class);
+
+    public static final int SLOT_SIZE = 40;
+    private static final int HASH_LENGTH = 32;
+    private static final int HEIGHT_OFFSET = 32;
+    private static final int MIN_CAPACITY = 1 << 10;
+    private static final double MAX_LOAD = 0.75;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private static final ValueLayout.OfLong KEY = ValueLayout.JAVA_LONG_UNALIGNED;
+    private static final ValueLayout.OfInt HEIGHT = ValueLayout.JAVA_INT_UNALIGNED;
+
+    /**
+     * Segment natif et sa capacité (puissance de 2). Libéré par le GC une fois inaccessible.
+     */
+    private record Table(MemorySegment slots, long mask) {
+
+        static Table allocate(long capacity) {
+            MemorySegment slots = Arena.ofAuto().allocate(capacity * SLOT_SIZE, 8);
+            slots.fill((byte) 0);
+            return new Table(slots, capacity - 1);
+        }
+
+        long capacity() {
+            return mask + 1;
+        }
+    }
+
+    private volatile Table table = Table.allocate(MIN_CAPACITY);
+    private volatile int size;
+
+    public OffHeapHashIndex(Blockchain blockchain) {
+        blockchain.addAppendListener(this);
+    }
+
+    /**
+     * Hauteur du bloc portant ce hash hexadécimal, vide si inconnu ou mal formé.
+     */
+    public OptionalInt find(String hash) {
+        if (!BlockHeaderEncoder.isCanonicalHash(hash)) {
+            return OptionalInt.empty();
+        }
+        return find(HEX.parseHex(hash));
+    }
+
+    /**
+     * Hauteur du bloc portant ce hash brut (32 octets), vide si inconnu.
+     */
+    public OptionalInt find(byte[] hash) {
+        Table current = table;
+        MemorySegment key = MemorySegment.ofArray(hash);
+        long slot = slotOf(key, current.mask());
+        while (true) {
+            long offset = slot * SLOT_SIZE;
+            int stored = current.slots().get(HEIGHT, offset + HEIGHT_OFFSET);
+            VarHandle.acquireFence();
+            if (stored == 0) {
+                return OptionalInt.empty();
+            }
+            if (MemorySegment.mismatch(current.slots(), offset, offset + HASH_LENGTH, key, 0, HASH_LENGTH) == -1) {
+                return OptionalInt.of(stored - 1);
+            }
+            slot = (slot + 1) & current.mask();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long capacity() {
+        return table.capacity();
+    }
+
+    /**
+     * Mémoire native occupée par la table, en octets.
+     */
+    public long offHeapBytes() {
+        return table.slots().byteSize();
+    }
+
+    @Override
+    public void blockAppended(Block block) {
+        byte[] hash = block.hashBytes();
+        if (hash == null) {
+            return;
+        }
+        if (size + 1 > table.capacity() * MAX_LOAD) {
+            table = rehash(table, table.capacity() * 2);
+        }
+        if (insert(table, hash, block.getIndex())) {
+            size++;
+        }
+    }
+
+    @Override
+    public void chainRestored(List<Block> chain) {
+        long start = System.nanoTime();
+        // Dimensionnée d'emblée pour la chaîne entière : aucun agrandissement pendant la reconstruction
+        Table rebuilt = Table.allocate(capacityFor(chain.size()));
+        int count = 0;
+        for (Block block : chain) {
+            byte[] hash = block.hashBytes();
+            if (hash != null && insert(rebuilt, hash, block.getIndex())) {
+                count++;
+            }
+        }
+        table = rebuilt;
+        size = count;
+        logger.info("Index des hashs reconstruit : {} blocs, {} Mo hors tas en {} ms", count,
+                rebuilt.slots().byteSize() >> 20, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static long capacityFor(int entries) {
+        long needed = (long) Math.ceil(entries / MAX_LOAD) + 1;
+        return Math.max(MIN_CAPACITY, Long.highestOneBit(needed - 1) << 1);
+    }
+
+    /**
+     * Insère le couple si le hash est absent (le premier bloc porteur d'un hash l'emporte).
+     */
+    private static boolean insert(Table target, byte[] hash, int height) {
+        MemorySegment key = MemorySegment.ofArray(hash);
+        long slot = slotOf(key, target.mask());
+        while (true) {
+            long offset = slot * SLOT_SIZE;
+            if (target.slots().get(HEIGHT, offset + HEIGHT_OFFSET) == 0) {
+                MemorySegment.copy(key, 0, target.slots(), offset, HASH_LENGTH);
+                VarHandle.releaseFence();
+                target.slots().set(HEIGHT, offset + HEIGHT_OFFSET, height + 1);
+                return true;
+            }
+            if (MemorySegment.mismatch(target.slots(), offset, offset + HASH_LENGTH, key, 0, HASH_LENGTH) == -1) {
+                return false;
+            }
+            slot = (slot + 1) & target.mask();
+        }
+    }
+
+    private static Table rehash(Table source, long capacity) {
+        Table target = Table.allocate(capacity);
+        byte[] hash = new byte[HASH_LENGTH];
+        MemorySegment buffer = MemorySegment.ofArray(hash);
+        for (long slot = 0; slot < source.capacity(); slot++) {
+            long offset = slot * SLOT_SIZE;
+            int stored = source.slots().get(HEIGHT, offset + HEIGHT_OFFSET);
+            if (stored != 0) {
+                MemorySegment.copy(source.slots(), offset, buffer, 0, HASH_LENGTH);
+                insert(target, hash, stored - 1);
+            }
+        }
+        return target;
+    }
+
+    private static long slotOf(MemorySegment key, long mask) {
+        return key.get(KEY, 0) & mask;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.blockchain.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.BlockAppendListener;
+import com.example.blockchain.Blockchain;
+
+/**
+ * Index eventId → hauteurs des blocs qui concernent ce ticket, dans l'ordre de la chaîne.
+ *
+ * <p>Les hauteurs sont stockées dans des tableaux d'int (pas de listes d'Integer) et
+ * complétées à chaque ajout. La lecture ne prend aucun verrou et coûte une copie
+ * proportionnelle à l'historique du ticket. Au démarrage (ou après restauration),
+ * l'index est reconstruit en une seule passe parallèle sur la chaîne.
+ */
+@Component
+public class TicketHistoryIndex implements BlockAppendListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketHistoryIndex.class);
+
+    private volatile Map<String, Heights> byEvent = new ConcurrentHashMap<>();
+
+    public TicketHistoryIndex(Blockchain blockchain) {
+        blockchain.addAppendListener(this);
+    }
+
+    /**
+     * Hauteurs (croissantes) des blocs concernant le ticket ; tableau vide si inconnu.
+     */
+    public int[] heights(String eventId) {
+        Heights heights = byEvent.get(eventId);
+        return heights != null ? heights.toArray() : new int[0];
+    }
+
+    public int eventCount() {
+        return byEvent.size();
+    }
+
+    @Override
+    public void blockAppended(Block block) {
+        Map<String, Heights> index = byEvent;
+        block.forEachTicket(ticket ->
+                index.computeIfAbsent(ticket.eventId(), key -> new Heights()).add(block.getIndex()));
+    }
+
+    @Override
+    public void chainRestored(List<Block> chain) {
+        long start = System.nanoTime();
+        Map<String, Heights> rebuilt = IntStream.range(0, chain.size()).parallel().collect(
+                HashMap::new,
+                (index, height) -> chain.get(height).forEachTicket(ticket ->
+                        index.computeIfAbsent(ticket.eventId(), key -> new Heights()).add(height)),
+                (left, right) -> right.forEach((eventId, heights) ->
+                        left.merge(eventId, heights, Heights::append)));
+        byEvent = new ConcurrentHashMap<>(rebuilt);
+        logger.info("Index d'historique des tickets reconstruit : {} tickets, {} blocs en {} ms",
+                rebuilt.size(), chain.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Tableau d'int extensible à écrivain unique, lisible sans verrou :
+     * la valeur est écrite avant la publication de la nouvelle taille.
+     */
+    private static final class Heights {
+
+        private volatile int[] values = new int[4];
+        private volatile int size;
+
+        void add(int height) {
+            int current = size;
+            // Plusieurs transactions d'un même bloc peuvent viser le même ticket
+            if (current > 0 && values[current - 1] == height) {
+                return;
+            }
+            int[] array = values;
+            if (current == array.length) {
+                array = Arrays.copyOf(array, current * 2);
+            }
+            array[current] = height;
+            values = array;
+            size = current + 1;
+        }
+
+        Heights append(Heights next) {
+            int[] other = next.toArray();
+            for (int height : other) {
+                add(height);
+            }
+            return this;
+        }
+
+        int[] toArray() {
+            int current = size;
+            return Arrays.copyOf(values, current);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.blockchain.index;
+
+/**
+ * État courant d'un ticket : valeurs portées par le dernier bloc (ou la dernière
+ * transaction) le concernant.
+ */
+public record TicketState(
+        String eventId,
+        String owner,
+        String status,
+        String artist,
+        int lastBlockHeight,
+        String updatedAt
+) {
+}
@@ -0,0 +1,66 @@
+package com.example.blockchain.index;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.BlockAppendListener;
+import com.example.blockchain.Blockchain;
+
+/**
+ * Vue matérialisée eventId → état courant du ticket, mise à jour en O(1) à chaque ajout.
+ *
+ * <p>Les états sont des records immuables remplacés en bloc dans une {@link ConcurrentHashMap} :
+ * une lecture est un simple {@code get} sans verrou et ne touche jamais la chaîne.
+ */
+@Component
+public class TicketStateView implements BlockAppendListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TicketStateView.class);
+
+    private volatile Map<String, TicketState> states = new ConcurrentHashMap<>();
+
+    public TicketStateView(Blockchain blockchain) {
+        blockchain.addAppendListener(this);
+    }
+
+    public Optional<TicketState> get(String eventId) {
+        return Optional.ofNullable(states.get(eventId));
+    }
+
+    public int size() {
+        return states.size();
+    }
+
+    @Override
+    public void blockAppended(Block block) {
+        apply(states, block);
+    }
+
+    @Override
+    public void chainRestored(List<Block> chain) {
+        long start = System.nanoTime();
+        // Chaque tranche garde son dernier état par ticket ; la fusion retient le plus haut bloc
+        Map<String, TicketState> rebuilt = IntStream.range(0, chain.size()).parallel().collect(
+                HashMap::new,
+                (partial, height) -> apply(partial, chain.get(height)),
+                (left, right) -> right.forEach((eventId, state) -> left.merge(eventId, state,
+                        (earlier, later) -> later.lastBlockHeight() >= earlier.lastBlockHeight() ? later : earlier)));
+        states = new ConcurrentHashMap<>(rebuilt);
+        logger.info("Vue d'état des tickets reconstruite : {} tickets, {} blocs en {} ms",
+                rebuilt.size(), chain.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void apply(Map<String, TicketState> target, Block block) {
+        block.forEachTicket(ticket -> target.put(ticket.eventId(), new TicketState(ticket.eventId(),
+                ticket.owner(), ticket.status(), ticket.artist(), block.getIndex(), block.getTimestamp())));
+    }
+}
@@ -1,11 +1,29 @@
 package com.example.blockchain.mapper;
 
 import com.example.blockchain.Block;
+import com.example.blockchain.TicketTransaction;
+import com.example.blockchain.crypto.BlockHasher;
+import com.example.blockchain.crypto.MerkleTree;
+import com.example.blockchain.index.TicketState;
+import com.example.blockchain.mempool.Submission;
+import com.example.blockchain.dto.BlockPageResponse;
 import com.example.blockchain.dto.BlockResponse;
+import com.example.blockchain.dto.ChainVerificationResponse;
+import com.example.blockchain.dto.MerkleProofResponse;
+import com.example.blockchain.dto.PageCursor;
+import com.example.blockchain.dto.SubmissionResponse;
+import com.example.blockchain.dto.TicketHistoryResponse;
+import com.example.blockchain.dto.TicketRequest;
+import com.example.blockchain.dto.TicketStateResponse;
+import com.example.blockchain.dto.TicketTransactionResponse;
 import com.example.blockchain.dto.ValidationResponse;
+import com.example.blockchain.verification.VerificationResult;
 import org.springframework.stereotype.Component;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.IntFunction;
 
 /**
  * Mapper entre les entités Block et les DTOs.
@@ -24,12 +42,121 @@ public class BlockMapper {
                 block.getArtist(),
                 block.getStatus(),
                 block.getOwner(),
-                block.getNonce()
+                block.getNonce(),
+                block.getMerkleRoot(),
+                block.getTransactions().stream().map(this::toTransactionResponse).toList(),
+                block.getSigner(),
+                block.getSignature()
         );
     }
 
+    public TicketTransactionResponse toTransactionResponse(TicketTransaction transaction) {
+        return new TicketTransactionResponse(
+                transaction.data(),
+                transaction.eventId(),
+                transaction.artist(),
+                transaction.status(),
+                transaction.owner()
+        );
+    }
+
+    public TicketTransaction toTransaction(TicketRequest request) {
+        return new TicketTransaction(
+                request.data(),
+                request.eventId(),
+                request.artist(),
+                request.status(),
+                request.owner()
+        );
+    }
+
+    public MerkleProofResponse toProofResponse(Block block, int position) {
+        List<byte[]> leaves = block.transactionHashes();
+        List<MerkleProofResponse.Step> steps = MerkleTree.proof(leaves, position).stream()
+                .map(step -> new MerkleProofResponse.Step(
+                        BlockHasher.toHex(step.sibling()),
+                        step.siblingOnLeft() ? "LEFT" : "RIGHT"))
+                .toList();
+        return new MerkleProofResponse(
+                block.getIndex(),
+                position,
+                BlockHasher.toHex(leaves.get(position)),
+                block.getMerkleRoot(),
+                steps
+        );
+    }
+
+    /**
+     * Vue paresseuse : chaque DTO est construit au moment où il est sérialisé,
+     * la liste complète des réponses n'est jamais matérialisée.
+     */
     public List<BlockResponse> toResponseList(List<Block> blocks) {
-        return blocks.stream().map(this::toResponse).toList();
+        return new AbstractList<>() {
+            @Override
+            public BlockResponse get(int index) {
+                return toResponse(blocks.get(index));
+            }
+
+            @Override
+            public int size() {
+                return blocks.size();
+            }
+        };
+    }
+
+    /**
+     * Historique d'un ticket à partir des hauteurs indexées : une entrée par bloc simple,
+     * une par transaction concernée dans un bloc multi-tickets.
+     */
+    public TicketHistoryResponse toHistoryResponse(String eventId, int[] heights, IntFunction<Block> blocks) {
+        List<TicketHistoryResponse.Entry> entries = new ArrayList<>(heights.length);
+        for (int height : heights) {
+            Block block = blocks.apply(height);
+            if (eventId.equals(block.getEventId())) {
+                entries.add(new TicketHistoryResponse.Entry(block.getIndex(), null, block.getTimestamp(),
+                        block.getStatus(), block.getOwner(), block.getArtist(), block.getData(), block.getHash()));
+            }
+            List<TicketTransaction> transactions = block.getTransactions();
+            for (int position = 0; position < transactions.size(); position++) {
+                TicketTransaction transaction = transactions.get(position);
+                if (eventId.equals(transaction.eventId())) {
+                    entries.add(new TicketHistoryResponse.Entry(block.getIndex(), position, block.getTimestamp(),
+                            transaction.status(), transaction.owner(), transaction.artist(), transaction.data(),
+                            block.getHash()));
+                }
+            }
+        }
+        return new TicketHistoryResponse(eventId, entries);
+    }
+
+    public TicketStateResponse toStateResponse(TicketState state) {
+        return new TicketStateResponse(
+                state.eventId(),
+                state.owner(),
+                state.status(),
+                state.artist(),
+                state.lastBlockHeight(),
+                state.updatedAt()
+        );
+    }
+
+    public SubmissionResponse toSubmissionResponse(Submission submission) {
+        Block block = submission.getBlock();
+        return new SubmissionResponse(
+                submission.getId(),
+                submission.getStatus().name(),
+                submission.getSubmittedAt().toString(),
+                block != null ? toResponse(block) : null,
+                submission.getError()
+        );
+    }
+
+    public BlockPageResponse toPageResponse(List<Block> blocks, PageCursor next, int height) {
+        return new BlockPageResponse(
+                toResponseList(blocks),
+                next != null ? next.encode() : null,
+                height
+        );
     }
 
     public ValidationResponse toValidationResponse(boolean valid, int size) {
@@ -39,4 +166,14 @@ public class BlockMapper {
                 valid ? "La chaîne est valide" : "ATTENTION: La chaîne est corrompue !"
         );
     }
+
+    public ChainVerificationResponse toVerificationResponse(VerificationResult result) {
+        if (result.valid()) {
+            return new ChainVerificationResponse(true, result.from(), result.to(), null, null,
+                    "Les blocs [" + result.from() + ", " + result.to() + ") sont valides");
+        }
+        return new ChainVerificationResponse(false, result.from(), result.to(),
+                result.firstInvalidIndex(), result.failure().name(),
+                "ATTENTION: bloc #" + result.firstInvalidIndex() + " corrompu !");
+    }
 }
@@ -0,0 +1,202 @@
+package com.example.blockchain.mempool;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.Blockchain;
+import com.example.blockchain.TicketTransaction;
+import com.example.blockchain.exception.MempoolFullException;
+
+/**
+ * File bornée des opérations soumises de façon asynchrone, vidée par un mineur en arrière-plan.
+ *
+ * <p>Une soumission est acceptée immédiatement (sans attendre le minage) ; une opération
+ * identique à une opération encore en attente n'est pas ajoutée une seconde fois, la
+ * soumission existante est renvoyée. Le mineur, un unique thread, prend à chaque tour
+ * toutes les opérations en attente (au plus {@code maxBatch}) et les publie d'un seul
+ * tenant avec {@link Blockchain#addBlocks}, puis complète les soumissions correspondantes.
+ *
+ * <p>Les soumissions terminées restent consultables jusqu'à ce que {@code retention}
+ * soumissions plus récentes les remplacent.
+ */
+public final class Mempool implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(Mempool.class);
+
+    private final Blockchain blockchain;
+    private final MempoolProperties properties;
+    private final BlockingQueue<Submission> queue;
+    private final Map<TicketTransaction, Submission> pending = new ConcurrentHashMap<>();
+    private final Map<String, Submission> submissions = new ConcurrentHashMap<>();
+    private final ArrayDeque<Submission> completed = new ArrayDeque<>();
+    private final MempoolMetrics metrics = new MempoolMetrics();
+    private final Thread miner;
+    // Mise en file (partagée) contre arrêt (exclusif) : aucune soumission n'entre après l'arrêt
+    private final ReadWriteLock admission = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    private Mempool(Blockchain blockchain, MempoolProperties properties) {
+        this.blockchain = blockchain;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.capacity());
+        this.miner = Thread.ofPlatform().daemon().name("mempool-miner").unstarted(this::mine);
+    }
+
+    /**
+     * Crée la file et démarre son mineur.
+     */
+    public static Mempool start(Blockchain blockchain, MempoolProperties properties) {
+        Mempool mempool = new Mempool(blockchain, properties);
+        mempool.miner.start();
+        logger.info("Mempool démarrée : capacité {}, lots de {} opérations au plus",
+                properties.capacity(), properties.maxBatch());
+        return mempool;
+    }
+
+    /**
+     * Met l'opération en file, ou renvoie la soumission identique encore en attente.
+     *
+     * @throws MempoolFullException si la file est pleine
+     */
+    public Submission submit(TicketTransaction operation) {
+        Submission submission = new Submission(operation);
+        Submission existing = pending.putIfAbsent(operation, submission);
+        if (existing != null) {
+            metrics.recordDuplicate();
+            return existing;
+        }
+        submissions.put(submission.getId(), submission);
+        boolean queued;
+        admission.readLock().lock();
+        try {
+            queued = running && queue.offer(submission);
+        } finally {
+            admission.readLock().unlock();
+        }
+        if (!queued) {
+            submissions.remove(submission.getId());
+            pending.remove(operation, submission);
+            metrics.recordRejected();
+            MempoolFullException rejection = new MempoolFullException(properties.capacity());
+            submission.getResult().completeExceptionally(rejection);
+            throw rejection;
+        }
+        metrics.recordAccepted();
+        return submission;
+    }
+
+    public Optional<Submission> find(String id) {
+        return Optional.ofNullable(submissions.get(id));
+    }
+
+    /**
+     * Opérations en attente de minage.
+     */
+    public int depth() {
+        return queue.size();
+    }
+
+    public int capacity() {
+        return properties.capacity();
+    }
+
+    public MempoolProperties getProperties() {
+        return properties;
+    }
+
+    public MempoolMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void mine() {
+        List<Submission> batch = new ArrayList<>(properties.maxBatch());
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            queue.drainTo(batch, properties.maxBatch() - 1);
+            mineBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void mineBatch(List<Submission> batch) {
+        long start = System.nanoTime();
+        for (Submission submission : batch) {
+            metrics.recordWait(start - submission.getSubmittedNanos());
+            submission.markMining();
+        }
+        try {
+            List<Block> blocks = blockchain.addBlocks(batch.stream().map(Submission::getOperation).toList());
+            metrics.recordBatch(batch.size(), true, System.nanoTime() - start);
+            for (int i = 0; i < batch.size(); i++) {
+                retire(batch.get(i));
+                batch.get(i).getResult().complete(blocks.get(i));
+            }
+            logger.debug("Lot de {} soumissions miné en {} ms", batch.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException e) {
+            metrics.recordBatch(batch.size(), false, System.nanoTime() - start);
+            logger.error("Échec du minage d'un lot de {} soumissions", batch.size(), e);
+            for (Submission submission : batch) {
+                retire(submission);
+                submission.getResult().completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Retire la soumission des opérations en attente et la conserve parmi les plus récentes terminées.
+     */
+    private void retire(Submission submission) {
+        pending.remove(submission.getOperation(), submission);
+        completed.addLast(submission);
+        while (completed.size() > properties.retention()) {
+            submissions.remove(completed.removeFirst().getId());
+        }
+    }
+
+    /**
+     * Arrête le mineur après le lot en cours ; les soumissions restées en file échouent.
+     */
+    @Override
+    public void close() {
+        admission.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            admission.writeLock().unlock();
+        }
+        miner.interrupt();
+        try {
+            miner.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Submission> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        IllegalStateException stopped = new IllegalStateException("Mempool arrêtée avant le minage");
+        for (Submission submission : abandoned) {
+            pending.remove(submission.getOperation(), submission);
+            submission.getResult().completeExceptionally(stopped);
+        }
+        logger.info("Mempool arrêtée : {} soumission(s) abandonnée(s)", abandoned.size());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.blockchain.mempool;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.blockchain.Blockchain;
+
+/**
+ * Démarre la file des soumissions asynchrones et son mineur ; le mineur est arrêté avec le contexte.
+ */
+@Configuration
+@EnableConfigurationProperties(MempoolProperties.class)
+public class MempoolConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public Mempool mempool(Blockchain blockchain, MempoolProperties properties) {
+        return Mempool.start(blockchain, properties);
+    }
+}
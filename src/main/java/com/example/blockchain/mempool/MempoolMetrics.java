@@ -0,0 +1,97 @@
+package com.example.blockchain.mempool;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métriques de la file des soumissions : admissions, doublons, refus, attente en file
+ * (de la soumission à la prise en charge par le mineur) et temps de minage par lot.
+ */
+public class MempoolMetrics {
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder mined = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder miningNanos = new LongAdder();
+    private final AtomicLong maxMiningNanos = new AtomicLong();
+
+    void recordAccepted() {
+        accepted.increment();
+    }
+
+    void recordDuplicate() {
+        duplicates.increment();
+    }
+
+    void recordRejected() {
+        rejected.increment();
+    }
+
+    void recordWait(long nanos) {
+        waitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Lot pris en charge par le mineur : {@code operations} blocs minés ou en échec en {@code nanos}.
+     */
+    void recordBatch(int operations, boolean success, long nanos) {
+        (success ? mined : failed).add(operations);
+        batches.increment();
+        miningNanos.add(nanos);
+        maxMiningNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getDuplicates() {
+        return duplicates.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getMined() {
+        return mined.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /**
+     * Attente moyenne en file par opération prise en charge, en millisecondes.
+     */
+    public double getAverageWaitMillis() {
+        long operations = mined.sum() + failed.sum();
+        return operations == 0 ? 0 : waitNanos.sum() / 1_000_000.0 / operations;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Temps moyen de minage et de publication d'un lot, en millisecondes.
+     */
+    public double getAverageMiningMillis() {
+        long count = batches.sum();
+        return count == 0 ? 0 : miningNanos.sum() / 1_000_000.0 / count;
+    }
+
+    public double getMaxMiningMillis() {
+        return maxMiningNanos.get() / 1_000_000.0;
+    }
+}
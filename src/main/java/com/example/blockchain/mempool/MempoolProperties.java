@@ -0,0 +1,22 @@
+package com.example.blockchain.mempool;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration de la file des soumissions asynchrones ({@code blockchain.mempool.*}).
+ *
+ * @param capacity  opérations en attente au plus ; au-delà, les soumissions sont refusées
+ * @param maxBatch  opérations au plus minées et publiées d'un seul tenant par le mineur
+ * @param retention soumissions terminées conservées pour consultation (les plus anciennes sont oubliées)
+ * @param maxWait   attente maximale accordée à un client qui attend le résultat de sa soumission
+ */
+@ConfigurationProperties("blockchain.mempool")
+public record MempoolProperties(
+        @DefaultValue("10000") int capacity,
+        @DefaultValue("256") int maxBatch,
+        @DefaultValue("10000") int retention,
+        @DefaultValue("20s") Duration maxWait) {
+}
@@ -0,0 +1,76 @@
+package com.example.blockchain.mempool;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.TicketTransaction;
+
+/**
+ * Opération soumise à la file : en attente, en cours de minage, minée (bloc publié) ou en échec.
+ * Le résultat est un {@link CompletableFuture} complété par le mineur.
+ */
+public final class Submission {
+
+    public enum Status { PENDING, MINING, MINED, FAILED }
+
+    private final String id = UUID.randomUUID().toString();
+    private final TicketTransaction operation;
+    private final Instant submittedAt = Instant.now();
+    private final long submittedNanos = System.nanoTime();
+    private final CompletableFuture<Block> result = new CompletableFuture<>();
+    private volatile boolean mining;
+
+    Submission(TicketTransaction operation) {
+        this.operation = operation;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public TicketTransaction getOperation() {
+        return operation;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    long getSubmittedNanos() {
+        return submittedNanos;
+    }
+
+    public Status getStatus() {
+        if (result.isDone()) {
+            return result.isCompletedExceptionally() ? Status.FAILED : Status.MINED;
+        }
+        return mining ? Status.MINING : Status.PENDING;
+    }
+
+    /**
+     * Bloc publié, complété par le mineur (exceptionnellement en cas d'échec du minage).
+     */
+    public CompletableFuture<Block> getResult() {
+        return result;
+    }
+
+    /**
+     * Bloc publié, ou null tant que la soumission n'est pas minée.
+     */
+    public Block getBlock() {
+        return result.isDone() && !result.isCompletedExceptionally() ? result.join() : null;
+    }
+
+    /**
+     * Cause de l'échec, ou null.
+     */
+    public String getError() {
+        return result.isCompletedExceptionally() ? result.exceptionNow().getMessage() : null;
+    }
+
+    void markMining() {
+        mining = true;
+    }
+}
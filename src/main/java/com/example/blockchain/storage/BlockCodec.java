@@ -0,0 +1,277 @@
+package com.example.blockchain.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.TicketTransaction;
+import com.example.blockchain.exception.StorageException;
+
+/**
+ * Encodage binaire d'un bloc complet pour le journal (contrairement à l'en-tête
+ * hashé, il inclut le hash stocké et le détail des transactions).
+ *
+ * <p>Disposition (entiers big-endian, chaînes = longueur sur 4 octets (-1 si null) + UTF-8) :
+ * <pre>
+ *   format       : 1 octet
+ *   index        : 4 octets
+ *   timestamp, data, previousHash, hash, eventId, artist, status, owner : chaînes
+ *   nonce        : 4 octets
+ *   transactions : nombre sur 4 octets puis, pour chacune, data, eventId, artist, status, owner
+ *   signer       : chaîne (format 2)
+ *   signature    : longueur sur 4 octets (-1 si null) puis octets (format 2)
+ * </pre>
+ * Les blocs au format 1, antérieurs aux signatures d'autorité, restent lisibles.
+ *
+ * <p>Les snapshots utilisent une variante compacte ({@link #encodeCompact(Block)}), sans octet
+ * de format (porté par l'en-tête du snapshot) : horodatage en secondes et nanosecondes depuis
+ * l'epoch, hashs canoniques en 32 octets bruts plutôt qu'en 64 caractères hexadécimaux.
+ * <pre>
+ *   index        : 4 octets
+ *   timestamp    : secondes (8 octets) + nanosecondes (4 octets)
+ *   rawHashes    : 1 octet, bit 0 = hash brut, bit 1 = hash précédent brut
+ *   hash, previousHash : 32 octets si brut, sinon chaîne
+ *   data, eventId, artist, status, owner : chaînes
+ *   nonce, transactions, signer, signature : comme ci-dessus
+ * </pre>
+ * Une instance réutilise son tampon d'encodage : elle n'est pas thread-safe.
+ */
+public final class BlockCodec {
+
+    public static final byte FORMAT = 2;
+
+    private static final byte UNSIGNED_FORMAT = 1;
+    private static final int HASH_LENGTH = 32;
+    private static final byte RAW_HASH = 1;
+    private static final byte RAW_PREVIOUS_HASH = 2;
+
+    private byte[] buffer = new byte[512];
+    private int length;
+
+    /**
+     * Encode le bloc dans le tampon interne. Le tableau retourné est réutilisé
+     * à l'appel suivant ; seuls les {@link #length()} premiers octets sont significatifs.
+     */
+    public byte[] encode(Block block) {
+        length = 0;
+        writeByte(FORMAT);
+        writeInt(block.getIndex());
+        writeString(block.getTimestamp());
+        writeString(block.getData());
+        writeString(block.getPreviousHash());
+        writeString(block.getHash());
+        writeString(block.getEventId());
+        writeString(block.getArtist());
+        writeString(block.getStatus());
+        writeString(block.getOwner());
+        writeTail(block);
+        return buffer;
+    }
+
+    /**
+     * Encode le bloc dans la variante compacte des snapshots, avec les mêmes règles
+     * de réutilisation du tampon que {@link #encode(Block)}.
+     */
+    public byte[] encodeCompact(Block block) {
+        length = 0;
+        byte[] hash = block.hashBytes();
+        byte[] previousHash = block.previousHashBytes();
+        writeInt(block.getIndex());
+        writeLong(block.epochSecond());
+        writeInt(block.nanoAdjustment());
+        writeByte((byte) ((hash != null ? RAW_HASH : 0) | (previousHash != null ? RAW_PREVIOUS_HASH : 0)));
+        if (hash != null) {
+            writeBytes(hash);
+        } else {
+            writeString(block.getHash());
+        }
+        if (previousHash != null) {
+            writeBytes(previousHash);
+        } else {
+            writeString(block.getPreviousHash());
+        }
+        writeString(block.getData());
+        writeString(block.getEventId());
+        writeString(block.getArtist());
+        writeString(block.getStatus());
+        writeString(block.getOwner());
+        writeTail(block);
+        return buffer;
+    }
+
+    private void writeTail(Block block) {
+        writeInt(block.getNonce());
+        List<TicketTransaction> transactions = block.getTransactions();
+        writeInt(transactions.size());
+        for (TicketTransaction transaction : transactions) {
+            writeString(transaction.data());
+            writeString(transaction.eventId());
+            writeString(transaction.artist());
+            writeString(transaction.status());
+            writeString(transaction.owner());
+        }
+        writeString(block.getSigner());
+        byte[] signature = block.signatureBytes();
+        if (signature == null) {
+            writeInt(-1);
+        } else {
+            writeInt(signature.length);
+            writeBytes(signature);
+        }
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Décode un bloc à partir de la position courante du tampon, qui est avancée d'autant.
+     */
+    public static Block decode(ByteBuffer source) {
+        byte format = source.get();
+        if (format != FORMAT && format != UNSIGNED_FORMAT) {
+            throw new StorageException("Format de bloc inconnu : " + format);
+        }
+        int index = source.getInt();
+        String timestamp = readString(source);
+        String data = readString(source);
+        String previousHash = readString(source);
+        String hash = readString(source);
+        String eventId = readString(source);
+        String artist = readString(source);
+        String status = readString(source);
+        String owner = readString(source);
+        int nonce = source.getInt();
+        int count = source.getInt();
+        List<TicketTransaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(new TicketTransaction(readString(source), readString(source),
+                    readString(source), readString(source), readString(source)));
+        }
+        Block block = Block.restore(index, timestamp, data, previousHash, hash, nonce,
+                eventId, artist, status, owner, transactions);
+        if (format == FORMAT) {
+            String signer = readString(source);
+            int size = source.getInt();
+            byte[] signature = size < 0 ? null : new byte[size];
+            if (signature != null) {
+                source.get(signature);
+            }
+            if (signer != null) {
+                block.sign(signer, signature);
+            }
+        }
+        return block;
+    }
+
+    /**
+     * Décode un bloc encodé par {@link #encodeCompact(Block)} à partir de la position
+     * courante du tampon, qui est avancée d'autant.
+     */
+    public static Block decodeCompact(ByteBuffer source) {
+        int index = source.getInt();
+        Instant timestamp = Instant.ofEpochSecond(source.getLong(), source.getInt());
+        byte rawHashes = source.get();
+        byte[] hash = null;
+        String hashText = null;
+        if ((rawHashes & RAW_HASH) != 0) {
+            hash = new byte[HASH_LENGTH];
+            source.get(hash);
+        } else {
+            hashText = readString(source);
+        }
+        byte[] previousHash = null;
+        String previousHashText = null;
+        if ((rawHashes & RAW_PREVIOUS_HASH) != 0) {
+            previousHash = new byte[HASH_LENGTH];
+            source.get(previousHash);
+        } else {
+            previousHashText = readString(source);
+        }
+        String data = readString(source);
+        String eventId = readString(source);
+        String artist = readString(source);
+        String status = readString(source);
+        String owner = readString(source);
+        int nonce = source.getInt();
+        int count = source.getInt();
+        List<TicketTransaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(new TicketTransaction(readString(source), readString(source),
+                    readString(source), readString(source), readString(source)));
+        }
+        Block block = Block.restore(index, timestamp, data, previousHashText, hashText, nonce,
+                eventId, artist, status, owner, transactions);
+        // Aucun écouteur n'est encore attaché : les setters ne notifient personne
+        if (hash != null) {
+            block.setHashBytes(hash);
+        }
+        if (previousHash != null) {
+            block.setPreviousHashBytes(previousHash);
+        }
+        String signer = readString(source);
+        int size = source.getInt();
+        byte[] signature = size < 0 ? null : new byte[size];
+        if (signature != null) {
+            source.get(signature);
+        }
+        if (signer != null) {
+            block.sign(signer, signature);
+        }
+        return block;
+    }
+
+    private static String readString(ByteBuffer source) {
+        int size = source.getInt();
+        if (size < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[size];
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void writeString(String value) {
+        if (value == null) {
+            writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        writeBytes(bytes);
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void writeByte(byte value) {
+        ensureCapacity(1);
+        buffer[length++] = value;
+    }
+
+    private void writeInt(int value) {
+        ensureCapacity(4);
+        buffer[length++] = (byte) (value >>> 24);
+        buffer[length++] = (byte) (value >>> 16);
+        buffer[length++] = (byte) (value >>> 8);
+        buffer[length++] = (byte) value;
+    }
+
+    private void writeLong(long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.example.blockchain.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.exception.StorageException;
+
+/**
+ * Journal append-only des blocs, découpé en segments de taille fixe projetés en mémoire.
+ *
+ * <p>Chaque enregistrement est {@code [longueur : 4 octets][CRC32C : 4 octets][bloc encodé]}.
+ * Un segment est pré-alloué (rempli de zéros) : une longueur nulle marque la fin des
+ * données. Un ajout coûte une copie dans la projection mémoire, quelle que soit la
+ * longueur de la chaîne ; la durabilité dépend de la {@link FsyncPolicy}.
+ *
+ * <p>Un segment plein est synchronisé avant la bascule vers le suivant : seul le dernier
+ * segment peut contenir une écriture interrompue par un crash. À l'ouverture, il est relu
+ * jusqu'au premier enregistrement incomplet ou dont le CRC est faux : tout ce qui suit est
+ * effacé et les ajouts reprennent à cet endroit. Les segments scellés ne sont pas relus,
+ * l'ouverture ne coûte donc pas plus qu'un segment.
+ *
+ * <p>Avec {@link FsyncPolicy#INTERVAL}, un ajout synchronise si l'intervalle est écoulé depuis la
+ * dernière synchronisation, et un thread de fond synchronise les derniers enregistrements d'une
+ * rafale quand les ajouts s'arrêtent : aucun enregistrement ne reste plus d'un intervalle (plus
+ * la durée d'une synchronisation) hors du disque.
+ *
+ * <p>Un seul écrivain à la fois : la chaîne appelle {@link #append(Block)} sous son verrou d'ajout.
+ */
+public final class BlockLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlockLog.class);
+
+    public static final int RECORD_HEADER_SIZE = 8;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final byte[] ZEROS = new byte[64 * 1024];
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalNanos;
+    private final BlockCodec codec = new BlockCodec();
+    private final CRC32C crc = new CRC32C();
+    private ScheduledExecutorService flusher;
+
+    private int firstSegment;
+    private int currentSegment;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int unsyncedFrom;
+    private long lastSync = System.nanoTime();
+
+    private BlockLog(Path directory, int segmentSize, FsyncPolicy fsyncPolicy, Duration fsyncInterval) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalNanos = fsyncInterval.toNanos();
+    }
+
+    /**
+     * Ouvre (ou crée) le journal du répertoire donné et tronque une éventuelle fin déchirée.
+     */
+    public static BlockLog open(Path directory, int segmentSize, FsyncPolicy fsyncPolicy, Duration fsyncInterval) {
+        if (segmentSize <= RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Taille de segment trop petite : " + segmentSize);
+        }
+        try {
+            Files.createDirectories(directory);
+            BlockLog log = new BlockLog(directory, segmentSize, fsyncPolicy, fsyncInterval);
+            log.recover(listSegments(directory));
+            if (fsyncPolicy == FsyncPolicy.INTERVAL && log.fsyncIntervalNanos > 0) {
+                log.startFlusher();
+            }
+            return log;
+        } catch (IOException e) {
+            throw new StorageException("Impossible d'ouvrir le journal " + directory, e);
+        }
+    }
+
+    private static List<Integer> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Integer.parseInt(
+                            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void recover(List<Integer> segments) throws IOException {
+        if (segments.isEmpty()) {
+            openSegment(0);
+            return;
+        }
+        firstSegment = segments.getFirst();
+        int lastSegment = segments.getLast();
+        if (lastSegment - firstSegment + 1 != segments.size()) {
+            throw new StorageException("Segment manquant dans le journal " + directory + " : " + segments);
+        }
+        openSegment(lastSegment);
+        int end = scan(buffer.duplicate(), payload -> { });
+        if (end < 0) {
+            end = -end - 1;
+            truncate(end);
+        }
+        buffer.position(end);
+    }
+
+    /**
+     * Parcourt les enregistrements d'un segment. Retourne la position de fin des données
+     * valides, ou {@code -(position + 1)} si un enregistrement déchiré a été rencontré.
+     */
+    private int scan(ByteBuffer segment, Consumer<ByteBuffer> visitor) {
+        int position = 0;
+        while (segment.capacity() - position >= RECORD_HEADER_SIZE) {
+            int length = segment.getInt(position);
+            if (length == 0) {
+                return position;
+            }
+            int payloadStart = position + RECORD_HEADER_SIZE;
+            if (length < 0 || length > segment.capacity() - payloadStart) {
+                return -position - 1;
+            }
+            ByteBuffer payload = segment.slice(payloadStart, length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != segment.getInt(position + 4)) {
+                return -position - 1;
+            }
+            visitor.accept(payload);
+            position = payloadStart + length;
+        }
+        return position;
+    }
+
+    private void truncate(int position) {
+        logger.warn("Journal : enregistrement déchiré tronqué ({} offset {})",
+                segmentPath(currentSegment).getFileName(), position);
+        ByteBuffer view = buffer.duplicate().position(position);
+        while (view.hasRemaining()) {
+            view.put(ZEROS, 0, Math.min(ZEROS.length, view.remaining()));
+        }
+        buffer.force();
+    }
+
+    /**
+     * Relit tous les blocs du journal, dans l'ordre d'ajout.
+     */
+    public int replay(Consumer<Block> consumer) {
+        return replay(start(), consumer);
+    }
+
+    /**
+     * Relit les blocs ajoutés à partir de la position donnée (typiquement la fin d'un snapshot).
+     * Retourne le nombre de blocs relus.
+     */
+    public int replay(LogPosition from, Consumer<Block> consumer) {
+        if (from.compareTo(start()) < 0 || from.compareTo(position()) > 0) {
+            throw new StorageException("Position " + from + " hors du journal [" + start() + ", " + position() + "]");
+        }
+        int[] count = new int[1];
+        Consumer<ByteBuffer> decoder = payload -> {
+            consumer.accept(BlockCodec.decode(payload));
+            count[0]++;
+        };
+        try {
+            for (int number = from.segment(); number < currentSegment; number++) {
+                try (FileChannel sealed = FileChannel.open(segmentPath(number), StandardOpenOption.READ)) {
+                    int offset = number == from.segment() ? from.offset() : 0;
+                    int end = scan(sealed.map(FileChannel.MapMode.READ_ONLY, offset, sealed.size() - offset), decoder);
+                    if (end < 0) {
+                        // Un segment scellé a été synchronisé avant la bascule : il ne peut être déchiré
+                        throw new StorageException("Enregistrement corrompu dans le segment scellé "
+                                + segmentPath(number).getFileName() + " à l'offset " + (offset - end - 1));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new StorageException("Impossible de relire le journal " + directory, e);
+        }
+        int offset = from.segment() == currentSegment ? from.offset() : 0;
+        scan(buffer.slice(offset, buffer.position() - offset), decoder);
+        return count[0];
+    }
+
+    /**
+     * Position du premier enregistrement du journal.
+     */
+    public LogPosition start() {
+        return new LogPosition(firstSegment, 0);
+    }
+
+    /**
+     * Position de fin : celle du prochain enregistrement ajouté.
+     */
+    public synchronized LogPosition position() {
+        return new LogPosition(currentSegment, buffer.position());
+    }
+
+    /**
+     * Ajoute un bloc en fin de journal, en changeant de segment si le courant est plein.
+     */
+    public synchronized void append(Block block) {
+        byte[] payload = codec.encode(block);
+        int length = codec.length();
+        int recordSize = RECORD_HEADER_SIZE + length;
+        if (recordSize > segmentSize) {
+            throw new StorageException("Bloc #" + block.getIndex() + " trop grand pour un segment ("
+                    + recordSize + " > " + segmentSize + " octets)");
+        }
+        if (buffer.remaining() < recordSize) {
+            roll();
+        }
+        crc.reset();
+        crc.update(payload, 0, length);
+        buffer.putInt(length).putInt((int) crc.getValue()).put(payload, 0, length);
+
+        switch (fsyncPolicy) {
+            case ALWAYS -> sync();
+            case INTERVAL -> {
+                if (System.nanoTime() - lastSync >= fsyncIntervalNanos) {
+                    sync();
+                }
+            }
+            case NEVER -> { }
+        }
+    }
+
+    /**
+     * Force sur le disque les enregistrements du segment courant pas encore synchronisés.
+     */
+    public synchronized void sync() {
+        int position = buffer.position();
+        if (position > unsyncedFrom) {
+            buffer.force(unsyncedFrom, position - unsyncedFrom);
+            unsyncedFrom = position;
+        }
+        lastSync = System.nanoTime();
+    }
+
+    private void startFlusher() {
+        flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("block-log-fsync").factory());
+        flusher.scheduleWithFixedDelay(this::syncIfDue, fsyncIntervalNanos, fsyncIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Synchronisation de fond : seulement si aucun ajout ne l'a faite pendant l'intervalle.
+     */
+    private synchronized void syncIfDue() {
+        if (channel.isOpen() && System.nanoTime() - lastSync >= fsyncIntervalNanos) {
+            sync();
+        }
+    }
+
+    private void roll() {
+        // Le segment scellé est durable avant que le suivant ne reçoive des données :
+        // une écriture déchirée ne peut se trouver que dans le dernier segment
+        sync();
+        try {
+            channel.close();
+            openSegment(currentSegment + 1);
+        } catch (IOException e) {
+            throw new StorageException("Impossible de créer le segment " + segmentPath(currentSegment + 1), e);
+        }
+    }
+
+    private void openSegment(int number) throws IOException {
+        Path path = segmentPath(number);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(channel.size(), segmentSize);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        currentSegment = number;
+        unsyncedFrom = 0;
+    }
+
+    private Path segmentPath(int number) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    public int getSegmentCount() {
+        return currentSegment - firstSegment + 1;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        try {
+            sync();
+            channel.close();
+        } catch (IOException e) {
+            throw new StorageException("Impossible de fermer le journal " + directory, e);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.blockchain.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.exception.StorageException;
+
+/**
+ * Instantané compact de la chaîne : les blocs [0, height) et la position du journal
+ * à partir de laquelle rejouer la suite.
+ *
+ * <p>Disposition du fichier (entiers big-endian) :
+ * <pre>
+ *   magic        : 4 octets ("BSNP")
+ *   format       : 1 octet
+ *   height       : 4 octets
+ *   position     : segment (4 octets) + offset (4 octets) dans le journal
+ *   blocs        : encodages compacts {@link BlockCodec#encodeCompact(Block)} concaténés
+ *   offsets      : (height + 1) x 8 octets, début de chaque bloc encodé puis fin des blocs
+ *   crc          : CRC32C (4 octets) de tout ce qui précède
+ * </pre>
+ * Les blocs y gardent leurs hashs bruts et leur horodatage en secondes et nanosecondes,
+ * sans passer par l'hexadécimal ni l'ISO-8601. La table d'offsets, placée après les blocs pour
+ * que le fichier s'écrive d'une traite, permet de décoder des tranches de blocs en parallèle,
+ * chacune projetée en mémoire indépendamment. Le CRC est vérifié avant tout décodage : un
+ * snapshot corrompu est rejeté. Le fichier est écrit à côté puis renommé atomiquement : un
+ * snapshot présent est toujours complet.
+ *
+ * <p>Le snapshot précédent est conservé : si le plus récent est illisible, {@link #latest(Path)}
+ * se rabat sur lui, et à défaut sur un rejeu complet du journal.
+ */
+public record ChainSnapshot(List<Block> blocks, LogPosition position) {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChainSnapshot.class);
+
+    private static final int MAGIC = 0x42534E50;
+    private static final byte FORMAT = 2;
+    private static final int HEADER_SIZE = 17;
+    private static final int CRC_SIZE = 4;
+    private static final int DECODE_SLICE = 1 << 16;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final int CHECKSUM_WINDOW = 1 << 30;
+    private static final int RETAINED_SNAPSHOTS = 2;
+
+    private static final String FILE_PREFIX = "snapshot-";
+    private static final String FILE_SUFFIX = ".snap";
+
+    public int height() {
+        return blocks.size();
+    }
+
+    /**
+     * Écrit le snapshot dans le répertoire puis supprime les snapshots plus anciens,
+     * hormis le précédent.
+     */
+    public Path write(Path directory) {
+        Path target = directory.resolve(String.format("%s%012d%s", FILE_PREFIX, height(), FILE_SUFFIX));
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        int height = height();
+        long[] offsets = new long[height + 1];
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            BlockCodec codec = new BlockCodec();
+            CRC32C crc = new CRC32C();
+            ByteBuffer out = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+            out.putInt(MAGIC).put(FORMAT).putInt(height)
+                    .putInt(this.position.segment()).putInt(this.position.offset());
+            long position = HEADER_SIZE;
+            for (int i = 0; i < height; i++) {
+                offsets[i] = position;
+                byte[] encoded = codec.encodeCompact(blocks.get(i));
+                int length = codec.length();
+                if (out.remaining() < length) {
+                    drain(channel, out, crc);
+                }
+                if (length > out.capacity()) {
+                    crc.update(encoded, 0, length);
+                    write(channel, ByteBuffer.wrap(encoded, 0, length));
+                } else {
+                    out.put(encoded, 0, length);
+                }
+                position += length;
+            }
+            offsets[height] = position;
+            for (long offset : offsets) {
+                if (out.remaining() < Long.BYTES) {
+                    drain(channel, out, crc);
+                }
+                out.putLong(offset);
+            }
+            drain(channel, out, crc);
+            out.putInt((int) crc.getValue());
+            out.flip();
+            write(channel, out);
+            channel.force(true);
+        } catch (IOException e) {
+            throw new StorageException("Impossible d'écrire le snapshot " + target, e);
+        }
+
+        try {
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            List<Path> snapshots = list(directory);
+            for (Path older : snapshots.subList(0, Math.max(0, snapshots.size() - RETAINED_SNAPSHOTS))) {
+                Files.deleteIfExists(older);
+            }
+        } catch (IOException e) {
+            throw new StorageException("Impossible de publier le snapshot " + target, e);
+        }
+        return target;
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer out, CRC32C crc) throws IOException {
+        out.flip();
+        crc.update(out.duplicate());
+        write(channel, out);
+        out.clear();
+    }
+
+    private static void write(FileChannel channel, ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    /**
+     * Charge le snapshot lisible le plus récent du répertoire, s'il y en a un. Un snapshot
+     * corrompu ou d'un format inconnu est ignoré au profit du précédent ; si aucun n'est
+     * lisible, le résultat est vide et la chaîne sera reconstruite depuis tout le journal.
+     */
+    public static Optional<ChainSnapshot> latest(Path directory) {
+        List<Path> snapshots;
+        try {
+            snapshots = list(directory);
+        } catch (IOException e) {
+            throw new StorageException("Impossible de lister les snapshots de " + directory, e);
+        }
+        for (Path snapshot : snapshots.reversed()) {
+            try {
+                return Optional.of(read(snapshot));
+            } catch (StorageException e) {
+                logger.warn("Snapshot ignoré : {}", e.getMessage());
+            }
+        }
+        if (!snapshots.isEmpty()) {
+            logger.warn("Aucun snapshot lisible dans {} : rejeu complet du journal", directory);
+        }
+        return Optional.empty();
+    }
+
+    private static List<Path> list(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+            }).sorted().toList();
+        }
+    }
+
+    /**
+     * Vérifie le CRC du fichier, le projette en mémoire et décode les blocs par tranches, en parallèle.
+     */
+    public static ChainSnapshot read(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE + Long.BYTES + CRC_SIZE) {
+                throw new StorageException("Snapshot tronqué : " + file);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.get() != FORMAT) {
+                throw new StorageException("Snapshot illisible : " + file);
+            }
+            int height = header.getInt();
+            LogPosition position = new LogPosition(header.getInt(), header.getInt());
+
+            long dataEnd = size - CRC_SIZE - 8L * (height + 1);
+            if (height < 0 || dataEnd < HEADER_SIZE) {
+                throw new StorageException("Snapshot tronqué : " + file);
+            }
+            verifyChecksum(channel, size, file);
+            LongBuffer offsets = channel.map(FileChannel.MapMode.READ_ONLY, dataEnd, 8L * (height + 1))
+                    .asLongBuffer();
+            if (offsets.get(height) != dataEnd) {
+                throw new StorageException("Snapshot tronqué : " + file);
+            }
+
+            Block[] blocks = new Block[height];
+            int slices = (height + DECODE_SLICE - 1) / DECODE_SLICE;
+            IntStream.range(0, slices).parallel().forEach(slice -> {
+                int from = slice * DECODE_SLICE;
+                int to = Math.min(height, from + DECODE_SLICE);
+                long start = offsets.get(from);
+                try {
+                    ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, start, offsets.get(to) - start);
+                    for (int i = from; i < to; i++) {
+                        blocks[i] = BlockCodec.decodeCompact(data);
+                    }
+                } catch (IOException e) {
+                    throw new StorageException("Impossible de lire le snapshot " + file, e);
+                }
+            });
+            return new ChainSnapshot(Arrays.asList(blocks), position);
+        } catch (IOException e) {
+            throw new StorageException("Impossible de lire le snapshot " + file, e);
+        }
+    }
+
+    /**
+     * Recalcule le CRC32C du fichier par fenêtres projetées et le compare à celui
+     * écrit en fin de fichier.
+     */
+    private static void verifyChecksum(FileChannel channel, long size, Path file) throws IOException {
+        CRC32C crc = new CRC32C();
+        long end = size - CRC_SIZE;
+        for (long from = 0; from < end; from += CHECKSUM_WINDOW) {
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(CHECKSUM_WINDOW, end - from)));
+        }
+        int expected = channel.map(FileChannel.MapMode.READ_ONLY, end, CRC_SIZE).getInt();
+        if ((int) crc.getValue() != expected) {
+            throw new StorageException("Snapshot corrompu (CRC invalide) : " + file);
+        }
+    }
+}
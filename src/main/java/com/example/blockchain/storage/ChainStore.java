@@ -0,0 +1,119 @@
+package com.example.blockchain.storage;
+
+import java.io.Closeable;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.blockchain.Blockchain;
+import com.example.blockchain.verification.VerificationResult;
+
+/**
+ * Persistance de la chaîne : journal des ajouts plus snapshots périodiques.
+ *
+ * <p>Au démarrage : ouverture du journal (réparation de la fin déchirée), chargement du
+ * dernier snapshot, puis rejeu des seuls enregistrements postérieurs. La chaîne sert les
+ * lectures dès cette étape ; la re-vérification complète des hashs tourne en arrière-plan
+ * et fait avancer le filigrane de vérification. Chaque phase est chronométrée dans les logs.
+ */
+public final class ChainStore implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChainStore.class);
+
+    private final Blockchain blockchain;
+    private final BlockLog log;
+    private final StorageProperties properties;
+    private final ScheduledExecutorService scheduler;
+    private volatile int snapshotHeight;
+
+    private ChainStore(Blockchain blockchain, BlockLog log, StorageProperties properties, int snapshotHeight) {
+        this.blockchain = blockchain;
+        this.log = log;
+        this.properties = properties;
+        this.snapshotHeight = snapshotHeight;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("chain-snapshot").factory());
+    }
+
+    /**
+     * Restaure la chaîne depuis le répertoire configuré et planifie les snapshots suivants.
+     */
+    public static ChainStore open(Blockchain blockchain, StorageProperties properties) {
+        long start = System.nanoTime();
+
+        BlockLog log = BlockLog.open(properties.directory(), Math.toIntExact(properties.segmentSize().toBytes()),
+                properties.fsync(), properties.fsyncInterval());
+        long logOpened = System.nanoTime();
+        logger.info("[Démarrage] Journal ouvert : {} segment(s) en {} ms", log.getSegmentCount(),
+                millis(start, logOpened));
+
+        Optional<ChainSnapshot> snapshot = ChainSnapshot.latest(properties.directory());
+        long snapshotLoaded = System.nanoTime();
+        snapshot.ifPresent(loaded -> logger.info("[Démarrage] Snapshot chargé : {} blocs en {} ms",
+                loaded.height(), millis(logOpened, snapshotLoaded)));
+
+        int replayed = blockchain.attachLog(log, snapshot.orElse(null));
+        long replayDone = System.nanoTime();
+        logger.info("[Démarrage] {} blocs rejoués depuis le journal en {} ms", replayed,
+                millis(snapshotLoaded, replayDone));
+        logger.info("[Démarrage] Chaîne disponible : {} blocs en {} ms (fsync={})", blockchain.size(),
+                millis(start, replayDone), properties.fsync());
+
+        ChainStore store = new ChainStore(blockchain, log, properties, snapshot.map(ChainSnapshot::height).orElse(0));
+        store.verifyInBackground();
+        long period = properties.snapshotInterval().toMillis();
+        store.scheduler.scheduleWithFixedDelay(store::snapshotIfDue, period, period, TimeUnit.MILLISECONDS);
+        return store;
+    }
+
+    private void verifyInBackground() {
+        Thread.ofPlatform().daemon().name("chain-verification").start(() -> {
+            long start = System.nanoTime();
+            VerificationResult result = blockchain.validateIncrementally();
+            logger.info("[Démarrage] Vérification complète en arrière-plan : valide={} ({} blocs) en {} ms",
+                    result.valid(), result.to(), millis(start, System.nanoTime()));
+        });
+    }
+
+    private void snapshotIfDue() {
+        try {
+            if (blockchain.size() - snapshotHeight >= properties.snapshotMinBlocks()) {
+                snapshot();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Échec du snapshot périodique", e);
+        }
+    }
+
+    /**
+     * Écrit un snapshot de la chaîne courante ; le rejeu au prochain démarrage commencera après.
+     */
+    public synchronized void snapshot() {
+        long start = System.nanoTime();
+        ChainSnapshot checkpoint = blockchain.checkpoint();
+        checkpoint.write(properties.directory());
+        snapshotHeight = checkpoint.height();
+        logger.info("Snapshot écrit : {} blocs en {} ms", checkpoint.height(), millis(start, System.nanoTime()));
+    }
+
+    public BlockLog getLog() {
+        return log;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        if (blockchain.size() > snapshotHeight) {
+            snapshot();
+        }
+        log.close();
+    }
+
+    private static long millis(long from, long to) {
+        return TimeUnit.NANOSECONDS.toMillis(to - from);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.blockchain.storage;
+
+/**
+ * Politique de synchronisation du journal sur le disque.
+ */
+public enum FsyncPolicy {
+    /** Chaque ajout est forcé sur le disque avant d'être visible : aucun bloc perdu. */
+    ALWAYS,
+    /** Synchronisation au plus tous les {@code fsync-interval} : perte bornée à cet intervalle. */
+    INTERVAL,
+    /** Le système d'exploitation décide : seule la cohérence après crash est garantie. */
+    NEVER
+}
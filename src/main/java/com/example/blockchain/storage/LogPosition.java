@@ -0,0 +1,13 @@
+package com.example.blockchain.storage;
+
+/**
+ * Position dans le journal : numéro de segment et offset dans ce segment.
+ */
+public record LogPosition(int segment, int offset) implements Comparable<LogPosition> {
+
+    @Override
+    public int compareTo(LogPosition other) {
+        int bySegment = Integer.compare(segment, other.segment);
+        return bySegment != 0 ? bySegment : Integer.compare(offset, other.offset);
+    }
+}
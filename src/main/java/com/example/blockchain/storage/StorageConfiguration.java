@@ -0,0 +1,23 @@
+package com.example.blockchain.storage;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.blockchain.Blockchain;
+
+/**
+ * Active la persistance de la chaîne lorsque {@code blockchain.storage.enabled=true} :
+ * la chaîne est restaurée (snapshot puis fin du journal), puis chaque ajout est journalisé.
+ */
+@Configuration
+@EnableConfigurationProperties(StorageProperties.class)
+public class StorageConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "blockchain.storage", name = "enabled", havingValue = "true")
+    public ChainStore chainStore(Blockchain blockchain, StorageProperties properties) {
+        return ChainStore.open(blockchain, properties);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.blockchain.storage;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration du journal de persistance ({@code blockchain.storage.*}).
+ */
+@ConfigurationProperties("blockchain.storage")
+public record StorageProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/chain") Path directory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("interval") FsyncPolicy fsync,
+        @DefaultValue("100ms") Duration fsyncInterval,
+        @DefaultValue("5m") Duration snapshotInterval,
+        @DefaultValue("10000") int snapshotMinBlocks) {
+}
@@ -0,0 +1,26 @@
+package com.example.blockchain.verification;
+
+import com.example.blockchain.verification.VerificationResult.Failure;
+
+/**
+ * Contrôle d'intégrité d'un bloc désigné par son index (hash recalculé puis chaînage).
+ * Permet de vérifier un stockage sans passer par des objets {@link com.example.blockchain.Block}.
+ */
+@FunctionalInterface
+public interface BlockCheck {
+
+    /**
+     * Nature de la corruption du bloc, ou null s'il est intègre. L'index est au moins 1.
+     */
+    Failure check(int index);
+
+    /**
+     * Contrôle composé : {@code next} n'est évalué que sur un bloc que celui-ci juge intègre.
+     */
+    default BlockCheck andThen(BlockCheck next) {
+        return index -> {
+            Failure failure = check(index);
+            return failure != null ? failure : next.check(index);
+        };
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.blockchain.verification;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.verification.VerificationResult.Failure;
+
+/**
+ * Vérification d'intégrité d'une plage de blocs.
+ *
+ * <p>Le contrôle d'un bloc ne dépend que de lui-même et du hash stocké de son
+ * prédécesseur : la plage peut donc être découpée en segments vérifiés en parallèle
+ * sur un {@link ForkJoinPool}. Dès qu'un segment trouve une corruption, il publie
+ * son index ; les segments situés au-delà s'arrêtent, ceux situés avant continuent
+ * afin que le résultat rapporte toujours le plus petit index corrompu.
+ */
+public class ChainVerifier {
+
+    /** Taille de segment en dessous de laquelle la vérification reste séquentielle. */
+    static final int SEGMENT_SIZE = 4096;
+
+    private static final int NO_FAILURE = Integer.MAX_VALUE;
+
+    private final ForkJoinPool pool;
+
+    public ChainVerifier() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ChainVerifier(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Vérifie les blocs d'index [from, to), en parallèle si la plage dépasse un segment.
+     * Le bloc de genèse (index 0) n'a pas de prédécesseur et n'est pas contrôlé.
+     */
+    public VerificationResult verify(List<Block> chain, int from, int to) {
+        return verify(blockCheck(chain), from, to);
+    }
+
+    /**
+     * Comme {@link #verify(List, int, int)}, avec un contrôle fourni par le stockage.
+     */
+    public VerificationResult verify(BlockCheck check, int from, int to) {
+        return to - from > SEGMENT_SIZE ? verifyParallel(check, from, to) : verifySequential(check, from, to);
+    }
+
+    public VerificationResult verifySequential(List<Block> chain, int from, int to) {
+        return verifySequential(blockCheck(chain), from, to);
+    }
+
+    public VerificationResult verifySequential(BlockCheck check, int from, int to) {
+        for (int i = Math.max(from, 1); i < to; i++) {
+            Failure failure = check.check(i);
+            if (failure != null) {
+                return new VerificationResult(from, to, i, failure);
+            }
+        }
+        return VerificationResult.valid(from, to);
+    }
+
+    public VerificationResult verifyParallel(List<Block> chain, int from, int to) {
+        return verifyParallel(blockCheck(chain), from, to);
+    }
+
+    public VerificationResult verifyParallel(BlockCheck check, int from, int to) {
+        AtomicInteger firstFailure = new AtomicInteger(NO_FAILURE);
+        pool.invoke(new SegmentTask(check, Math.max(from, 1), to, firstFailure));
+
+        int index = firstFailure.get();
+        if (index == NO_FAILURE) {
+            return VerificationResult.valid(from, to);
+        }
+        return new VerificationResult(from, to, index, check.check(index));
+    }
+
+    /**
+     * Contrôle bloc par bloc d'une liste de blocs en mémoire.
+     */
+    public static BlockCheck blockCheck(List<Block> chain) {
+        return index -> check(chain, index);
+    }
+
+    /**
+     * Contrôle d'un bloc : hash recalculé puis chaînage avec le prédécesseur.
+     */
+    static Failure check(List<Block> chain, int index) {
+        Block current = chain.get(index);
+        if (!current.hashMatches(current.calculateHashBytes())) {
+            return Failure.HASH_MISMATCH;
+        }
+        if (!current.isLinkedTo(chain.get(index - 1))) {
+            return Failure.BROKEN_LINK;
+        }
+        return null;
+    }
+
+    private static final class SegmentTask extends RecursiveAction {
+
+        private final transient BlockCheck check;
+        private final int from;
+        private final int to;
+        private final AtomicInteger firstFailure;
+
+        SegmentTask(BlockCheck check, int from, int to, AtomicInteger firstFailure) {
+            this.check = check;
+            this.from = from;
+            this.to = to;
+            this.firstFailure = firstFailure;
+        }
+
+        @Override
+        protected void compute() {
+            if (from >= firstFailure.get()) {
+                return;
+            }
+            if (to - from > SEGMENT_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SegmentTask(check, from, middle, firstFailure),
+                        new SegmentTask(check, middle, to, firstFailure));
+                return;
+            }
+            for (int i = from; i < to && i < firstFailure.get(); i++) {
+                if (check.check(i) != null) {
+                    firstFailure.accumulateAndGet(i, Math::min);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.blockchain.verification;
+
+/**
+ * Résultat de la vérification d'une plage de blocs [from, to).
+ * En cas d'échec, {@code firstInvalidIndex} désigne le plus petit index corrompu.
+ */
+public record VerificationResult(int from, int to, int firstInvalidIndex, Failure failure) {
+
+    /**
+     * Nature de la corruption détectée sur un bloc.
+     */
+    public enum Failure {
+        /** Le hash stocké ne correspond plus au contenu du bloc. */
+        HASH_MISMATCH,
+        /** Le previousHash ne correspond pas au hash du bloc précédent. */
+        BROKEN_LINK,
+        /** La signature d'autorité ne correspond pas au hash, ou l'autorité est inconnue. */
+        INVALID_SIGNATURE
+    }
+
+    public static VerificationResult valid(int from, int to) {
+        return new VerificationResult(from, to, -1, null);
+    }
+
+    public boolean valid() {
+        return failure == null;
+    }
+}
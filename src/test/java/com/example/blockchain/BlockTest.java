@@ -1,8 +1,12 @@
 package com.example.blockchain;
 
+import com.example.blockchain.crypto.MerkleTree;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("Tests unitaires - Block")
@@ -120,4 +124,123 @@ class BlockTest {
         assertNull(block.getStatus());
         assertNull(block.getOwner());
     }
+
+    @Test
+    @DisplayName("Un bloc multi-tickets engage ses transactions par une racine de Merkle")
+    void multiTicketBlockHasMerkleRoot() {
+        Block block = new Block(1, "Lot", "prev", List.of(
+                new TicketTransaction("Achat", "EVT-001", "Stromae", "ACHETE", "Alice"),
+                new TicketTransaction("Achat", "EVT-002", "Stromae", "ACHETE", "Bob")));
+
+        assertEquals(2, block.getTransactions().size());
+        assertNotNull(block.getMerkleRoot());
+        assertEquals(64, block.getMerkleRoot().length());
+        assertEquals(block.getHash(), block.calculateHash());
+    }
+
+    @Test
+    @DisplayName("Le hash d'un bloc multi-tickets couvre ses transactions")
+    void merkleRootAffectsHash() {
+        Block block1 = new Block(1, "Lot", "prev",
+                List.of(new TicketTransaction("Achat", "EVT-001", "Stromae", "ACHETE", "Alice")));
+        Block block2 = new Block(1, "Lot", "prev",
+                List.of(new TicketTransaction("Achat", "EVT-001", "Stromae", "ACHETE", "Eve")));
+
+        assertNotEquals(block1.getMerkleRoot(), block2.getMerkleRoot());
+        assertNotEquals(block1.calculateHash(), block2.calculateHash());
+    }
+
+    @Test
+    @DisplayName("La preuve d'inclusion d'une transaction se vérifie contre la racine")
+    void inclusionProofVerifiesAgainstRoot() {
+        Block block = new Block(1, "Lot", "prev", List.of(
+                new TicketTransaction("A", "EVT-1", "X", "ACHETE", "Alice"),
+                new TicketTransaction("B", "EVT-2", "X", "ACHETE", "Bob"),
+                new TicketTransaction("C", "EVT-3", "X", "ACHETE", "Charlie")));
+
+        List<MerkleTree.ProofStep> proof = block.inclusionProof(2);
+
+        assertTrue(MerkleTree.verify(block.transactionHashes().get(2), proof, block.merkleRootBytes()));
+    }
+
+    @Test
+    @DisplayName("Un bloc simple n'a ni transactions ni racine de Merkle")
+    void simpleBlockHasNoMerkleRoot() {
+        Block block = new Block(0, "Data", "0");
+
+        assertTrue(block.getTransactions().isEmpty());
+        assertNull(block.getMerkleRoot());
+    }
+
+    @Test
+    @DisplayName("Représentation compacte : hashs, horodatage et données restitués à l'identique")
+    void compactRepresentationRoundTrips() {
+        Block genesis = new Block(0, "Genèse", "0");
+        Block block = new Block(1, "Opération été", genesis.getHash(), "EVT-1", "Daft Punk", "VENDU", "alice");
+
+        Block restored = Block.restore(1, block.getTimestamp(), block.getData(), block.getPreviousHash(),
+                block.getHash(), block.getNonce(), "EVT-1", "Daft Punk", "VENDU", "alice", List.of());
+
+        assertEquals("0", genesis.getPreviousHash(), "Un hash non canonique est conservé tel quel");
+        assertNull(genesis.previousHashBytes());
+        assertEquals(block.getTimestamp(), restored.getTimestamp());
+        assertEquals("Opération été", restored.getData());
+        assertEquals(block.getHash(), restored.getHash());
+        assertEquals(block.getPreviousHash(), restored.getPreviousHash());
+        assertArrayEquals(restored.calculateHashBytes(), restored.hashBytes());
+        assertTrue(restored.isLinkedTo(genesis));
+    }
+
+    @Test
+    @DisplayName("Un hash falsifié non canonique est restitué et ne correspond plus au contenu")
+    void nonCanonicalHashIsKeptAsText() {
+        Block block = new Block(1, "Donnée", "0");
+
+        block.setHash("hash_falsifie");
+
+        assertEquals("hash_falsifie", block.getHash());
+        assertNull(block.hashBytes());
+        assertFalse(block.hashMatches(block.calculateHashBytes()));
+
+        block.setHash(block.calculateHash());
+        assertTrue(block.hashMatches(block.calculateHashBytes()));
+    }
+
+    @Test
+    @DisplayName("Les champs métier répétés partagent une seule instance")
+    void repeatedFieldsAreCanonicalized() {
+        Block first = new Block(1, "A", "0", new String("EVT-9"), new String("Artiste"), new String("VENDU"), new String("bob"));
+        Block second = new Block(2, "B", "0", new String("EVT-9"), new String("Artiste"), new String("VENDU"), new String("bob"));
+
+        assertSame(first.getArtist(), second.getArtist());
+        assertSame(first.getStatus(), second.getStatus());
+        // Ticket et propriétaire ne sont partagés que par le stockage qui reçoit les blocs
+        assertNotSame(first.getEventId(), second.getEventId());
+        BlockStore store = BlockStore.Type.HEAP.create();
+        store.add(first);
+        store.add(second);
+        assertSame(first.getEventId(), second.getEventId());
+        assertSame(first.getOwner(), second.getOwner());
+
+        Block elsewhere = new Block(3, "C", "0", new String("EVT-9"), "Artiste", "VENDU", new String("bob"));
+        BlockStore.Type.HEAP.create().add(elsewhere);
+        assertNotSame(first.getEventId(), elsewhere.getEventId());
+    }
+
+    @Test
+    @DisplayName("forEachTicket parcourt le ticket du bloc puis ses transactions, sans eventId vide")
+    void forEachTicketSkipsEmptyEventIds() {
+        Block lot = new Block(1, "Lot", "0", List.of(
+                new TicketTransaction("T1", "EVT-1", "A", "ACHETE", "Alice"),
+                new TicketTransaction("T2", "", "B", "ACHETE", "Bob")));
+        Block ticket = new Block(2, "Achat", "0", "EVT-2", "A", "ACHETE", "Carol");
+        Block empty = new Block(3, "Sans ticket", "0", "", "A", "ACHETE", "Dave");
+
+        List<String> events = new ArrayList<>();
+        for (Block block : List.of(lot, ticket, empty)) {
+            block.forEachTicket(each -> events.add(each.eventId() + ":" + each.owner()));
+        }
+
+        assertEquals(List.of("EVT-1:Alice", "EVT-2:Carol"), events);
+    }
 }
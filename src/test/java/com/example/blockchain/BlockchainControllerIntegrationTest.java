@@ -1,27 +1,56 @@
 package com.example.blockchain;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.blockchain.cache.BlockResponseCache;
+import com.example.blockchain.dto.BlockPageResponse;
 import com.example.blockchain.dto.BlockResponse;
+import com.example.blockchain.dto.ChainVerificationResponse;
+import com.example.blockchain.dto.MerkleProofResponse;
+import com.example.blockchain.dto.TicketBatchRequest;
 import com.example.blockchain.dto.TicketRequest;
+import com.example.blockchain.dto.ValidationResponse;
 import com.example.blockchain.exception.BlockNotFoundException;
+import com.example.blockchain.exception.EmptyTicketBatchException;
+import com.example.blockchain.exception.InvalidBlockRangeException;
+import com.example.blockchain.exception.InvalidPageRequestException;
+import com.example.blockchain.exception.InvalidTicketBatchException;
+import com.example.blockchain.exception.TransactionNotFoundException;
+import com.example.blockchain.index.OffHeapHashIndex;
 import com.example.blockchain.mapper.BlockMapper;
 
+import tools.jackson.databind.json.JsonMapper;
+
 @DisplayName("Tests d'intégration - BlockchainController (RESTful)")
 class BlockchainControllerIntegrationTest {
 
+    private Blockchain blockchain;
     private BlockchainController controller;
 
     @BeforeEach
     void setUp() {
-        controller = new BlockchainController(new Blockchain(), new BlockMapper());
+        blockchain = new Blockchain();
+        BlockMapper mapper = new BlockMapper();
+        controller = new BlockchainController(blockchain, mapper, new OffHeapHashIndex(blockchain),
+                new BlockResponseCache(blockchain, mapper, 64, 6), JsonMapper.shared());
     }
 
     // --- GET /api/blocks ---
@@ -45,12 +74,107 @@ class BlockchainControllerIntegrationTest {
         assertEquals(3, controller.getAll().size());
     }
 
+    @Test
+    @DisplayName("GET /api/blocks en NDJSON écrit un objet JSON par bloc et par ligne")
+    void streamAllWritesOneLinePerBlock() throws IOException {
+        controller.create(new TicketRequest("Ticket", "EVT-001", "Stromae", "ACHETE", "Alice"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        controller.streamAll().writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"index\":0"));
+        assertTrue(lines[1].contains("\"eventId\":\"EVT-001\""));
+    }
+
+    @Test
+    @DisplayName("GET /api/blocks en NDJSON diffuse la chaîne telle qu'au moment de la requête")
+    void streamAllUsesSnapshot() throws IOException {
+        StreamingResponseBody body = controller.streamAll();
+        controller.create(new TicketRequest("Ajouté après", null, null, null, null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        body.writeTo(out);
+
+        assertEquals(1, out.toString(StandardCharsets.UTF_8).lines().count());
+    }
+
+    // --- GET /api/blocks?limit= / cursor= / latest= ---
+
+    private void createBlocks(int count) {
+        for (int i = 1; i <= count; i++) {
+            controller.create(new TicketRequest("Bloc " + i, null, null, null, null));
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/blocks?limit= parcourt toute la chaîne en suivant les curseurs")
+    void pagesFollowCursorToTheEnd() {
+        createBlocks(6);
+
+        BlockPageResponse first = controller.getPage(3, null, "asc");
+        BlockPageResponse second = controller.getPageAfter(first.nextCursor(), 3);
+        BlockPageResponse third = controller.getPageAfter(second.nextCursor(), 3);
+
+        assertEquals(List.of(0, 1, 2), first.blocks().stream().map(BlockResponse::index).toList());
+        assertEquals(List.of(3, 4, 5), second.blocks().stream().map(BlockResponse::index).toList());
+        assertEquals(List.of(6), third.blocks().stream().map(BlockResponse::index).toList());
+        assertNull(third.nextCursor());
+        assertEquals(7, third.height());
+    }
+
+    @Test
+    @DisplayName("GET /api/blocks?limit=&from=&order=desc lit la chaîne à rebours")
+    void descendingPages() {
+        createBlocks(4);
+
+        BlockPageResponse first = controller.getPage(2, null, "desc");
+        BlockPageResponse second = controller.getPageAfter(first.nextCursor(), 10);
+        BlockPageResponse fromIndex = controller.getPage(2, 1, "desc");
+
+        assertEquals(List.of(4, 3), first.blocks().stream().map(BlockResponse::index).toList());
+        assertEquals(List.of(2, 1, 0), second.blocks().stream().map(BlockResponse::index).toList());
+        assertNull(second.nextCursor());
+        assertEquals(List.of(1, 0), fromIndex.blocks().stream().map(BlockResponse::index).toList());
+    }
+
+    @Test
+    @DisplayName("GET /api/blocks?latest=N retourne les N derniers blocs")
+    void latestBlocks() {
+        createBlocks(5);
+
+        BlockPageResponse newestFirst = controller.getLatest(3, "desc");
+        BlockPageResponse oldestFirst = controller.getLatest(3, "asc");
+        BlockPageResponse all = controller.getLatest(50, "asc");
+
+        assertEquals(List.of(5, 4, 3), newestFirst.blocks().stream().map(BlockResponse::index).toList());
+        assertEquals(List.of(3, 4, 5), oldestFirst.blocks().stream().map(BlockResponse::index).toList());
+        assertNull(oldestFirst.nextCursor());
+        assertEquals(6, all.blocks().size());
+    }
+
+    @Test
+    @DisplayName("Taille de page, position, ordre ou curseur invalides lèvent InvalidPageRequestException")
+    void invalidPageRequestsAreRejected() {
+        assertThrows(InvalidPageRequestException.class, () -> controller.getPage(0, null, "asc"));
+        assertThrows(InvalidPageRequestException.class,
+                () -> controller.getPage(BlockchainController.MAX_PAGE_SIZE + 1, null, "asc"));
+        assertThrows(InvalidPageRequestException.class, () -> controller.getPage(10, 5, "asc"));
+        assertThrows(InvalidPageRequestException.class, () -> controller.getPage(10, null, "random"));
+        assertThrows(InvalidPageRequestException.class, () -> controller.getPageAfter("???", 10));
+    }
+
     // --- GET /api/blocks/{index} ---
 
+    private BlockResponse getById(int index) {
+        return JsonMapper.shared().readValue(controller.getById(index).getBody(), BlockResponse.class);
+    }
+
     @Test
     @DisplayName("GET /api/blocks/0 retourne le bloc de genèse")
     void getByIdReturnsGenesisBlock() {
-        BlockResponse response = controller.getById(0);
+        BlockResponse response = getById(0);
 
         assertNotNull(response);
         assertEquals(0, response.index());
@@ -59,7 +183,21 @@ class BlockchainControllerIntegrationTest {
     @Test
     @DisplayName("GET /api/blocks/{index} lève BlockNotFoundException si index invalide")
     void getByIdThrowsBlockNotFoundException() {
-        assertThrows(BlockNotFoundException.class, () -> controller.getById(999));
+        assertThrows(BlockNotFoundException.class, () -> getById(999));
+    }
+
+    @Test
+    @DisplayName("GET /api/blocks/{index} porte le hash pour ETag et déclare immuables les blocs finals")
+    void getByIdSetsEtagAndCacheControl() {
+        createBlocks(10);
+
+        ResponseEntity<byte[]> finalBlock = controller.getById(2);
+        ResponseEntity<byte[]> tip = controller.getById(10);
+
+        assertEquals("\"" + blockchain.getBlockByIndex(2).getHash() + "\"", finalBlock.getHeaders().getETag());
+        assertTrue(finalBlock.getHeaders().getCacheControl().contains("immutable"));
+        assertEquals("no-cache", tip.getHeaders().getCacheControl());
+        assertEquals(MediaType.APPLICATION_JSON, tip.getHeaders().getContentType());
     }
 
     @Test
@@ -67,7 +205,7 @@ class BlockchainControllerIntegrationTest {
     void getByIdReturnsCorrectBlock() {
         controller.create(new TicketRequest("Test", "EVT-001", "Stromae", "ACHETE", "Alice"));
 
-        BlockResponse response = controller.getById(1);
+        BlockResponse response = getById(1);
 
         assertEquals("Test", response.data());
         assertEquals("EVT-001", response.eventId());
@@ -106,6 +244,188 @@ class BlockchainControllerIntegrationTest {
         assertEquals("Opération ticket", response.data());
     }
 
+    // --- Blocs multi-tickets ---
+
+    @Test
+    @DisplayName("POST /api/blocks/tickets crée un seul bloc pour tout le lot")
+    void createTicketBatchCreatesSingleBlock() {
+        BlockResponse response = controller.createTicketBatch(new TicketBatchRequest("Mise en vente", List.of(
+                new TicketRequest("Achat", "EVT-001", "Stromae", "ACHETE", "Alice"),
+                new TicketRequest("Achat", "EVT-002", "Stromae", "ACHETE", "Bob"),
+                new TicketRequest("Achat", "EVT-003", "Stromae", "ACHETE", "Charlie"))));
+
+        assertEquals(2, blockchain.size());
+        assertEquals(3, response.transactions().size());
+        assertNotNull(response.merkleRoot());
+        assertEquals("Bob", response.transactions().get(1).owner());
+        assertTrue(blockchain.isChainValid());
+    }
+
+    @Test
+    @DisplayName("POST /api/blocks/tickets refuse un lot vide")
+    void createTicketBatchRejectsEmptyBatch() {
+        TicketBatchRequest request = new TicketBatchRequest("Vide", null);
+        assertThrows(EmptyTicketBatchException.class, () -> controller.createTicketBatch(request));
+    }
+
+    // --- POST /api/blocks/batch ---
+
+    @Test
+    @DisplayName("POST /api/blocks/batch crée un bloc chaîné par opération, dans l'ordre du lot")
+    void createBatchAppendsOneBlockPerOperation() {
+        List<BlockResponse> created = controller.createBatch(List.of(
+                new TicketRequest("Achat", "EVT-001", "Stromae", "ACHETE", "Alice"),
+                new TicketRequest("Note", null, null, null, null),
+                new TicketRequest("Revente", "EVT-001", "Stromae", "REVENDU", "Bob")));
+
+        assertEquals(3, created.size());
+        assertEquals(4, blockchain.size());
+        assertEquals(List.of(1, 2, 3), created.stream().map(BlockResponse::index).toList());
+        assertEquals(created.get(0).hash(), created.get(1).previousHash());
+        assertNull(blockchain.getBlockByIndex(2).getEventId(), "Une opération sans champ métier donne un bloc simple");
+        assertEquals("Bob", created.get(2).owner());
+        assertTrue(blockchain.isChainValid());
+    }
+
+    @Test
+    @DisplayName("POST /api/blocks/batch en NDJSON lit une opération par ligne")
+    void createBatchFromNdjsonStream() {
+        String body = """
+                {"data":"Achat","eventId":"EVT-1","artist":"PNL","status":"ACHETE","owner":"Alice"}
+                {"data":"Achat","eventId":"EVT-2","artist":"PNL","status":"ACHETE","owner":"Bob"}
+                """;
+
+        List<BlockResponse> created = controller.createBatchFromStream(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, created.size());
+        assertEquals("EVT-2", created.get(1).eventId());
+        assertTrue(blockchain.isChainValid());
+    }
+
+    @Test
+    @DisplayName("POST /api/blocks/batch refuse un lot vide, trop grand ou une ligne illisible")
+    void createBatchRejectsInvalidBatches() {
+        assertThrows(EmptyTicketBatchException.class, () -> controller.createBatch(List.of()));
+        List<TicketRequest> tooMany = Collections.nCopies(BlockchainController.MAX_BATCH_SIZE + 1,
+                new TicketRequest("x", null, null, null, null));
+        assertThrows(InvalidTicketBatchException.class, () -> controller.createBatch(tooMany));
+        ByteArrayInputStream malformed = new ByteArrayInputStream(
+                "{\"data\":\"ok\"}\n{pas du json\n".getBytes(StandardCharsets.UTF_8));
+        assertThrows(InvalidTicketBatchException.class, () -> controller.createBatchFromStream(malformed));
+        assertEquals(1, blockchain.size(), "Un lot refusé n'ajoute aucun bloc");
+    }
+
+    @Test
+    @DisplayName("GET /api/blocks/{index}/tickets/{position}/proof retourne une preuve liée à la racine")
+    void getInclusionProofReturnsProof() {
+        controller.createTicketBatch(new TicketBatchRequest("Lot", List.of(
+                new TicketRequest("A", "EVT-1", "X", "ACHETE", "Alice"),
+                new TicketRequest("B", "EVT-2", "X", "ACHETE", "Bob"),
+                new TicketRequest("C", "EVT-3", "X", "ACHETE", "Charlie"),
+                new TicketRequest("D", "EVT-4", "X", "ACHETE", "Diane"))));
+
+        MerkleProofResponse proof = controller.getInclusionProof(1, 2);
+
+        assertEquals(1, proof.blockIndex());
+        assertEquals(2, proof.position());
+        assertEquals(blockchain.getBlockByIndex(1).getMerkleRoot(), proof.merkleRoot());
+        assertEquals(2, proof.steps().size());
+        assertEquals("RIGHT", proof.steps().getFirst().side());
+    }
+
+    @Test
+    @DisplayName("GET proof lève TransactionNotFoundException pour une position inexistante")
+    void getInclusionProofThrowsForUnknownPosition() {
+        assertThrows(TransactionNotFoundException.class, () -> controller.getInclusionProof(0, 0));
+    }
+
+    // --- GET /api/blocks/by-hash/{hash} ---
+
+    @Test
+    @DisplayName("GET /api/blocks/by-hash/{hash} retourne le bloc portant ce hash")
+    void getByHashReturnsBlock() {
+        BlockResponse created = controller.create(new TicketRequest("Ticket", "EVT-001", "PNL", "ACHETE", "Alice"));
+
+        BlockResponse found = controller.getByHash(created.hash());
+
+        assertEquals(created.index(), found.index());
+        assertEquals("EVT-001", found.eventId());
+        assertEquals(created.index(), controller.getByHash(created.hash().toUpperCase()).index());
+    }
+
+    @Test
+    @DisplayName("GET /api/blocks/by-hash/{hash} lève BlockNotFoundException pour un hash inconnu ou falsifié")
+    void getByHashThrowsForUnknownOrTamperedHash() {
+        BlockResponse created = controller.create(new TicketRequest("Bloc 1", null, null, null, null));
+        blockchain.getChain().get(1).setHash("f".repeat(64));
+
+        assertThrows(BlockNotFoundException.class, () -> controller.getByHash("0".repeat(64)));
+        assertThrows(BlockNotFoundException.class, () -> controller.getByHash(created.hash()));
+        assertThrows(BlockNotFoundException.class, () -> controller.getByHash("xyz"));
+    }
+
+    // --- GET /api/blocks/verify ---
+
+    @Test
+    @DisplayName("GET /api/blocks/verify sans paramètre vérifie toute la chaîne")
+    void verifyWholeChain() {
+        controller.create(new TicketRequest("Bloc 1", null, null, null, null));
+
+        ChainVerificationResponse response = controller.verify(null, null);
+
+        assertTrue(response.valid());
+        assertEquals(0, response.from());
+        assertEquals(2, response.to());
+        assertNull(response.firstInvalidIndex());
+    }
+
+    @Test
+    @DisplayName("GET /api/blocks/verify sur une plage signale le bloc corrompu")
+    void verifyRangeReportsCorruptedBlock() {
+        controller.create(new TicketRequest("Bloc 1", null, null, null, null));
+        controller.create(new TicketRequest("Bloc 2", null, null, null, null));
+        blockchain.getChain().get(2).setData("Falsifié");
+
+        assertTrue(controller.verify(0, 2).valid(), "La plage [0, 2) n'inclut pas le bloc falsifié");
+
+        ChainVerificationResponse response = controller.verify(1, 3);
+        assertFalse(response.valid());
+        assertEquals(2, response.firstInvalidIndex());
+        assertEquals("HASH_MISMATCH", response.failure());
+    }
+
+    @Test
+    @DisplayName("GET /api/blocks/verify lève InvalidBlockRangeException si la plage sort de la chaîne")
+    void verifyRejectsOutOfBoundsRange() {
+        assertThrows(InvalidBlockRangeException.class, () -> controller.verify(0, 50));
+    }
+
+    // --- GET /api/blocks/validate ---
+
+    @Test
+    @DisplayName("GET /api/blocks/validate retourne une chaîne valide avec sa taille")
+    void validateReturnsValidChain() {
+        controller.create(new TicketRequest("Bloc 1", null, null, null, null));
+
+        ValidationResponse response = controller.validate();
+
+        assertTrue(response.valid());
+        assertEquals(2, response.size());
+        assertEquals("La chaîne est valide", response.message());
+    }
+
+    @Test
+    @DisplayName("GET /api/blocks/validate détecte une falsification après une première validation")
+    void validateDetectsTamperingAfterFirstCall() {
+        controller.create(new TicketRequest("Bloc 1", null, null, null, null));
+        assertTrue(controller.validate().valid());
+
+        blockchain.getChain().get(1).setData("Falsifié");
+
+        assertFalse(controller.validate().valid());
+    }
+
     // --- Workflow complet ---
 
     @Test
@@ -116,7 +436,7 @@ class BlockchainControllerIntegrationTest {
 
         assertEquals(3, controller.getAll().size());
 
-        BlockResponse block = controller.getById(2);
+        BlockResponse block = getById(2);
         assertEquals("EVT-002", block.eventId());
         assertEquals("PNL", block.artist());
     }
@@ -1,18 +1,35 @@
 package com.example.blockchain;
 
+import com.example.blockchain.consensus.ConsensusMechanism;
 import com.example.blockchain.consensus.ProofOfWork;
 import com.example.blockchain.consensus.ProofOfStake;
 import com.example.blockchain.consensus.PBFT;
+import com.example.blockchain.storage.BlockLog;
+import com.example.blockchain.storage.FsyncPolicy;
 import com.example.blockchain.consensus.ProofOfAuthority;
+import com.example.blockchain.crypto.AuthorityKeys;
+import com.example.blockchain.verification.VerificationResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -157,6 +174,62 @@ class BlockchainTest {
         }
     }
 
+    @Nested
+    @DisplayName("Vérification incrémentale (filigrane)")
+    class IncrementalValidationTests {
+
+        @Test
+        @DisplayName("Le filigrane avance jusqu'au bout de la chaîne après validation")
+        void watermarkAdvancesAfterValidation() {
+            blockchain.addBlock("Bloc 1");
+            blockchain.addBlock("Bloc 2");
+
+            assertTrue(blockchain.isChainValid());
+            assertEquals(3, blockchain.getVerifiedHeight());
+        }
+
+        @Test
+        @DisplayName("Seuls les nouveaux blocs sont revérifiés")
+        void onlyNewBlocksAreVerified() {
+            blockchain.addBlock("Bloc 1");
+            assertTrue(blockchain.isChainValid());
+
+            blockchain.addBlock("Bloc 2");
+            blockchain.addBlock("Bloc 3");
+
+            var result = blockchain.validateIncrementally();
+            assertTrue(result.valid());
+            assertEquals(2, result.from());
+            assertEquals(4, result.to());
+        }
+
+        @Test
+        @DisplayName("Une falsification via un setter redescend le filigrane")
+        void tamperingLowersWatermark() {
+            blockchain.addBlock("Bloc 1");
+            blockchain.addBlock("Bloc 2");
+            assertTrue(blockchain.isChainValid());
+
+            blockchain.getChain().get(1).setData("Falsifié");
+
+            assertEquals(1, blockchain.getVerifiedHeight());
+            assertFalse(blockchain.isChainValid());
+            assertEquals(1, blockchain.getVerifiedHeight(), "Le filigrane s'arrête au bloc corrompu");
+        }
+
+        @Test
+        @DisplayName("Falsifier un bloc déjà vérifié est détecté au prochain appel")
+        void tamperingAfterValidationIsDetected() {
+            blockchain.addBlock("Bloc 1");
+            blockchain.addBlock("Bloc 2");
+            assertTrue(blockchain.isChainValid());
+
+            blockchain.getChain().get(1).setHash("hash_falsifie");
+
+            assertFalse(blockchain.isChainValid());
+        }
+    }
+
     @Nested
     @DisplayName("Export JSON")
     class JsonExportTests {
@@ -187,6 +260,27 @@ class BlockchainTest {
             assertTrue(json.contains("Alice"));
         }
 
+        @Test
+        @DisplayName("exportTo écrit un tableau JSON d'un élément par bloc sans fermer le flux")
+        void exportToStreamsJsonArray() {
+            blockchain.addBlock("Bloc 1");
+            blockchain.addBlock("Bloc 2");
+            ByteArrayOutputStream out = new ByteArrayOutputStream() {
+                @Override
+                public void close() {
+                    fail("Le flux de l'appelant ne doit pas être fermé");
+                }
+            };
+
+            blockchain.exportTo(out);
+
+            String json = out.toString(StandardCharsets.UTF_8).strip();
+            assertTrue(json.startsWith("["));
+            assertTrue(json.endsWith("]"));
+            assertEquals(3, json.split("\"previousHash\"").length - 1);
+            assertEquals(json, blockchain.exportAsJson().strip());
+        }
+
         @Test
         @DisplayName("saveToFile crée un fichier JSON sur disque")
         void saveToFileCreatesJsonFile() throws IOException {
@@ -300,6 +394,127 @@ class BlockchainTest {
             blockchain.addBlock("Bloc PoA");
 
             assertTrue(blockchain.isChainValid());
+            assertEquals("Autorité-1", blockchain.getLastBlock().getSigner());
+            assertTrue(blockchain.getAuthorityKeys().isKnown("Autorité-1"));
+        }
+
+        @Test
+        @DisplayName("Un bloc en cours de consensus lors du passage à PoA est re-signé, pas publié tel quel")
+        void blockInFlightDuringSwitchToPoAIsSigned() {
+            ProofOfAuthority poa = new ProofOfAuthority();
+            poa.addAuthority("Autorité-1");
+            blockchain.setConsensusMechanism(new ConsensusMechanism() {
+                @Override
+                public void validate(Block block) {
+                    // Bascule pendant la préparation, sans que le sommet ne bouge
+                    blockchain.setConsensusMechanism(poa);
+                }
+
+                @Override
+                public String getName() {
+                    return "Sans signature";
+                }
+            });
+
+            Block block = blockchain.addBlock("Bloc en vol");
+
+            assertEquals("Autorité-1", block.getSigner());
+            assertEquals(1, blockchain.getAppendMetrics().getConflicts());
+            assertTrue(blockchain.isChainValid());
+        }
+
+        @Test
+        @DisplayName("Une signature PoA falsifiée invalide la chaîne")
+        void forgedAuthoritySignatureInvalidatesChain() {
+            ProofOfAuthority poa = new ProofOfAuthority();
+            poa.addAuthority("Autorité-1");
+            poa.addAuthority("Autorité-2");
+            blockchain.setConsensusMechanism(poa);
+            for (int i = 0; i < 4; i++) {
+                blockchain.addBlock("Bloc PoA " + i);
+            }
+            assertTrue(blockchain.isChainValid());
+
+            Block block = blockchain.getBlockByIndex(2);
+            byte[] forged = block.signatureBytes().clone();
+            forged[0] ^= 1;
+            block.sign(block.getSigner(), forged);
+
+            VerificationResult result = blockchain.validateIncrementally();
+            assertFalse(result.valid());
+            assertEquals(2, result.firstInvalidIndex());
+            assertEquals(VerificationResult.Failure.INVALID_SIGNATURE, result.failure());
+        }
+
+        @Test
+        @DisplayName("Un bloc signé par une autorité inconnue invalide la chaîne")
+        void unknownAuthorityInvalidatesChain() {
+            ProofOfAuthority registered = new ProofOfAuthority();
+            registered.addAuthority("Autorité-1");
+            blockchain.setConsensusMechanism(registered);
+            blockchain.addBlock("Bloc PoA");
+
+            ProofOfAuthority rogue = new ProofOfAuthority();
+            rogue.addAuthority("Intrus");
+            Block block = blockchain.getBlockByIndex(1);
+            rogue.validate(block);
+
+            assertFalse(blockchain.isChainValid());
+        }
+
+        @Test
+        @DisplayName("Retirer la signature d'un bloc PoA invalide la chaîne")
+        void strippedSealInvalidatesChain() {
+            ProofOfAuthority poa = new ProofOfAuthority();
+            poa.addAuthority("Autorité-1");
+            blockchain.setConsensusMechanism(poa);
+            blockchain.addBlock("Bloc PoA");
+            assertTrue(blockchain.isChainValid());
+
+            blockchain.getBlockByIndex(1).sign(null, null);
+
+            VerificationResult result = blockchain.validateIncrementally();
+            assertEquals(VerificationResult.Failure.INVALID_SIGNATURE, result.failure());
+            assertEquals(1, result.firstInvalidIndex());
+        }
+
+        @Test
+        @DisplayName("Un bloc signé par une autre autorité que celle de son tour invalide la chaîne")
+        void wrongAuthorityInvalidatesChain() {
+            KeyPair second = AuthorityKeys.generate();
+            ProofOfAuthority poa = new ProofOfAuthority();
+            poa.addAuthority("Autorité-1");
+            poa.addAuthority("Autorité-2", second);
+            blockchain.setConsensusMechanism(poa);
+            blockchain.addBlock("Bloc PoA 1");
+            blockchain.addBlock("Bloc PoA 2");
+            assertTrue(blockchain.isChainValid());
+
+            // Le bloc #2 revient à Autorité-1 ; Autorité-2 le signe avec une signature valide
+            Block block = blockchain.getBlockByIndex(2);
+            assertEquals("Autorité-1", block.getSigner());
+            block.sign("Autorité-2", AuthorityKeys.sign(second.getPrivate(), block));
+
+            VerificationResult result = blockchain.validateIncrementally();
+            assertEquals(VerificationResult.Failure.INVALID_SIGNATURE, result.failure());
+            assertEquals(2, result.firstInvalidIndex());
+        }
+
+        @Test
+        @DisplayName("Les blocs non signés avant et après une période PoA restent valides")
+        void unsignedBlocksOutsidePoAPeriodAreValid() {
+            blockchain.addBlock("Avant PoA");
+            ProofOfAuthority poa = new ProofOfAuthority();
+            poa.addAuthority("Autorité-1");
+            blockchain.setConsensusMechanism(poa);
+            blockchain.addBlock("Bloc PoA");
+            blockchain.setConsensusMechanism(null);
+            blockchain.addBlock("Après PoA");
+
+            assertTrue(blockchain.isChainValid());
+            assertNull(blockchain.getLastBlock().getSigner());
+            assertTrue(blockchain.getAuthorityKeys().requiresSignature(2));
+            assertFalse(blockchain.getAuthorityKeys().requiresSignature(3));
         }
 
         @Test
@@ -356,4 +571,244 @@ class BlockchainTest {
             }
         }
     }
+
+    @Nested
+    @DisplayName("Ajouts concurrents")
+    class ConcurrentAppendTests {
+
+        @Test
+        @DisplayName("Des ajouts minés en parallèle produisent une chaîne valide et complète")
+        void concurrentAppendsKeepChainValid() throws InterruptedException {
+            blockchain.setConsensusMechanism(new ProofOfWork(2));
+            int threads = 8;
+            int blocksPerThread = 10;
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < blocksPerThread; i++) {
+                        blockchain.addBlock("Thread " + thread + " bloc " + i);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+            assertEquals(1 + threads * blocksPerThread, blockchain.size());
+            assertTrue(blockchain.isChainValid());
+            for (int i = 0; i < blockchain.size(); i++) {
+                assertEquals(i, blockchain.getBlockByIndex(i).getIndex());
+            }
+            assertEquals(threads * blocksPerThread, blockchain.getAppendMetrics().getAppended());
+        }
+
+        @Test
+        @DisplayName("Un bloc miné contre un sommet obsolète est re-miné et compté comme conflit")
+        void staleTipIsRetried() {
+            Block first = blockchain.addBlock("Premier");
+            blockchain.setConsensusMechanism(new ConsensusMechanism() {
+                @Override
+                public void validate(Block block) {
+                    // Un autre ajout passe pendant le premier minage
+                    blockchain.setConsensusMechanism(null);
+                    blockchain.addBlock("Concurrent");
+                }
+
+                @Override
+                public String getName() {
+                    return "Concurrent";
+                }
+            });
+
+            Block retried = blockchain.addBlock("Retardataire");
+
+            assertEquals(3, retried.getIndex());
+            assertEquals(blockchain.getBlockByIndex(2).getHash(), retried.getPreviousHash());
+            assertNotEquals(first.getHash(), retried.getPreviousHash());
+            assertEquals(1, blockchain.getAppendMetrics().getConflicts());
+            assertEquals(1, blockchain.getAppendMetrics().getMaxRetries());
+            assertTrue(blockchain.isChainValid());
+        }
+
+        @Test
+        @DisplayName("Un lot miné en PoW est publié d'un seul tenant, chaîné et valide")
+        void batchIsMinedAndPublishedTogether() {
+            blockchain.setConsensusMechanism(new ProofOfWork(2));
+
+            List<Block> batch = blockchain.addBlocks(List.of(
+                    new TicketTransaction("Achat", "EVT-1", "PNL", "ACHETE", "Alice"),
+                    new TicketTransaction("Achat", "EVT-2", "PNL", "ACHETE", "Bob")));
+
+            assertEquals(2, batch.size());
+            assertSame(blockchain.getLastBlock(), batch.get(1));
+            assertTrue(batch.get(0).getHash().startsWith("00"));
+            assertEquals(batch.get(0).getHash(), batch.get(1).getPreviousHash());
+            assertEquals(2, blockchain.getAppendMetrics().getAppended());
+            assertTrue(blockchain.isChainValid());
+        }
+
+        @Test
+        @DisplayName("Un lot PBFT est chaîné puis validé d'un seul envoi")
+        void batchIsValidatedTogetherByPbft() {
+            try (PBFT pbft = new PBFT()) {
+                for (int i = 1; i <= 4; i++) {
+                    pbft.addNode("N" + i);
+                }
+                blockchain.setConsensusMechanism(pbft);
+
+                List<Block> batch = blockchain.addBlocks(List.of(
+                        new TicketTransaction("Achat", "EVT-1", "PNL", "ACHETE", "Alice"),
+                        new TicketTransaction("Achat", "EVT-2", "PNL", "ACHETE", "Bob"),
+                        new TicketTransaction("Achat", "EVT-3", "PNL", "ACHETE", "Carol")));
+
+                assertEquals(3, batch.size());
+                assertEquals(batch.get(0).getHash(), batch.get(1).getPreviousHash());
+                assertEquals(batch.get(2).getHash(), pbft.getLastCommit().digest());
+                assertTrue(blockchain.isChainValid());
+            }
+        }
+
+        @Test
+        @DisplayName("Un lot préparé contre un sommet obsolète est entièrement repréparé")
+        void staleBatchIsRebuilt() {
+            blockchain.setConsensusMechanism(new ConsensusMechanism() {
+                private boolean appended;
+
+                @Override
+                public void validate(Block block) {
+                    // Un seul ajout concurrent, pendant la première préparation du lot
+                    if (!appended) {
+                        appended = true;
+                        blockchain.addBlock("Concurrent");
+                    }
+                }
+
+                @Override
+                public String getName() {
+                    return "Concurrent";
+                }
+            });
+
+            List<Block> batch = blockchain.addBlocks(List.of(
+                    new TicketTransaction("A", "", "", "", ""), new TicketTransaction("B", "", "", "", "")));
+
+            assertEquals(List.of(2, 3), batch.stream().map(Block::getIndex).toList());
+            assertEquals(1, blockchain.getAppendMetrics().getConflicts());
+            assertTrue(blockchain.isChainValid());
+        }
+
+        @Test
+        @DisplayName("Un lot sans cesse devancé finit par être préparé sous le verrou")
+        void starvedBatchIsPreparedUnderLock() throws Exception {
+            ExecutorService rival = Executors.newSingleThreadExecutor();
+            blockchain.setConsensusMechanism(new ConsensusMechanism() {
+                @Override
+                public void validate(Block block) {
+                    if (block.getData().equals("Concurrent")) {
+                        return;
+                    }
+                    // Un ajout concurrent à chaque préparation ; sous le verrou, il attend la fin du lot
+                    Future<?> append = rival.submit(() -> blockchain.addBlock("Concurrent"));
+                    try {
+                        append.get(200, TimeUnit.MILLISECONDS);
+                    } catch (TimeoutException e) {
+                        // Verrou d'ajout tenu par le lot
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+
+                @Override
+                public String getName() {
+                    return "Concurrent";
+                }
+            });
+
+            List<Block> batch = blockchain.addBlocks(List.of(new TicketTransaction("Lot", "", "", "", "")));
+            rival.shutdown();
+            assertTrue(rival.awaitTermination(5, TimeUnit.SECONDS));
+
+            assertEquals(Blockchain.MAX_OPTIMISTIC_BATCH_ATTEMPTS + 1, batch.getFirst().getIndex());
+            // Le dernier ajout concurrent, devancé par le lot, compte aussi un conflit
+            assertEquals(Blockchain.MAX_OPTIMISTIC_BATCH_ATTEMPTS + 1, blockchain.getAppendMetrics().getConflicts());
+            assertEquals("Concurrent", blockchain.getLastBlock().getData());
+            assertTrue(blockchain.isChainValid());
+        }
+
+        @Test
+        @DisplayName("Une opération sans champ métier donne un bloc simple, comme dans un lot")
+        void operationWithoutTicketDataIsSimpleBlock() {
+            Block simple = blockchain.addBlock(new TicketTransaction("Note", "", "", "", ""));
+            Block ticket = blockchain.addBlock(new TicketTransaction("Achat", "EVT-1", "", "", ""));
+
+            assertNull(simple.getEventId());
+            assertEquals("EVT-1", ticket.getEventId());
+        }
+
+        @Test
+        @DisplayName("La vue retournée par getChain est figée à sa taille")
+        void chainSnapshotIsStable() {
+            List<Block> snapshot = blockchain.getChain();
+            blockchain.addBlock("Après l'instantané");
+
+            assertEquals(1, snapshot.size());
+            assertEquals(2, blockchain.getChain().size());
+            assertThrows(UnsupportedOperationException.class, () -> snapshot.add(blockchain.getLastBlock()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Persistance")
+    class PersistenceTests {
+
+        @TempDir
+        Path directory;
+
+        private BlockLog openLog() {
+            return BlockLog.open(directory, 1 << 16, FsyncPolicy.ALWAYS, Duration.ZERO);
+        }
+
+        @Test
+        @DisplayName("Une chaîne restaurée depuis le journal est identique et valide")
+        void chainIsRestoredFromLog() {
+            try (BlockLog log = openLog()) {
+                blockchain.attachLog(log);
+                blockchain.addBlock("Achat", "EVT-001", "Artiste", "ACHETE", "Alice");
+                blockchain.addBlock("Revente", "EVT-001", "Artiste", "REVENDU", "Bob");
+            }
+
+            Blockchain restored = new Blockchain();
+            try (BlockLog log = openLog()) {
+                restored.attachLog(log);
+                assertEquals(blockchain.size(), restored.size());
+                for (int i = 0; i < blockchain.size(); i++) {
+                    assertEquals(blockchain.getBlockByIndex(i).getHash(), restored.getBlockByIndex(i).getHash());
+                }
+                assertTrue(restored.isChainValid());
+
+                restored.addBlock("Utilisation", "EVT-001", "Artiste", "UTILISE", "Bob");
+                assertEquals(blockchain.getLastBlock().getHash(), restored.getBlockByIndex(2).getHash());
+            }
+        }
+
+        @Test
+        @DisplayName("Un bloc falsifié dans le journal est détecté après restauration")
+        void restoredChainIsVerified() {
+            try (BlockLog log = openLog()) {
+                blockchain.addBlock("Bloc 1");
+                blockchain.getChain().get(1).setData("Falsifié");
+                blockchain.attachLog(log);
+            }
+
+            Blockchain restored = new Blockchain();
+            try (BlockLog log = openLog()) {
+                restored.attachLog(log);
+                assertFalse(restored.isChainValid());
+            }
+        }
+    }
 }
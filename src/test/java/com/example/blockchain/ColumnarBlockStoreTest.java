@@ -0,0 +1,169 @@
+package com.example.blockchain;
+
+import com.example.blockchain.crypto.AuthorityKeys;
+import com.example.blockchain.verification.BlockCheck;
+import com.example.blockchain.verification.VerificationResult;
+import com.example.blockchain.verification.VerificationResult.Failure;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - ColumnarBlockStore")
+class ColumnarBlockStoreTest {
+
+    private static ColumnarBlockStore storeWith(Block... blocks) {
+        ColumnarBlockStore store = new ColumnarBlockStore();
+        for (Block block : blocks) {
+            store.add(block);
+        }
+        return store;
+    }
+
+    @Test
+    @DisplayName("Un bloc relu des colonnes est identique au bloc ajouté")
+    void blocksRoundTripThroughColumns() {
+        Block genesis = new Block(0, "Genèse", "0");
+        Block ticket = new Block(1, "Achat été", genesis.getHash(), "EVT-1", "Angèle", "VENDU", "alice");
+        Block batch = new Block(2, "Lot", ticket.getHash(), List.of(
+                new TicketTransaction("Achat", "EVT-2", "Stromae", "VENDU", "bob"),
+                new TicketTransaction("Entrée", "EVT-1", "Angèle", "UTILISÉ", "alice")));
+
+        ColumnarBlockStore store = storeWith(genesis, ticket, batch);
+
+        for (Block expected : List.of(genesis, ticket, batch)) {
+            Block actual = store.get(expected.getIndex());
+            assertEquals(expected.getIndex(), actual.getIndex());
+            assertEquals(expected.getTimestamp(), actual.getTimestamp());
+            assertEquals(expected.getData(), actual.getData());
+            assertEquals(expected.getPreviousHash(), actual.getPreviousHash());
+            assertEquals(expected.getHash(), actual.getHash());
+            assertEquals(expected.getEventId(), actual.getEventId());
+            assertEquals(expected.getArtist(), actual.getArtist());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getOwner(), actual.getOwner());
+            assertEquals(expected.getNonce(), actual.getNonce());
+            assertEquals(expected.getTransactions(), actual.getTransactions());
+            assertEquals(expected.getMerkleRoot(), actual.getMerkleRoot());
+        }
+        // Le sommet est une copie comme tout bloc lu : le modifier n'altère pas la chaîne
+        Block last = store.last();
+        assertNotSame(batch, last);
+        assertEquals(batch.getHash(), last.getHash());
+        last.setHash("f".repeat(64));
+        assertEquals(batch.getHash(), store.last().getHash());
+        assertEquals(3, store.snapshot().size());
+    }
+
+    @Test
+    @DisplayName("Les signatures d'autorité sont conservées et vérifiées depuis les colonnes")
+    void signaturesRoundTripThroughColumns() {
+        KeyPair pair = AuthorityKeys.generate();
+        AuthorityKeys keys = new AuthorityKeys();
+        keys.register("Autorité-1", pair.getPublic());
+        Block genesis = new Block(0, "Genèse", "0");
+        Block signed = new Block(1, "Lot", genesis.getHash(), List.of(
+                new TicketTransaction("Achat", "EVT-2", "Stromae", "VENDU", "bob")));
+        signed.sign("Autorité-1", AuthorityKeys.sign(pair.getPrivate(), signed));
+        Block forged = new Block(2, "Bloc 2", signed.getHash());
+        forged.sign("Autorité-1", new byte[AuthorityKeys.SIGNATURE_LENGTH]);
+        Block unsigned = new Block(3, "Bloc 3", forged.getHash());
+
+        ColumnarBlockStore store = storeWith(genesis, signed, forged, unsigned);
+        BlockCheck check = store.signatureCheck(keys);
+
+        assertEquals("Autorité-1", store.get(1).getSigner());
+        assertEquals(signed.getSignature(), store.get(1).getSignature());
+        assertEquals(signed.getTransactions(), store.get(1).getTransactions());
+        BlockStore heap = BlockStore.Type.HEAP.create();
+        List.of(genesis, signed, forged, unsigned).forEach(heap::add);
+        assertEquals(heap.countByStatus(4), store.countByStatus(4));
+        assertNull(check.check(1));
+        assertEquals(Failure.INVALID_SIGNATURE, check.check(2));
+        assertNull(check.check(3));
+
+        // Une fois Proof of Authority activé, une ligne non signée est refusée
+        keys.schedule(1, List.of("Autorité-1"));
+        assertNull(check.check(1));
+        assertEquals(Failure.INVALID_SIGNATURE, check.check(3));
+    }
+
+    @Test
+    @DisplayName("La vérification sur les colonnes accepte une chaîne intègre")
+    void integrityCheckAcceptsValidChain() {
+        Block genesis = new Block(0, "Genèse", "0");
+        Block first = new Block(1, "Bloc 1", genesis.getHash());
+        Block second = new Block(2, "Bloc 2", first.getHash());
+
+        BlockCheck check = storeWith(genesis, first, second).integrityCheck();
+
+        assertNull(check.check(1));
+        assertNull(check.check(2));
+    }
+
+    @Test
+    @DisplayName("Un hash stocké erroné est détecté sans reconstruire de bloc")
+    void integrityCheckDetectsHashMismatch() {
+        Block genesis = new Block(0, "Genèse", "0");
+        Block forged = new Block(1, "Bloc 1", genesis.getHash());
+        forged.setHash("f".repeat(64));
+        Block textual = new Block(2, "Bloc 2", forged.getHash());
+        textual.setHash("hash_falsifie");
+
+        BlockCheck check = storeWith(genesis, forged, textual).integrityCheck();
+
+        assertEquals(Failure.HASH_MISMATCH, check.check(1));
+        assertEquals(Failure.HASH_MISMATCH, check.check(2));
+        assertEquals("hash_falsifie", storeWith(genesis, forged, textual).get(2).getHash());
+    }
+
+    @Test
+    @DisplayName("Un chaînage rompu est détecté")
+    void integrityCheckDetectsBrokenLink() {
+        Block genesis = new Block(0, "Genèse", "0");
+        Block orphan = new Block(1, "Bloc 1", "a".repeat(64));
+        Block textual = new Block(2, "Bloc 2", "faux_hash");
+
+        BlockCheck check = storeWith(genesis, orphan, textual).integrityCheck();
+
+        assertEquals(Failure.BROKEN_LINK, check.check(1));
+        assertEquals(Failure.BROKEN_LINK, check.check(2));
+    }
+
+    @Test
+    @DisplayName("Le décompte par statut sur les colonnes égale celui du stockage sur le tas")
+    void countByStatusMatchesHeapStore() {
+        Blockchain heap = new Blockchain(BlockStore.Type.HEAP);
+        Blockchain columnar = new Blockchain(BlockStore.Type.COLUMNAR);
+        for (Blockchain blockchain : List.of(heap, columnar)) {
+            for (int i = 0; i < 50; i++) {
+                blockchain.addBlock("Op " + i, "EVT-" + (i % 7), "Artiste", i % 3 == 0 ? "VENDU" : "CRÉÉ", "owner");
+            }
+            blockchain.addBlock("Lot", List.of(new TicketTransaction("Entrée", "EVT-1", "Artiste", "UTILISÉ", "o")));
+        }
+
+        assertEquals(heap.countByStatus(), columnar.countByStatus());
+        assertEquals(1L, columnar.countByStatus().get("UTILISÉ"));
+    }
+
+    @Test
+    @DisplayName("Une blockchain en colonnes sert les lectures et se vérifie au-delà d'un tronçon")
+    void columnarBlockchainServesReadsAndValidates() {
+        Blockchain blockchain = new Blockchain(BlockStore.Type.COLUMNAR);
+        for (int i = 1; i <= 20_000; i++) {
+            blockchain.addBlock("Opération " + i, "EVT-" + i, "Artiste", "VENDU", "owner-" + i);
+        }
+
+        VerificationResult result = blockchain.validateIncrementally();
+
+        assertTrue(result.valid());
+        assertEquals(20_001, blockchain.size());
+        assertEquals("EVT-17000", blockchain.getBlockByIndex(17_000).getEventId());
+        assertEquals(blockchain.getBlockByIndex(16_384).getHash(),
+                blockchain.getBlockByIndex(16_385).getPreviousHash());
+        assertSame(BlockStore.Type.COLUMNAR, blockchain.getStoreType());
+    }
+}
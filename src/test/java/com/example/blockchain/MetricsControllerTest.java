@@ -0,0 +1,86 @@
+package com.example.blockchain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import com.example.blockchain.dto.AppendMetricsResponse;
+import com.example.blockchain.dto.MempoolMetricsResponse;
+import com.example.blockchain.dto.StatusCountsResponse;
+import com.example.blockchain.mempool.Mempool;
+import com.example.blockchain.mempool.MempoolProperties;
+import com.example.blockchain.mempool.Submission;
+
+@DisplayName("Tests unitaires - MetricsController")
+class MetricsControllerTest {
+
+    private Mempool mempool;
+
+    private Mempool mempool(Blockchain blockchain) {
+        mempool = Mempool.start(blockchain, new MempoolProperties(100, 256, 100, Duration.ofSeconds(5)));
+        return mempool;
+    }
+
+    @AfterEach
+    void tearDown() {
+        mempool.close();
+    }
+
+    @Test
+    @DisplayName("GET /api/metrics/append compte les ajouts sans conflit")
+    void appendMetricsCountsAppends() {
+        Blockchain blockchain = new Blockchain();
+        MetricsController controller = new MetricsController(blockchain, mempool(blockchain));
+        blockchain.addBlock("Bloc 1");
+        blockchain.addBlock("Bloc 2");
+
+        AppendMetricsResponse response = controller.append();
+
+        assertEquals(2, response.appended());
+        assertEquals(0, response.conflicts());
+        assertEquals(0, response.maxRetries());
+        assertEquals(0.0, response.conflictRate());
+        assertEquals(3, response.height());
+    }
+
+    @Test
+    @DisplayName("GET /api/metrics/statuses compte les opérations par statut")
+    void statusesCountsTicketOperations() {
+        Blockchain blockchain = new Blockchain();
+        MetricsController controller = new MetricsController(blockchain, mempool(blockchain));
+        blockchain.addBlock("Achat", "EVT-1", "Daft Punk", "VENDU", "alice");
+        blockchain.addBlock("Lot", List.of(
+                new TicketTransaction("Achat", "EVT-2", "Daft Punk", "VENDU", "bob"),
+                new TicketTransaction("Entrée", "EVT-1", "Daft Punk", "UTILISÉ", "alice")));
+
+        StatusCountsResponse response = controller.statuses();
+
+        assertEquals(Map.of("VENDU", 2L, "UTILISÉ", 1L), response.statuses());
+        assertEquals(3, response.height());
+        assertEquals("heap", response.store());
+    }
+
+    @Test
+    @DisplayName("GET /api/metrics/mempool expose la file, l'attente et le minage")
+    void mempoolMetricsReportQueueAndMining() {
+        Blockchain blockchain = new Blockchain();
+        MetricsController controller = new MetricsController(blockchain, mempool(blockchain));
+        Submission submission = mempool.submit(new TicketTransaction("Achat", "EVT-1", "Daft Punk", "VENDU", "alice"));
+        submission.getResult().join();
+
+        MempoolMetricsResponse response = controller.mempool();
+
+        assertEquals(0, response.depth());
+        assertEquals(100, response.capacity());
+        assertEquals(1, response.accepted());
+        assertEquals(1, response.mined());
+        assertEquals(1, response.batches());
+        assertTrue(response.averageMiningMillis() > 0);
+    }
+}
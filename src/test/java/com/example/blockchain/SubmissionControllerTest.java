@@ -0,0 +1,71 @@
+package com.example.blockchain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+
+import com.example.blockchain.dto.SubmissionResponse;
+import com.example.blockchain.dto.TicketRequest;
+import com.example.blockchain.exception.SubmissionNotFoundException;
+import com.example.blockchain.mapper.BlockMapper;
+import com.example.blockchain.mempool.Mempool;
+import com.example.blockchain.mempool.MempoolProperties;
+
+@DisplayName("Tests unitaires - SubmissionController")
+class SubmissionControllerTest {
+
+    private Blockchain blockchain;
+    private Mempool mempool;
+    private SubmissionController controller;
+
+    @BeforeEach
+    void setUp() {
+        blockchain = new Blockchain();
+        mempool = Mempool.start(blockchain, new MempoolProperties(100, 256, 100, Duration.ofSeconds(5)));
+        controller = new SubmissionController(mempool, new BlockMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        mempool.close();
+    }
+
+    @Test
+    @DisplayName("POST /api/submissions répond 202 avec l'adresse de la soumission")
+    void submitReturnsAccepted() {
+        ResponseEntity<SubmissionResponse> response =
+                controller.submit(new TicketRequest("Achat", "EVT-1", "Angèle", "VENDU", "alice"));
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("/api/submissions/" + response.getBody().id(), response.getHeaders().getLocation().toString());
+    }
+
+    @Test
+    @DisplayName("GET /api/submissions/{id}?wait= renvoie le bloc miné")
+    void getWithWaitReturnsMinedBlock() {
+        String id = controller.submit(new TicketRequest("Achat", "EVT-1", "Angèle", "VENDU", "alice"))
+                .getBody().id();
+
+        SubmissionResponse response = controller.get(id, 5_000).join();
+
+        assertEquals("MINED", response.status());
+        assertEquals(1, response.block().index());
+        assertEquals("EVT-1", response.block().eventId());
+        assertEquals(blockchain.getLastBlock().getHash(), response.block().hash());
+    }
+
+    @Test
+    @DisplayName("GET /api/submissions/{id} lève SubmissionNotFoundException pour un id inconnu")
+    void getUnknownSubmissionThrows() {
+        assertThrows(SubmissionNotFoundException.class, () -> controller.get("inconnu", 0));
+    }
+}
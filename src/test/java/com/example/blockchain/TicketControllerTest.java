@@ -0,0 +1,90 @@
+package com.example.blockchain;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.blockchain.dto.TicketHistoryResponse;
+import com.example.blockchain.dto.TicketStateResponse;
+import com.example.blockchain.exception.TicketNotFoundException;
+import com.example.blockchain.index.TicketHistoryIndex;
+import com.example.blockchain.index.TicketStateView;
+import com.example.blockchain.mapper.BlockMapper;
+
+@DisplayName("Tests d'intégration - TicketController")
+class TicketControllerTest {
+
+    private Blockchain blockchain;
+    private TicketController controller;
+
+    @BeforeEach
+    void setUp() {
+        blockchain = new Blockchain();
+        controller = new TicketController(blockchain, new TicketHistoryIndex(blockchain),
+                new TicketStateView(blockchain), new BlockMapper());
+    }
+
+    @Test
+    @DisplayName("GET /api/tickets/{eventId}/history retrace le cycle de vie du ticket")
+    void historyFollowsLifecycle() {
+        blockchain.addBlock("Création", "EVT-001", "Stromae", "CREE", "Salle");
+        blockchain.addBlock("Autre ticket", "EVT-002", "Stromae", "CREE", "Salle");
+        blockchain.addBlock("Achat", "EVT-001", "Stromae", "ACHETE", "Alice");
+        blockchain.addBlock("Revente", "EVT-001", "Stromae", "REVENDU", "Bob");
+        blockchain.addBlock("Utilisation", "EVT-001", "Stromae", "UTILISE", "Bob");
+
+        TicketHistoryResponse history = controller.getHistory("EVT-001");
+
+        assertEquals("EVT-001", history.eventId());
+        assertEquals(List.of("CREE", "ACHETE", "REVENDU", "UTILISE"),
+                history.entries().stream().map(TicketHistoryResponse.Entry::status).toList());
+        assertEquals(List.of(1, 3, 4, 5),
+                history.entries().stream().map(TicketHistoryResponse.Entry::blockIndex).toList());
+        assertNull(history.entries().getFirst().position());
+    }
+
+    @Test
+    @DisplayName("L'historique inclut les transactions des blocs multi-tickets avec leur position")
+    void historyIncludesBatchTransactions() {
+        blockchain.addBlock("Lot", List.of(
+                new TicketTransaction("T1", "EVT-010", "PNL", "CREE", "Salle"),
+                new TicketTransaction("T2", "EVT-011", "PNL", "CREE", "Salle")));
+        blockchain.addBlock("Achat", "EVT-011", "PNL", "ACHETE", "Alice");
+
+        TicketHistoryResponse history = controller.getHistory("EVT-011");
+
+        assertEquals(2, history.entries().size());
+        assertEquals(1, history.entries().getFirst().position());
+        assertEquals("ACHETE", history.entries().get(1).status());
+    }
+
+    @Test
+    @DisplayName("GET /api/tickets/{eventId}/history lève TicketNotFoundException pour un ticket inconnu")
+    void unknownTicketThrows() {
+        assertThrows(TicketNotFoundException.class, () -> controller.getHistory("EVT-404"));
+    }
+
+    @Test
+    @DisplayName("GET /api/tickets/{eventId} retourne le propriétaire et le statut courants")
+    void stateReturnsCurrentOwner() {
+        blockchain.addBlock("Achat", "EVT-001", "Orelsan", "ACHETE", "Alice");
+        blockchain.addBlock("Revente", "EVT-001", "Orelsan", "REVENDU", "Bob");
+
+        TicketStateResponse state = controller.getState("EVT-001");
+
+        assertEquals("Bob", state.owner());
+        assertEquals("REVENDU", state.status());
+        assertEquals(2, state.lastBlockHeight());
+    }
+
+    @Test
+    @DisplayName("GET /api/tickets/{eventId} lève TicketNotFoundException pour un ticket inconnu")
+    void unknownStateThrows() {
+        assertThrows(TicketNotFoundException.class, () -> controller.getState("EVT-404"));
+    }
+}
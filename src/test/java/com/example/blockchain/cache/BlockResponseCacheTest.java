@@ -0,0 +1,101 @@
+package com.example.blockchain.cache;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.BlockStore;
+import com.example.blockchain.Blockchain;
+import com.example.blockchain.exception.BlockNotFoundException;
+import com.example.blockchain.mapper.BlockMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - BlockResponseCache")
+class BlockResponseCacheTest {
+
+    private final Blockchain blockchain = new Blockchain();
+    private final BlockResponseCache cache = new BlockResponseCache(blockchain, new BlockMapper(), 16, 2);
+
+    @Test
+    @DisplayName("Un bloc déjà servi est rendu sous forme d'octets sans nouvelle sérialisation")
+    void hotBlockIsServedFromCache() {
+        blockchain.addBlock("Achat", "EVT-1", "Angèle", "VENDU", "alice");
+
+        BlockResponseCache.CachedBlock first = cache.get(1);
+        BlockResponseCache.CachedBlock second = cache.get(1);
+
+        assertSame(first, second);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertTrue(new String(first.body(), StandardCharsets.UTF_8).contains("\"eventId\":\"EVT-1\""));
+        assertEquals("\"" + blockchain.getBlockByIndex(1).getHash() + "\"", first.etag());
+    }
+
+    @Test
+    @DisplayName("Une modification du bloc périme l'entrée et change l'ETag")
+    void mutationInvalidatesEntry() {
+        Block block = blockchain.addBlock("Achat");
+        BlockResponseCache.CachedBlock before = cache.get(1);
+
+        block.setData("Données falsifiées");
+        BlockResponseCache.CachedBlock after = cache.get(1);
+
+        assertNotEquals(before.etag(), after.etag());
+        assertTrue(new String(after.body(), StandardCharsets.UTF_8).contains("Données falsifiées"));
+    }
+
+    @Test
+    @DisplayName("Deux blocs qui se partagent une case ne se renvoient jamais l'un l'autre")
+    void collidingIndexesAreKeptApart() {
+        for (int i = 1; i <= 20; i++) {
+            blockchain.addBlock("Bloc " + i);
+        }
+
+        cache.get(1);
+        BlockResponseCache.CachedBlock colliding = cache.get(17);
+
+        assertEquals(17, colliding.index());
+        assertEquals(1, cache.get(1).index());
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Avec le stockage en colonnes, un bloc déjà servi est rendu depuis le cache")
+    void columnarStoreIsServedFromCache() {
+        Blockchain columnar = new Blockchain(BlockStore.Type.COLUMNAR);
+        BlockResponseCache columnarCache = new BlockResponseCache(columnar, new BlockMapper(), 16, 2);
+        columnar.addBlock("Achat", "EVT-1", "Angèle", "VENDU", "alice");
+
+        BlockResponseCache.CachedBlock first = columnarCache.get(1);
+        BlockResponseCache.CachedBlock second = columnarCache.get(1);
+
+        assertSame(first, second);
+        assertEquals(1, columnarCache.getHits());
+        assertEquals("\"" + columnar.getBlockByIndex(1).getHash() + "\"", second.etag());
+    }
+
+    @Test
+    @DisplayName("Une restauration de la chaîne périme les entrées")
+    void restoreInvalidatesEntries() {
+        blockchain.addBlock("Achat");
+        BlockResponseCache.CachedBlock before = cache.get(1);
+
+        cache.chainRestored(blockchain.getChain());
+
+        assertNotSame(before, cache.get(1));
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Un bloc est final une fois recouvert par la profondeur de finalité")
+    void finalityFollowsConfirmations() {
+        blockchain.addBlock("Bloc 1");
+        blockchain.addBlock("Bloc 2");
+
+        assertTrue(cache.isFinal(0));
+        assertFalse(cache.isFinal(1));
+        assertThrows(BlockNotFoundException.class, () -> cache.get(5));
+    }
+}
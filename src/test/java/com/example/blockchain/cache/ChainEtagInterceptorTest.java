@@ -0,0 +1,53 @@
+package com.example.blockchain.cache;
+
+import com.example.blockchain.Blockchain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - ChainEtagInterceptor")
+class ChainEtagInterceptorTest {
+
+    private final Blockchain blockchain = new Blockchain();
+    private final ChainEtagInterceptor interceptor = new ChainEtagInterceptor(blockchain);
+
+    private MockHttpServletResponse get(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/blocks");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean proceed = interceptor.preHandle(request, response, new Object());
+        assertEquals(response.getStatus() != 304, proceed);
+        return response;
+    }
+
+    @Test
+    @DisplayName("Une liste inchangée est revalidée par un 304 sans appeler le contrôleur")
+    void unchangedChainIsNotModified() {
+        String etag = get(null).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse revalidated = get(etag);
+
+        assertEquals(304, revalidated.getStatus());
+        assertTrue(etag.startsWith("W/\""));
+    }
+
+    @Test
+    @DisplayName("Un ajout ou une modification de bloc change l'ETag de la liste")
+    void appendOrMutationChangesEtag() {
+        String initial = get(null).getHeader(HttpHeaders.ETAG);
+        blockchain.addBlock("Bloc 1");
+        String afterAppend = get(initial).getHeader(HttpHeaders.ETAG);
+        blockchain.getBlockByIndex(0).setData("Genèse falsifiée");
+        MockHttpServletResponse afterMutation = get(afterAppend);
+
+        assertNotEquals(initial, afterAppend);
+        assertEquals(200, afterMutation.getStatus());
+        assertNotEquals(afterAppend, afterMutation.getHeader(HttpHeaders.ETAG));
+    }
+}
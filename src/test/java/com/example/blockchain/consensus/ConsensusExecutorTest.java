@@ -0,0 +1,116 @@
+package com.example.blockchain.consensus;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.Blockchain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - ConsensusExecutor")
+class ConsensusExecutorTest {
+
+    private final ConsensusExecutor executor = new ConsensusExecutor(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    /**
+     * Consensus qui note le thread d'exécution et le nombre maximal d'exécutions simultanées.
+     */
+    private static final class RecordingConsensus implements ConsensusMechanism {
+
+        final List<Thread> threads = new ArrayList<>();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        @Override
+        public void validate(Block block) {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            synchronized (threads) {
+                threads.add(Thread.currentThread());
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+        }
+
+        @Override
+        public String getName() {
+            return "Enregistrement";
+        }
+    }
+
+    @Test
+    @DisplayName("Le consensus d'un thread virtuel s'exécute sur un thread plateforme du pool")
+    void virtualThreadConsensusRunsOnPlatformPool() throws InterruptedException {
+        RecordingConsensus consensus = new RecordingConsensus();
+        Block block = new Block(1, "Data", "prev");
+
+        Thread.ofVirtual().start(() -> executor.validate(consensus, block)).join();
+
+        Thread worker = consensus.threads.getFirst();
+        assertFalse(worker.isVirtual());
+        assertTrue(worker.getName().startsWith("consensus-"));
+    }
+
+    @Test
+    @DisplayName("Le nombre de consensus simultanés est borné par la taille du pool")
+    void concurrentConsensusIsBoundedByPoolSize() throws InterruptedException {
+        RecordingConsensus consensus = new RecordingConsensus();
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Block block = new Block(i, "Data " + i, "prev");
+            callers.add(Thread.ofVirtual().start(() -> executor.validate(consensus, block)));
+        }
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        assertEquals(8, consensus.threads.size());
+        assertTrue(consensus.maxRunning.get() <= 2);
+    }
+
+    @Test
+    @DisplayName("Une exception du consensus est relancée telle quelle à l'appelant")
+    void consensusFailureIsRethrown() {
+        ConsensusMechanism refusing = new ConsensusMechanism() {
+            @Override
+            public void validate(Block block) {
+                throw new IllegalArgumentException("Bloc refusé");
+            }
+
+            @Override
+            public String getName() {
+                return "Refus";
+            }
+        };
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> executor.validate(refusing, new Block(1, "Data", "prev")));
+        assertEquals("Bloc refusé", thrown.getMessage());
+    }
+
+    @Test
+    @DisplayName("Une blockchain relayant son consensus mine des blocs valides")
+    void blockchainMinesThroughExecutor() {
+        Blockchain blockchain = new Blockchain();
+        blockchain.setConsensusMechanism(new ProofOfWork(2));
+        blockchain.setConsensusExecutor(executor);
+
+        Block block = blockchain.addBlock("Achat", "EVT-1", "Angèle", "VENDU", "alice");
+
+        assertTrue(block.getHash().startsWith("00"));
+        assertTrue(blockchain.isChainValid());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.blockchain.consensus;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - DifficultyTarget")
+class DifficultyTargetTest {
+
+    private static byte[] hashWithPrefix(int... leadingBytes) {
+        byte[] hash = new byte[32];
+        Arrays.fill(hash, (byte) 0xff);
+        for (int i = 0; i < leadingBytes.length; i++) {
+            hash[i] = (byte) leadingBytes[i];
+        }
+        return hash;
+    }
+
+    @Test
+    @DisplayName("Les bits nuls de tête sont vérifiés au bit près")
+    void leadingZeroBitsAreCheckedExactly() {
+        DifficultyTarget target = DifficultyTarget.ofLeadingZeroBits(10);
+
+        assertTrue(target.isMetBy(hashWithPrefix(0x00, 0x3f)));
+        assertFalse(target.isMetBy(hashWithPrefix(0x00, 0x40)));
+    }
+
+    @Test
+    @DisplayName("Une difficulté hexadécimale accepte les mêmes hashs que startsWith")
+    void hexDifficultyMatchesLegacyPrefixCheck() {
+        DifficultyTarget target = DifficultyTarget.ofHexDigits(3);
+        String valid = "000f" + "f".repeat(60);
+        String invalid = "0010" + "0".repeat(60);
+
+        assertEquals(valid.startsWith("000"), target.isMetBy(valid));
+        assertEquals(invalid.startsWith("000"), target.isMetBy(invalid));
+    }
+
+    @Test
+    @DisplayName("Les cibles extrêmes (0 et 256 bits) sont gérées")
+    void extremeTargetsAreHandled() {
+        assertTrue(DifficultyTarget.ofLeadingZeroBits(0).isMetBy(hashWithPrefix()));
+        assertTrue(DifficultyTarget.ofLeadingZeroBits(256).isMetBy(new byte[32]));
+        assertFalse(DifficultyTarget.ofLeadingZeroBits(256).isMetBy(hashWithPrefix(0, 0, 0, 0, 0, 0, 0, 0, 0, 1)));
+        assertThrows(IllegalArgumentException.class, () -> DifficultyTarget.ofLeadingZeroBits(257));
+    }
+
+    @Test
+    @DisplayName("Une cible arbitraire sur 256 bits est comparée comme un entier non signé")
+    void arbitraryTargetIsComparedUnsigned() {
+        BigInteger value = BigInteger.ONE.shiftLeft(200).multiply(BigInteger.valueOf(3));
+        DifficultyTarget target = DifficultyTarget.of(value);
+
+        assertEquals(value, target.toBigInteger());
+        assertEquals(-1, target.getLeadingZeroBits());
+        assertTrue(target.isMetBy(hashWithPrefix(0, 0, 0, 0, 0, 0, 0x02)));
+        assertFalse(target.isMetBy(hashWithPrefix(0, 0, 0, 0, 0, 0, 0x03)));
+    }
+
+    @Test
+    @DisplayName("Un hash hexadécimal mal formé n'est jamais valide")
+    void malformedHexHashIsRejected() {
+        DifficultyTarget target = DifficultyTarget.ofLeadingZeroBits(0);
+
+        assertFalse(target.isMetBy("hash_falsifie"));
+        assertFalse(target.isMetBy((String) null));
+    }
+
+    @Test
+    @DisplayName("Chaque bit supplémentaire double le nombre moyen de tentatives")
+    void eachBitDoublesExpectedWork() {
+        double eight = DifficultyTarget.ofLeadingZeroBits(8).expectedAttempts();
+        double nine = DifficultyTarget.ofLeadingZeroBits(9).expectedAttempts();
+
+        assertEquals(2.0, nine / eight, 1e-9);
+    }
+}
@@ -1,9 +1,16 @@
 package com.example.blockchain.consensus;
 
 import com.example.blockchain.Block;
+import com.example.blockchain.consensus.pbft.CommitResult;
+import com.example.blockchain.consensus.pbft.Fault;
+import com.example.blockchain.consensus.pbft.NetworkConditions;
+import com.example.blockchain.consensus.pbft.Pipeline;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("Tests unitaires - PBFT")
@@ -88,4 +95,74 @@ class PBFTTest {
             assertDoesNotThrow(() -> pbft.validate(block));
         }
     }
+
+    @Test
+    @DisplayName("Le bloc validé porte un certificat de quorum sur son hash")
+    void validationProducesQuorumCertificate() {
+        try (PBFT pbft = new PBFT()) {
+            pbft.addNode("N1");
+            pbft.addNode("N2");
+            pbft.addNode("N3");
+            pbft.addNode("N4");
+
+            Block block = new Block(1, "Data", "prev");
+            pbft.validate(block);
+
+            CommitResult result = pbft.getLastCommit();
+            assertNotNull(result);
+            assertEquals(block.getHash(), result.digest());
+            assertEquals(1, result.blockIndex());
+            assertTrue(result.certificate().replicas().size() >= 3);
+        }
+    }
+
+    @Test
+    @DisplayName("Un nœud primaire en panne est remplacé et le bloc validé")
+    void validationSurvivesCrashedPrimary() {
+        try (PBFT pbft = new PBFT()) {
+            pbft.addNode("N1");
+            pbft.addNode("N2");
+            pbft.addNode("N3");
+            pbft.addNode("N4");
+            pbft.injectFault("N1", Fault.CRASHED);
+
+            Block block = new Block(1, "Data", "prev");
+            pbft.validate(block);
+
+            assertNotNull(pbft.getLastCommit());
+            assertTrue(pbft.getLastCommit().view() >= 1);
+        }
+    }
+
+    @Test
+    @DisplayName("L'injection de panne refuse un nœud inconnu")
+    void injectFaultRejectsUnknownNode() {
+        try (PBFT pbft = new PBFT()) {
+            pbft.addNode("N1");
+            assertThrows(IllegalArgumentException.class, () -> pbft.injectFault("N9", Fault.CRASHED));
+        }
+    }
+
+    @Test
+    @DisplayName("Un lot de blocs est soumis en pipeline et chaque bloc validé")
+    void validateAllCommitsEveryBlock() {
+        try (PBFT pbft = new PBFT(NetworkConditions.LOCAL, new Pipeline(4, 8, 4))) {
+            assertTrue(pbft.supportsBatchValidation());
+            pbft.addNode("N1");
+            pbft.addNode("N2");
+            pbft.addNode("N3");
+            pbft.addNode("N4");
+
+            List<Block> blocks = new ArrayList<>();
+            for (int i = 1; i <= 30; i++) {
+                blocks.add(new Block(i, "Data " + i, "prev"));
+            }
+            pbft.validateAll(blocks);
+
+            CommitResult last = pbft.getLastCommit();
+            assertNotNull(last);
+            assertEquals(blocks.getLast().getHash(), last.digest());
+            assertTrue(last.sequence() <= 30);
+        }
+    }
 }
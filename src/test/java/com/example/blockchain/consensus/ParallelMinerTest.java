@@ -0,0 +1,88 @@
+package com.example.blockchain.consensus;
+
+import com.example.blockchain.Block;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - ParallelMiner")
+class ParallelMinerTest {
+
+    @Test
+    @DisplayName("Le minage parallèle produit un hash valide et cohérent avec calculateHash")
+    void parallelMiningProducesValidHash() {
+        ProofOfWork pow = new ProofOfWork(3, 4);
+        Block block = new Block(1, "Test PoW parallèle", "prevhash");
+
+        pow.validate(block);
+
+        assertTrue(block.getHash().startsWith("000"));
+        assertEquals(block.getHash(), block.calculateHash());
+    }
+
+    @Test
+    @DisplayName("Le nonce courant est conservé s'il satisfait déjà la difficulté")
+    void startingNonceIsKeptWhenAlreadyValid() {
+        ParallelMiner miner = new ParallelMiner(4);
+        Block block = new Block(1, "Data", "prev");
+
+        MiningResult result = miner.mine(block, DifficultyTarget.ofHexDigits(0));
+
+        assertEquals(0, result.nonce());
+        assertEquals(1, result.attempts());
+    }
+
+    @Test
+    @DisplayName("Le résultat compte les tentatives de tous les workers")
+    void resultCountsAttemptsOfAllWorkers() {
+        ParallelMiner miner = new ParallelMiner(2);
+        Block block = new Block(1, "Data", "prev");
+
+        MiningResult result = miner.mine(block, DifficultyTarget.ofHexDigits(2));
+
+        assertTrue(result.attempts() >= 1);
+        assertTrue(result.hashRate() > 0);
+        assertEquals(0, block.getNonce(), "Le mineur ne modifie pas le bloc lui-même");
+    }
+
+    @Test
+    @DisplayName("Les mineurs successifs partagent un seul pool de workers")
+    void minersShareOnePool() {
+        Set<ForkJoinPool> before = minerPools();
+        for (int i = 0; i < 10; i++) {
+            new ProofOfWork(1, 2).validate(new Block(i, "Bloc " + i, "prev"));
+        }
+
+        Set<ForkJoinPool> created = minerPools();
+        created.removeAll(before);
+        assertTrue(created.size() <= 1, "Pools créés : " + created.size());
+    }
+
+    private static Set<ForkJoinPool> minerPools() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(ForkJoinWorkerThread.class::isInstance)
+                .map(thread -> ((ForkJoinWorkerThread) thread).getPool())
+                .filter(pool -> pool != ForkJoinPool.commonPool())
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    @DisplayName("Un parallélisme inférieur à 1 est refusé")
+    void invalidParallelismIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelMiner(0));
+    }
+
+    @Test
+    @DisplayName("getParallelism reflète la configuration du PoW")
+    void parallelismIsConfigurable() {
+        assertEquals(1, new ProofOfWork(2).getParallelism());
+        assertEquals(3, new ProofOfWork(2, 3).getParallelism());
+        assertEquals(Runtime.getRuntime().availableProcessors(), ProofOfWork.parallel(2).getParallelism());
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.blockchain.consensus;
 
 import com.example.blockchain.Block;
+import com.example.blockchain.crypto.AuthorityKeys;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -106,4 +107,79 @@ class ProofOfAuthorityTest {
         assertEquals(2, countB);
         assertEquals(2, countC);
     }
+
+    @Test
+    @DisplayName("L'autorité désignée par l'index du bloc le signe")
+    void scheduledAuthoritySignsBlock() {
+        ProofOfAuthority poa = new ProofOfAuthority();
+        poa.addAuthority("A");
+        poa.addAuthority("B");
+        poa.addAuthority("C");
+
+        Block block = new Block(4, "Data", "prev");
+        poa.validate(block);
+
+        assertEquals("B", block.getSigner());
+        assertEquals(AuthorityKeys.SIGNATURE_LENGTH, block.signatureBytes().length);
+    }
+
+    @Test
+    @DisplayName("La signature se vérifie avec les clés publiées, y compris pour une autorité ajoutée ensuite")
+    void signatureVerifiesWithPublishedKeys() {
+        ProofOfAuthority poa = new ProofOfAuthority();
+        poa.addAuthority("A");
+        AuthorityKeys keys = new AuthorityKeys();
+        poa.publishTo(keys);
+        poa.addAuthority("B");
+
+        Block first = new Block(0, "Data 0", "prev");
+        Block second = new Block(1, "Data 1", "prev");
+        poa.validate(first);
+        poa.validate(second);
+
+        assertTrue(keys.verify(first));
+        assertTrue(keys.verify(second));
+        assertEquals(poa.getPublicKey("B"), AuthorityKeys.decode(poa.getPublicKey("B").getEncoded()));
+    }
+
+    @Test
+    @DisplayName("Une autorité ajoutée entre dans le tour après le dernier bloc validé")
+    void addedAuthorityJoinsAfterLastValidatedBlock() {
+        ProofOfAuthority poa = new ProofOfAuthority();
+        poa.addAuthority("A");
+        poa.addAuthority("B");
+        AuthorityKeys keys = new AuthorityKeys();
+        poa.publishTo(keys, 1);
+
+        Block first = new Block(1, "Data 1", "prev");
+        poa.validate(first);
+        poa.addAuthority("C");
+        Block second = new Block(2, "Data 2", "prev");
+        poa.validate(second);
+        Block third = new Block(3, "Data 3", "prev");
+        poa.validate(third);
+
+        assertEquals("B", first.getSigner());
+        assertEquals("C", second.getSigner());
+        assertEquals("A", third.getSigner());
+        assertEquals("C", keys.scheduledAuthority(2));
+        assertNull(keys.scheduledAuthority(0));
+        assertTrue(keys.isAuthentic(first) && keys.isAuthentic(second) && keys.isAuthentic(third));
+    }
+
+    @Test
+    @DisplayName("Un bloc modifié après signature n'est plus reconnu")
+    void signatureRejectsModifiedBlock() {
+        ProofOfAuthority poa = new ProofOfAuthority();
+        poa.addAuthority("A");
+        AuthorityKeys keys = new AuthorityKeys();
+        poa.publishTo(keys);
+
+        Block block = new Block(1, "Data", "prev");
+        poa.validate(block);
+        block.setData("Falsifié");
+        block.setHash(block.calculateHash());
+
+        assertFalse(keys.verify(block));
+    }
 }
@@ -74,4 +74,32 @@ class ProofOfStakeTest {
         Block block = new Block(1, "Data", "prev");
         assertDoesNotThrow(() -> pos.validate(block));
     }
+
+    @Test
+    @DisplayName("Un validateur retiré n'est plus jamais sélectionné")
+    void removedValidatorIsNeverSelected() {
+        ProofOfStake pos = new ProofOfStake();
+        pos.addValidator("Alice", 50);
+        pos.addValidator("Bob", 50);
+
+        assertTrue(pos.removeValidator("Bob"));
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals("Alice", pos.selectValidator());
+        }
+        assertEquals(50, pos.getTotalStake());
+    }
+
+    @Test
+    @DisplayName("Une pénalité réduit la mise du validateur fautif")
+    void slashingReducesStake() {
+        ProofOfStake pos = new ProofOfStake();
+        pos.addValidator("Alice", 80);
+        pos.addValidator("Bob", 20);
+
+        assertEquals(40, pos.slash("Alice", 50));
+        assertEquals(-1, pos.slash("Inconnu", 10));
+        assertEquals(40, pos.getStake("Alice"));
+        assertEquals(60, pos.getTotalStake());
+    }
 }
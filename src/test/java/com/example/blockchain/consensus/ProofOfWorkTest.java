@@ -72,4 +72,25 @@ class ProofOfWorkTest {
 
         assertTrue(block.getHash().startsWith("0"));
     }
+
+    @Test
+    @DisplayName("Une difficulté en bits produit le nombre de bits nuls demandé")
+    void bitDifficultyProducesLeadingZeroBits() {
+        ProofOfWork pow = ProofOfWork.withLeadingZeroBits(10);
+        Block block = new Block(1, "Test bits", "prev");
+
+        pow.validate(block);
+
+        int firstBits = Integer.parseInt(block.getHash().substring(0, 3), 16) >> 2;
+        assertEquals(0, firstBits, "Les 10 premiers bits doivent être nuls");
+        assertEquals(block.getHash(), block.calculateHash());
+    }
+
+    @Test
+    @DisplayName("La difficulté hexadécimale est convertie en 4 bits par chiffre")
+    void hexDifficultyMapsToBits() {
+        assertEquals(12, new ProofOfWork(3).getTarget().getLeadingZeroBits());
+        assertTrue(new ProofOfWork(3).getName().contains("3"));
+        assertTrue(ProofOfWork.withLeadingZeroBits(13).getName().contains("13 bits"));
+    }
 }
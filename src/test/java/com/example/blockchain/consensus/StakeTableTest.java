@@ -0,0 +1,153 @@
+package com.example.blockchain.consensus;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - StakeTable")
+class StakeTableTest {
+
+    @Test
+    @DisplayName("Chaque validateur couvre une tranche de la longueur de sa mise")
+    void validatorsCoverContiguousRanges() {
+        StakeTable table = new StakeTable();
+        table.put("A", 10);
+        table.put("B", 20);
+        table.put("C", 30);
+
+        assertEquals("A", table.select(0));
+        assertEquals("A", table.select(9));
+        assertEquals("B", table.select(10));
+        assertEquals("B", table.select(29));
+        assertEquals("C", table.select(30));
+        assertEquals("C", table.select(59));
+        assertThrows(IllegalArgumentException.class, () -> table.select(60));
+        assertEquals(60, table.totalStake());
+    }
+
+    @Test
+    @DisplayName("Mise à jour, pénalité et retrait sont reflétés dans les tirages")
+    void updatesSlashingAndRemovalAreApplied() {
+        StakeTable table = new StakeTable();
+        table.put("A", 10);
+        table.put("B", 20);
+        table.put("C", 30);
+
+        table.put("A", 40);
+        assertEquals(15, table.slash("C", 50));
+        table.remove("B");
+
+        assertEquals(55, table.totalStake());
+        assertEquals("A", table.select(39));
+        assertEquals("C", table.select(40));
+        assertEquals(0, table.stakeOf("B"));
+        assertEquals(-1, table.slash("B", 10));
+        assertFalse(table.remove("B"));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    @DisplayName("Une case libérée est réutilisée par le validateur suivant")
+    void freedSlotIsReused() {
+        StakeTable table = new StakeTable();
+        table.put("A", 10);
+        table.put("B", 20);
+        table.remove("A");
+
+        table.put("D", 5);
+
+        assertEquals("D", table.select(0));
+        assertEquals("B", table.select(5));
+        assertEquals(25, table.totalStake());
+    }
+
+    @Test
+    @DisplayName("Une mise qui ferait déborder la mise totale est refusée sans modifier la table")
+    void overflowingStakeIsRejected() {
+        StakeTable table = new StakeTable();
+        table.put("a", Long.MAX_VALUE);
+
+        assertThrows(IllegalArgumentException.class, () -> table.put("b", 1));
+
+        assertEquals(Long.MAX_VALUE, table.totalStake());
+        assertEquals(1, table.size());
+        assertEquals("a", table.draw(new SplittableRandom(1)));
+        table.put("a", Long.MAX_VALUE - 1);
+        table.put("b", 1);
+        assertEquals(Long.MAX_VALUE, table.totalStake());
+    }
+
+    @Test
+    @DisplayName("Les tranches restent exactes au-delà de plusieurs agrandissements")
+    void rangesSurviveGrowth() {
+        StakeTable table = new StakeTable();
+        for (int i = 0; i < 1_000; i++) {
+            table.put("V" + i, i + 1);
+        }
+
+        long start = 0;
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals("V" + i, table.select(start));
+            assertEquals("V" + i, table.select(start + i));
+            start += i + 1;
+        }
+        assertEquals(start, table.totalStake());
+    }
+
+    @Test
+    @DisplayName("Les tirages suivent la distribution des mises")
+    void drawsFollowStakeDistribution() {
+        StakeTable table = new StakeTable();
+        table.put("Gros", 90);
+        table.put("Petit", 10);
+        table.put("Nul", 0);
+        SplittableRandom random = new SplittableRandom(42);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            counts.merge(table.draw(random), 1, Integer::sum);
+        }
+
+        assertEquals(0.9, counts.get("Gros") / 100_000.0, 0.01);
+        assertNull(counts.get("Nul"));
+        assertNull(new StakeTable().draw(random));
+    }
+
+    @Test
+    @DisplayName("Les tirages concurrents des inscriptions ne renvoient que des validateurs inscrits")
+    void concurrentDrawsSeeRegisteredValidators() throws InterruptedException {
+        StakeTable table = new StakeTable();
+        table.put("V0", 1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<String> invalid = new ArrayList<>();
+        Thread reader = Thread.ofPlatform().start(() -> {
+            SplittableRandom random = new SplittableRandom(7);
+            while (writing.get()) {
+                String drawn = table.draw(random);
+                if (drawn == null || !drawn.startsWith("V")) {
+                    synchronized (invalid) {
+                        invalid.add(String.valueOf(drawn));
+                    }
+                }
+            }
+        });
+        for (int i = 1; i < 20_000; i++) {
+            table.put("V" + i, i % 7 + 1);
+            if (i % 3 == 0) {
+                table.remove("V" + (i - 1));
+            }
+        }
+        writing.set(false);
+        reader.join();
+
+        assertTrue(invalid.isEmpty(), "Tirages invalides : " + invalid);
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.blockchain.consensus.pbft;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - PbftCluster")
+class PbftClusterTest {
+
+    private static final Duration VIEW_CHANGE_TIMEOUT = Duration.ofMillis(100);
+
+    private PbftCluster cluster;
+
+    @AfterEach
+    void tearDown() {
+        if (cluster != null) {
+            cluster.close();
+        }
+    }
+
+    private static CommitResult await(CompletableFuture<CommitResult> future) throws Exception {
+        return future.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Quatre répliques valident une requête avec un certificat de quorum")
+    void fourReplicasCommit() throws Exception {
+        cluster = PbftCluster.start(4, NetworkConditions.LOCAL, VIEW_CHANGE_TIMEOUT);
+        assertEquals(1, cluster.faultTolerance());
+        assertEquals(3, cluster.quorum());
+
+        CommitResult result = await(cluster.submit("hash-1", 1));
+
+        assertEquals("hash-1", result.digest());
+        assertEquals(1, result.blockIndex());
+        assertEquals(1, result.sequence());
+        assertEquals(0, result.view());
+        assertTrue(result.repliedBy().size() >= 2);
+        assertTrue(result.certificate().replicas().size() >= 3);
+        assertEquals("hash-1", result.certificate().digest());
+        assertFalse(result.latency().isNegative());
+    }
+
+    @Test
+    @DisplayName("Sans regroupement, les requêtes successives reçoivent des séquences croissantes")
+    void sequencesIncrease() throws Exception {
+        cluster = PbftCluster.start(4, NetworkConditions.LOCAL, VIEW_CHANGE_TIMEOUT, new Pipeline(16, 1, 16));
+        List<CompletableFuture<CommitResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(cluster.submit("hash-" + i, i));
+        }
+
+        Set<Long> sequences = new HashSet<>();
+        for (CompletableFuture<CommitResult> future : futures) {
+            sequences.add(await(future).sequence());
+        }
+        assertEquals(20, sequences.size());
+        assertEquals(1L, sequences.stream().mapToLong(Long::longValue).min().orElseThrow());
+        assertEquals(20L, sequences.stream().mapToLong(Long::longValue).max().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Les requêtes arrivées pendant une séquence en vol sont regroupées")
+    void pendingRequestsAreBatched() throws Exception {
+        NetworkConditions slow = new NetworkConditions(Duration.ofMillis(5), Duration.ZERO, 0);
+        cluster = PbftCluster.start(4, slow, Duration.ofSeconds(2), new Pipeline(1, 64, 16));
+        List<CompletableFuture<CommitResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            futures.add(cluster.submit("hash-" + i, i));
+        }
+
+        Set<Long> sequences = new HashSet<>();
+        for (CompletableFuture<CommitResult> future : futures) {
+            sequences.add(await(future).sequence());
+        }
+        assertTrue(sequences.size() < 40, "séquences distinctes : " + sequences.size());
+    }
+
+    @Test
+    @DisplayName("Les points de contrôle stables bornent le journal des votes")
+    void checkpointsTruncateLog() throws Exception {
+        Pipeline pipeline = new Pipeline(4, 1, 10);
+        cluster = PbftCluster.start(4, NetworkConditions.LOCAL, VIEW_CHANGE_TIMEOUT, pipeline);
+        List<CompletableFuture<CommitResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(cluster.submit("hash-" + i, i));
+        }
+        for (CompletableFuture<CommitResult> future : futures) {
+            await(future);
+        }
+
+        assertTrue(cluster.stableCheckpoint() >= 90, "point de contrôle : " + cluster.stableCheckpoint());
+        assertTrue(cluster.maxLogSize() <= pipeline.logSize(), "journal : " + cluster.maxLogSize());
+    }
+
+    @Test
+    @DisplayName("Le pipeline valide sous pertes avec un secondaire en panne")
+    void pipelineCommitsUnderLossWithCrashedBackup() throws Exception {
+        NetworkConditions lossy = new NetworkConditions(Duration.ofMillis(1), Duration.ofMillis(2), 0.05);
+        cluster = PbftCluster.start(4, lossy, Duration.ofMillis(200), new Pipeline(8, 8, 8));
+        cluster.inject(3, Fault.CRASHED);
+
+        List<CompletableFuture<CommitResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            futures.add(cluster.submit("hash-" + i, i));
+        }
+        for (CompletableFuture<CommitResult> future : futures) {
+            assertFalse(await(future).certificate().replicas().contains(3));
+        }
+        // Un point de contrôle perdu après la dernière requête est réannoncé sans nouveau trafic
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (cluster.stableCheckpoint() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(cluster.stableCheckpoint() > 0, "point de contrôle : " + cluster.stableCheckpoint());
+    }
+
+    @Test
+    @DisplayName("Un primaire byzantin est remplacé avec des séquences en vol")
+    void byzantinePrimaryReplacedWithPipeline() throws Exception {
+        cluster = PbftCluster.start(4, NetworkConditions.LOCAL, VIEW_CHANGE_TIMEOUT, new Pipeline(4, 4, 4));
+        for (int i = 0; i < 10; i++) {
+            await(cluster.submit("avant-" + i, i));
+        }
+        cluster.inject(0, Fault.BYZANTINE);
+
+        List<CompletableFuture<CommitResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(cluster.submit("après-" + i, i));
+        }
+        for (CompletableFuture<CommitResult> future : futures) {
+            assertTrue(await(future).view() >= 1);
+        }
+    }
+
+    @Test
+    @DisplayName("Une requête identique en cours partage le même futur")
+    void duplicateSubmissionSharesFuture() throws Exception {
+        // Latence réseau : la première requête est encore en cours quand la seconde arrive
+        NetworkConditions slow = new NetworkConditions(Duration.ofMillis(20), Duration.ZERO, 0);
+        cluster = PbftCluster.start(4, slow, Duration.ofSeconds(2));
+        CompletableFuture<CommitResult> first = cluster.submit("hash-x", 1);
+        CompletableFuture<CommitResult> second = cluster.submit("hash-x", 1);
+        assertSame(first, second);
+        assertNotNull(await(first));
+    }
+
+    @Test
+    @DisplayName("La panne d'un secondaire n'empêche pas la validation")
+    void crashedBackupTolerated() throws Exception {
+        cluster = PbftCluster.start(4, NetworkConditions.LOCAL, VIEW_CHANGE_TIMEOUT);
+        cluster.inject(3, Fault.CRASHED);
+
+        CommitResult result = await(cluster.submit("hash-1", 1));
+
+        assertEquals(0, result.view());
+        assertFalse(result.certificate().replicas().contains(3));
+        assertEquals(3, result.certificate().replicas().size());
+    }
+
+    @Test
+    @DisplayName("Un secondaire byzantin n'empêche pas la validation")
+    void byzantineBackupTolerated() throws Exception {
+        cluster = PbftCluster.start(4, NetworkConditions.LOCAL, VIEW_CHANGE_TIMEOUT);
+        cluster.inject(2, Fault.BYZANTINE);
+
+        CommitResult result = await(cluster.submit("hash-1", 1));
+
+        assertEquals("hash-1", result.digest());
+        assertFalse(result.certificate().replicas().contains(2));
+    }
+
+    @Test
+    @DisplayName("La panne du primaire déclenche un changement de vue")
+    void crashedPrimaryTriggersViewChange() throws Exception {
+        cluster = PbftCluster.start(4, NetworkConditions.LOCAL, VIEW_CHANGE_TIMEOUT);
+        cluster.inject(0, Fault.CRASHED);
+
+        CommitResult result = await(cluster.submit("hash-1", 1));
+
+        assertTrue(result.view() >= 1);
+        assertTrue(cluster.currentView() >= 1);
+        assertFalse(result.certificate().replicas().contains(0));
+    }
+
+    @Test
+    @DisplayName("Un primaire byzantin qui équivoque est remplacé")
+    void equivocatingPrimaryReplaced() throws Exception {
+        cluster = PbftCluster.start(4, NetworkConditions.LOCAL, VIEW_CHANGE_TIMEOUT);
+        cluster.inject(0, Fault.BYZANTINE);
+
+        CommitResult result = await(cluster.submit("hash-1", 1));
+
+        assertEquals("hash-1", result.digest());
+        assertTrue(result.view() >= 1);
+    }
+
+    @Test
+    @DisplayName("Les requêtes validées avant la panne du primaire ne sont pas rejouées")
+    void committedRequestsSurviveViewChange() throws Exception {
+        cluster = PbftCluster.start(4, NetworkConditions.LOCAL, VIEW_CHANGE_TIMEOUT);
+        CommitResult before = await(cluster.submit("hash-1", 1));
+        cluster.inject(0, Fault.CRASHED);
+
+        CommitResult after = await(cluster.submit("hash-2", 2));
+
+        assertEquals(0, before.view());
+        assertTrue(after.view() >= 1);
+        assertTrue(after.sequence() > before.sequence());
+    }
+
+    @Test
+    @DisplayName("Une réplique rétablie rattrape les séquences validées sans elle")
+    void recoveredReplicaCatchesUp() throws Exception {
+        cluster = PbftCluster.start(4, NetworkConditions.LOCAL, VIEW_CHANGE_TIMEOUT);
+        cluster.inject(3, Fault.CRASHED);
+        for (int i = 0; i < 5; i++) {
+            await(cluster.submit("hash-" + i, i));
+        }
+        cluster.inject(3, Fault.NONE);
+        cluster.inject(1, Fault.CRASHED);
+
+        // Sans la réplique 1, le quorum exige la réplique 3, en retard de cinq séquences
+        CommitResult result = await(cluster.submit("hash-5", 5));
+
+        assertEquals(6, result.sequence());
+        assertTrue(result.certificate().replicas().contains(3));
+    }
+
+    @Test
+    @DisplayName("La validation aboutit malgré la latence et les pertes")
+    void commitsUnderLatencyAndLoss() throws Exception {
+        NetworkConditions lossy = new NetworkConditions(Duration.ofMillis(2), Duration.ofMillis(3), 0.1);
+        cluster = PbftCluster.start(4, lossy, Duration.ofMillis(200));
+
+        List<CompletableFuture<CommitResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(cluster.submit("hash-" + i, i));
+        }
+        for (CompletableFuture<CommitResult> future : futures) {
+            CommitResult result = await(future);
+            assertTrue(result.latency().toMillis() >= 2);
+        }
+        assertTrue(cluster.getTransport().getDropped() > 0);
+    }
+
+    @Test
+    @DisplayName("Sept répliques tolèrent deux pannes")
+    void sevenReplicasTolerateTwoFaults() throws Exception {
+        cluster = PbftCluster.start(7, NetworkConditions.LOCAL, VIEW_CHANGE_TIMEOUT);
+        assertEquals(2, cluster.faultTolerance());
+        assertEquals(5, cluster.quorum());
+        cluster.inject(5, Fault.CRASHED);
+        cluster.inject(6, Fault.BYZANTINE);
+
+        CommitResult result = await(cluster.submit("hash-1", 1));
+
+        assertTrue(result.certificate().replicas().size() >= 5);
+        assertTrue(result.repliedBy().size() >= 3);
+    }
+
+    @Test
+    @DisplayName("Une réplique unique valide seule")
+    void singleReplicaCommits() throws Exception {
+        cluster = PbftCluster.start(1, NetworkConditions.LOCAL, VIEW_CHANGE_TIMEOUT);
+        CommitResult result = await(cluster.submit("hash-1", 1));
+        assertEquals(Set.of(0), result.certificate().replicas());
+    }
+
+    @Test
+    @DisplayName("Les requêtes en cours échouent à l'arrêt de la grappe")
+    void closeFailsOutstanding() {
+        cluster = PbftCluster.start(4, NetworkConditions.LOCAL, Duration.ofSeconds(30));
+        for (int replica = 0; replica < 4; replica++) {
+            cluster.inject(replica, Fault.CRASHED);
+        }
+        CompletableFuture<CommitResult> future = cluster.submit("hash-1", 1);
+
+        cluster.close();
+
+        assertTrue(future.isCompletedExceptionally());
+        assertTrue(cluster.submit("hash-2", 2).isCompletedExceptionally());
+    }
+
+    @Test
+    @DisplayName("Les paramètres invalides sont refusés")
+    void invalidParametersRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PbftCluster.start(0, NetworkConditions.LOCAL, VIEW_CHANGE_TIMEOUT));
+        assertThrows(IllegalArgumentException.class,
+                () -> new NetworkConditions(Duration.ZERO, Duration.ZERO, 1.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new NetworkConditions(Duration.ofMillis(-1), Duration.ZERO, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Pipeline(0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Pipeline(1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Pipeline(1, 1, 0));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.blockchain.crypto;
+
+import com.example.blockchain.Block;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - AuthorityKeys")
+class AuthorityKeysTest {
+
+    private static Block signedBlock(String signer, KeyPair pair) {
+        Block block = new Block(1, "Data", "prev");
+        block.sign(signer, AuthorityKeys.sign(pair.getPrivate(), block));
+        return block;
+    }
+
+    @Test
+    @DisplayName("Une signature Ed25519 fait 64 octets et se vérifie avec la clé enregistrée")
+    void signatureVerifiesWithRegisteredKey() {
+        KeyPair pair = AuthorityKeys.generate();
+        AuthorityKeys keys = new AuthorityKeys();
+        keys.register("A", pair.getPublic().getEncoded());
+
+        Block block = signedBlock("A", pair);
+
+        assertEquals(AuthorityKeys.SIGNATURE_LENGTH, block.signatureBytes().length);
+        assertTrue(keys.isKnown("A"));
+        assertTrue(keys.verify(block));
+    }
+
+    @Test
+    @DisplayName("Un signataire inconnu ou une signature absente sont refusés")
+    void unknownSignerOrMissingSignatureIsRejected() {
+        KeyPair pair = AuthorityKeys.generate();
+        AuthorityKeys keys = new AuthorityKeys();
+        keys.register("A", pair.getPublic());
+
+        assertFalse(keys.verify(signedBlock("B", pair)));
+        assertFalse(keys.verify(new Block(1, "Data", "prev")));
+        Block truncated = signedBlock("A", pair);
+        truncated.sign("A", new byte[10]);
+        assertFalse(keys.verify(truncated));
+    }
+
+    @Test
+    @DisplayName("La clé d'une autre autorité ne vérifie pas la signature")
+    void foreignKeyIsRejected() {
+        AuthorityKeys keys = new AuthorityKeys();
+        keys.register("A", AuthorityKeys.generate().getPublic());
+
+        assertFalse(keys.verify(signedBlock("A", AuthorityKeys.generate())));
+    }
+
+    @Test
+    @DisplayName("Après rotation, l'ancienne et la nouvelle clé sont acceptées")
+    void rotatedKeysAreAllAccepted() {
+        KeyPair previous = AuthorityKeys.generate();
+        KeyPair current = AuthorityKeys.generate();
+        AuthorityKeys keys = new AuthorityKeys();
+        keys.register("A", previous.getPublic());
+        keys.register("A", current.getPublic());
+
+        assertTrue(keys.verify(signedBlock("A", previous)));
+        assertTrue(keys.verify(signedBlock("A", current)));
+    }
+
+    @Test
+    @DisplayName("Le calendrier désigne l'autorité index mod n de la liste en vigueur")
+    void scheduleDesignatesAuthorityByIndex() {
+        AuthorityKeys keys = new AuthorityKeys();
+        keys.schedule(5, List.of("A", "B"));
+        keys.schedule(10, List.of("A", "B", "C"));
+        keys.schedule(20, List.of());
+
+        assertNull(keys.scheduledAuthority(4));
+        assertEquals("B", keys.scheduledAuthority(5));
+        assertEquals("A", keys.scheduledAuthority(6));
+        assertEquals("B", keys.scheduledAuthority(10));
+        assertFalse(keys.requiresSignature(20));
+    }
+
+    @Test
+    @DisplayName("Sous calendrier, seule l'autorité du tour peut signer et la signature est obligatoire")
+    void scheduledBlockNeedsItsAuthority() {
+        KeyPair a = AuthorityKeys.generate();
+        KeyPair b = AuthorityKeys.generate();
+        AuthorityKeys keys = new AuthorityKeys();
+        keys.register("A", a.getPublic());
+        keys.register("B", b.getPublic());
+        assertTrue(keys.isAuthentic(signedBlock("B", b)));
+        assertTrue(keys.isAuthentic(new Block(1, "Data", "prev")));
+
+        keys.schedule(0, List.of("A", "B"));
+
+        assertTrue(keys.isAuthentic(signedBlock("B", b)));
+        assertFalse(keys.isAuthentic(signedBlock("A", a)));
+        assertFalse(keys.isAuthentic(new Block(1, "Data", "prev")));
+    }
+
+    @Test
+    @DisplayName("Une clé publique mal encodée est refusée")
+    void malformedKeyIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> AuthorityKeys.decode(new byte[]{1, 2, 3}));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.blockchain.crypto;
+
+import com.example.blockchain.Block;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - BlockHasher (midstate SHA-256)")
+class BlockHasherTest {
+
+    private static byte[] referenceSha256(byte[] input) throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance("SHA-256").digest(input);
+    }
+
+    private static Block blockWithDataLength(int length) {
+        return new Block(7, "x".repeat(length), "0");
+    }
+
+    @Test
+    @DisplayName("Le hash midstate est identique au SHA-256 de l'en-tête complet")
+    void midstateHashMatchesMessageDigest() throws NoSuchAlgorithmException {
+        Block block = new Block(3, "Ticket acheté", "prev", "EVT-001", "Stromae", "ACHETE", "Alice");
+        block.setNonce(123456);
+
+        byte[] header = new BlockHeaderEncoder().encode(block);
+
+        assertArrayEquals(referenceSha256(header), block.calculateHashBytes());
+    }
+
+    @Test
+    @DisplayName("Toutes les longueurs de préfixe (queue sur 1 ou 2 blocs SHA-256) sont correctes")
+    void allPrefixLengthsAreHashedCorrectly() throws NoSuchAlgorithmException {
+        BlockHeaderEncoder encoder = new BlockHeaderEncoder();
+        for (int length = 0; length < 200; length++) {
+            Block block = blockWithDataLength(length);
+            block.setNonce(length * 31);
+
+            assertArrayEquals(referenceSha256(encoder.encode(block)), block.calculateHashBytes(),
+                    "Longueur de données : " + length);
+        }
+    }
+
+    @Test
+    @DisplayName("Changer seulement le nonce réutilise le midstate sans fausser le hash")
+    void nonceOnlyChangesReuseMidstate() throws NoSuchAlgorithmException {
+        Block block = new Block(1, "Data", "prev");
+        BlockHasher hasher = new BlockHasher().reset(block);
+        BlockHeaderEncoder encoder = new BlockHeaderEncoder();
+        byte[] out = new byte[BlockHasher.HASH_LENGTH];
+
+        for (int nonce = 0; nonce < 50; nonce++) {
+            hasher.hash(nonce, out);
+            block.setNonce(nonce);
+            assertArrayEquals(referenceSha256(encoder.encode(block)), out);
+        }
+    }
+
+    @Test
+    @DisplayName("calculateHash retourne l'hexadécimal du hash brut")
+    void hexHashMatchesRawHash() {
+        Block block = new Block(0, "Genèse", "0");
+
+        assertEquals(HexFormat.of().formatHex(block.calculateHashBytes()), block.calculateHash());
+    }
+
+    @Test
+    @DisplayName("Un previousHash canonique est encodé en 32 octets bruts")
+    void canonicalPreviousHashIsEncodedRaw() {
+        Block genesis = new Block(0, "Genèse", "0");
+        Block linked = new Block(1, "Data", genesis.getHash());
+        Block unlinked = new Block(1, "Data", "0");
+
+        int rawLength = new BlockHeaderEncoder().encode(linked).length;
+        int stringLength = new BlockHeaderEncoder().encode(unlinked).length;
+
+        assertEquals(32 - (4 + 1), rawLength - stringLength);
+    }
+
+    @Test
+    @DisplayName("isCanonicalHash reconnaît uniquement 64 caractères hexadécimaux minuscules")
+    void isCanonicalHashDetectsHexHashes() {
+        assertTrue(BlockHeaderEncoder.isCanonicalHash("ab".repeat(32)));
+        assertFalse(BlockHeaderEncoder.isCanonicalHash("AB".repeat(32)));
+        assertFalse(BlockHeaderEncoder.isCanonicalHash("hash_falsifie"));
+        assertFalse(BlockHeaderEncoder.isCanonicalHash(null));
+    }
+}
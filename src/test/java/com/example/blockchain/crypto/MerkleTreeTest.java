@@ -0,0 +1,71 @@
+package com.example.blockchain.crypto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - MerkleTree")
+class MerkleTreeTest {
+
+    private static List<byte[]> leaves(int count) {
+        List<byte[]> leaves = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            leaves.add(MerkleTree.leafHash(("ticket-" + i).getBytes(StandardCharsets.UTF_8)));
+        }
+        return leaves;
+    }
+
+    @Test
+    @DisplayName("Chaque feuille possède une preuve valide, quel que soit le nombre de feuilles")
+    void everyLeafHasValidProof() {
+        for (int count = 1; count <= 17; count++) {
+            List<byte[]> leaves = leaves(count);
+            byte[] root = MerkleTree.root(leaves);
+            for (int position = 0; position < count; position++) {
+                List<MerkleTree.ProofStep> proof = MerkleTree.proof(leaves, position);
+                assertTrue(MerkleTree.verify(leaves.get(position), proof, root),
+                        "Feuille " + position + " sur " + count);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("La preuve est de taille logarithmique")
+    void proofSizeIsLogarithmic() {
+        List<byte[]> leaves = leaves(1000);
+
+        assertTrue(MerkleTree.proof(leaves, 123).size() <= 10);
+    }
+
+    @Test
+    @DisplayName("Une preuve ne valide pas une autre feuille")
+    void proofRejectsWrongLeaf() {
+        List<byte[]> leaves = leaves(8);
+        byte[] root = MerkleTree.root(leaves);
+
+        assertFalse(MerkleTree.verify(leaves.get(4), MerkleTree.proof(leaves, 3), root));
+    }
+
+    @Test
+    @DisplayName("Dupliquer la dernière feuille change la racine")
+    void duplicatedLastLeafChangesRoot() {
+        List<byte[]> odd = leaves(3);
+        List<byte[]> padded = new ArrayList<>(odd);
+        padded.add(odd.getLast());
+
+        assertFalse(Arrays.equals(MerkleTree.root(odd), MerkleTree.root(padded)));
+    }
+
+    @Test
+    @DisplayName("Un arbre vide est refusé")
+    void emptyTreeIsRejected() {
+        List<byte[]> empty = List.of();
+        assertThrows(IllegalArgumentException.class, () -> MerkleTree.root(empty));
+    }
+}
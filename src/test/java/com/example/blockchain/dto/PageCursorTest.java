@@ -0,0 +1,38 @@
+package com.example.blockchain.dto;
+
+import com.example.blockchain.exception.InvalidPageRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - PageCursor DTO")
+class PageCursorTest {
+
+    @Test
+    @DisplayName("Un curseur encodé puis décodé retrouve sa position et son sens")
+    void roundTrip() {
+        PageCursor ascending = new PageCursor(1234, false);
+        PageCursor descending = new PageCursor(0, true);
+
+        assertEquals(ascending, PageCursor.decode(ascending.encode()));
+        assertEquals(descending, PageCursor.decode(descending.encode()));
+    }
+
+    @Test
+    @DisplayName("Le curseur encodé est opaque et sûr dans une URL")
+    void encodedCursorIsUrlSafe() {
+        String cursor = new PageCursor(987654, true).encode();
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+        assertFalse(cursor.contains("987654"));
+    }
+
+    @Test
+    @DisplayName("Un curseur mal formé est rejeté")
+    void malformedCursorIsRejected() {
+        assertThrows(InvalidPageRequestException.class, () -> PageCursor.decode("pas un curseur!"));
+        assertThrows(InvalidPageRequestException.class, () -> PageCursor.decode("djE6YWJjOmFzYw"));
+        assertThrows(InvalidPageRequestException.class, () -> PageCursor.decode("djI6MTI6YXNj"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.blockchain.index;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.Blockchain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HexFormat;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - OffHeapHashIndex")
+class OffHeapHashIndexTest {
+
+    private Blockchain blockchain;
+
+    @BeforeEach
+    void setUp() {
+        blockchain = new Blockchain();
+    }
+
+    @Test
+    @DisplayName("Chaque bloc ajouté est retrouvé par son hash")
+    void appendedBlocksAreFound() {
+        OffHeapHashIndex index = new OffHeapHashIndex(blockchain);
+        Block first = blockchain.addBlock("Bloc 1");
+        Block second = blockchain.addBlock("Bloc 2");
+
+        assertEquals(OptionalInt.of(0), index.find(blockchain.getBlockByIndex(0).getHash()));
+        assertEquals(OptionalInt.of(1), index.find(first.getHash()));
+        assertEquals(OptionalInt.of(2), index.find(HexFormat.of().parseHex(second.getHash())));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("Un hash inconnu ou mal formé n'est pas trouvé")
+    void unknownHashIsNotFound() {
+        OffHeapHashIndex index = new OffHeapHashIndex(blockchain);
+
+        assertTrue(index.find("0".repeat(64)).isEmpty());
+        assertTrue(index.find("pas-un-hash").isEmpty());
+        assertTrue(index.find("ABC".repeat(21) + "D").isEmpty());
+    }
+
+    @Test
+    @DisplayName("La table s'agrandit sans perdre d'entrée")
+    void growsWithoutLosingEntries() {
+        OffHeapHashIndex index = new OffHeapHashIndex(blockchain);
+        long initialCapacity = index.capacity();
+        for (int i = 1; i <= 5_000; i++) {
+            blockchain.addBlock("Bloc " + i);
+        }
+
+        assertTrue(index.capacity() > initialCapacity);
+        assertEquals(5_001, index.size());
+        for (int i = 0; i < blockchain.size(); i += 97) {
+            assertEquals(OptionalInt.of(i), index.find(blockchain.getBlockByIndex(i).getHash()));
+        }
+        assertEquals(index.capacity() * OffHeapHashIndex.SLOT_SIZE, index.offHeapBytes());
+    }
+
+    @Test
+    @DisplayName("Un index créé sur une chaîne existante est dimensionné puis rempli")
+    void rebuildFromExistingChain() {
+        for (int i = 1; i <= 3_000; i++) {
+            blockchain.addBlock("Bloc " + i);
+        }
+
+        OffHeapHashIndex index = new OffHeapHashIndex(blockchain);
+
+        assertEquals(3_001, index.size());
+        assertTrue(index.size() <= index.capacity() * 0.75);
+        assertEquals(OptionalInt.of(2_999), index.find(blockchain.getBlockByIndex(2_999).getHash()));
+    }
+}
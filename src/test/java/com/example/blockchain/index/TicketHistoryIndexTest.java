@@ -0,0 +1,100 @@
+package com.example.blockchain.index;
+
+import com.example.blockchain.Blockchain;
+import com.example.blockchain.TicketTransaction;
+import com.example.blockchain.storage.BlockLog;
+import com.example.blockchain.storage.FsyncPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - TicketHistoryIndex")
+class TicketHistoryIndexTest {
+
+    private Blockchain blockchain;
+
+    @BeforeEach
+    void setUp() {
+        blockchain = new Blockchain();
+    }
+
+    @Test
+    @DisplayName("Les ajouts sont indexés par eventId dans l'ordre de la chaîne")
+    void appendsAreIndexed() {
+        TicketHistoryIndex index = new TicketHistoryIndex(blockchain);
+        blockchain.addBlock("Achat", "EVT-001", "PNL", "ACHETE", "Alice");
+        blockchain.addBlock("Autre", "EVT-002", "PNL", "ACHETE", "Bob");
+        blockchain.addBlock("Revente", "EVT-001", "PNL", "REVENDU", "Charlie");
+
+        assertArrayEquals(new int[] {1, 3}, index.heights("EVT-001"));
+        assertArrayEquals(new int[] {2}, index.heights("EVT-002"));
+        assertArrayEquals(new int[0], index.heights("EVT-404"));
+        assertEquals(2, index.eventCount());
+    }
+
+    @Test
+    @DisplayName("Un bloc dont l'eventId est vide n'est pas indexé, comme une transaction")
+    void emptyEventIdIsNotIndexed() {
+        TicketHistoryIndex index = new TicketHistoryIndex(blockchain);
+        blockchain.addBlock("Sans ticket", "", "PNL", "ACHETE", "Alice");
+
+        assertArrayEquals(new int[0], index.heights(""));
+        assertEquals(0, index.eventCount());
+    }
+
+    @Test
+    @DisplayName("Les transactions d'un bloc multi-tickets sont indexées une fois par bloc")
+    void batchTransactionsAreIndexed() {
+        TicketHistoryIndex index = new TicketHistoryIndex(blockchain);
+        blockchain.addBlock("Lot", List.of(
+                new TicketTransaction("T1", "EVT-001", "A", "CREE", "Salle"),
+                new TicketTransaction("T2", "EVT-002", "A", "CREE", "Salle"),
+                new TicketTransaction("T1 bis", "EVT-001", "A", "ACHETE", "Alice")));
+
+        assertArrayEquals(new int[] {1}, index.heights("EVT-001"));
+        assertArrayEquals(new int[] {1}, index.heights("EVT-002"));
+    }
+
+    @Test
+    @DisplayName("Un index créé sur une chaîne existante est reconstruit en une passe parallèle")
+    void rebuildFromExistingChain() {
+        for (int i = 1; i <= 5_000; i++) {
+            blockchain.addBlock("Op " + i, "EVT-" + (i % 10), "Artiste", "ACHETE", "Client");
+        }
+
+        TicketHistoryIndex index = new TicketHistoryIndex(blockchain);
+
+        int[] heights = index.heights("EVT-3");
+        assertEquals(500, heights.length);
+        for (int i = 0; i < heights.length; i++) {
+            assertEquals(3 + 10 * i, heights[i]);
+        }
+        blockchain.addBlock("Op suivante", "EVT-3", "Artiste", "UTILISE", "Client");
+        assertEquals(5_001, index.heights("EVT-3")[500]);
+    }
+
+    @Test
+    @DisplayName("Une restauration depuis le journal reconstruit l'index")
+    void restoreRebuildsIndex(@TempDir Path directory) {
+        try (BlockLog log = BlockLog.open(directory, 1 << 16, FsyncPolicy.ALWAYS, Duration.ZERO)) {
+            blockchain.attachLog(log);
+            blockchain.addBlock("Achat", "EVT-001", "PNL", "ACHETE", "Alice");
+        }
+
+        Blockchain restored = new Blockchain();
+        TicketHistoryIndex index = new TicketHistoryIndex(restored);
+        assertEquals(0, index.eventCount());
+        try (BlockLog log = BlockLog.open(directory, 1 << 16, FsyncPolicy.ALWAYS, Duration.ZERO)) {
+            restored.attachLog(log);
+        }
+
+        assertArrayEquals(new int[] {1}, index.heights("EVT-001"));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.blockchain.index;
+
+import com.example.blockchain.Blockchain;
+import com.example.blockchain.TicketTransaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - TicketStateView")
+class TicketStateViewTest {
+
+    private Blockchain blockchain;
+
+    @BeforeEach
+    void setUp() {
+        blockchain = new Blockchain();
+    }
+
+    @Test
+    @DisplayName("L'état reflète le dernier bloc concernant le ticket")
+    void stateFollowsLatestBlock() {
+        TicketStateView view = new TicketStateView(blockchain);
+        blockchain.addBlock("Achat", "EVT-001", "Angèle", "ACHETE", "Alice");
+        blockchain.addBlock("Revente", "EVT-001", "Angèle", "REVENDU", "Bob");
+
+        TicketState state = view.get("EVT-001").orElseThrow();
+
+        assertEquals("Bob", state.owner());
+        assertEquals("REVENDU", state.status());
+        assertEquals("Angèle", state.artist());
+        assertEquals(2, state.lastBlockHeight());
+        assertEquals(blockchain.getLastBlock().getTimestamp(), state.updatedAt());
+    }
+
+    @Test
+    @DisplayName("Dans un bloc multi-tickets, la dernière transaction d'un ticket l'emporte")
+    void lastTransactionWins() {
+        TicketStateView view = new TicketStateView(blockchain);
+        blockchain.addBlock("Lot", List.of(
+                new TicketTransaction("T1", "EVT-001", "A", "CREE", "Salle"),
+                new TicketTransaction("T1 bis", "EVT-001", "A", "ACHETE", "Alice"),
+                new TicketTransaction("T2", "EVT-002", "A", "CREE", "Salle")));
+
+        assertEquals("ACHETE", view.get("EVT-001").orElseThrow().status());
+        assertEquals("CREE", view.get("EVT-002").orElseThrow().status());
+        assertEquals(2, view.size());
+    }
+
+    @Test
+    @DisplayName("La reconstruction parallèle retient l'état du bloc le plus récent")
+    void rebuildKeepsLatestState() {
+        for (int i = 1; i <= 5_000; i++) {
+            blockchain.addBlock("Op " + i, "EVT-" + (i % 10), "Artiste", "STATUT-" + i, "Client " + i);
+        }
+
+        TicketStateView view = new TicketStateView(blockchain);
+
+        TicketState state = view.get("EVT-7").orElseThrow();
+        assertEquals(4_997, state.lastBlockHeight());
+        assertEquals("Client 4997", state.owner());
+        assertEquals(10, view.size());
+    }
+
+    @Test
+    @DisplayName("Un bloc dont l'eventId est vide ne crée pas d'état, comme une transaction")
+    void emptyEventIdHasNoState() {
+        TicketStateView view = new TicketStateView(blockchain);
+        blockchain.addBlock("Sans ticket", "", "Angèle", "ACHETE", "Alice");
+
+        assertTrue(view.get("").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un ticket inconnu n'a pas d'état")
+    void unknownTicket() {
+        assertTrue(new TicketStateView(blockchain).get("EVT-404").isEmpty());
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.blockchain.mempool;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.Blockchain;
+import com.example.blockchain.TicketTransaction;
+import com.example.blockchain.consensus.ConsensusMechanism;
+import com.example.blockchain.exception.MempoolFullException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - Mempool")
+class MempoolTest {
+
+    private final Blockchain blockchain = new Blockchain();
+    private Mempool mempool;
+
+    @AfterEach
+    void tearDown() {
+        if (mempool != null) {
+            mempool.close();
+        }
+    }
+
+    private Mempool start(int capacity, int retention) {
+        mempool = Mempool.start(blockchain, new MempoolProperties(capacity, 256, retention, Duration.ofSeconds(5)));
+        return mempool;
+    }
+
+    private static TicketTransaction ticket(int i) {
+        return new TicketTransaction("Achat " + i, "EVT-" + i, "Stromae", "VENDU", "alice");
+    }
+
+    /**
+     * Consensus qui retient le mineur jusqu'à l'ouverture du verrou.
+     */
+    private static final class GatedConsensus implements ConsensusMechanism {
+
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch gate = new CountDownLatch(1);
+
+        @Override
+        public void validate(Block block) {
+            entered.countDown();
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public String getName() {
+            return "Retenue";
+        }
+    }
+
+    @Test
+    @DisplayName("Une soumission est minée en arrière-plan et complétée par son bloc")
+    void submissionIsMinedInBackground() {
+        Submission submission = start(100, 100).submit(ticket(1));
+
+        Block block = submission.getResult().orTimeout(5, TimeUnit.SECONDS).join();
+
+        assertEquals(Submission.Status.MINED, submission.getStatus());
+        assertEquals("EVT-1", block.getEventId());
+        assertSame(block, blockchain.getLastBlock());
+        assertSame(submission, mempool.find(submission.getId()).orElseThrow());
+        assertEquals(1, mempool.getMetrics().getMined());
+        assertTrue(blockchain.isChainValid());
+    }
+
+    @Test
+    @DisplayName("Une opération identique encore en attente n'est mise en file qu'une fois")
+    void duplicatesArePendingOnce() throws InterruptedException {
+        GatedConsensus consensus = new GatedConsensus();
+        blockchain.setConsensusMechanism(consensus);
+        start(100, 100).submit(ticket(0));
+        assertTrue(consensus.entered.await(5, TimeUnit.SECONDS));
+
+        Submission first = mempool.submit(ticket(1));
+        Submission second = mempool.submit(ticket(1));
+        consensus.gate.countDown();
+        first.getResult().orTimeout(5, TimeUnit.SECONDS).join();
+
+        assertSame(first, second);
+        assertEquals(1, mempool.getMetrics().getDuplicates());
+        assertEquals(3, blockchain.size());
+    }
+
+    @Test
+    @DisplayName("Les soumissions accumulées pendant un minage sont publiées en un seul lot")
+    void queuedSubmissionsAreMinedAsOneBatch() throws InterruptedException {
+        GatedConsensus consensus = new GatedConsensus();
+        blockchain.setConsensusMechanism(consensus);
+        start(100, 100).submit(ticket(0));
+        assertTrue(consensus.entered.await(5, TimeUnit.SECONDS));
+
+        List<Submission> queued = List.of(mempool.submit(ticket(1)), mempool.submit(ticket(2)),
+                mempool.submit(ticket(3)));
+        assertEquals(3, mempool.depth());
+        assertEquals(Submission.Status.PENDING, queued.getFirst().getStatus());
+        consensus.gate.countDown();
+        queued.getLast().getResult().orTimeout(5, TimeUnit.SECONDS).join();
+
+        assertEquals(List.of(2, 3, 4), queued.stream().map(s -> s.getBlock().getIndex()).toList());
+        assertEquals(2, mempool.getMetrics().getBatches());
+        assertEquals(0, mempool.depth());
+    }
+
+    @Test
+    @DisplayName("Une file pleine refuse les nouvelles soumissions")
+    void fullMempoolRejectsSubmissions() throws InterruptedException {
+        GatedConsensus consensus = new GatedConsensus();
+        blockchain.setConsensusMechanism(consensus);
+        start(2, 100).submit(ticket(0));
+        assertTrue(consensus.entered.await(5, TimeUnit.SECONDS));
+        mempool.submit(ticket(1));
+        mempool.submit(ticket(2));
+
+        assertThrows(MempoolFullException.class, () -> mempool.submit(ticket(3)));
+        assertEquals(1, mempool.getMetrics().getRejected());
+        consensus.gate.countDown();
+    }
+
+    @Test
+    @DisplayName("Aucune soumission acceptée ne reste en attente après l'arrêt")
+    void submissionsRacingCloseNeverStayPending() throws InterruptedException {
+        start(10_000, 100_000);
+        List<Submission> accepted = new CopyOnWriteArrayList<>();
+        Thread submitter = Thread.ofPlatform().start(() -> {
+            for (int i = 0; i < 5_000; i++) {
+                try {
+                    accepted.add(mempool.submit(ticket(i)));
+                } catch (MempoolFullException e) {
+                    return;
+                }
+            }
+        });
+        mempool.close();
+        submitter.join();
+
+        for (Submission submission : accepted) {
+            assertTrue(submission.getResult().isDone(), "soumission en attente : " + submission.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Un échec du consensus fait échouer les soumissions du lot")
+    void consensusFailureFailsSubmissions() {
+        blockchain.setConsensusMechanism(new ConsensusMechanism() {
+            @Override
+            public void validate(Block block) {
+                throw new IllegalStateException("Bloc refusé");
+            }
+
+            @Override
+            public String getName() {
+                return "Refus";
+            }
+        });
+        Submission submission = start(100, 100).submit(ticket(1));
+
+        assertThrows(Exception.class, () -> submission.getResult().orTimeout(5, TimeUnit.SECONDS).join());
+        assertEquals(Submission.Status.FAILED, submission.getStatus());
+        assertEquals("Bloc refusé", submission.getError());
+        assertEquals(1, blockchain.size());
+    }
+
+    @Test
+    @DisplayName("Seules les soumissions terminées les plus récentes restent consultables")
+    void completedSubmissionsAreRetainedUpToLimit() {
+        start(100, 2);
+        Submission oldest = mempool.submit(ticket(1));
+        oldest.getResult().orTimeout(5, TimeUnit.SECONDS).join();
+        mempool.submit(ticket(2)).getResult().orTimeout(5, TimeUnit.SECONDS).join();
+        Submission latest = mempool.submit(ticket(3));
+        latest.getResult().orTimeout(5, TimeUnit.SECONDS).join();
+
+        assertTrue(mempool.find(oldest.getId()).isEmpty());
+        assertTrue(mempool.find(latest.getId()).isPresent());
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.blockchain.storage;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.TicketTransaction;
+import com.example.blockchain.crypto.AuthorityKeys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.security.KeyPair;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - BlockCodec")
+class BlockCodecTest {
+
+    private static Block roundTrip(Block block) {
+        BlockCodec codec = new BlockCodec();
+        byte[] encoded = codec.encode(block);
+        return BlockCodec.decode(ByteBuffer.wrap(encoded, 0, codec.length()));
+    }
+
+    @Test
+    @DisplayName("Un bloc ticket relu conserve tous ses champs et son hash reste valide")
+    void ticketBlockRoundTrip() {
+        Block block = new Block(3, "Achat", "abc", "EVT-001", "Artiste", "ACHETE", "Alice");
+        block.setNonce(42);
+        block.setHash(block.calculateHash());
+
+        Block decoded = roundTrip(block);
+
+        assertEquals(block.getIndex(), decoded.getIndex());
+        assertEquals(block.getTimestamp(), decoded.getTimestamp());
+        assertEquals(block.getData(), decoded.getData());
+        assertEquals(block.getPreviousHash(), decoded.getPreviousHash());
+        assertEquals(block.getHash(), decoded.getHash());
+        assertEquals(block.getEventId(), decoded.getEventId());
+        assertEquals(block.getOwner(), decoded.getOwner());
+        assertEquals(42, decoded.getNonce());
+        assertEquals(decoded.getHash(), decoded.calculateHash());
+    }
+
+    @Test
+    @DisplayName("Les champs null restent null")
+    void nullFieldsSurvive() {
+        Block decoded = roundTrip(new Block(1, "Simple", "0"));
+
+        assertNull(decoded.getEventId());
+        assertNull(decoded.getArtist());
+        assertTrue(decoded.getTransactions().isEmpty());
+        assertNull(decoded.getMerkleRoot());
+    }
+
+    @Test
+    @DisplayName("Un bloc multi-tickets relu retrouve sa racine de Merkle")
+    void merkleBlockRoundTrip() {
+        Block block = new Block(2, "Lot", "0", List.of(
+                new TicketTransaction("T1", "EVT-1", "A", "ACHETE", "Alice"),
+                new TicketTransaction("T2", "EVT-2", "B", "ACHETE", "Bob")));
+
+        Block decoded = roundTrip(block);
+
+        assertEquals(block.getTransactions(), decoded.getTransactions());
+        assertEquals(block.getMerkleRoot(), decoded.getMerkleRoot());
+        assertEquals(block.getHash(), decoded.calculateHash());
+    }
+
+    @Test
+    @DisplayName("Un bloc signé relu conserve son autorité et sa signature")
+    void signedBlockRoundTrip() {
+        KeyPair pair = AuthorityKeys.generate();
+        AuthorityKeys keys = new AuthorityKeys();
+        keys.register("Autorité-1", pair.getPublic());
+        Block block = new Block(1, "Signé", "0");
+        block.sign("Autorité-1", AuthorityKeys.sign(pair.getPrivate(), block));
+
+        Block decoded = roundTrip(block);
+
+        assertEquals("Autorité-1", decoded.getSigner());
+        assertEquals(block.getSignature(), decoded.getSignature());
+        assertTrue(keys.verify(decoded));
+    }
+
+    @Test
+    @DisplayName("Un bloc au format 1 (sans signature) reste lisible")
+    void unsignedFormatIsStillReadable() {
+        Block block = new Block(1, "Ancien", "0");
+        BlockCodec codec = new BlockCodec();
+        byte[] encoded = codec.encode(block);
+        // Format 1 : même disposition sans autorité ni signature (deux longueurs -1 en fin)
+        encoded[0] = 1;
+
+        Block decoded = BlockCodec.decode(ByteBuffer.wrap(encoded, 0, codec.length() - 8));
+
+        assertEquals(block.getHash(), decoded.getHash());
+        assertNull(decoded.getSigner());
+    }
+
+    @Test
+    @DisplayName("La variante compacte des snapshots est plus courte et restitue le même bloc")
+    void compactRoundTrip() {
+        Block previous = new Block(0, "Genèse", "0");
+        Block block = new Block(1, "Achat", previous.getHash(), "EVT-001", "Artiste", "ACHETE", "Alice");
+        BlockCodec codec = new BlockCodec();
+        codec.encode(block);
+        int fullLength = codec.length();
+
+        byte[] compact = codec.encodeCompact(block);
+        Block decoded = BlockCodec.decodeCompact(ByteBuffer.wrap(compact, 0, codec.length()));
+
+        assertTrue(codec.length() < fullLength);
+        assertEquals(block.getTimestamp(), decoded.getTimestamp());
+        assertEquals(block.getPreviousHash(), decoded.getPreviousHash());
+        assertEquals(block.getHash(), decoded.getHash());
+        assertEquals(block.getOwner(), decoded.getOwner());
+        assertTrue(decoded.hashMatches(decoded.calculateHashBytes()));
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.blockchain.storage;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.exception.StorageException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - BlockLog")
+class BlockLogTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    private BlockLog open() {
+        return BlockLog.open(directory, SEGMENT_SIZE, FsyncPolicy.ALWAYS, Duration.ZERO);
+    }
+
+    private static List<Block> replay(BlockLog log) {
+        List<Block> blocks = new ArrayList<>();
+        log.replay(blocks::add);
+        return blocks;
+    }
+
+    private void appendBlocks(int count) {
+        try (BlockLog log = open()) {
+            for (int i = 0; i < count; i++) {
+                log.append(new Block(i, "Bloc " + i, "0"));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Les blocs ajoutés sont relus dans l'ordre après réouverture")
+    void appendedBlocksSurviveReopen() {
+        appendBlocks(5);
+
+        try (BlockLog log = open()) {
+            List<Block> blocks = replay(log);
+            assertEquals(5, blocks.size());
+            for (int i = 0; i < blocks.size(); i++) {
+                assertEquals(i, blocks.get(i).getIndex());
+                assertEquals("Bloc " + i, blocks.get(i).getData());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Le journal change de segment quand le courant est plein")
+    void rollsOverToNewSegments() {
+        appendBlocks(200);
+
+        try (BlockLog log = open()) {
+            assertTrue(log.getSegmentCount() > 1);
+            assertEquals(200, replay(log).size());
+        }
+    }
+
+    @Test
+    @DisplayName("Un enregistrement déchiré en fin de journal est tronqué et les ajouts reprennent")
+    void tornTailIsTruncated() throws IOException {
+        appendBlocks(3);
+        Path segment = directory.resolve("segment-00000000.log");
+        int tail = lastRecordOffset(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // Charge utile partiellement écrite : le CRC ne correspond plus
+            channel.write(ByteBuffer.wrap(new byte[] {0x7F, 0x7F}), tail + BlockLog.RECORD_HEADER_SIZE + 3);
+        }
+
+        try (BlockLog log = open()) {
+            assertEquals(2, replay(log).size());
+            log.append(new Block(2, "Réécrit", "0"));
+        }
+        try (BlockLog log = open()) {
+            List<Block> blocks = replay(log);
+            assertEquals(3, blocks.size());
+            assertEquals("Réécrit", blocks.getLast().getData());
+        }
+    }
+
+    @Test
+    @DisplayName("Une longueur d'enregistrement incohérente est traitée comme une fin déchirée")
+    void corruptedLengthIsTruncated() throws IOException {
+        appendBlocks(2);
+        Path segment = directory.resolve("segment-00000000.log");
+        int tail = lastRecordOffset(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, SEGMENT_SIZE * 2), tail);
+        }
+
+        try (BlockLog log = open()) {
+            assertEquals(1, replay(log).size());
+        }
+    }
+
+    @Test
+    @DisplayName("Un enregistrement corrompu dans un segment scellé fait échouer le rejeu")
+    void corruptedSealedSegmentFailsReplay() throws IOException {
+        appendBlocks(200);
+        Path sealed = directory.resolve("segment-00000000.log");
+        try (FileChannel channel = FileChannel.open(sealed, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x7F, 0x7F}), BlockLog.RECORD_HEADER_SIZE + 3);
+        }
+
+        try (BlockLog log = open()) {
+            StorageException error = assertThrows(StorageException.class, () -> replay(log));
+            assertTrue(error.getMessage().contains("segment-00000000.log"), error.getMessage());
+            assertTrue(error.getMessage().contains("offset 0"), error.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Le rejeu depuis une position ne relit que les blocs suivants, y compris sur plusieurs segments")
+    void replayFromPosition() {
+        LogPosition middle;
+        try (BlockLog log = open()) {
+            for (int i = 0; i < 50; i++) {
+                log.append(new Block(i, "Bloc " + i, "0"));
+            }
+            middle = log.position();
+            for (int i = 50; i < 200; i++) {
+                log.append(new Block(i, "Bloc " + i, "0"));
+            }
+        }
+
+        try (BlockLog log = open()) {
+            List<Block> tail = new ArrayList<>();
+            assertEquals(150, log.replay(middle, tail::add));
+            assertEquals(50, tail.getFirst().getIndex());
+            assertEquals(199, tail.getLast().getIndex());
+        }
+    }
+
+    @Test
+    @DisplayName("Une position au-delà de la fin du journal est refusée")
+    void replayBeyondEndIsRejected() {
+        appendBlocks(2);
+        try (BlockLog log = open()) {
+            LogPosition beyond = new LogPosition(log.position().segment() + 1, 0);
+            assertThrows(StorageException.class, () -> log.replay(beyond, block -> { }));
+        }
+    }
+
+    @Test
+    @DisplayName("Un bloc plus grand qu'un segment est refusé")
+    void oversizedBlockIsRejected() {
+        try (BlockLog log = open()) {
+            Block block = new Block(1, "x".repeat(SEGMENT_SIZE), "0");
+            assertThrows(StorageException.class, () -> log.append(block));
+        }
+    }
+
+    private static int lastRecordOffset(Path segment) throws IOException {
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int position = 0;
+        int last = 0;
+        while (content.getInt(position) != 0) {
+            last = position;
+            position += BlockLog.RECORD_HEADER_SIZE + content.getInt(position);
+        }
+        return last;
+    }
+}
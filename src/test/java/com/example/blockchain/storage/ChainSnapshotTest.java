@@ -0,0 +1,147 @@
+package com.example.blockchain.storage;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.exception.StorageException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - ChainSnapshot")
+class ChainSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private static List<Block> blocks(int count) {
+        List<Block> blocks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            blocks.add(new Block(i, "Bloc " + i, "0", "EVT-" + i % 7, "Artiste", "ACHETE", "Client " + i));
+        }
+        return blocks;
+    }
+
+    @Test
+    @DisplayName("Un snapshot relu restitue les blocs et la position du journal")
+    void snapshotRoundTrip() {
+        // Plus d'une tranche de décodage pour exercer le chargement parallèle
+        List<Block> blocks = blocks(150_000);
+        Path file = new ChainSnapshot(blocks, new LogPosition(3, 128)).write(directory);
+
+        ChainSnapshot loaded = ChainSnapshot.read(file);
+
+        assertEquals(150_000, loaded.height());
+        assertEquals(new LogPosition(3, 128), loaded.position());
+        for (int i : new int[] {0, 65_535, 65_536, 149_999}) {
+            assertEquals(blocks.get(i).getHash(), loaded.blocks().get(i).getHash());
+            assertEquals(blocks.get(i).getOwner(), loaded.blocks().get(i).getOwner());
+        }
+    }
+
+    @Test
+    @DisplayName("Horodatage, hashs non canoniques et signature survivent au snapshot")
+    void snapshotKeepsRawFields() {
+        Block genesis = new Block(0, "Genèse", "0");
+        Block signed = new Block(1, "Bloc signé", genesis.getHash(), "EVT", "Artiste", "ACHETE", "Alice");
+        signed.sign("Autorité-1", new byte[] {1, 2, 3});
+        Path file = new ChainSnapshot(List.of(genesis, signed), new LogPosition(0, 0)).write(directory);
+
+        List<Block> loaded = ChainSnapshot.read(file).blocks();
+
+        assertEquals("0", loaded.get(0).getPreviousHash());
+        assertEquals(genesis.getTimestamp(), loaded.get(0).getTimestamp());
+        assertEquals(signed.getTimestamp(), loaded.get(1).getTimestamp());
+        assertTrue(loaded.get(1).isLinkedTo(loaded.get(0)));
+        assertTrue(loaded.get(1).hashMatches(loaded.get(1).calculateHashBytes()));
+        assertEquals("Autorité-1", loaded.get(1).getSigner());
+        assertArrayEquals(new byte[] {1, 2, 3}, loaded.get(1).signatureBytes());
+    }
+
+    @Test
+    @DisplayName("Le snapshot le plus récent est chargé, seul le précédent est conservé avec lui")
+    void latestSnapshotWins() throws IOException {
+        new ChainSnapshot(blocks(3), new LogPosition(0, 10)).write(directory);
+        new ChainSnapshot(blocks(4), new LogPosition(0, 15)).write(directory);
+        new ChainSnapshot(blocks(5), new LogPosition(0, 20)).write(directory);
+
+        ChainSnapshot latest = ChainSnapshot.latest(directory).orElseThrow();
+
+        assertEquals(5, latest.height());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Un snapshot récent corrompu cède la place au précédent")
+    void corruptedLatestFallsBackToPrevious() throws IOException {
+        new ChainSnapshot(blocks(3), new LogPosition(0, 10)).write(directory);
+        Path newest = new ChainSnapshot(blocks(5), new LogPosition(0, 20)).write(directory);
+        flipByte(newest);
+
+        ChainSnapshot latest = ChainSnapshot.latest(directory).orElseThrow();
+
+        assertEquals(3, latest.height());
+        assertEquals(new LogPosition(0, 10), latest.position());
+    }
+
+    @Test
+    @DisplayName("Sans snapshot lisible, aucun n'est chargé plutôt qu'une erreur")
+    void noReadableSnapshot() throws IOException {
+        flipByte(new ChainSnapshot(blocks(3), new LogPosition(0, 10)).write(directory));
+        flipByte(new ChainSnapshot(blocks(5), new LogPosition(0, 20)).write(directory));
+
+        assertTrue(ChainSnapshot.latest(directory).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Aucun snapshot dans un répertoire vide")
+    void noSnapshot() {
+        assertTrue(ChainSnapshot.latest(directory).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Un snapshot tronqué est rejeté")
+    void truncatedSnapshotIsRejected() throws IOException {
+        Path file = new ChainSnapshot(blocks(10), new LogPosition(0, 0)).write(directory);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        assertThrows(StorageException.class, () -> ChainSnapshot.read(file));
+    }
+
+    @Test
+    @DisplayName("Un snapshot corrompu est détecté par son CRC au lieu d'être décodé")
+    void corruptedSnapshotIsRejected() throws IOException {
+        Path file = new ChainSnapshot(blocks(10), new LogPosition(0, 0)).write(directory);
+        flipByte(file);
+
+        StorageException error = assertThrows(StorageException.class, () -> ChainSnapshot.read(file));
+        assertTrue(error.getMessage().contains("CRC"));
+    }
+
+    /**
+     * Modifie un octet au milieu des blocs, sans changer la taille du fichier.
+     */
+    static void flipByte(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            long position = channel.size() / 3;
+            channel.read(one, position);
+            one.put(0, (byte) (one.get(0) ^ 0x5A)).rewind();
+            channel.write(one, position);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.blockchain.storage;
+
+import com.example.blockchain.Blockchain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - ChainStore")
+class ChainStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private StorageProperties properties() {
+        return new StorageProperties(true, directory, DataSize.ofKilobytes(64), FsyncPolicy.ALWAYS,
+                Duration.ZERO, Duration.ofHours(1), 1);
+    }
+
+    @Test
+    @DisplayName("Redémarrages successifs : la chaîne est restaurée à l'identique et reste valide")
+    void restartFromSnapshotAndTail() {
+        Blockchain first = new Blockchain();
+        try (ChainStore store = ChainStore.open(first, properties())) {
+            first.addBlock("Achat", "EVT-001", "Artiste", "ACHETE", "Alice");
+            first.addBlock("Revente", "EVT-001", "Artiste", "REVENDU", "Bob");
+        }
+
+        Blockchain second = new Blockchain();
+        try (ChainStore store = ChainStore.open(second, properties())) {
+            assertEquals(3, second.size());
+            second.addBlock("Utilisation", "EVT-001", "Artiste", "UTILISE", "Bob");
+        }
+
+        Blockchain third = new Blockchain();
+        try (ChainStore store = ChainStore.open(third, properties())) {
+            assertEquals(4, third.size());
+            assertEquals(first.getBlockByIndex(2).getHash(), third.getBlockByIndex(2).getHash());
+            assertEquals("UTILISE", third.getLastBlock().getStatus());
+            assertTrue(third.isChainValid());
+        }
+    }
+
+    @Test
+    @DisplayName("Le snapshot explicite fixe le point de reprise du rejeu")
+    void explicitSnapshot() {
+        Blockchain blockchain = new Blockchain();
+        try (ChainStore store = ChainStore.open(blockchain, properties())) {
+            blockchain.addBlock("Bloc 1");
+            store.snapshot();
+            blockchain.addBlock("Bloc 2");
+
+            ChainSnapshot snapshot = ChainSnapshot.latest(directory).orElseThrow();
+            assertEquals(2, snapshot.height());
+            assertEquals(1, store.getLog().replay(snapshot.position(), block -> { }));
+        }
+    }
+
+    @Test
+    @DisplayName("Un snapshot corrompu n'empêche pas le démarrage : la chaîne est rejouée depuis le journal")
+    void corruptedSnapshotFallsBackToFullReplay() throws IOException {
+        Blockchain first = new Blockchain();
+        try (ChainStore store = ChainStore.open(first, properties())) {
+            first.addBlock("Achat", "EVT-001", "Artiste", "ACHETE", "Alice");
+            first.addBlock("Revente", "EVT-001", "Artiste", "REVENDU", "Bob");
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path snapshot : files.filter(file -> file.toString().endsWith(".snap")).toList()) {
+                ChainSnapshotTest.flipByte(snapshot);
+            }
+        }
+        assertTrue(ChainSnapshot.latest(directory).isEmpty());
+
+        Blockchain second = new Blockchain();
+        try (ChainStore store = ChainStore.open(second, properties())) {
+            assertEquals(3, second.size());
+            assertEquals(first.getBlockByIndex(2).getHash(), second.getBlockByIndex(2).getHash());
+            assertTrue(second.isChainValid());
+        }
+    }
+}
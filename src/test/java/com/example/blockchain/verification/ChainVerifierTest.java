@@ -0,0 +1,97 @@
+package com.example.blockchain.verification;
+
+import com.example.blockchain.Block;
+import com.example.blockchain.Blockchain;
+import com.example.blockchain.verification.VerificationResult.Failure;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests unitaires - ChainVerifier (vérification segmentée)")
+class ChainVerifierTest {
+
+    private static final int SIZE = 3 * ChainVerifier.SEGMENT_SIZE + 17;
+
+    private static List<Block> validChain;
+
+    private final ChainVerifier verifier = new ChainVerifier();
+
+    @BeforeAll
+    static void buildChain() {
+        Blockchain blockchain = new Blockchain();
+        for (int i = 1; i < SIZE; i++) {
+            blockchain.addBlock("Bloc " + i);
+        }
+        validChain = blockchain.getChain();
+    }
+
+    /**
+     * Copie de la chaîne dont les blocs aux index donnés ont des données falsifiées.
+     */
+    private static List<Block> tamperedCopy(int... indexes) {
+        List<Block> copy = new ArrayList<>(validChain);
+        for (int index : indexes) {
+            Block original = copy.get(index);
+            Block forged = new Block(original.getIndex(), "Falsifié", original.getPreviousHash());
+            forged.setHash(original.getHash());
+            copy.set(index, forged);
+        }
+        return copy;
+    }
+
+    @Test
+    @DisplayName("Une chaîne intègre est valide en séquentiel comme en parallèle")
+    void validChainIsValidInBothModes() {
+        assertTrue(verifier.verifySequential(validChain, 0, SIZE).valid());
+        assertTrue(verifier.verifyParallel(validChain, 0, SIZE).valid());
+    }
+
+    @Test
+    @DisplayName("Le mode parallèle rapporte le plus petit index corrompu")
+    void parallelModeReportsLowestCorruptedIndex() {
+        int low = ChainVerifier.SEGMENT_SIZE + 5;
+        List<Block> chain = tamperedCopy(2 * ChainVerifier.SEGMENT_SIZE + 3, low, SIZE - 1);
+
+        VerificationResult result = verifier.verifyParallel(chain, 0, SIZE);
+
+        assertFalse(result.valid());
+        assertEquals(low, result.firstInvalidIndex());
+        assertEquals(Failure.HASH_MISMATCH, result.failure());
+        assertEquals(verifier.verifySequential(chain, 0, SIZE), result);
+    }
+
+    @Test
+    @DisplayName("Un chaînage rompu est distingué d'un hash invalide")
+    void brokenLinkIsReported() {
+        List<Block> chain = new ArrayList<>(validChain);
+        Block original = chain.get(10);
+        chain.set(10, new Block(original.getIndex(), original.getData(), "faux_hash"));
+
+        VerificationResult result = verifier.verify(chain, 0, SIZE);
+
+        assertEquals(10, result.firstInvalidIndex());
+        assertEquals(Failure.BROKEN_LINK, result.failure());
+    }
+
+    @Test
+    @DisplayName("Une plage ne vérifie que ses propres blocs")
+    void rangeOnlyChecksItsBlocks() {
+        List<Block> chain = tamperedCopy(100);
+
+        assertTrue(verifier.verify(chain, 0, 100).valid());
+        assertTrue(verifier.verify(chain, 101, SIZE).valid());
+        assertEquals(100, verifier.verify(chain, 50, 200).firstInvalidIndex());
+    }
+
+    @Test
+    @DisplayName("Une plage vide ou réduite au genèse est valide")
+    void emptyRangeIsValid() {
+        assertTrue(verifier.verify(validChain, 0, 1).valid());
+        assertTrue(verifier.verify(validChain, 5, 5).valid());
+    }
+}